@@ -0,0 +1,191 @@
+package com.ultikits.plugins.kits.bench;
+
+import com.ultikits.plugins.kits.entity.KitClaimData;
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import com.ultikits.ultitools.interfaces.DataOperator;
+import com.ultikits.ultitools.interfaces.Query;
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.UnsafeValues;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.PluginManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Stand-ins for the server, the UltiTools plugin and players, so the plugin runs inside JMH.
+ * 基准测试用的服务器、插件与玩家替身。
+ *
+ * <p>The stand-ins are Mockito stubs. Their call overhead is part of every measurement but stays
+ * the same between runs, so results are meant for comparing versions, not as absolute numbers.</p>
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * Materials used to fill kits, so stacks do not all merge into one.
+     */
+    private static final Material[] MATERIALS = {
+            Material.DIAMOND_SWORD, Material.BREAD, Material.TORCH, Material.OAK_LOG,
+            Material.IRON_PICKAXE, Material.COBBLESTONE, Material.ARROW, Material.GOLDEN_APPLE
+    };
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Installs a stub server once per JVM. Item metas are plain stubs; stacks created by the
+     * benchmarks carry no meta.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+        Server server = mock(Server.class);
+        when(server.getLogger()).thenReturn(java.util.logging.Logger.getLogger("UltiKits-Bench"));
+        when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+        UnsafeValues unsafe = mock(UnsafeValues.class);
+        when(unsafe.getDataVersion()).thenReturn(3218);
+        // ItemStack.deserialize looks materials up through the server
+        when(unsafe.getMaterial(anyString(), anyInt())).thenAnswer(inv -> Material.matchMaterial(inv.getArgument(0)));
+        when(server.getUnsafe()).thenReturn(unsafe);
+        ItemFactory itemFactory = mock(ItemFactory.class);
+        when(itemFactory.getItemMeta(any(Material.class))).thenAnswer(inv -> mock(ItemMeta.class));
+        when(itemFactory.isApplicable(any(), any(Material.class))).thenReturn(true);
+        when(itemFactory.asMetaFor(any(), any(Material.class))).thenAnswer(inv -> inv.getArgument(0));
+        // Stacks without meta compare equal to "no meta"
+        when(itemFactory.equals(any(), any())).thenAnswer(inv -> inv.getArgument(0) == inv.getArgument(1));
+        when(server.getItemFactory()).thenReturn(itemFactory);
+        Bukkit.setServer(server);
+    }
+
+    /**
+     * A plugin whose data operators keep nothing and whose translations return the key.
+     */
+    @SuppressWarnings("unchecked")
+    public static UltiToolsPlugin stubPlugin(File resourceFolder) {
+        UltiToolsPlugin plugin = mock(UltiToolsPlugin.class);
+        when(plugin.getLogger()).thenReturn(mock(PluginLogger.class));
+        when(plugin.getResourceFolderPath()).thenReturn(resourceFolder.getAbsolutePath());
+        when(plugin.i18n(anyString())).thenAnswer(inv -> inv.getArgument(0));
+        DataOperator<KitClaimData> claimOperator = stubOperator();
+        DataOperator<KitMailboxData> mailboxOperator = stubOperator();
+        when(plugin.getDataOperator(KitClaimData.class)).thenReturn(claimOperator);
+        when(plugin.getDataOperator(KitMailboxData.class)).thenReturn(mailboxOperator);
+        return plugin;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DataOperator<T> stubOperator() {
+        DataOperator<T> operator = mock(DataOperator.class);
+        Query<T> query = mock(Query.class);
+        when(operator.query()).thenReturn(query);
+        when(query.where(anyString())).thenReturn(query);
+        when(query.eq(any())).thenReturn(query);
+        when(query.and(anyString())).thenReturn(query);
+        when(query.list()).thenReturn(Collections.emptyList());
+        return operator;
+    }
+
+    /**
+     * A player with an empty 36 slot inventory that accepts every item.
+     */
+    public static Player stubPlayer(String name) {
+        Player player = mock(Player.class);
+        when(player.getName()).thenReturn(name);
+        when(player.getUniqueId()).thenReturn(UUID.nameUUIDFromBytes(name.getBytes()));
+        when(player.getLevel()).thenReturn(30);
+        when(player.isOnline()).thenReturn(true);
+        PlayerInventory inventory = mock(PlayerInventory.class);
+        when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        when(inventory.addItem(any(ItemStack[].class))).thenReturn(new HashMap<>());
+        when(player.getInventory()).thenReturn(inventory);
+        return player;
+    }
+
+    public static ItemStack[] items(int count) {
+        ItemStack[] items = new ItemStack[count];
+        for (int i = 0; i < count; i++) {
+            Material material = MATERIALS[i % MATERIALS.length];
+            items[i] = new ItemStack(material, Math.min(material.getMaxStackSize(), 1 + i % 16));
+        }
+        return items;
+    }
+
+    /**
+     * Serialized forms of items with heavy metadata: a JSON display name, long lore, several
+     * enchantments and persistent data, shaped like what {@code ItemStack#serialize} produces
+     * for such items on a real server.
+     */
+    public static List<Object> heavyItems(int count) {
+        List<Object> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> meta = new LinkedHashMap<>();
+            meta.put("meta-type", "UNSPECIFIC");
+            meta.put("display-name", "{\"extra\":[{\"bold\":true,\"color\":\"gold\",\"text\":\"Reward #" + i
+                    + "\"}],\"text\":\"\"}");
+            List<String> lore = new ArrayList<>();
+            for (int line = 0; line < 8; line++) {
+                lore.add("{\"extra\":[{\"color\":\"gray\",\"text\":\"Line " + line
+                        + " of the starter kit description\"}],\"text\":\"\"}");
+            }
+            meta.put("lore", lore);
+            Map<String, Object> enchants = new LinkedHashMap<>();
+            enchants.put("DAMAGE_ALL", 5);
+            enchants.put("DURABILITY", 3);
+            enchants.put("MENDING", 1);
+            enchants.put("LOOT_BONUS_MOBS", 3);
+            meta.put("enchants", enchants);
+            Map<String, Object> persistent = new LinkedHashMap<>();
+            for (int key = 0; key < 10; key++) {
+                persistent.put("ultikits:key_" + key, "value-" + i + "-" + key);
+            }
+            meta.put("PublicBukkitValues", persistent);
+            meta.put("Damage", 12);
+            meta.put("Unbreakable", true);
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("v", 3218);
+            item.put("type", MATERIALS[i % MATERIALS.length].name());
+            item.put("amount", 1);
+            item.put("meta", meta);
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static File createTempFolder() throws IOException {
+        File folder = Files.createTempDirectory("ultikits-bench").toFile();
+        new File(folder, "kits").mkdirs();
+        return folder;
+    }
+
+    public static void deleteFolder(File folder) throws IOException {
+        try (Stream<java.nio.file.Path> paths = Files.walk(folder.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+        }
+    }
+}
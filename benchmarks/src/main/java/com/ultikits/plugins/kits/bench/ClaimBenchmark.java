@@ -0,0 +1,92 @@
+package com.ultikits.plugins.kits.bench;
+
+import com.ultikits.plugins.kits.service.KitService;
+import com.ultikits.plugins.kits.service.KitServiceImpl;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The synchronous claim path end to end, and cooldown formatting.
+ * 同步领取流程与冷却时间格式化的性能。
+ *
+ * <p>The kit is re-buyable without cooldown, so every call runs the full path: claim record
+ * lookup, validation, fit check, delivery and the claim record update. Claim records go to a
+ * stub data operator that stores nothing.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimBenchmark {
+
+    private static final String KIT_NAME = "bench";
+
+    @Param({"9", "36"})
+    public int itemCount;
+
+    private File folder;
+    private KitServiceImpl service;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkSupport.installServer();
+        folder = BenchmarkSupport.createTempFolder();
+        service = new KitServiceImpl(BenchmarkSupport.stubPlugin(folder));
+
+        // Create the kit from an admin inventory, as /kits create does
+        Player admin = mock(Player.class);
+        PlayerInventory adminInventory = mock(PlayerInventory.class);
+        when(adminInventory.getStorageContents()).thenReturn(BenchmarkSupport.items(itemCount));
+        when(admin.getInventory()).thenReturn(adminInventory);
+        if (service.createKit(admin, KIT_NAME) != KitService.CreateResult.SUCCESS) {
+            throw new IllegalStateException("Failed to create benchmark kit");
+        }
+        service.getKit(KIT_NAME).setReBuyable(true);
+
+        player = BenchmarkSupport.stubPlayer("BenchPlayer");
+        // Claim records are loaded at login; the claim path only reads them from memory
+        service.preloadClaims(player.getUniqueId());
+        if (service.claimKit(player, KIT_NAME) != KitService.ClaimResult.SUCCESS) {
+            throw new IllegalStateException("Benchmark kit cannot be claimed");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.shutdown();
+        BenchmarkSupport.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public KitService.ClaimResult claimKit() {
+        return service.claimKit(player, KIT_NAME);
+    }
+
+    @Benchmark
+    public String formatCooldown() {
+        return service.formatCooldown(93_784_000L);
+    }
+}
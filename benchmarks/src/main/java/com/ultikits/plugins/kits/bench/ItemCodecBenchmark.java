@@ -0,0 +1,165 @@
+package com.ultikits.plugins.kits.bench;
+
+import com.ultikits.plugins.kits.codec.CompactItemCodec;
+import com.ultikits.plugins.kits.codec.LegacyItemCodec;
+import com.ultikits.plugins.kits.service.KitServiceImpl;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kit item serialization across kit sizes.
+ * 不同礼包大小下的物品序列化性能。
+ *
+ * <p>{@code serializeItems}/{@code deserializeItems} go through the service with real stacks.
+ * Stacks with heavy metadata need a real server to build, so the {@code heavy} benchmarks feed
+ * their serialized form straight to the compact codec, which is what the service does with
+ * them.</p>
+ *
+ * <p>The {@code legacy} benchmarks run the object stream codec of earlier versions on the same
+ * input as a baseline. For heavy items they write the serialized maps to the object stream,
+ * which is what the legacy codec stores for a {@code ConfigurationSerializable} stack. The
+ * encode benchmarks report the payload length as the {@code bytes} counter.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemCodecBenchmark {
+
+    @Param({"1", "9", "36", "45"})
+    public int itemCount;
+
+    private File folder;
+    private KitServiceImpl service;
+    private ItemStack[] items;
+    private String serialized;
+    private List<Object> heavyItems;
+    private byte[] legacySerialized;
+    private byte[] heavyEncoded;
+    private byte[] heavyLegacyEncoded;
+
+    /**
+     * Length of the payload written by the last encode call.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkSupport.installServer();
+        folder = BenchmarkSupport.createTempFolder();
+        service = new KitServiceImpl(BenchmarkSupport.stubPlugin(folder));
+        items = BenchmarkSupport.items(itemCount);
+        serialized = service.serializeItems(items);
+        legacySerialized = LegacyItemCodec.encode(items).getBytes(StandardCharsets.US_ASCII);
+        heavyItems = BenchmarkSupport.heavyItems(itemCount);
+        heavyEncoded = CompactItemCodec.encode(heavyItems, true);
+        heavyLegacyEncoded = writeObjectStream(heavyItems);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.shutdown();
+        BenchmarkSupport.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public String serializeItems(EncodedSize size) {
+        String data = service.serializeItems(items);
+        size.bytes = data.length();
+        return data;
+    }
+
+    @Benchmark
+    public ItemStack[] deserializeItems() {
+        return service.deserializeItems(serialized);
+    }
+
+    @Benchmark
+    public String serializeItemsLegacy(EncodedSize size) throws IOException {
+        String data = LegacyItemCodec.encode(items);
+        size.bytes = data.length();
+        return data;
+    }
+
+    @Benchmark
+    public ItemStack[] deserializeItemsLegacy() throws IOException {
+        // Stored text to items, as the service reads it
+        return LegacyItemCodec.decode(Base64.getMimeDecoder().decode(legacySerialized));
+    }
+
+    @Benchmark
+    public byte[] encodeHeavy(EncodedSize size) throws IOException {
+        byte[] data = CompactItemCodec.encode(heavyItems, true);
+        size.bytes = data.length;
+        return data;
+    }
+
+    @Benchmark
+    public List<Object> decodeHeavy() throws IOException {
+        return CompactItemCodec.decode(heavyEncoded);
+    }
+
+    @Benchmark
+    public byte[] encodeHeavyLegacy(EncodedSize size) throws IOException {
+        byte[] data = writeObjectStream(heavyItems);
+        size.bytes = data.length;
+        return data;
+    }
+
+    @Benchmark
+    public List<Object> decodeHeavyLegacy() throws IOException, ClassNotFoundException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(heavyLegacyEncoded))) {
+            int count = in.readInt();
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(in.readObject());
+            }
+            return values;
+        }
+    }
+
+    /**
+     * The legacy layout: the count, then one serialized object per stack.
+     */
+    private static byte[] writeObjectStream(List<Object> values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeInt(values.size());
+            for (Object value : values) {
+                out.writeObject(value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
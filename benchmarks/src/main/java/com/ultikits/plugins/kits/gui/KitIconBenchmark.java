@@ -0,0 +1,78 @@
+package com.ultikits.plugins.kits.gui;
+
+import com.ultikits.plugins.kits.bench.BenchmarkSupport;
+import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.KitStatus;
+import com.ultikits.plugins.kits.service.KitServiceImpl;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import mc.obliviate.inventory.Icon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building one kit icon of the browser GUI.
+ * 礼包浏览界面单个图标的构建性能。
+ *
+ * <p>Lives in the GUI package because {@code buildKitIcon} is package-private.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KitIconBenchmark {
+
+    private File folder;
+    private KitServiceImpl service;
+    private KitBrowserGui gui;
+    private KitDefinition kit;
+    private KitStatus status;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkSupport.installServer();
+        folder = BenchmarkSupport.createTempFolder();
+        UltiToolsPlugin plugin = BenchmarkSupport.stubPlugin(folder);
+        service = new KitServiceImpl(plugin);
+        gui = new KitBrowserGui(BenchmarkSupport.stubPlayer("BenchPlayer"), plugin, service, 0);
+
+        kit = new KitDefinition();
+        kit.setName("starter");
+        kit.setDisplayName("&a&lStarter Kit");
+        kit.setIcon("CHEST");
+        kit.setLevelRequired(5);
+        kit.setDescription(Arrays.asList(
+                "&7Basic items for new players",
+                "&7新手基础物品",
+                "&eClaim it once, {player}!",
+                "&8Kit: {kit}"));
+        status = KitStatus.claimable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.shutdown();
+        BenchmarkSupport.deleteFolder(folder);
+    }
+
+    @Benchmark
+    public Icon buildKitIcon() {
+        return gui.buildKitIcon(kit, status);
+    }
+}
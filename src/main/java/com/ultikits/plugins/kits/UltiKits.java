@@ -1,5 +1,6 @@
 package com.ultikits.plugins.kits;
 
+import com.ultikits.plugins.kits.service.KitService;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.UltiToolsModule;
 
@@ -15,6 +16,8 @@ public class UltiKits extends UltiToolsPlugin {
 
     @Override
     public void unregisterSelf() {
+        // Flush write-behind claim records before the module goes away
+        getContext().getBean(KitService.class).shutdown();
     }
 
     @Override
@@ -0,0 +1,450 @@
+package com.ultikits.plugins.kits.codec;
+
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.bukkit.configuration.serialization.ConfigurationSerialization;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary encoding of serialized item values.
+ * 物品序列化数据的紧凑二进制编码。
+ *
+ * <p>Layout: the magic bytes {@code UKI}, a version byte and a flags byte, followed by the body
+ * (deflated when {@link #FLAG_DEFLATE} is set). The body holds a string table, the value count
+ * and one tagged value per entry. Map keys and strings are written once in the table and then
+ * referenced by index, and whole numbers are zig-zag varints. {@link ConfigurationSerializable}
+ * values such as items and item meta are stored as their alias plus their serialized map.</p>
+ *
+ * <p>Since version 2 the header may be followed by a native section ({@link #FLAG_NATIVE}):
+ * one server-specific byte blob per entry, written before the body so readers that cannot use
+ * it skip it without inflating anything. The body is always present, which keeps payloads
+ * readable on every server type.</p>
+ */
+public final class CompactItemCodec {
+
+    static final byte[] MAGIC = {'U', 'K', 'I'};
+    static final int VERSION = 2;
+    private static final int MIN_VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+    static final int FLAG_NATIVE = 2;
+    private static final int HEADER_LENGTH = MAGIC.length + 2;
+    /**
+     * Bodies shorter than this are rarely worth the deflate header.
+     */
+    private static final int DEFLATE_THRESHOLD = 128;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_STRING = 1;
+    private static final int TAG_INT = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_TRUE = 6;
+    private static final int TAG_FALSE = 7;
+    private static final int TAG_LIST = 8;
+    private static final int TAG_MAP = 9;
+    private static final int TAG_SERIALIZABLE = 10;
+    private static final int TAG_SHORT = 11;
+    private static final int TAG_BYTE = 12;
+    private static final int TAG_BYTES = 13;
+
+    private CompactItemCodec() {
+    }
+
+    /**
+     * Checks whether the data starts with the compact payload header.
+     */
+    public static boolean isCompact(byte[] data) {
+        if (data == null || data.length < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the values, deflating the body when that makes it smaller.
+     *
+     * @throws IOException if a value has a type this format cannot hold
+     */
+    public static byte[] encode(List<?> values, boolean deflate) throws IOException {
+        return encode(values, deflate, null);
+    }
+
+    /**
+     * Encodes the values together with a native section.
+     *
+     * @param nativeValues one blob per value, empty for an empty slot; null to omit the section
+     * @throws IOException if a value has a type this format cannot hold
+     */
+    public static byte[] encode(List<?> values, boolean deflate, @Nullable List<byte[]> nativeValues)
+            throws IOException {
+        if (nativeValues != null && nativeValues.size() != values.size()) {
+            throw new IOException("Native section has " + nativeValues.size() + " entries for "
+                    + values.size() + " values");
+        }
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+        DataOutputStream valueOut = new DataOutputStream(valueBytes);
+        writeVarInt(valueOut, values.size());
+        for (Object value : values) {
+            writeValue(valueOut, value, strings);
+        }
+        valueOut.flush();
+
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(valueBytes.size() + 64);
+        DataOutputStream bodyOut = new DataOutputStream(bodyBytes);
+        strings.writeTo(bodyOut);
+        valueBytes.writeTo(bodyOut);
+        bodyOut.flush();
+        byte[] body = bodyBytes.toByteArray();
+
+        int flags = 0;
+        if (deflate && body.length >= DEFLATE_THRESHOLD) {
+            byte[] packed = deflate(body);
+            if (packed.length < body.length) {
+                body = packed;
+                flags |= FLAG_DEFLATE;
+            }
+        }
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream(HEADER_LENGTH + body.length);
+        DataOutputStream out = new DataOutputStream(result);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(nativeValues != null ? flags | FLAG_NATIVE : flags);
+        if (nativeValues != null) {
+            writeVarInt(out, nativeValues.size());
+            for (byte[] value : nativeValues) {
+                writeVarInt(out, value.length);
+                out.write(value);
+            }
+        }
+        out.write(body);
+        out.flush();
+        return result.toByteArray();
+    }
+
+    /**
+     * Decodes a payload written by {@link #encode(List, boolean)}.
+     *
+     * @throws IOException if the payload is not a compact payload, has an unknown version or is corrupt
+     */
+    public static List<Object> decode(byte[] data) throws IOException {
+        int flags = readFlags(data);
+        ByteArrayInputStream input = new ByteArrayInputStream(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+        if ((flags & FLAG_NATIVE) != 0) {
+            DataInputStream in = new DataInputStream(input);
+            int count = readLength(in);
+            for (int i = 0; i < count; i++) {
+                int length = readLength(in);
+                if (in.skipBytes(length) != length) {
+                    throw new IOException("Truncated native section");
+                }
+            }
+        }
+
+        InputStream body = input;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            body = new InflaterInputStream(body);
+        }
+        try (DataInputStream in = new DataInputStream(body)) {
+            String[] strings = readStringTable(in);
+            int count = readLength(in);
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(readValue(in, strings));
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Reads the native section without decoding the body.
+     *
+     * @return one blob per value, empty for an empty slot; null if the payload has no native section
+     * @throws IOException if the payload is not a compact payload or is corrupt
+     */
+    @Nullable
+    public static List<byte[]> readNative(byte[] data) throws IOException {
+        if ((readFlags(data) & FLAG_NATIVE) == 0) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(data, HEADER_LENGTH, data.length - HEADER_LENGTH));
+        int count = readLength(in);
+        List<byte[]> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] value = new byte[readLength(in)];
+            in.readFully(value);
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static int readFlags(byte[] data) throws IOException {
+        if (!isCompact(data)) {
+            throw new IOException("Not a compact item payload");
+        }
+        int version = data[MAGIC.length] & 0xFF;
+        if (version < MIN_VERSION || version > VERSION) {
+            throw new IOException("Unsupported item payload version: " + version);
+        }
+        return data[MAGIC.length + 1] & 0xFF;
+    }
+
+    // --- Values ---
+
+    private static void writeValue(DataOutputStream out, Object value, StringTable strings) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            writeVarInt(out, strings.indexOf((String) value));
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            writeVarLong(out, zigZag((Integer) value));
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            writeVarLong(out, zigZag((Long) value));
+        } else if (value instanceof Short) {
+            out.writeByte(TAG_SHORT);
+            writeVarLong(out, zigZag((Short) value));
+        } else if (value instanceof Byte) {
+            out.writeByte(TAG_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(TAG_BYTES);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Collection) {
+            // Sets such as ItemFlags come back as lists, which their deserializers accept as Iterable
+            Collection<?> collection = (Collection<?>) value;
+            out.writeByte(TAG_LIST);
+            writeVarInt(out, collection.size());
+            for (Object element : collection) {
+                writeValue(out, element, strings);
+            }
+        } else if (value instanceof Map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, (Map<?, ?>) value, strings);
+        } else if (value instanceof ConfigurationSerializable) {
+            ConfigurationSerializable serializable = (ConfigurationSerializable) value;
+            out.writeByte(TAG_SERIALIZABLE);
+            writeVarInt(out, strings.indexOf(ConfigurationSerialization.getAlias(serializable.getClass())));
+            writeMap(out, serializable.serialize(), strings);
+        } else {
+            throw new IOException("Unsupported item value type: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<?, ?> map, StringTable strings) throws IOException {
+        writeVarInt(out, map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String)) {
+                throw new IOException("Unsupported item map key: " + entry.getKey());
+            }
+            writeVarInt(out, strings.indexOf((String) entry.getKey()));
+            writeValue(out, entry.getValue(), strings);
+        }
+    }
+
+    private static Object readValue(DataInputStream in, String[] strings) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return readString(in, strings);
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_INT:
+                return (int) unZigZag(readVarLong(in));
+            case TAG_LONG:
+                return unZigZag(readVarLong(in));
+            case TAG_SHORT:
+                return (short) unZigZag(readVarLong(in));
+            case TAG_BYTE:
+                return in.readByte();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_BYTES:
+                byte[] bytes = new byte[readLength(in)];
+                in.readFully(bytes);
+                return bytes;
+            case TAG_LIST:
+                int size = readLength(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, strings));
+                }
+                return list;
+            case TAG_MAP:
+                return readMap(in, strings, new LinkedHashMap<>());
+            case TAG_SERIALIZABLE:
+                String alias = readString(in, strings);
+                Map<String, Object> serialized = new LinkedHashMap<>();
+                serialized.put(ConfigurationSerialization.SERIALIZED_TYPE_KEY, alias);
+                readMap(in, strings, serialized);
+                ConfigurationSerializable object = ConfigurationSerialization.deserializeObject(serialized);
+                if (object == null) {
+                    throw new IOException("Unknown serializable type: " + alias);
+                }
+                return object;
+            default:
+                throw new IOException("Unknown item value tag: " + tag);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in, String[] strings, Map<String, Object> map)
+            throws IOException {
+        int size = readLength(in);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in, strings);
+            map.put(key, readValue(in, strings));
+        }
+        return map;
+    }
+
+    private static String readString(DataInputStream in, String[] strings) throws IOException {
+        int index = readVarInt(in);
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("String index out of range: " + index);
+        }
+        return strings[index];
+    }
+
+    private static String[] readStringTable(DataInputStream in) throws IOException {
+        String[] strings = new String[readLength(in)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[readLength(in)];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    // --- Primitives ---
+
+    private static byte[] deflate(byte[] body) throws IOException {
+        ByteArrayOutputStream packed = new ByteArrayOutputStream(body.length);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(packed, deflater)) {
+            out.write(body);
+        } finally {
+            deflater.end();
+        }
+        return packed.toByteArray();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > 0xFFFFFFFFL) {
+            throw new IOException("Varint too long");
+        }
+        return (int) value;
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long");
+    }
+
+    /**
+     * Reads a collection length, rejecting negative or absurd values from corrupt data.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > (1 << 24)) {
+            throw new IOException("Invalid length: " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Assigns each distinct string an index in first-seen order.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int indexOf(String value) {
+            Integer index = indexes.get(value);
+            if (index == null) {
+                index = strings.size();
+                indexes.put(value, index);
+                strings.add(value);
+            }
+            return index;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeVarInt(out, strings.size());
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ultikits.plugins.kits.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Converts kit contents to and from stored item payloads.
+ * 礼包物品与礼包文件中文本之间的转换。
+ *
+ * <p>New payloads use {@link CompactItemCodec}, Base64 encoded on a single line. Payloads
+ * written by older versions are recognised by their missing header and read with
+ * {@link LegacyItemCodec}, so existing kit files keep working without a migration step.</p>
+ *
+ * <p>On servers with native item bytes ({@link NativeItemCodec}) the payload also carries the
+ * native form, and that form is preferred when decoding. The portable body is always written
+ * as well, so a kit saved on Paper still loads on Spigot.</p>
+ */
+public final class ItemCodec {
+
+    @Nullable
+    private static volatile NativeItemCodec nativeCodec = NativeItemCodec.detect();
+
+    private ItemCodec() {
+    }
+
+    public static String encode(ItemStack[] items) throws IOException {
+        List<byte[]> nativeItems = null;
+        NativeItemCodec codec = nativeCodec;
+        if (codec != null) {
+            try {
+                nativeItems = codec.serialize(items);
+            } catch (IOException e) {
+                // Items the server cannot write natively are still stored in the portable form
+            }
+        }
+        return Base64.getEncoder().encodeToString(CompactItemCodec.encode(Arrays.asList(items), true, nativeItems));
+    }
+
+    /**
+     * Decodes either payload format from its stored text.
+     *
+     * @throws IOException if the data is not valid Base64 or not a readable payload
+     */
+    public static ItemStack[] decode(String data) throws IOException {
+        return decode(toBytes(data));
+    }
+
+    /**
+     * Decodes raw payload bytes of either format, as kept in kit item files.
+     *
+     * @throws IOException if the data is not a readable payload
+     */
+    public static ItemStack[] decode(byte[] bytes) throws IOException {
+        if (!CompactItemCodec.isCompact(bytes)) {
+            return LegacyItemCodec.decode(bytes);
+        }
+
+        NativeItemCodec codec = nativeCodec;
+        if (codec != null) {
+            List<byte[]> nativeItems = CompactItemCodec.readNative(bytes);
+            if (nativeItems != null) {
+                try {
+                    return codec.deserialize(nativeItems);
+                } catch (IOException e) {
+                    // Fall back to the portable form, e.g. for items from a newer server version
+                }
+            }
+        }
+
+        List<Object> values = CompactItemCodec.decode(bytes);
+        ItemStack[] items = new ItemStack[values.size()];
+        for (int i = 0; i < items.length; i++) {
+            Object value = values.get(i);
+            if (value != null && !(value instanceof ItemStack)) {
+                throw new IOException("Unexpected item value: " + value.getClass().getName());
+            }
+            items[i] = (ItemStack) value;
+        }
+        return items;
+    }
+
+    /**
+     * Raw payload bytes of stored text.
+     *
+     * @throws IOException if the text is not valid Base64
+     */
+    public static byte[] toBytes(String data) throws IOException {
+        try {
+            // The MIME decoder also accepts the line breaks of legacy payloads
+            return Base64.getMimeDecoder().decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid item data: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks whether the bytes start like a payload of either format.
+     */
+    public static boolean isPayload(byte[] bytes) {
+        return CompactItemCodec.isCompact(bytes) || LegacyItemCodec.isLegacy(bytes);
+    }
+
+    /**
+     * Whether payloads include native item bytes on this server.
+     */
+    public static boolean isNativeAvailable() {
+        return nativeCodec != null;
+    }
+
+    /**
+     * Replaces the detected native codec; tests use this to simulate either server type.
+     */
+    static void useNativeCodec(@Nullable NativeItemCodec codec) {
+        nativeCodec = codec;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ultikits.plugins.kits.codec;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * The original item payload: a Java object stream of the items, Base64 encoded in lines.
+ * 旧版物品数据格式：Base64 编码的 Java 对象流。
+ *
+ * <p>Only kept so kits saved by older versions can still be read, and as the baseline the
+ * compact format is measured against.</p>
+ */
+public final class LegacyItemCodec {
+
+    private LegacyItemCodec() {
+    }
+
+    /**
+     * Checks for the Java serialization stream header.
+     */
+    public static boolean isLegacy(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == (byte) 0xAC && data[1] == (byte) 0xED;
+    }
+
+    public static String encode(ItemStack[] items) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream)) {
+            dataOutput.writeInt(items.length);
+            for (ItemStack item : items) {
+                dataOutput.writeObject(item);
+            }
+        }
+        return Base64Coder.encodeLines(outputStream.toByteArray());
+    }
+
+    public static ItemStack[] decode(byte[] data) throws IOException {
+        try (BukkitObjectInputStream dataInput = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
+            int size = dataInput.readInt();
+            ItemStack[] items = new ItemStack[size];
+            for (int i = 0; i < size; i++) {
+                items[i] = (ItemStack) dataInput.readObject();
+            }
+            return items;
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
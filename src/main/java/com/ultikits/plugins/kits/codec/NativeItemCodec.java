@@ -0,0 +1,89 @@
+package com.ultikits.plugins.kits.codec;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-native item bytes, available on Paper through {@code ItemStack#serializeAsBytes}.
+ * 服务端原生物品字节序列化（Paper 提供）。
+ *
+ * <p>The methods are not part of the Spigot API, so they are looked up once at runtime and
+ * called through method handles. Native bytes are NBT written by the server itself, which
+ * skips the {@code ConfigurationSerializable} round trip when a kit is decoded.</p>
+ */
+final class NativeItemCodec {
+
+    private static final byte[] EMPTY_SLOT = new byte[0];
+
+    private final MethodHandle serializer;
+    private final MethodHandle deserializer;
+
+    /**
+     * @param serializer   takes an {@link ItemStack} and returns its bytes
+     * @param deserializer takes the bytes and returns an {@link ItemStack}
+     */
+    NativeItemCodec(MethodHandle serializer, MethodHandle deserializer) {
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    /**
+     * Looks up the native methods on the running server.
+     *
+     * @return the codec, or null if the server does not provide them
+     */
+    @Nullable
+    static NativeItemCodec detect() {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            return new NativeItemCodec(
+                    lookup.findVirtual(ItemStack.class, "serializeAsBytes", MethodType.methodType(byte[].class)),
+                    lookup.findStatic(ItemStack.class, "deserializeBytes",
+                            MethodType.methodType(ItemStack.class, byte[].class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Serializes every item; empty slots become empty arrays.
+     *
+     * @throws IOException if the server refuses an item
+     */
+    List<byte[]> serialize(ItemStack[] items) throws IOException {
+        List<byte[]> values = new ArrayList<>(items.length);
+        for (ItemStack item : items) {
+            values.add(item == null ? EMPTY_SLOT : invoke(serializer, item, byte[].class));
+        }
+        return values;
+    }
+
+    /**
+     * @throws IOException if the server cannot read an item, e.g. one written by a newer version
+     */
+    ItemStack[] deserialize(List<byte[]> values) throws IOException {
+        ItemStack[] items = new ItemStack[values.size()];
+        for (int i = 0; i < items.length; i++) {
+            byte[] value = values.get(i);
+            items[i] = value.length == 0 ? null : invoke(deserializer, value, ItemStack.class);
+        }
+        return items;
+    }
+
+    private static <T> T invoke(MethodHandle handle, Object argument, Class<T> type) throws IOException {
+        try {
+            return type.cast(handle.invoke(argument));
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
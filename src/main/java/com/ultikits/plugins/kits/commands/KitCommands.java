@@ -2,6 +2,8 @@ package com.ultikits.plugins.kits.commands;
 
 import com.ultikits.plugins.kits.gui.KitBrowserGui;
 import com.ultikits.plugins.kits.gui.KitEditorGui;
+import com.ultikits.plugins.kits.gui.KitMailboxGui;
+import com.ultikits.plugins.kits.model.ClaimStats;
 import com.ultikits.plugins.kits.model.KitDefinition;
 import com.ultikits.plugins.kits.service.KitService;
 import com.ultikits.ultitools.abstracts.AbstractCommandExecutor;
@@ -12,6 +14,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 /**
@@ -50,8 +53,27 @@ public class KitCommands extends AbstractCommandExecutor {
     public void onClaim(
             @CmdSender Player player,
             @CmdParam(value = "name", suggest = "suggestKitNames") String name) {
-        KitService.ClaimResult result = kitService.claimKit(player, name);
-        handleClaimResult(player, name, result);
+        kitService.claimKitAsync(player, name)
+                .thenAccept(result -> handleClaimResult(player, name, result));
+    }
+
+    /**
+     * /kits mailbox - Open the overflow mailbox.
+     */
+    @CmdMapping(format = "mailbox")
+    @CmdTarget(CmdTarget.CmdTargetType.PLAYER)
+    public void onMailbox(@CmdSender Player player) {
+        kitService.getMailboxAsync(player).whenComplete((entries, error) -> {
+            if (error != null) {
+                player.sendMessage(ChatColor.RED + plugin.i18n("加载邮箱失败"));
+                return;
+            }
+            if (entries.isEmpty()) {
+                player.sendMessage(ChatColor.YELLOW + plugin.i18n("邮箱为空"));
+                return;
+            }
+            new KitMailboxGui(player, plugin, kitService, entries, 0).open();
+        });
     }
 
     /**
@@ -167,9 +189,65 @@ public class KitCommands extends AbstractCommandExecutor {
             return;
         }
 
-        kitService.reload();
-        int count = kitService.getAllKits().size();
-        sender.sendMessage(ChatColor.GREEN + String.format(plugin.i18n("已重新加载 %d 个礼包"), count));
+        kitService.reloadAsync().whenComplete((result, error) -> {
+            if (error != null) {
+                sender.sendMessage(ChatColor.RED + plugin.i18n("重新加载礼包失败"));
+                return;
+            }
+            sender.sendMessage(ChatColor.GREEN + String.format(plugin.i18n("已重新加载 %d 个礼包 (新增 %d, 修改 %d, 删除 %d)"),
+                    result.getTotal(), result.getAdded(), result.getChanged(), result.getRemoved()));
+        });
+    }
+
+    /**
+     * /kits stats - Show claim latency per phase and claim results.
+     */
+    @CmdMapping(format = "stats")
+    public void onStats(@CmdSender CommandSender sender) {
+        if (!sender.hasPermission("ultikits.kits.admin")) {
+            sender.sendMessage(ChatColor.RED + plugin.i18n("你没有权限执行此命令"));
+            return;
+        }
+
+        ClaimStats stats = kitService.getClaimStats();
+        if (!stats.isEnabled()) {
+            sender.sendMessage(ChatColor.YELLOW + plugin.i18n("礼包领取统计未启用，请在配置中开启 claim_metrics"));
+            return;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "=== " + plugin.i18n("礼包领取统计") + " ===");
+        for (ClaimStats.PhaseStats phase : stats.getPhases()) {
+            sender.sendMessage(ChatColor.YELLOW + phase.getName() + ChatColor.GRAY
+                    + " n=" + phase.getCount()
+                    + " p50=" + formatMillis(phase.getP50())
+                    + " p95=" + formatMillis(phase.getP95())
+                    + " p99=" + formatMillis(phase.getP99())
+                    + " max=" + formatMillis(phase.getMax()));
+        }
+        String outcomes = stats.getOutcomes().entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(", "));
+        sender.sendMessage(ChatColor.YELLOW + String.format(plugin.i18n("共 %d 次领取"), stats.getTotalClaims())
+                + (outcomes.isEmpty() ? "" : ChatColor.GRAY + ": " + outcomes));
+    }
+
+    /**
+     * /kits stats reset - Clear the claim statistics.
+     */
+    @CmdMapping(format = "stats reset")
+    public void onStatsReset(@CmdSender CommandSender sender) {
+        if (!sender.hasPermission("ultikits.kits.admin")) {
+            sender.sendMessage(ChatColor.RED + plugin.i18n("你没有权限执行此命令"));
+            return;
+        }
+
+        kitService.resetClaimStats();
+        sender.sendMessage(ChatColor.GREEN + plugin.i18n("已重置礼包领取统计"));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
     }
 
     @Override
@@ -178,10 +256,12 @@ public class KitCommands extends AbstractCommandExecutor {
         sender.sendMessage(ChatColor.YELLOW + "/kits" + ChatColor.GRAY + " - " + plugin.i18n("礼包列表"));
         sender.sendMessage(ChatColor.YELLOW + "/kits claim <name>" + ChatColor.GRAY + " - " + plugin.i18n("可领取"));
         sender.sendMessage(ChatColor.YELLOW + "/kits list" + ChatColor.GRAY + " - " + plugin.i18n("礼包列表"));
+        sender.sendMessage(ChatColor.YELLOW + "/kits mailbox" + ChatColor.GRAY + " - " + plugin.i18n("礼包邮箱"));
         sender.sendMessage(ChatColor.YELLOW + "/kits edit <name>" + ChatColor.GRAY + " - Edit kit");
         sender.sendMessage(ChatColor.YELLOW + "/kits create <name>" + ChatColor.GRAY + " - Create kit");
         sender.sendMessage(ChatColor.YELLOW + "/kits delete <name>" + ChatColor.GRAY + " - Delete kit");
         sender.sendMessage(ChatColor.YELLOW + "/kits reload" + ChatColor.GRAY + " - Reload kits");
+        sender.sendMessage(ChatColor.YELLOW + "/kits stats [reset]" + ChatColor.GRAY + " - Claim statistics");
     }
 
     private void handleClaimResult(Player player, String kitName, KitService.ClaimResult result) {
@@ -189,6 +269,10 @@ public class KitCommands extends AbstractCommandExecutor {
             case SUCCESS:
                 player.sendMessage(ChatColor.GREEN + String.format(plugin.i18n("成功领取礼包: %s"), kitName));
                 break;
+            case SUCCESS_MAILBOX:
+                player.sendMessage(ChatColor.GREEN + String.format(plugin.i18n("成功领取礼包: %s"), kitName));
+                player.sendMessage(ChatColor.YELLOW + plugin.i18n("背包空间不足，部分物品已存入邮箱，使用 /kits mailbox 领取"));
+                break;
             case NOT_FOUND:
                 player.sendMessage(ChatColor.RED + String.format(plugin.i18n("礼包 '%s' 不存在"), kitName));
                 break;
@@ -220,6 +304,9 @@ public class KitCommands extends AbstractCommandExecutor {
             case EMPTY_KIT:
                 player.sendMessage(ChatColor.RED + plugin.i18n("礼包内容为空"));
                 break;
+            case IN_PROGRESS:
+                player.sendMessage(ChatColor.YELLOW + plugin.i18n("礼包正在领取中，请稍候"));
+                break;
             default:
                 player.sendMessage(ChatColor.RED + plugin.i18n("领取礼包时发生错误"));
                 break;
@@ -23,6 +23,45 @@ public class KitsConfig extends AbstractConfigEntity {
     @Range(min = 7, max = 28)
     private int kitsPerPage = 28;
 
+    @ConfigEntry(path = "claim_flush_interval_seconds", comment = "Claim record write-behind interval / 领取记录异步写回间隔（秒）")
+    @Range(min = 1, max = 300)
+    private int claimFlushIntervalSeconds = 5;
+
+    @ConfigEntry(path = "watch_kits_folder", comment = "Reload kit files automatically when they change / 礼包文件变化时自动重载")
+    private boolean watchKitsFolder = false;
+
+    @ConfigEntry(path = "watch_debounce_ms", comment = "Quiet period before a changed kit file is reloaded / 文件变化后等待多少毫秒再重载")
+    @Range(min = 100, max = 10000)
+    private int watchDebounceMs = 500;
+
+    @ConfigEntry(path = "item_cache_max_kb", comment = "Serialized size of decoded kit items kept in memory / 内存中缓存的礼包物品序列化大小上限（KB）")
+    @Range(min = 64, max = 1048576)
+    private int itemCacheMaxKb = 4096;
+
+    @ConfigEntry(path = "console_command_budget_ms", comment = "Time per tick spent running kit console commands / 每tick执行礼包控制台命令的时间预算（毫秒）")
+    @Range(min = 1, max = 50)
+    private int consoleCommandBudgetMs = 2;
+
+    @ConfigEntry(path = "overflow_mailbox", comment = "Send kit items that do not fit to the player's mailbox / 背包放不下的礼包物品存入邮箱")
+    private boolean overflowMailbox = false;
+
+    @ConfigEntry(path = "claim_metrics", comment = "Record claim latency and results for /kits stats / 记录礼包领取耗时与结果（/kits stats）")
+    private boolean claimMetrics = false;
+
+    @ConfigEntry(path = "metrics_http_port", comment = "Port of the Prometheus metrics listener, 0 to disable / Prometheus 指标监听端口，0 为关闭")
+    @Range(min = 0, max = 65535)
+    private int metricsHttpPort = 0;
+
+    @ConfigEntry(path = "metrics_http_host", comment = "Address the metrics listener binds to / 指标监听地址")
+    private String metricsHttpHost = "127.0.0.1";
+
+    @ConfigEntry(path = "metrics_textfile", comment = "File for node_exporter's textfile collector, empty to disable / node_exporter 文本采集文件路径，留空关闭")
+    private String metricsTextfile = "";
+
+    @ConfigEntry(path = "metrics_textfile_interval_seconds", comment = "Seconds between metrics file writes / 指标文件写入间隔（秒）")
+    @Range(min = 5, max = 3600)
+    private int metricsTextfileIntervalSeconds = 15;
+
     public KitsConfig(String configFilePath) {
         super(configFilePath);
     }
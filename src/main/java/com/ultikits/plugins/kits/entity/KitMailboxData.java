@@ -0,0 +1,51 @@
+package com.ultikits.plugins.kits.entity;
+
+import com.ultikits.ultitools.abstracts.data.BaseDataEntity;
+import com.ultikits.ultitools.annotations.Column;
+import com.ultikits.ultitools.annotations.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kit items that did not fit into a player's inventory, waiting to be collected.
+ * 背包放不下的礼包物品，等待玩家从邮箱领取。
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Table("kits_mailbox")
+public class KitMailboxData extends BaseDataEntity<String> {
+
+    @Column("uuid")
+    private String uuid;
+
+    @Column("player_uuid")
+    private String playerUuid;
+
+    @Column("kit_name")
+    private String kitName;
+
+    /**
+     * Compact serialized stacks, see {@code ItemCodec}.
+     */
+    @Column("items")
+    private String items;
+
+    @Column("created_at")
+    private long createdAt;
+
+    @Override
+    public String getId() {
+        return uuid;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.uuid = id;
+    }
+}
@@ -1,12 +1,14 @@
 package com.ultikits.plugins.kits.gui;
 
 import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.KitStatus;
+import com.ultikits.plugins.kits.model.KitTemplates;
+import com.ultikits.plugins.kits.model.TextTemplate;
 import com.ultikits.plugins.kits.service.KitService;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.utils.EconomyUtils;
 import mc.obliviate.inventory.Gui;
 import mc.obliviate.inventory.Icon;
-import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -15,7 +17,10 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * GUI for browsing and claiming kits.
@@ -26,8 +31,20 @@ public class KitBrowserGui extends Gui {
     private final Player player;
     private final UltiToolsPlugin plugin;
     private final KitService kitService;
-    private final int page;
     private final int kitsPerPage;
+    private int page;
+    /**
+     * Kits the player may see, fetched once per opening and shared by all pages.
+     */
+    private List<KitDefinition> availableKits = Collections.emptyList();
+    /**
+     * Statuses of the kits shown so far, by kit name.
+     */
+    private final Map<String, KitStatus> statuses = new HashMap<>();
+    /**
+     * Kit slots filled by the current page.
+     */
+    private int shownKits;
     private long lastClickTime = 0;
     private static final long CLICK_COOLDOWN_MS = 200;
 
@@ -44,10 +61,9 @@ public class KitBrowserGui extends Gui {
 
     @Override
     public void onOpen(InventoryOpenEvent event) {
-        List<KitDefinition> availableKits = kitService.getAvailableKits(player);
-        int totalPages = Math.max(1, (int) Math.ceil((double) availableKits.size() / kitsPerPage));
-        int startIndex = page * kitsPerPage;
-        int endIndex = Math.min(startIndex + kitsPerPage, availableKits.size());
+        availableKits = kitService.getAvailableKits(player);
+        statuses.clear();
+        shownKits = 0;
 
         // Fill separator row (row 5, slots 36-44)
         ItemStack glass = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
@@ -62,35 +78,56 @@ public class KitBrowserGui extends Gui {
             addItem(i, separator);
         }
 
-        // Add kit items (slots 0-35, up to 28 per page based on kitsPerPage)
-        for (int i = startIndex; i < endIndex; i++) {
-            int slot = i - startIndex;
-            if (slot >= 36) break;
+        renderPage();
+    }
+
+    /**
+     * Switches to another page inside the open inventory, reusing the kit list and the
+     * statuses computed for pages shown before.
+     */
+    void showPage(int newPage) {
+        page = newPage;
+        renderPage();
+    }
 
-            KitDefinition kit = availableKits.get(i);
-            Icon kitIcon = buildKitIcon(kit);
-            addItem(slot, kitIcon);
+    /**
+     * Fills the kit slots and the navigation row for the current page.
+     */
+    private void renderPage() {
+        int totalPages = Math.max(1, (int) Math.ceil((double) availableKits.size() / kitsPerPage));
+        page = Math.max(0, Math.min(page, totalPages - 1));
+        int startIndex = page * kitsPerPage;
+        int endIndex = Math.min(startIndex + kitsPerPage, availableKits.size());
+
+        // Add kit items (slots 0-35, up to 28 per page based on kitsPerPage)
+        List<KitDefinition> pageKits = startIndex < endIndex
+                ? availableKits.subList(startIndex, endIndex) : new ArrayList<>();
+        List<KitDefinition> missing = new ArrayList<>();
+        for (KitDefinition kit : pageKits) {
+            if (!statuses.containsKey(kit.getName())) {
+                missing.add(kit);
+            }
         }
+        if (!missing.isEmpty()) {
+            statuses.putAll(kitService.getKitStatuses(player, missing));
+        }
+        int slots = Math.min(pageKits.size(), 36);
+        for (int slot = 0; slot < slots; slot++) {
+            KitDefinition kit = pageKits.get(slot);
+            KitStatus status = statuses.getOrDefault(kit.getName(), KitStatus.claimable());
+            addItem(slot, buildKitIcon(kit, status));
+        }
+        // Clear the slots the previous page used beyond this one
+        for (int slot = slots; slot < shownKits; slot++) {
+            addItem(slot, emptyIcon());
+        }
+        shownKits = slots;
 
         // Navigation - Previous page (slot 45)
         if (page > 0) {
-            ItemStack prevItem = new ItemStack(Material.ARROW);
-            ItemMeta prevMeta = prevItem.getItemMeta();
-            if (prevMeta != null) {
-                prevMeta.setDisplayName(ChatColor.YELLOW + plugin.i18n("上一页"));
-                prevItem.setItemMeta(prevMeta);
-            }
-            Icon prevIcon = new Icon(prevItem);
-            prevIcon.onClick(e -> {
-                e.setCancelled(true);
-                player.closeInventory();
-                org.bukkit.plugin.Plugin ultiTools = Bukkit.getPluginManager().getPlugin("UltiTools");
-                if (ultiTools != null) {
-                    Bukkit.getScheduler().runTask(ultiTools, () ->
-                            new KitBrowserGui(player, plugin, kitService, page - 1).open());
-                }
-            });
-            addItem(45, prevIcon);
+            addItem(45, buildPageIcon(plugin.i18n("上一页"), page - 1));
+        } else {
+            addItem(45, emptyIcon());
         }
 
         // Page indicator (slot 49)
@@ -106,27 +143,34 @@ public class KitBrowserGui extends Gui {
 
         // Navigation - Next page (slot 53)
         if (page < totalPages - 1) {
-            ItemStack nextItem = new ItemStack(Material.ARROW);
-            ItemMeta nextMeta = nextItem.getItemMeta();
-            if (nextMeta != null) {
-                nextMeta.setDisplayName(ChatColor.YELLOW + plugin.i18n("下一页"));
-                nextItem.setItemMeta(nextMeta);
-            }
-            Icon nextIcon = new Icon(nextItem);
-            nextIcon.onClick(e -> {
-                e.setCancelled(true);
-                player.closeInventory();
-                org.bukkit.plugin.Plugin ultiTools = Bukkit.getPluginManager().getPlugin("UltiTools");
-                if (ultiTools != null) {
-                    Bukkit.getScheduler().runTask(ultiTools, () ->
-                            new KitBrowserGui(player, plugin, kitService, page + 1).open());
-                }
-            });
-            addItem(53, nextIcon);
+            addItem(53, buildPageIcon(plugin.i18n("下一页"), page + 1));
+        } else {
+            addItem(53, emptyIcon());
+        }
+    }
+
+    private Icon buildPageIcon(String name, int targetPage) {
+        ItemStack arrow = new ItemStack(Material.ARROW);
+        ItemMeta meta = arrow.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(ChatColor.YELLOW + name);
+            arrow.setItemMeta(meta);
         }
+        Icon icon = new Icon(arrow);
+        icon.onClick(e -> {
+            e.setCancelled(true);
+            showPage(targetPage);
+        });
+        return icon;
     }
 
-    Icon buildKitIcon(KitDefinition kit) {
+    private static Icon emptyIcon() {
+        Icon icon = new Icon(new ItemStack(Material.AIR));
+        icon.onClick(e -> e.setCancelled(true));
+        return icon;
+    }
+
+    Icon buildKitIcon(KitDefinition kit, KitStatus status) {
         Material material;
         try {
             material = Material.valueOf(kit.getIcon().toUpperCase());
@@ -138,18 +182,19 @@ public class KitBrowserGui extends Gui {
         ItemMeta meta = item.getItemMeta();
 
         if (meta != null) {
-            // Display name
-            meta.setDisplayName(ChatColor.translateAlternateColorCodes('&', kit.getDisplayName()));
+            // Display text is compiled with the kit, colors already translated
+            KitTemplates templates = kit.getTemplates();
+            meta.setDisplayName(templates.getDisplayName().render(player, kit.getName()));
 
             // Build lore
             List<String> lore = new ArrayList<>();
 
             // Description lines
-            for (String desc : kit.getDescription()) {
-                lore.add(ChatColor.translateAlternateColorCodes('&', desc));
+            for (TextTemplate desc : templates.getDescription()) {
+                lore.add(desc.render(player, kit.getName()));
             }
 
-            if (!kit.getDescription().isEmpty()) {
+            if (!templates.getDescription().isEmpty()) {
                 lore.add("");
             }
 
@@ -168,7 +213,7 @@ public class KitBrowserGui extends Gui {
 
             // Status
             lore.add("");
-            lore.add(ChatColor.GRAY + plugin.i18n("状态") + ": " + getStatusText(kit));
+            lore.add(ChatColor.GRAY + plugin.i18n("状态") + ": " + getStatusText(status));
 
             meta.setLore(lore);
             item.setItemMeta(meta);
@@ -190,8 +235,11 @@ public class KitBrowserGui extends Gui {
         }
         lastClickTime = now;
 
-        KitService.ClaimResult result = kitService.claimKit(player, kit.getName());
+        kitService.claimKitAsync(player, kit.getName())
+                .thenAccept(result -> handleClaimResult(kit, result));
+    }
 
+    private void handleClaimResult(KitDefinition kit, KitService.ClaimResult result) {
         switch (result) {
             case SUCCESS:
                 player.sendMessage(ChatColor.GREEN + String.format(plugin.i18n("成功领取礼包: %s"), kit.getDisplayName()));
@@ -200,6 +248,11 @@ public class KitBrowserGui extends Gui {
                 }
                 player.closeInventory();
                 break;
+            case SUCCESS_MAILBOX:
+                player.sendMessage(ChatColor.GREEN + String.format(plugin.i18n("成功领取礼包: %s"), kit.getDisplayName()));
+                player.sendMessage(ChatColor.YELLOW + plugin.i18n("背包空间不足，部分物品已存入邮箱，使用 /kits mailbox 领取"));
+                player.closeInventory();
+                break;
             case NOT_FOUND:
                 player.sendMessage(ChatColor.RED + String.format(plugin.i18n("礼包 '%s' 不存在"), kit.getName()));
                 break;
@@ -225,34 +278,27 @@ public class KitBrowserGui extends Gui {
             case EMPTY_KIT:
                 player.sendMessage(ChatColor.RED + plugin.i18n("礼包内容为空"));
                 break;
+            case IN_PROGRESS:
+                // Repeated click while the first claim is still running
+                break;
             default:
                 player.sendMessage(ChatColor.RED + plugin.i18n("领取礼包时发生错误"));
                 break;
         }
     }
 
-    String getStatusText(KitDefinition kit) {
-        // Check level
-        if (kit.hasLevelRequirement() && player.getLevel() < kit.getLevelRequired()) {
-            return ChatColor.RED + plugin.i18n("等级不足");
-        }
-
-        // Check economy
-        if (!kit.isFree()) {
-            if (!EconomyUtils.isAvailable() || !EconomyUtils.has(player, kit.getPrice())) {
+    String getStatusText(KitStatus status) {
+        switch (status.getType()) {
+            case INSUFFICIENT_LEVEL:
+                return ChatColor.RED + plugin.i18n("等级不足");
+            case INSUFFICIENT_FUNDS:
                 return ChatColor.RED + plugin.i18n("余额不足");
-            }
-        }
-
-        // Check cooldown / one-time
-        long remaining = kitService.getRemainingCooldown(player, kit);
-        if (remaining < 0) {
-            return ChatColor.RED + plugin.i18n("已领取");
-        }
-        if (remaining > 0) {
-            return ChatColor.YELLOW + plugin.i18n("冷却中") + ": " + kitService.formatCooldown(remaining);
+            case ALREADY_CLAIMED:
+                return ChatColor.RED + plugin.i18n("已领取");
+            case ON_COOLDOWN:
+                return ChatColor.YELLOW + plugin.i18n("冷却中") + ": " + kitService.formatCooldown(status.getRemainingMillis());
+            default:
+                return ChatColor.GREEN + plugin.i18n("可领取");
         }
-
-        return ChatColor.GREEN + plugin.i18n("可领取");
     }
 }
@@ -48,12 +48,12 @@ public class KitEditorGui extends Gui {
     public void onOpen(InventoryOpenEvent event) {
         // Pre-fill with existing kit items
         if (kit.hasItems()) {
-            ItemStack[] existingItems = kitService.deserializeItems(kit.getItems());
+            ItemStack[] existingItems = kitService.getKitItems(kit);
             if (existingItems != null) {
                 for (int i = 0; i < existingItems.length && i < ITEM_SLOTS; i++) {
                     if (existingItems[i] != null && existingItems[i].getType() != Material.AIR) {
                         // Place directly in inventory without Icon wrapper so items are moveable
-                        event.getInventory().setItem(i, existingItems[i].clone());
+                        event.getInventory().setItem(i, existingItems[i]);
                     }
                 }
             }
@@ -0,0 +1,189 @@
+package com.ultikits.plugins.kits.gui;
+
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.service.KitService;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import mc.obliviate.inventory.Gui;
+import mc.obliviate.inventory.Icon;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GUI for collecting kit items that went to the overflow mailbox.
+ * 溢出邮箱界面，用于领取背包放不下的礼包物品。
+ */
+public class KitMailboxGui extends Gui {
+
+    private static final int ENTRIES_PER_PAGE = 36;
+
+    private final Player player;
+    private final UltiToolsPlugin plugin;
+    private final KitService kitService;
+    /**
+     * Entries loaded when the mailbox was opened, shared by all pages.
+     */
+    private final List<KitMailboxData> entries;
+    private final int page;
+
+    public KitMailboxGui(Player player, UltiToolsPlugin plugin, KitService kitService,
+                         List<KitMailboxData> entries, int page) {
+        super(player, "kit_mailbox_" + page,
+                ChatColor.translateAlternateColorCodes('&', "&6&l" + plugin.i18n("礼包邮箱")),
+                6);
+        this.player = player;
+        this.plugin = plugin;
+        this.kitService = kitService;
+        this.entries = entries;
+        this.page = page;
+    }
+
+    @Override
+    public void onOpen(InventoryOpenEvent event) {
+        int totalPages = Math.max(1, (int) Math.ceil((double) entries.size() / ENTRIES_PER_PAGE));
+        int startIndex = page * ENTRIES_PER_PAGE;
+        int endIndex = Math.min(startIndex + ENTRIES_PER_PAGE, entries.size());
+
+        // Fill separator row (row 5, slots 36-44)
+        ItemStack glass = new ItemStack(Material.BLACK_STAINED_GLASS_PANE);
+        ItemMeta glassMeta = glass.getItemMeta();
+        if (glassMeta != null) {
+            glassMeta.setDisplayName(" ");
+            glass.setItemMeta(glassMeta);
+        }
+        for (int i = 36; i <= 44; i++) {
+            Icon separator = new Icon(glass);
+            separator.onClick(e -> e.setCancelled(true));
+            addItem(i, separator);
+        }
+
+        // Only the entries of this page are decoded
+        for (int index = startIndex; index < endIndex; index++) {
+            KitMailboxData entry = entries.get(index);
+            Icon entryIcon = buildEntryIcon(entry);
+            if (entryIcon != null) {
+                addItem(index - startIndex, entryIcon);
+            }
+        }
+
+        // Navigation - Previous page (slot 45)
+        if (page > 0) {
+            addItem(45, buildPageIcon(plugin.i18n("上一页"), page - 1));
+        }
+
+        // Page indicator (slot 49)
+        ItemStack pageItem = new ItemStack(Material.PAPER);
+        ItemMeta pageMeta = pageItem.getItemMeta();
+        if (pageMeta != null) {
+            pageMeta.setDisplayName(ChatColor.WHITE + String.format(plugin.i18n("第 %d/%d 页"), page + 1, totalPages));
+            pageItem.setItemMeta(pageMeta);
+        }
+        Icon pageIcon = new Icon(pageItem);
+        pageIcon.onClick(e -> e.setCancelled(true));
+        addItem(49, pageIcon);
+
+        // Navigation - Next page (slot 53)
+        if (page < totalPages - 1) {
+            addItem(53, buildPageIcon(plugin.i18n("下一页"), page + 1));
+        }
+    }
+
+    /**
+     * Shows an entry as its first stack, with the kit name and stack count in the lore.
+     *
+     * @return null if the entry's items cannot be decoded
+     */
+    @Nullable
+    Icon buildEntryIcon(KitMailboxData entry) {
+        ItemStack[] items = kitService.getMailboxItems(entry);
+        if (items == null || items.length == 0) {
+            return null;
+        }
+
+        ItemStack item = items[0].clone();
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            List<String> lore = meta.getLore() != null ? new ArrayList<>(meta.getLore()) : new ArrayList<>();
+            lore.add("");
+            KitDefinition kit = kitService.getKit(entry.getKitName());
+            String kitName = kit != null ? kit.getDisplayName() : entry.getKitName();
+            lore.add(ChatColor.GRAY + plugin.i18n("来自礼包") + ": "
+                    + ChatColor.translateAlternateColorCodes('&', kitName));
+            lore.add(ChatColor.GRAY + String.format(plugin.i18n("共 %d 组物品"), items.length));
+            lore.add(ChatColor.GREEN + plugin.i18n("点击领取"));
+            meta.setLore(lore);
+            item.setItemMeta(meta);
+        }
+
+        Icon icon = new Icon(item);
+        icon.onClick(e -> {
+            e.setCancelled(true);
+            handleEntryClick(entry);
+        });
+        return icon;
+    }
+
+    void handleEntryClick(KitMailboxData entry) {
+        kitService.collectMailbox(player, entry)
+                .thenAccept(result -> handleCollectResult(entry, result));
+    }
+
+    private void handleCollectResult(KitMailboxData entry, KitService.CollectResult result) {
+        switch (result) {
+            case COLLECTED:
+                entries.remove(entry);
+                player.sendMessage(ChatColor.GREEN + plugin.i18n("已领取邮箱物品"));
+                reopen(Math.min(page, Math.max(0, (entries.size() - 1) / ENTRIES_PER_PAGE)));
+                break;
+            case PARTIAL:
+                player.sendMessage(ChatColor.YELLOW + plugin.i18n("背包空间不足，剩余物品仍在邮箱中"));
+                reopen(page);
+                break;
+            case INVENTORY_FULL:
+                player.sendMessage(ChatColor.RED + plugin.i18n("背包空间不足"));
+                break;
+            case EMPTY:
+                // Repeated click on an entry that was just collected
+                break;
+            default:
+                player.sendMessage(ChatColor.RED + plugin.i18n("领取邮箱物品时发生错误"));
+                break;
+        }
+    }
+
+    private Icon buildPageIcon(String name, int targetPage) {
+        ItemStack arrow = new ItemStack(Material.ARROW);
+        ItemMeta meta = arrow.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(ChatColor.YELLOW + name);
+            arrow.setItemMeta(meta);
+        }
+        Icon icon = new Icon(arrow);
+        icon.onClick(e -> {
+            e.setCancelled(true);
+            reopen(targetPage);
+        });
+        return icon;
+    }
+
+    private void reopen(int targetPage) {
+        player.closeInventory();
+        if (entries.isEmpty()) {
+            return;
+        }
+        org.bukkit.plugin.Plugin ultiTools = Bukkit.getPluginManager().getPlugin("UltiTools");
+        if (ultiTools != null) {
+            Bukkit.getScheduler().runTask(ultiTools, () ->
+                    new KitMailboxGui(player, plugin, kitService, entries, targetPage).open());
+        }
+    }
+}
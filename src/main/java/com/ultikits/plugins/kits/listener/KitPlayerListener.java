@@ -0,0 +1,43 @@
+package com.ultikits.plugins.kits.listener;
+
+import com.ultikits.plugins.kits.service.KitService;
+import com.ultikits.ultitools.annotations.EventListener;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Keeps the in-memory claim records in step with online players.
+ * 根据玩家上下线维护内存中的领取记录。
+ */
+@EventListener
+public class KitPlayerListener implements Listener {
+
+    private final KitService kitService;
+
+    public KitPlayerListener(KitService kitService) {
+        this.kitService = kitService;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        kitService.preloadClaims(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        // No-op if the pre-login handler already loaded the records
+        kitService.preloadClaimsAsync(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        kitService.evictClaims(event.getPlayer().getUniqueId());
+    }
+}
@@ -0,0 +1,72 @@
+package com.ultikits.plugins.kits.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of claim latency per phase and claim counts per result, as shown by /kits stats.
+ * 礼包领取各阶段耗时与各结果次数的快照。
+ */
+@Getter
+public final class ClaimStats {
+
+    /**
+     * False when claim metrics are turned off in the config; everything else is then empty.
+     */
+    private final boolean enabled;
+    private final List<PhaseStats> phases;
+    /**
+     * Number of claims per result name, in declaration order of the results.
+     */
+    private final Map<String, Long> outcomes;
+
+    public ClaimStats(boolean enabled, List<PhaseStats> phases, Map<String, Long> outcomes) {
+        this.enabled = enabled;
+        this.phases = Collections.unmodifiableList(phases);
+        this.outcomes = Collections.unmodifiableMap(new LinkedHashMap<>(outcomes));
+    }
+
+    public static ClaimStats disabled() {
+        return new ClaimStats(false, Collections.emptyList(), Collections.emptyMap());
+    }
+
+    public long getTotalClaims() {
+        long total = 0;
+        for (long count : outcomes.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Latency distribution of one claim phase, in nanoseconds.
+     */
+    @Getter
+    public static final class PhaseStats {
+        private final String name;
+        private final long count;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+        private final long max;
+
+        public PhaseStats(String name, long count, long p50, long p95, long p99, long max) {
+            this.name = name;
+            this.count = count;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        @Override
+        public String toString() {
+            return name + "(n=" + count + ", p50=" + p50 + ", p95=" + p95 + ", p99=" + p99
+                    + ", max=" + max + ")";
+        }
+    }
+}
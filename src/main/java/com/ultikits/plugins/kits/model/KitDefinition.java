@@ -1,6 +1,13 @@
 package com.ultikits.plugins.kits.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +25,77 @@ public class KitDefinition {
     private List<String> playerCommands = new ArrayList<>();
     private List<String> consoleCommands = new ArrayList<>();
     private String items = "";
+    private long itemDataSize = 0;
+    @Nullable
+    private KitFit fit;
+    /**
+     * Compiled text, built on first use and dropped when the text changes.
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile KitTemplates templates;
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+        this.templates = null;
+    }
+
+    public void setDescription(List<String> description) {
+        this.description = description;
+        this.templates = null;
+    }
+
+    public void setPlayerCommands(List<String> playerCommands) {
+        this.playerCommands = playerCommands;
+        this.templates = null;
+    }
+
+    public void setConsoleCommands(List<String> consoleCommands) {
+        this.consoleCommands = consoleCommands;
+        this.templates = null;
+    }
+
+    public KitTemplates getTemplates() {
+        KitTemplates compiled = templates;
+        if (compiled == null) {
+            compiled = KitTemplates.of(this);
+            templates = compiled;
+        }
+        return compiled;
+    }
+
+    /**
+     * Copy that can be changed without affecting readers of this definition.
+     * 可独立修改的副本。
+     */
+    public KitDefinition copy() {
+        KitDefinition copy = new KitDefinition();
+        copy.name = name;
+        copy.displayName = displayName;
+        copy.description = copyOf(description);
+        copy.icon = icon;
+        copy.price = price;
+        copy.levelRequired = levelRequired;
+        copy.permission = permission;
+        copy.reBuyable = reBuyable;
+        copy.cooldown = cooldown;
+        copy.playerCommands = copyOf(playerCommands);
+        copy.consoleCommands = copyOf(consoleCommands);
+        copy.items = items;
+        copy.itemDataSize = itemDataSize;
+        copy.fit = fit;
+        // Same text, so the compiled templates still apply
+        copy.templates = templates;
+        return copy;
+    }
+
+    @Nullable
+    private static List<String> copyOf(@Nullable List<String> list) {
+        return list != null ? new ArrayList<>(list) : null;
+    }
 
     public boolean isFree() {
         return price <= 0;
@@ -36,6 +114,10 @@ public class KitDefinition {
     }
 
     public boolean hasItems() {
+        return hasInlineItems() || itemDataSize > 0;
+    }
+
+    public boolean hasInlineItems() {
         return items != null && !items.isEmpty();
     }
 }
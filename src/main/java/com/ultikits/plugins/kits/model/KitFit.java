@@ -0,0 +1,61 @@
+package com.ultikits.plugins.kits.model;
+
+import lombok.Getter;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Inventory space a kit needs, recorded when its items are saved so claims can be checked
+ * without decoding the items.
+ * 礼包所需的背包空间，保存物品时记录，领取时无需解码物品即可判断。
+ */
+@Getter
+public final class KitFit {
+
+    /**
+     * Number of stacks in the kit, i.e. the empty slots needed when nothing merges.
+     */
+    private final int itemCount;
+    /**
+     * Total amount per material name.
+     */
+    private final Map<String, Integer> amounts;
+    /**
+     * Maximum stack size per material name.
+     */
+    private final Map<String, Integer> maxStackSizes;
+
+    public KitFit(int itemCount, Map<String, Integer> amounts, Map<String, Integer> maxStackSizes) {
+        this.itemCount = itemCount;
+        this.amounts = Collections.unmodifiableMap(new LinkedHashMap<>(amounts));
+        this.maxStackSizes = Collections.unmodifiableMap(new LinkedHashMap<>(maxStackSizes));
+    }
+
+    /**
+     * Computes the fit of a kit's items; empty slots and air are ignored.
+     */
+    public static KitFit of(ItemStack[] items) {
+        int count = 0;
+        Map<String, Integer> amounts = new LinkedHashMap<>();
+        Map<String, Integer> maxStackSizes = new LinkedHashMap<>();
+        for (ItemStack item : items) {
+            Material type = item != null ? item.getType() : null;
+            if (type == null || type == Material.AIR) {
+                continue;
+            }
+            count++;
+            String material = type.name();
+            amounts.merge(material, Math.max(1, item.getAmount()), Integer::sum);
+            maxStackSizes.put(material, Math.max(1, item.getMaxStackSize()));
+        }
+        return new KitFit(count, amounts, maxStackSizes);
+    }
+
+    public int getMaxStackSize(String material) {
+        return maxStackSizes.getOrDefault(material, 1);
+    }
+}
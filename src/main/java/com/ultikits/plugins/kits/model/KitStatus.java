@@ -0,0 +1,60 @@
+package com.ultikits.plugins.kits.model;
+
+import lombok.Getter;
+
+/**
+ * Claim eligibility of a kit for one player, as shown in the kit browser.
+ * 礼包对某个玩家的可领取状态。
+ */
+@Getter
+public final class KitStatus {
+
+    public enum Type {
+        CLAIMABLE, ON_COOLDOWN, ALREADY_CLAIMED, INSUFFICIENT_LEVEL, INSUFFICIENT_FUNDS
+    }
+
+    private static final KitStatus CLAIMABLE = new KitStatus(Type.CLAIMABLE, 0);
+    private static final KitStatus ALREADY_CLAIMED = new KitStatus(Type.ALREADY_CLAIMED, 0);
+    private static final KitStatus INSUFFICIENT_LEVEL = new KitStatus(Type.INSUFFICIENT_LEVEL, 0);
+    private static final KitStatus INSUFFICIENT_FUNDS = new KitStatus(Type.INSUFFICIENT_FUNDS, 0);
+
+    private final Type type;
+    /**
+     * Remaining cooldown in milliseconds; only non-zero for {@link Type#ON_COOLDOWN}.
+     */
+    private final long remainingMillis;
+
+    private KitStatus(Type type, long remainingMillis) {
+        this.type = type;
+        this.remainingMillis = remainingMillis;
+    }
+
+    public static KitStatus claimable() {
+        return CLAIMABLE;
+    }
+
+    public static KitStatus alreadyClaimed() {
+        return ALREADY_CLAIMED;
+    }
+
+    public static KitStatus insufficientLevel() {
+        return INSUFFICIENT_LEVEL;
+    }
+
+    public static KitStatus insufficientFunds() {
+        return INSUFFICIENT_FUNDS;
+    }
+
+    public static KitStatus onCooldown(long remainingMillis) {
+        return new KitStatus(Type.ON_COOLDOWN, remainingMillis);
+    }
+
+    public boolean isClaimable() {
+        return type == Type.CLAIMABLE;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.ON_COOLDOWN ? type + "(" + remainingMillis + "ms)" : type.name();
+    }
+}
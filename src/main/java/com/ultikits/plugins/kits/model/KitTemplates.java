@@ -0,0 +1,52 @@
+package com.ultikits.plugins.kits.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiled display text and commands of a kit.
+ * 礼包的预编译显示文本与命令。
+ */
+@Getter
+public final class KitTemplates {
+
+    private final TextTemplate displayName;
+    private final List<TextTemplate> description;
+    private final List<TextTemplate> playerCommands;
+    private final List<TextTemplate> consoleCommands;
+
+    private KitTemplates(TextTemplate displayName, List<TextTemplate> description,
+                         List<TextTemplate> playerCommands, List<TextTemplate> consoleCommands) {
+        this.displayName = displayName;
+        this.description = description;
+        this.playerCommands = playerCommands;
+        this.consoleCommands = consoleCommands;
+    }
+
+    /**
+     * Compiles the text of a kit. Display text gets its color codes translated; commands are
+     * kept as written.
+     */
+    public static KitTemplates of(KitDefinition kit) {
+        String displayName = kit.getDisplayName() != null ? kit.getDisplayName() : "";
+        return new KitTemplates(TextTemplate.compileColored(displayName),
+                compileAll(kit.getDescription(), true),
+                compileAll(kit.getPlayerCommands(), false),
+                compileAll(kit.getConsoleCommands(), false));
+    }
+
+    private static List<TextTemplate> compileAll(List<String> lines, boolean colored) {
+        if (lines == null || lines.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<TextTemplate> templates = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            String source = line != null ? line : "";
+            templates.add(colored ? TextTemplate.compileColored(source) : TextTemplate.compile(source));
+        }
+        return Collections.unmodifiableList(templates);
+    }
+}
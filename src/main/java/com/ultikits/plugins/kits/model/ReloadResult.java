@@ -0,0 +1,29 @@
+package com.ultikits.plugins.kits.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of a kit reload.
+ * 礼包重载结果。
+ */
+@Getter
+@AllArgsConstructor
+public class ReloadResult {
+    private final int added;
+    private final int changed;
+    private final int removed;
+    /**
+     * Files that could not be read or parsed. A kit that was already loaded keeps its previous
+     * definition and still counts in {@link #total}; a new kit is not added.
+     */
+    private final int failed;
+    /**
+     * Number of kits in the registry after the reload.
+     */
+    private final int total;
+
+    public int getUnchanged() {
+        return total - added - changed;
+    }
+}
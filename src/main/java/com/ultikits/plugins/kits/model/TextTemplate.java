@@ -0,0 +1,124 @@
+package com.ultikits.plugins.kits.model;
+
+import org.bukkit.ChatColor;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kit text split once into literal and placeholder segments, so rendering is plain appending.
+ * 预编译的礼包文本模板（字面量与占位符片段），渲染时只需拼接。
+ *
+ * <p>Supported placeholders are {@code {player}}, {@code {uuid}}, {@code {kit}} and
+ * {@code {world}}; any other text in braces is kept as it is.</p>
+ */
+public final class TextTemplate {
+
+    public enum Placeholder {
+        PLAYER("player"), UUID("uuid"), KIT("kit"), WORLD("world");
+
+        private final String key;
+
+        Placeholder(String key) {
+            this.key = key;
+        }
+
+        @Nullable
+        static Placeholder byKey(String key) {
+            for (Placeholder placeholder : values()) {
+                if (placeholder.key.equals(key)) {
+                    return placeholder;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Literal i comes before placeholder i; there is one more literal than placeholders.
+     */
+    private final String[] literals;
+    private final Placeholder[] placeholders;
+    private final int literalLength;
+
+    private TextTemplate(String[] literals, Placeholder[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static TextTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < source.length()) {
+            int open = source.indexOf('{', index);
+            int close = open >= 0 ? source.indexOf('}', open + 1) : -1;
+            if (close < 0) {
+                literal.append(source, index, source.length());
+                break;
+            }
+            Placeholder placeholder = Placeholder.byKey(source.substring(open + 1, close));
+            if (placeholder == null) {
+                // Not one of ours, keep the brace and continue after it
+                literal.append(source, index, open + 1);
+                index = open + 1;
+                continue;
+            }
+            literal.append(source, index, open);
+            literals.add(literal.toString());
+            placeholders.add(placeholder);
+            literal.setLength(0);
+            index = close + 1;
+        }
+        literals.add(literal.toString());
+        return new TextTemplate(literals.toArray(new String[0]), placeholders.toArray(new Placeholder[0]));
+    }
+
+    /**
+     * Compiles display text, translating {@code &} color codes once.
+     */
+    public static TextTemplate compileColored(String source) {
+        return compile(ChatColor.translateAlternateColorCodes('&', source));
+    }
+
+    public boolean isConstant() {
+        return placeholders.length == 0;
+    }
+
+    public String render(Player player, String kitName) {
+        if (isConstant()) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(literalLength + 16 * placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            out.append(literals[i]);
+            out.append(resolve(placeholders[i], player, kitName));
+        }
+        return out.append(literals[placeholders.length]).toString();
+    }
+
+    private static String resolve(Placeholder placeholder, Player player, String kitName) {
+        switch (placeholder) {
+            case PLAYER:
+                return player.getName();
+            case UUID:
+                return String.valueOf(player.getUniqueId());
+            case KIT:
+                return kitName;
+            case WORLD:
+                World world = player.getWorld();
+                return world != null ? world.getName() : "";
+            default:
+                return "";
+        }
+    }
+}
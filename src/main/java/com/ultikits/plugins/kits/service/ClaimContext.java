@@ -0,0 +1,40 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.entity.KitClaimData;
+import com.ultikits.plugins.kits.model.KitDefinition;
+import lombok.Getter;
+import org.bukkit.entity.Player;
+
+import javax.annotation.Nullable;
+
+/**
+ * State of a single claim attempt, carried from validation to the final record update.
+ * 单次领取的上下文，从校验一直传递到最终记录更新。
+ *
+ * <p>The player's claim record is loaded once when the context is created, so cooldown checks
+ * and the record update all work on the same snapshot instead of querying again.</p>
+ */
+@Getter
+final class ClaimContext {
+
+    private final Player player;
+    private final KitDefinition kit;
+    private final long now;
+    @Nullable
+    private KitClaimData claim;
+
+    ClaimContext(Player player, KitDefinition kit, @Nullable KitClaimData claim) {
+        this.player = player;
+        this.kit = kit;
+        this.claim = claim;
+        this.now = System.currentTimeMillis();
+    }
+
+    boolean hasClaimed() {
+        return claim != null;
+    }
+
+    void setClaim(KitClaimData claim) {
+        this.claim = claim;
+    }
+}
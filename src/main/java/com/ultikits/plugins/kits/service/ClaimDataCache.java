@@ -0,0 +1,344 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.entity.KitClaimData;
+import com.ultikits.ultitools.interfaces.DataOperator;
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-player cache of kit claim records with write-behind persistence.
+ * 按玩家缓存礼包领取记录，并在后台异步写回数据库。
+ *
+ * <p>Records are loaded once per player (normally while the player logs in) and all
+ * cooldown and one-time checks are answered from memory. Changed records are queued and
+ * written by a single background thread, so the database never sits on the claim path.
+ * Only {@link #get} and {@link #getAll} query the database on a miss; the server thread uses
+ * {@link #getIfLoaded}, which leaves the query to the background thread.</p>
+ *
+ * <p>Queued writes hold a copy of the record's fields, so the writer never reads a record the
+ * main thread is changing. A write that fails stays queued and is retried with a growing delay;
+ * {@link #flush()} and {@link #shutdown()} retry it right away. Until it is written, a player
+ * loaded from the database again gets the queued version of the record.</p>
+ */
+class ClaimDataCache {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 300_000;
+
+    private final DataOperator<KitClaimData> claimOperator;
+    private final PluginLogger logger;
+    private final Map<UUID, Map<String, KitClaimData>> players = new ConcurrentHashMap<>();
+    private final Map<String, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final OperationStats queries = new OperationStats();
+    private final OperationStats writes = new OperationStats();
+
+    ClaimDataCache(DataOperator<KitClaimData> claimOperator, PluginLogger logger, long flushIntervalSeconds) {
+        this.claimOperator = claimOperator;
+        this.logger = logger;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UltiKits-ClaimWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(() -> flushPending(null, false),
+                flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the claim record of a player for a kit, loading the player's records on a cache miss.
+     * Blocking; call from worker threads only.
+     */
+    @Nullable
+    KitClaimData get(UUID playerUuid, String kitName) {
+        return getAll(playerUuid).get(kitName.toLowerCase());
+    }
+
+    /**
+     * Returns all claim records of a player keyed by lower-case kit name, loading them on a cache miss.
+     * Blocking; call from worker threads only.
+     */
+    Map<String, KitClaimData> getAll(UUID playerUuid) {
+        Map<String, KitClaimData> claims = players.get(playerUuid);
+        if (claims != null) {
+            hits.increment();
+            return claims;
+        }
+        misses.increment();
+        Map<String, KitClaimData> loaded = query(playerUuid);
+        Map<String, KitClaimData> existing = players.putIfAbsent(playerUuid, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Returns the cached claim records of a player without querying the database.
+     * On a miss the records are loaded in the background and null is returned.
+     */
+    @Nullable
+    Map<String, KitClaimData> getIfLoaded(UUID playerUuid) {
+        Map<String, KitClaimData> claims = players.get(playerUuid);
+        if (claims == null) {
+            preloadAsync(playerUuid);
+            return null;
+        }
+        hits.increment();
+        return claims;
+    }
+
+    /**
+     * Loads the records of a player into the cache if they are not cached yet.
+     * Blocking; intended to be called from async login handlers.
+     */
+    void preload(UUID playerUuid) {
+        getAll(playerUuid);
+    }
+
+    /**
+     * Schedules {@link #preload(UUID)} on the background thread.
+     */
+    void preloadAsync(UUID playerUuid) {
+        if (players.containsKey(playerUuid)) {
+            return;
+        }
+        writer.execute(() -> preload(playerUuid));
+    }
+
+    boolean isLoaded(UUID playerUuid) {
+        return players.containsKey(playerUuid);
+    }
+
+    /**
+     * Stores a new or changed record in the cache and queues it for writing.
+     * A player who is not cached is not loaded for this; loading them later picks up the queued write.
+     *
+     * @param inserted true if the record does not exist in the database yet
+     */
+    void put(KitClaimData claim, boolean inserted) {
+        pending.merge(claim.getUuid(), new PendingWrite(claim, inserted), PendingWrite::replacedBy);
+        Map<String, KitClaimData> claims = players.get(UUID.fromString(claim.getPlayerUuid()));
+        if (claims != null) {
+            claims.put(claim.getKitName().toLowerCase(), claim);
+        }
+    }
+
+    /**
+     * Flushes the player's pending writes and then drops the player from the cache.
+     */
+    void evict(UUID playerUuid) {
+        writer.execute(() -> {
+            flushPending(playerUuid.toString(), true);
+            players.remove(playerUuid);
+        });
+    }
+
+    /**
+     * Writes all pending records and waits until they are written.
+     */
+    void flush() {
+        Future<?> future = writer.submit(() -> flushPending(null, true));
+        try {
+            future.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Failed to flush kit claim data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all pending records and stops the background thread.
+     */
+    void shutdown() {
+        flush();
+        writer.shutdown();
+        players.clear();
+        if (!pending.isEmpty()) {
+            logger.error("Kit claim records could not be written: " + pending.size());
+        }
+    }
+
+    int size() {
+        return players.size();
+    }
+
+    int pendingWrites() {
+        return pending.size();
+    }
+
+    /**
+     * Lookups answered from memory.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Lookups that had to query the database.
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    OperationStats getQueries() {
+        return queries;
+    }
+
+    OperationStats getWrites() {
+        return writes;
+    }
+
+    private Map<String, KitClaimData> query(UUID playerUuid) {
+        long start = queries.start();
+        List<KitClaimData> claims;
+        try {
+            claims = claimOperator.query()
+                    .where("player_uuid").eq(playerUuid.toString())
+                    .list();
+        } catch (RuntimeException e) {
+            queries.record(start, false);
+            throw e;
+        }
+        queries.record(start, true);
+        Map<String, KitClaimData> byKit = new ConcurrentHashMap<>();
+        for (KitClaimData claim : claims) {
+            if (claim.getKitName() != null) {
+                byKit.putIfAbsent(claim.getKitName().toLowerCase(), claim);
+            }
+        }
+        // Writes that have not reached the database yet are newer than what it returned
+        String player = playerUuid.toString();
+        for (PendingWrite write : pending.values()) {
+            if (player.equals(write.playerUuid)) {
+                byKit.put(write.kitName.toLowerCase(), write.toRecord());
+            }
+        }
+        return byKit;
+    }
+
+    /**
+     * Writes the pending records of one player, or of all players when null.
+     *
+     * @param retryNow whether failed writes are retried before their delay has passed
+     */
+    private void flushPending(@Nullable String playerUuid, boolean retryNow) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, PendingWrite>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, PendingWrite> entry = iterator.next();
+            PendingWrite write = entry.getValue();
+            if (playerUuid != null && !playerUuid.equals(write.playerUuid)) {
+                continue;
+            }
+            if (!retryNow && write.retryAt > now) {
+                continue;
+            }
+            if (!pending.remove(entry.getKey(), write)) {
+                continue;
+            }
+            if (!write(write)) {
+                // A newer change queued meanwhile carries the latest fields; it keeps the insert
+                pending.merge(entry.getKey(), write.failed(now), (newer, failed) -> failed.replacedBy(newer));
+            }
+        }
+    }
+
+    /**
+     * @return whether the record was written
+     */
+    private boolean write(PendingWrite write) {
+        long start = writes.start();
+        try {
+            if (write.inserted) {
+                claimOperator.insert(write.toRecord());
+            } else {
+                claimOperator.update(write.toRecord());
+            }
+            writes.record(start, true);
+            return true;
+        } catch (IllegalAccessException e) {
+            writes.record(start, false);
+            logger.error("Failed to update kit claim data, will retry: " + e.getMessage());
+        } catch (RuntimeException e) {
+            writes.record(start, false);
+            logger.error("Failed to write kit claim data, will retry: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * The fields of a record as they were when it was queued.
+     */
+    private static final class PendingWrite {
+        private final String uuid;
+        private final String playerUuid;
+        private final String kitName;
+        private final long lastClaim;
+        private final int claimCount;
+        private final boolean inserted;
+        private final int failures;
+        /**
+         * Time before which a failed write is not retried by the periodic flush.
+         */
+        private final long retryAt;
+
+        private PendingWrite(KitClaimData claim, boolean inserted) {
+            this(claim.getUuid(), claim.getPlayerUuid(), claim.getKitName(), claim.getLastClaim(),
+                    claim.getClaimCount(), inserted, 0, 0);
+        }
+
+        private PendingWrite(String uuid, String playerUuid, String kitName, long lastClaim, int claimCount,
+                             boolean inserted, int failures, long retryAt) {
+            this.uuid = uuid;
+            this.playerUuid = playerUuid;
+            this.kitName = kitName;
+            this.lastClaim = lastClaim;
+            this.claimCount = claimCount;
+            this.inserted = inserted;
+            this.failures = failures;
+            this.retryAt = retryAt;
+        }
+
+        /**
+         * The newer write, still an insert if this one was.
+         */
+        private PendingWrite replacedBy(PendingWrite newer) {
+            return new PendingWrite(newer.uuid, newer.playerUuid, newer.kitName, newer.lastClaim,
+                    newer.claimCount, inserted || newer.inserted, newer.failures, newer.retryAt);
+        }
+
+        /**
+         * This write again after a failure, delayed twice as long as after the previous one.
+         */
+        private PendingWrite failed(long now) {
+            long delay = Math.min(MAX_RETRY_DELAY_MILLIS, RETRY_DELAY_MILLIS << Math.min(failures, 6));
+            return new PendingWrite(uuid, playerUuid, kitName, lastClaim, claimCount, inserted,
+                    failures + 1, now + delay);
+        }
+
+        private KitClaimData toRecord() {
+            return KitClaimData.builder()
+                    .uuid(uuid)
+                    .playerUuid(playerUuid)
+                    .kitName(kitName)
+                    .lastClaim(lastClaim)
+                    .claimCount(claimCount)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs kit console commands in one scheduled task per tick.
+ * 每 tick 用一个调度任务批量执行礼包的控制台命令。
+ *
+ * <p>Commands of all claims made during a tick are queued and dispatched in order by a single
+ * task on the next tick. A task stops once its time budget is used up (after at least one
+ * command) and leaves the rest to a task on the following tick, so a burst of claims never
+ * stalls the server for long.</p>
+ */
+class ConsoleCommandBatch {
+
+    private final PluginLogger logger;
+    private final long budgetNanos;
+    private final Consumer<Runnable> nextTick;
+    private final Consumer<String> dispatcher;
+    private final LongSupplier clock;
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    /**
+     * True while a task is scheduled and has not finished yet.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param budgetNanos time a single task may spend dispatching
+     * @param nextTick    schedules a task on the next server tick
+     * @param dispatcher  dispatches one command as the console
+     * @param clock       nanosecond clock, {@code System::nanoTime} outside tests
+     */
+    ConsoleCommandBatch(PluginLogger logger, long budgetNanos, Consumer<Runnable> nextTick,
+                        Consumer<String> dispatcher, LongSupplier clock) {
+        this.logger = logger;
+        this.budgetNanos = budgetNanos;
+        this.nextTick = nextTick;
+        this.dispatcher = dispatcher;
+        this.clock = clock;
+    }
+
+    /**
+     * Queues the commands of one claim, scheduling a task if none is pending.
+     */
+    void submit(List<String> commands) {
+        queue.addAll(commands);
+        scheduleIfIdle();
+    }
+
+    private void scheduleIfIdle() {
+        if (scheduled.compareAndSet(false, true)) {
+            nextTick.accept(this::runTick);
+        }
+    }
+
+    void runTick() {
+        long deadline = clock.getAsLong() + budgetNanos;
+        int dispatched = 0;
+        String command;
+        while ((dispatched == 0 || clock.getAsLong() - deadline < 0) && (command = queue.poll()) != null) {
+            dispatch(command);
+            dispatched++;
+        }
+        scheduled.set(false);
+        // Commands left over, or queued while this task ran, go to the next tick
+        if (!queue.isEmpty()) {
+            scheduleIfIdle();
+        }
+    }
+
+    /**
+     * Dispatches every queued command right away, ignoring the time budget. Called on the server
+     * thread when the plugin is disabled, since no scheduled task runs after that.
+     */
+    void drain() {
+        String command;
+        while ((command = queue.poll()) != null) {
+            dispatch(command);
+        }
+    }
+
+    private void dispatch(String command) {
+        try {
+            dispatcher.accept(command);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to run kit console command: " + command + " - " + e.getMessage());
+        }
+    }
+
+    int pendingCommands() {
+        return queue.size();
+    }
+}
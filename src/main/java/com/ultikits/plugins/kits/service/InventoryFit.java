@@ -0,0 +1,173 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.model.KitFit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Decides whether kit items fit into an inventory, counting merges into existing stacks.
+ * 判断礼包物品能否放入背包（考虑与已有物品堆叠合并）。
+ *
+ * <p>{@link #fits} replays the placement order of {@code Inventory#addItem}: each stack first
+ * tops up the first similar stack that is not full, then takes the first empty slot. Delivering
+ * with {@code addItem} afterwards therefore follows the same plan. Scratch arrays are reused per
+ * thread, so a check allocates nothing.</p>
+ */
+final class InventoryFit {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private InventoryFit() {
+    }
+
+    /**
+     * Simulates adding the items to the storage contents without changing them.
+     *
+     * @return true if every item fits completely
+     */
+    static boolean fits(ItemStack[] contents, ItemStack[] items) {
+        Scratch scratch = SCRATCH.get().prepare(contents.length);
+        int[] amounts = scratch.amounts;
+        ItemStack[] stacks = scratch.stacks;
+        try {
+            for (int i = 0; i < contents.length; i++) {
+                ItemStack slot = contents[i];
+                if (!isEmpty(slot)) {
+                    stacks[i] = slot;
+                    amounts[i] = slot.getAmount();
+                }
+            }
+            for (ItemStack item : items) {
+                if (!isEmpty(item) && !place(contents.length, amounts, stacks, item)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            // Do not keep players' items reachable from the thread
+            Arrays.fill(stacks, 0, contents.length, null);
+        }
+    }
+
+    private static boolean place(int size, int[] amounts, ItemStack[] stacks, ItemStack item) {
+        int remaining = Math.max(1, item.getAmount());
+        while (remaining > 0) {
+            int slot = firstPartial(size, amounts, stacks, item);
+            if (slot < 0) {
+                slot = firstEmpty(size, stacks);
+                if (slot < 0) {
+                    return false;
+                }
+                int placed = Math.min(remaining, maxStackSize(item));
+                stacks[slot] = item;
+                amounts[slot] = placed;
+                remaining -= placed;
+            } else {
+                int placed = Math.min(remaining, maxStackSize(stacks[slot]) - amounts[slot]);
+                amounts[slot] += placed;
+                remaining -= placed;
+            }
+        }
+        return true;
+    }
+
+    private static int firstPartial(int size, int[] amounts, ItemStack[] stacks, ItemStack item) {
+        for (int i = 0; i < size; i++) {
+            ItemStack stack = stacks[i];
+            if (stack != null && amounts[i] < maxStackSize(stack) && stack.isSimilar(item)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int firstEmpty(int size, ItemStack[] stacks) {
+        for (int i = 0; i < size; i++) {
+            if (stacks[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Fewest empty slots the kit needs in this inventory, assuming every stack of the same
+     * material merges. Fewer empty slots than this means the kit cannot fit, which is decided
+     * from the kit's fit metadata alone.
+     */
+    static int minimumEmptySlots(ItemStack[] contents, KitFit fit) {
+        int needed = 0;
+        for (Map.Entry<String, Integer> entry : fit.getAmounts().entrySet()) {
+            String material = entry.getKey();
+            int maxStackSize = fit.getMaxStackSize(material);
+            int room = 0;
+            for (ItemStack slot : contents) {
+                if (!isEmpty(slot) && slot.getType() != null && slot.getType().name().equals(material)) {
+                    room += Math.max(0, maxStackSize(slot) - slot.getAmount());
+                }
+            }
+            int overflow = entry.getValue() - room;
+            if (overflow > 0) {
+                needed += (overflow + maxStackSize - 1) / maxStackSize;
+            }
+        }
+        return needed;
+    }
+
+    /**
+     * Whether at least part of the items can be added: there is an empty slot, or one of the
+     * items can top up a similar stack that is not full.
+     */
+    static boolean hasRoom(ItemStack[] contents, ItemStack[] items) {
+        if (countEmptySlots(contents) > 0) {
+            return true;
+        }
+        for (ItemStack slot : contents) {
+            if (slot.getAmount() >= maxStackSize(slot)) {
+                continue;
+            }
+            for (ItemStack item : items) {
+                if (!isEmpty(item) && slot.isSimilar(item)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static int countEmptySlots(ItemStack[] contents) {
+        int count = 0;
+        for (ItemStack slot : contents) {
+            if (isEmpty(slot)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isEmpty(ItemStack stack) {
+        return stack == null || stack.getType() == Material.AIR;
+    }
+
+    private static int maxStackSize(ItemStack stack) {
+        return Math.max(1, stack.getMaxStackSize());
+    }
+
+    private static final class Scratch {
+        private int[] amounts = new int[0];
+        private ItemStack[] stacks = new ItemStack[0];
+
+        private Scratch prepare(int size) {
+            if (amounts.length < size) {
+                amounts = new int[size];
+                stacks = new ItemStack[size];
+            } else {
+                Arrays.fill(amounts, 0, size, 0);
+            }
+            return this;
+        }
+    }
+}
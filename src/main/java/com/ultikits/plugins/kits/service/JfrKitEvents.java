@@ -0,0 +1,172 @@
+package com.ultikits.plugins.kits.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * {@link KitEvents} backed by JFR event types, created only on runtimes that have {@code jdk.jfr}.
+ * 基于 JFR 事件类型的实现，仅在支持 JFR 的运行环境中创建。
+ *
+ * <p>{@link #begin} checks whether a recording has the event type enabled before creating
+ * anything, so without an active recording a kit operation costs one volatile read.</p>
+ */
+final class JfrKitEvents extends KitEvents {
+
+    private static final String CATEGORY = "UltiKits";
+
+    private final Class<?>[] eventClasses = new Class<?>[KitEvents.Type.values().length];
+    private final EventType[] eventTypes = new EventType[KitEvents.Type.values().length];
+
+    JfrKitEvents() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available");
+        }
+        register(Type.CLAIM, ClaimEvent.class);
+        register(Type.ITEM_DECODE, ItemDecodeEvent.class);
+        register(Type.KIT_LOAD, KitLoadEvent.class);
+        register(Type.KIT_RELOAD, KitReloadEvent.class);
+        register(Type.KIT_SAVE, KitSaveEvent.class);
+    }
+
+    private void register(Type type, Class<? extends KitEvent> eventClass) {
+        FlightRecorder.register(eventClass);
+        eventClasses[type.ordinal()] = eventClass;
+        eventTypes[type.ordinal()] = EventType.getEventType(eventClass);
+    }
+
+    @Override
+    boolean isSupported() {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    Object begin(Type type) {
+        if (!eventTypes[type.ordinal()].isEnabled()) {
+            return null;
+        }
+        KitEvent event = create(type);
+        event.begin();
+        return event;
+    }
+
+    private static KitEvent create(Type type) {
+        switch (type) {
+            case CLAIM:
+                return new ClaimEvent();
+            case ITEM_DECODE:
+                return new ItemDecodeEvent();
+            case KIT_LOAD:
+                return new KitLoadEvent();
+            case KIT_RELOAD:
+                return new KitReloadEvent();
+            default:
+                return new KitSaveEvent();
+        }
+    }
+
+    @Override
+    void end(@Nullable Object event, String kitName, @Nullable UUID playerUuid, String result) {
+        end(event, kitName, playerUuid, result, 0);
+    }
+
+    @Override
+    void end(@Nullable Object event, String kitName, @Nullable UUID playerUuid, String result, long size) {
+        if (!(event instanceof KitEvent)) {
+            return;
+        }
+        KitEvent kitEvent = (KitEvent) event;
+        kitEvent.end();
+        if (kitEvent.shouldCommit()) {
+            kitEvent.kitName = kitName;
+            kitEvent.playerUuid = playerUuid != null ? playerUuid.toString() : null;
+            kitEvent.result = result;
+            kitEvent.setSize(size);
+            kitEvent.commit();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void close() {
+        for (Class<?> eventClass : eventClasses) {
+            FlightRecorder.unregister((Class<? extends Event>) eventClass);
+        }
+    }
+
+    @Category(CATEGORY)
+    @StackTrace(false)
+    abstract static class KitEvent extends Event {
+        @Label("Kit")
+        String kitName;
+        @Label("Player UUID")
+        String playerUuid;
+        @Label("Result")
+        String result;
+
+        void setSize(long size) {
+        }
+    }
+
+    @Name("ultikits.KitClaim")
+    @Label("Kit Claim")
+    @Description("A claim attempt, from the command to the result; async claims include the hop to the main thread")
+    static final class ClaimEvent extends KitEvent {
+    }
+
+    @Name("ultikits.ItemDecode")
+    @Label("Kit Item Decode")
+    @Description("Decoding the stored items of a kit")
+    static final class ItemDecodeEvent extends KitEvent {
+        @Label("Stacks")
+        long stacks;
+
+        @Override
+        void setSize(long size) {
+            stacks = size;
+        }
+    }
+
+    @Name("ultikits.KitLoad")
+    @Label("Kit Load")
+    @Description("Reading and parsing one kit file, or reusing it when unchanged")
+    static final class KitLoadEvent extends KitEvent {
+    }
+
+    @Name("ultikits.KitReload")
+    @Label("Kit Reload")
+    @Description("Loading the kits folder or changed kit files and publishing the registry")
+    static final class KitReloadEvent extends KitEvent {
+        @Label("Kits")
+        long kits;
+
+        @Override
+        void setSize(long size) {
+            kits = size;
+        }
+    }
+
+    @Name("ultikits.KitSave")
+    @Label("Kit File Save")
+    @Description("Writing or deleting a kit file on the background writer")
+    static final class KitSaveEvent extends KitEvent {
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+        @Override
+        void setSize(long size) {
+            bytes = size;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ultikits.plugins.kits.service;
+
+import javax.annotation.Nullable;
+import java.util.UUID;
+
+/**
+ * Java Flight Recorder events for kit operations.
+ * 礼包操作的 JFR 事件。
+ *
+ * <p>The plugin is compiled for Java 8, whose runtime may not have {@code jdk.jfr}. The event
+ * classes live in {@link JfrKitEvents}, which is loaded by name only after the runtime is found
+ * to support JFR. Without JFR this class is used as is and every method does nothing. Callers
+ * keep the object returned by {@link #begin} without looking at it and pass it to an
+ * {@code end} method; it is null whenever the event is not being recorded.</p>
+ */
+class KitEvents {
+
+    enum Type {
+        CLAIM, ITEM_DECODE, KIT_LOAD, KIT_RELOAD, KIT_SAVE
+    }
+
+    private static final String JFR_EVENTS_CLASS = "com.ultikits.plugins.kits.service.JfrKitEvents";
+    private static final KitEvents INSTANCE = detect();
+
+    KitEvents() {
+    }
+
+    static KitEvents get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the JFR event types if the runtime supports them.
+     *
+     * @return the JFR implementation, or one that records nothing
+     */
+    private static KitEvents detect() {
+        try {
+            Class.forName("jdk.jfr.FlightRecorder", false, KitEvents.class.getClassLoader());
+            return (KitEvents) Class.forName(JFR_EVENTS_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return new KitEvents();
+        }
+    }
+
+    boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Starts timing an event.
+     *
+     * @return the event to end, or null if nobody records this type
+     */
+    @Nullable
+    Object begin(Type type) {
+        return null;
+    }
+
+    /**
+     * Ends an event with the kit, the player if there is one, and the result.
+     */
+    void end(@Nullable Object event, String kitName, @Nullable UUID playerUuid, String result) {
+    }
+
+    /**
+     * Ends an event that also has a size: stacks for decodes, bytes for saves, kits for reloads.
+     */
+    void end(@Nullable Object event, String kitName, @Nullable UUID playerUuid, String result, long size) {
+    }
+
+    /**
+     * Unregisters the event types, so a reloaded plugin does not leave its classes behind.
+     */
+    void close() {
+    }
+}
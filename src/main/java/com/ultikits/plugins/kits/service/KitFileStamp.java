@@ -0,0 +1,86 @@
+package com.ultikits.plugins.kits.service;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Modification time, size and content hash of a kit file as it was last loaded.
+ * 礼包文件上次加载时的修改时间、大小与内容哈希。
+ *
+ * <p>A matching time and size lets a reload skip the file without reading it. Stamps taken
+ * within the file system's timestamp granularity of the last write are not trusted that way,
+ * since an edit in the same tick can keep both values; those files are compared by hash.</p>
+ *
+ * <p>A kit's stamp also carries the stamp of its {@code .items} file, so replacing only the
+ * items counts as a change of the kit.</p>
+ */
+final class KitFileStamp {
+
+    private static final long TIMESTAMP_GRANULARITY_MS = 2000;
+
+    private final long lastModified;
+    private final long size;
+    private final byte[] hash;
+    private final long recordedAt;
+    /**
+     * Stamp of the kit's item file, or null if the kit had none.
+     */
+    @Nullable
+    private final KitFileStamp items;
+
+    private KitFileStamp(long lastModified, long size, byte[] hash, long recordedAt, @Nullable KitFileStamp items) {
+        this.lastModified = lastModified;
+        this.size = size;
+        this.hash = hash;
+        this.recordedAt = recordedAt;
+        this.items = items;
+    }
+
+    /**
+     * Creates a stamp for a file whose content has just been read.
+     */
+    static KitFileStamp of(File file, byte[] content) {
+        return new KitFileStamp(file.lastModified(), content.length, digest(content), System.currentTimeMillis(), null);
+    }
+
+    /**
+     * This stamp together with the stamp of the kit's item file.
+     */
+    KitFileStamp withItems(@Nullable KitFileStamp itemStamp) {
+        return new KitFileStamp(lastModified, size, hash, recordedAt, itemStamp);
+    }
+
+    /**
+     * True if the file's time and size still match and the stamp is old enough to rely on them.
+     */
+    boolean isUnchanged(File file) {
+        return lastModified + TIMESTAMP_GRANULARITY_MS < recordedAt
+                && file.lastModified() == lastModified
+                && file.length() == size;
+    }
+
+    /**
+     * {@link #isUnchanged(File)} for a kit file and its item file.
+     */
+    boolean isUnchanged(File file, File itemFile) {
+        return isUnchanged(file) && (items != null ? items.isUnchanged(itemFile) : !itemFile.exists());
+    }
+
+    boolean hasSameContent(KitFileStamp other) {
+        if (!Arrays.equals(hash, other.hash)) {
+            return false;
+        }
+        return items == null || other.items == null ? items == other.items : items.hasSameContent(other.items);
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
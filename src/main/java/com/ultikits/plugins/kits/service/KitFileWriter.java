@@ -0,0 +1,191 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Single background writer for kit files.
+ * 礼包文件的后台单线程写入器。
+ *
+ * <p>Saves are queued per file; when a file is saved again before its previous save was written,
+ * only the latest content is written. Files are written in the order they were first queued, and
+ * a file saved again while it is being written is written again right away, so an item file
+ * queued before its YAML is always on disk first. Each write goes to a temporary file in the same
+ * folder that is then moved over the kit file atomically, so a crash never leaves a half-written kit.</p>
+ */
+class KitFileWriter {
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final PluginLogger logger;
+    private final BiConsumer<String, File> onWritten;
+    private final Map<File, PendingFile> pending = new ConcurrentHashMap<>();
+    private final ExecutorService writer;
+    private final KitEvents events = KitEvents.get();
+
+    /**
+     * @param onWritten called on the writer thread with the kit name and file after each successful write
+     */
+    KitFileWriter(PluginLogger logger, BiConsumer<String, File> onWritten) {
+        this.logger = logger;
+        this.onWritten = onWritten;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UltiKits-FileWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the content of a kit file, replacing any content still waiting for the same file.
+     */
+    void write(String kitName, File target, String content) {
+        write(kitName, target, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void write(String kitName, File target, byte[] content) {
+        enqueue(new PendingFile(kitName, target, content));
+    }
+
+    /**
+     * Queues the removal of a kit file, after any write queued before it.
+     */
+    void delete(String kitName, File target) {
+        enqueue(new PendingFile(kitName, target, null));
+    }
+
+    private void enqueue(PendingFile file) {
+        if (pending.put(file.target, file) == null) {
+            writer.execute(() -> process(file.target));
+        }
+    }
+
+    /**
+     * Content queued for a file but not yet written, so readers never see an older version.
+     *
+     * @return the queued content, or null if no write is waiting for the file
+     */
+    @Nullable
+    byte[] pendingContent(File target) {
+        PendingFile file = pending.get(target);
+        return file != null ? file.content : null;
+    }
+
+    /**
+     * Waits until everything queued so far is on disk.
+     */
+    void flush() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(FLUSH_TIMEOUT_SECONDS);
+        try {
+            // Saves queued while a file was being written run after the marker, so repeat until drained
+            do {
+                Future<?> future = writer.submit(() -> { });
+                future.get(Math.max(1, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } while (!pending.isEmpty());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Failed to flush kit files: " + e.getMessage());
+        }
+    }
+
+    void shutdown() {
+        flush();
+        writer.shutdown();
+    }
+
+    int pendingWrites() {
+        return pending.size();
+    }
+
+    private void process(File key) {
+        PendingFile file = pending.get(key);
+        // Stays visible to pendingContent until written; a save queued meanwhile is written in place,
+        // not behind files queued after this one
+        while (file != null) {
+            apply(file);
+            if (pending.remove(key, file)) {
+                return;
+            }
+            file = pending.get(key);
+        }
+    }
+
+    private void apply(PendingFile file) {
+        Object event = events.begin(KitEvents.Type.KIT_SAVE);
+        String result = file.content == null ? delete(file) : save(file);
+        events.end(event, file.kitName, null, result, file.content != null ? file.content.length : 0);
+    }
+
+    private String delete(PendingFile file) {
+        try {
+            Files.deleteIfExists(file.target.toPath());
+            return "DELETED";
+        } catch (IOException e) {
+            logger.error("Failed to delete kit file: " + file.kitName + " - " + e.getMessage());
+            return "FAILED";
+        }
+    }
+
+    private String save(PendingFile file) {
+        String kitName = file.kitName;
+        Path target = file.target.toPath();
+        Path temp = target.resolveSibling(file.target.getName() + TEMP_SUFFIX);
+        try {
+            Files.write(temp, file.content);
+            move(temp, target);
+            onWritten.accept(kitName, file.target);
+            return "WRITTEN";
+        } catch (IOException e) {
+            logger.error("Failed to save kit file: " + kitName + " - " + e.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Nothing else to clean up
+            }
+            return "FAILED";
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class PendingFile {
+        private final String kitName;
+        private final File target;
+        /**
+         * File content, or null to delete the file.
+         */
+        @Nullable
+        private final byte[] content;
+
+        private PendingFile(String kitName, File target, @Nullable byte[] content) {
+            this.kitName = kitName;
+            this.target = target;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches the kits folder and reports changed kit files after a quiet period.
+ * 监听礼包文件夹，防抖后回调发生变化的礼包文件。
+ *
+ * <p>Every event for a {@code .yml} file or its {@code .items} file pushes that kit's deadline
+ * back by the debounce window, so an editor or SFTP client writing a file in several chunks
+ * triggers a single callback. Files are reported by name without the extension and in their original case, so
+ * the callback can find them on case-sensitive file systems. The callback runs on the watcher
+ * thread, never on the server thread.</p>
+ */
+class KitFolderWatcher {
+
+    private final Path folder;
+    private final long debounceMillis;
+    private final Consumer<Set<String>> onChange;
+    private final PluginLogger logger;
+    /**
+     * File name without extension to the time after which it is reported. Only touched by the watcher thread.
+     */
+    private final Map<String, Long> pending = new HashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    KitFolderWatcher(Path folder, long debounceMillis, Consumer<Set<String>> onChange, PluginLogger logger) {
+        this.folder = folder;
+        this.debounceMillis = debounceMillis;
+        this.onChange = onChange;
+        this.logger = logger;
+    }
+
+    void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        folder.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        thread = new Thread(this::run, "UltiKits-KitWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close kit folder watcher: " + e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = pending.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(nextDelay(System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            logger.warn("Kit folder events were lost; run /kits reload to resync");
+                            continue;
+                        }
+                        Object context = event.context();
+                        if (context instanceof Path) {
+                            recordEvent(context.toString(), System.currentTimeMillis());
+                        }
+                    }
+                    key.reset();
+                }
+                Set<String> due = drainDue(System.currentTimeMillis());
+                if (!due.isEmpty()) {
+                    notifyChange(due);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Closed by close(); nothing left to do
+        }
+    }
+
+    private void notifyChange(Set<String> fileNames) {
+        try {
+            onChange.accept(fileNames);
+        } catch (RuntimeException e) {
+            logger.error("Failed to apply kit file changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records an event for a file in the kits folder. An item file counts as a change of the
+     * kit it belongs to; other files are ignored.
+     */
+    void recordEvent(String fileName, long now) {
+        String kitFile = stripSuffix(fileName, ".yml");
+        if (kitFile == null) {
+            kitFile = stripSuffix(fileName, ".items");
+        }
+        if (kitFile != null) {
+            pending.put(kitFile, now + debounceMillis);
+        }
+    }
+
+    @Nullable
+    private static String stripSuffix(String fileName, String suffix) {
+        return fileName.endsWith(suffix) ? fileName.substring(0, fileName.length() - suffix.length()) : null;
+    }
+
+    /**
+     * Removes and returns the files whose debounce window has passed.
+     */
+    Set<String> drainDue(long now) {
+        Set<String> due = new LinkedHashSet<>();
+        Iterator<Map.Entry<String, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getValue() <= now) {
+                due.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+        return due;
+    }
+
+    long nextDelay(long now) {
+        long earliest = Long.MAX_VALUE;
+        for (long deadline : pending.values()) {
+            earliest = Math.min(earliest, deadline);
+        }
+        return Math.max(1, earliest - now);
+    }
+}
@@ -0,0 +1,166 @@
+package com.ultikits.plugins.kits.service;
+
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Decoded item templates per kit, bounded by the total size of their serialized payloads.
+ * 每个礼包解码后的物品模板缓存，按序列化数据总大小限制容量。
+ *
+ * <p>Templates are shared and must never be handed out or modified directly;
+ * callers clone the stacks they deliver. When the weight limit is exceeded the least
+ * recently used templates are dropped and decoded again on their next use.</p>
+ */
+class KitItemCache {
+
+    private final long maxWeight;
+    /**
+     * Access ordered, so iteration starts at the least recently used template. Guarded by itself.
+     */
+    private final LinkedHashMap<String, Entry> templates = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Decodes in progress, so concurrent misses for the same kit decode it once.
+     */
+    private final Map<String, CompletableFuture<ItemStack[]>> loading = new ConcurrentHashMap<>();
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxWeight total serialized bytes of the templates kept at once
+     */
+    KitItemCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the cached template of a kit, decoding it with the loader on a miss.
+     * Failed decodes (null) are not cached.
+     *
+     * @param entryWeight serialized size of the kit's items in bytes
+     */
+    @Nullable
+    ItemStack[] get(String kitName, long entryWeight, Supplier<ItemStack[]> loader) {
+        String key = kitName.toLowerCase();
+        synchronized (templates) {
+            Entry entry = templates.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.items;
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<ItemStack[]> future = new CompletableFuture<>();
+        CompletableFuture<ItemStack[]> running = loading.putIfAbsent(key, future);
+        if (running != null) {
+            return running.join();
+        }
+
+        ItemStack[] items;
+        try {
+            items = loader.get();
+        } catch (RuntimeException e) {
+            loading.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (templates) {
+            // Not cached if the kit was invalidated while it was being decoded
+            if (loading.remove(key, future) && items != null) {
+                store(key, new Entry(items, Math.max(1, entryWeight)));
+            }
+        }
+        future.complete(items);
+        return items;
+    }
+
+    private void store(String key, Entry entry) {
+        if (entry.weight > maxWeight) {
+            return;
+        }
+        Entry previous = templates.put(key, entry);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+
+        Iterator<Entry> iterator = templates.values().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.weight;
+            evictions.increment();
+        }
+    }
+
+    void invalidate(String kitName) {
+        String key = kitName.toLowerCase();
+        synchronized (templates) {
+            loading.remove(key);
+            Entry entry = templates.remove(key);
+            if (entry != null) {
+                weight -= entry.weight;
+            }
+        }
+    }
+
+    void clear() {
+        synchronized (templates) {
+            loading.clear();
+            templates.clear();
+            weight = 0;
+        }
+    }
+
+    int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /**
+     * Total serialized bytes of the cached templates.
+     */
+    long getWeight() {
+        synchronized (templates) {
+            return weight;
+        }
+    }
+
+    long getMaxWeight() {
+        return maxWeight;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+        private final ItemStack[] items;
+        private final long weight;
+
+        private Entry(ItemStack[] items, long weight) {
+            this.items = items;
+            this.weight = weight;
+        }
+    }
+}
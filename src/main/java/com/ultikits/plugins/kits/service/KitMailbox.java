@@ -0,0 +1,211 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.ultitools.interfaces.DataOperator;
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Database access for overflow mailboxes.
+ * 溢出邮箱的数据库读写。
+ *
+ * <p>Nothing is loaded when a player joins; a mailbox is read only when it is opened. All reads
+ * and writes run in order on one background thread, so opening a mailbox always sees the
+ * entries stored or collected before. An entry whose insert failed shows up once a retry
+ * stores it.</p>
+ */
+class KitMailbox {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+    private static final long RETRY_DELAY_MILLIS = 5_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 300_000;
+
+    private final DataOperator<KitMailboxData> mailboxOperator;
+    private final PluginLogger logger;
+    private final ScheduledExecutorService worker;
+    /**
+     * Entries whose insert failed and that wait for a retry, by entry id.
+     */
+    private final Map<String, PendingStore> retrying = new ConcurrentHashMap<>();
+    private final OperationStats queries = new OperationStats();
+    private final OperationStats writes = new OperationStats();
+
+    KitMailbox(DataOperator<KitMailboxData> mailboxOperator, PluginLogger logger) {
+        this.mailboxOperator = mailboxOperator;
+        this.logger = logger;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UltiKits-Mailbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the entries of a player, oldest first.
+     */
+    CompletableFuture<List<KitMailboxData>> load(UUID playerUuid) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = queries.start();
+            List<KitMailboxData> entries;
+            try {
+                entries = new ArrayList<>(mailboxOperator.query()
+                        .where("player_uuid").eq(playerUuid.toString())
+                        .list());
+            } catch (RuntimeException e) {
+                queries.record(start, false);
+                throw e;
+            }
+            queries.record(start, true);
+            entries.sort(Comparator.comparingLong(KitMailboxData::getCreatedAt));
+            return entries;
+        }, worker);
+    }
+
+    /**
+     * Queues a new entry for insertion. A failed insert is retried with a growing delay until it
+     * succeeds, so items are never lost to a database hiccup.
+     *
+     * @return completes once the entry is stored or was collected while waiting for a retry; fails
+     * only if the entry is still not stored when the mailbox shuts down
+     */
+    CompletableFuture<Void> store(KitMailboxData entry) {
+        CompletableFuture<Void> stored = new CompletableFuture<>();
+        worker.execute(() -> insert(new PendingStore(entry, stored), 0));
+        return stored;
+    }
+
+    private void insert(PendingStore store, int failures) {
+        if (store.stored.isDone()) {
+            // Collected while waiting for the retry
+            return;
+        }
+        if (tryInsert(store.entry)) {
+            retrying.remove(store.entry.getUuid());
+            store.stored.complete(null);
+            return;
+        }
+        retrying.put(store.entry.getUuid(), store);
+        long delay = Math.min(MAX_RETRY_DELAY_MILLIS, RETRY_DELAY_MILLIS << Math.min(failures, 6));
+        worker.schedule(() -> insert(store, failures + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean tryInsert(KitMailboxData entry) {
+        long start = writes.start();
+        try {
+            mailboxOperator.insert(entry);
+            writes.record(start, true);
+            return true;
+        } catch (RuntimeException e) {
+            writes.record(start, false);
+            logger.error("Failed to store kit mailbox items, will retry: " + entry.getKitName()
+                    + " - " + entry.getPlayerUuid() + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Removes an entry before its items are handed out. An entry still waiting for an insert
+     * retry is dropped from the retry instead, so it can never be stored after it was collected.
+     *
+     * @return fails if the row could not be deleted; the items must not be handed out then
+     */
+    CompletableFuture<Void> remove(KitMailboxData entry) {
+        String id = entry.getUuid();
+        return CompletableFuture.runAsync(() -> {
+            PendingStore store = retrying.remove(id);
+            if (store != null) {
+                store.stored.complete(null);
+                return;
+            }
+            long start = writes.start();
+            try {
+                mailboxOperator.delById(id);
+                writes.record(start, true);
+            } catch (RuntimeException e) {
+                writes.record(start, false);
+                logger.error("Failed to remove kit mailbox entry: " + e.getMessage());
+                throw e;
+            }
+        }, worker);
+    }
+
+    /**
+     * Waits until everything queued so far is written.
+     */
+    void flush() {
+        Future<?> future = worker.submit(() -> { });
+        try {
+            future.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Failed to flush kit mailbox: " + e.getMessage());
+        }
+    }
+
+    OperationStats getQueries() {
+        return queries;
+    }
+
+    OperationStats getWrites() {
+        return writes;
+    }
+
+    int pendingStores() {
+        return retrying.size();
+    }
+
+    /**
+     * Writes what is queued, then makes one last attempt at entries waiting for a retry. Entries
+     * that still cannot be stored fail their future so the caller can hand the items out instead.
+     */
+    void shutdown() {
+        if (worker.isShutdown()) {
+            return;
+        }
+        flush();
+        Future<?> lastAttempt = worker.submit(() -> {
+            for (PendingStore store : new ArrayList<>(retrying.values())) {
+                if (tryInsert(store.entry)) {
+                    retrying.remove(store.entry.getUuid());
+                    store.stored.complete(null);
+                }
+            }
+        });
+        try {
+            lastAttempt.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.error("Failed to flush kit mailbox: " + e.getMessage());
+        }
+        worker.shutdownNow();
+        for (PendingStore store : retrying.values()) {
+            store.stored.completeExceptionally(new IllegalStateException("Kit mailbox entry was not stored"));
+        }
+        retrying.clear();
+    }
+
+    private static final class PendingStore {
+        private final KitMailboxData entry;
+        private final CompletableFuture<Void> stored;
+
+        private PendingStore(KitMailboxData entry, CompletableFuture<Void> stored) {
+            this.entry = entry;
+            this.stored = stored;
+        }
+    }
+}
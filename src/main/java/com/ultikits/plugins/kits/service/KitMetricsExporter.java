@@ -0,0 +1,145 @@
+package com.ultikits.plugins.kits.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Publishes kit metrics in the Prometheus text format over HTTP, to a file, or both.
+ * 以 Prometheus 文本格式通过 HTTP 或文件导出礼包指标。
+ *
+ * <p>The HTTP listener serves {@code GET /metrics}. The file is meant for node_exporter's
+ * textfile collector and is replaced atomically, so the collector never reads a partial file.
+ * Scrapes and file writes share one background thread and only read counters, never the
+ * Bukkit API.</p>
+ */
+class KitMetricsExporter {
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Supplier<String> scraper;
+    private final PluginLogger logger;
+    private final ScheduledExecutorService worker;
+    @Nullable
+    private HttpServer server;
+
+    /**
+     * @param scraper renders the current metrics
+     */
+    KitMetricsExporter(Supplier<String> scraper, PluginLogger logger) {
+        this.scraper = scraper;
+        this.logger = logger;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "UltiKits-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the HTTP listener.
+     *
+     * @param port the port, or 0 for any free port
+     */
+    void startHttp(String host, int port) throws IOException {
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+        httpServer.createContext("/metrics", this::handle);
+        httpServer.setExecutor(worker);
+        httpServer.start();
+        server = httpServer;
+    }
+
+    /**
+     * Port the HTTP listener is bound to, or -1 if it is not running.
+     */
+    int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * Writes the metrics to a file now and then every {@code intervalSeconds}.
+     */
+    void startTextfile(File file, long intervalSeconds) {
+        worker.scheduleWithFixedDelay(() -> writeTextfile(file), 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void writeTextfile(File file) {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+        try {
+            File folder = file.getAbsoluteFile().getParentFile();
+            if (folder != null && !folder.exists()) {
+                folder.mkdirs();
+            }
+            Files.write(temp, scraper.get().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write kit metrics file: " + e.getMessage());
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            // Rendered before any headers go out, so a failure can still be answered with a 500
+            byte[] body = render();
+            if (body == null) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Nullable
+    private byte[] render() {
+        try {
+            return scraper.get().getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to render kit metrics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        worker.shutdownNow();
+    }
+}
@@ -1,12 +1,19 @@
 package com.ultikits.plugins.kits.service;
 
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.plugins.kits.model.ClaimStats;
 import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.KitStatus;
+import com.ultikits.plugins.kits.model.ReloadResult;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service for managing gift package (kit) system.
@@ -15,19 +22,55 @@ import java.util.List;
 public interface KitService {
 
     enum ClaimResult {
-        SUCCESS, NOT_FOUND, NO_PERMISSION, INSUFFICIENT_LEVEL,
+        SUCCESS, SUCCESS_MAILBOX, NOT_FOUND, NO_PERMISSION, INSUFFICIENT_LEVEL,
         INSUFFICIENT_FUNDS, ALREADY_CLAIMED, ON_COOLDOWN,
-        INVENTORY_FULL, EMPTY_KIT, ERROR
+        INVENTORY_FULL, EMPTY_KIT, IN_PROGRESS, ERROR
     }
 
     enum CreateResult {
         SUCCESS, ALREADY_EXISTS, INVALID_NAME, EMPTY_INVENTORY, ERROR
     }
 
+    enum CollectResult {
+        COLLECTED, PARTIAL, INVENTORY_FULL, EMPTY, ERROR
+    }
+
     void loadKits();
 
+    /**
+     * Reloads only new or changed kit files and drops deleted ones. Blocking.
+     */
     void reload();
 
+    /**
+     * Reloads kit files in the background and publishes them atomically. Only new or changed
+     * files are parsed; unchanged kits keep their definition and cached items.
+     * Completes on the main thread; concurrent calls share one reload.
+     * 异步增量重新加载礼包。
+     */
+    CompletableFuture<ReloadResult> reloadAsync();
+
+    /**
+     * Loads a player's claim records into memory. Blocking, call from async contexts only.
+     * 预加载玩家的领取记录（阻塞，仅在异步线程调用）。
+     */
+    void preloadClaims(UUID playerUuid);
+
+    /**
+     * Loads a player's claim records into memory in the background.
+     */
+    void preloadClaimsAsync(UUID playerUuid);
+
+    /**
+     * Writes pending claim records of a player and drops them from memory.
+     */
+    void evictClaims(UUID playerUuid);
+
+    /**
+     * Flushes pending data and stops background workers.
+     */
+    void shutdown();
+
     @Nullable
     KitDefinition getKit(String name);
 
@@ -43,10 +86,75 @@ public interface KitService {
 
     boolean saveKitItems(String kitName, ItemStack[] items);
 
+    /**
+     * Returns copies of a kit's items, decoded once and cached until the kit changes.
+     * 获取礼包物品的副本（解码结果会被缓存）。
+     */
+    @Nullable
+    ItemStack[] getKitItems(KitDefinition kit);
+
+    /**
+     * Claims a kit. Only one claim per player and kit runs at a time; a concurrent attempt
+     * returns {@link ClaimResult#IN_PROGRESS} instead of waiting. Uses the claim records loaded
+     * when the player logged in and returns {@link ClaimResult#ERROR} while they are still loading.
+     * 领取礼包（同一玩家同一礼包同时只允许一次领取）。
+     */
     ClaimResult claimKit(Player player, String kitName);
 
+    /**
+     * Claims a kit without blocking the server thread.
+     * Claim records and items are loaded on a worker pool; validation against the live player,
+     * the economy withdraw, inventory changes and commands run on the main thread, where the
+     * returned future also completes.
+     * 异步领取礼包，返回的 Future 在主线程完成。
+     */
+    CompletableFuture<ClaimResult> claimKitAsync(Player player, String kitName);
+
+    /**
+     * Returns claim latency per phase and claim counts per result since startup or the last reset.
+     * 获取礼包领取各阶段耗时与结果统计。
+     */
+    ClaimStats getClaimStats();
+
+    /**
+     * Clears the claim statistics.
+     */
+    void resetClaimStats();
+
+    /**
+     * Loads a player's overflow mailbox in the background. Mailboxes are never loaded on join,
+     * only when opened; the returned future completes on the main thread.
+     * 异步加载玩家的溢出邮箱（仅在打开时加载），在主线程完成。
+     */
+    CompletableFuture<List<KitMailboxData>> getMailboxAsync(Player player);
+
+    /**
+     * Decodes the items of a mailbox entry.
+     */
+    @Nullable
+    ItemStack[] getMailboxItems(KitMailboxData entry);
+
+    /**
+     * Moves the items of a mailbox entry into the player's inventory. Items that still do not fit
+     * stay in the entry. The entry is removed from the database before the items are handed out,
+     * so the returned future completes on the main thread once that is done. Main thread only.
+     * 将邮箱物品放入玩家背包，放不下的物品留在邮箱中；先删除记录再发放物品，结果在主线程返回（仅主线程调用）。
+     */
+    CompletableFuture<CollectResult> collectMailbox(Player player, KitMailboxData entry);
+
+    /**
+     * Remaining cooldown from the cached claim records; 0 while they are still loading.
+     */
     long getRemainingCooldown(Player player, KitDefinition kit);
 
+    /**
+     * Computes the claim status of several kits at once, keyed by kit name in iteration order.
+     * Reads the cached claim records once and the economy balance at most once; while the records
+     * are still loading no kit is shown on cooldown.
+     * 批量计算礼包状态（只读取缓存的领取记录，余额最多读取一次）。
+     */
+    Map<String, KitStatus> getKitStatuses(Player player, Collection<KitDefinition> kits);
+
     String formatCooldown(long millis);
 
     String serializeItems(ItemStack[] items);
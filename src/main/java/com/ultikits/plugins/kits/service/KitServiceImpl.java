@@ -1,7 +1,16 @@
 package com.ultikits.plugins.kits.service;
 
+import com.ultikits.plugins.kits.codec.ItemCodec;
+import com.ultikits.plugins.kits.config.KitsConfig;
 import com.ultikits.plugins.kits.entity.KitClaimData;
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.plugins.kits.model.ClaimStats;
 import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.KitFit;
+import com.ultikits.plugins.kits.model.KitStatus;
+import com.ultikits.plugins.kits.model.KitTemplates;
+import com.ultikits.plugins.kits.model.TextTemplate;
+import com.ultikits.plugins.kits.model.ReloadResult;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.annotations.Service;
 import com.ultikits.ultitools.interfaces.DataOperator;
@@ -9,18 +18,26 @@ import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
 import com.ultikits.ultitools.utils.EconomyUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.io.BukkitObjectInputStream;
-import org.bukkit.util.io.BukkitObjectOutputStream;
-import org.yaml.snakeyaml.external.biz.base64Coder.Base64Coder;
 
 import javax.annotation.Nullable;
 import java.io.*;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -30,51 +47,550 @@ import java.util.stream.Collectors;
 @Service
 public class KitServiceImpl implements KitService {
 
+    private static final KitsConfig DEFAULT_CONFIG = new KitsConfig("config/config.yml");
+    private static final String ITEM_FILE_SUFFIX = ".items";
+
     private final UltiToolsPlugin plugin;
     private final PluginLogger logger;
-    private final Map<String, KitDefinition> kits = new LinkedHashMap<>();
+    /**
+     * Immutable registry snapshot. Readers use it without locking; changes build a new map
+     * and publish it with a single volatile write.
+     */
+    private volatile Map<String, KitDefinition> kits = Collections.emptyMap();
+    /**
+     * Stamps of the files behind the current registry, used to skip unchanged files on reload.
+     */
+    private volatile Map<String, KitFileStamp> fileStamps = Collections.emptyMap();
+    private final Object registryLock = new Object();
+    private final AtomicLong loadGeneration = new AtomicLong();
+    private long publishedGeneration;
+    /**
+     * Generation of the latest edit or file reload of each kit that a full reload has not
+     * covered yet. Guarded by {@code registryLock}.
+     */
+    private final Map<String, Long> kitGenerations = new HashMap<>();
+    @Nullable
+    private CompletableFuture<ReloadResult> runningReload;
     private DataOperator<KitClaimData> claimOperator;
+    private final ClaimDataCache claimCache;
+    private final KitMailbox mailbox;
+    private final ConsoleCommandBatch consoleCommands;
+    private final ClaimMetrics metrics;
+    private final KitEvents events = KitEvents.get();
+    private final OperationStats reloads = new OperationStats();
+    @Nullable
+    private final KitMetricsExporter metricsExporter;
+    private final KitItemCache itemCache;
+    private final KitFileWriter fileWriter;
+    private final ExecutorService workers;
+    private final ExecutorService loaders;
+    @Nullable
+    private final KitFolderWatcher folderWatcher;
+    /**
+     * Keys of (player, kit) pairs with a claim in progress; a claim only runs after adding its key.
+     */
+    private final Set<String> claimsInFlight = ConcurrentHashMap.newKeySet();
+    private Executor mainThreadExecutor = this::runOnMainThread;
 
     public KitServiceImpl(UltiToolsPlugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
         this.claimOperator = plugin.getDataOperator(KitClaimData.class);
+        this.claimCache = new ClaimDataCache(claimOperator, logger, getConfig().getClaimFlushIntervalSeconds());
+        this.mailbox = new KitMailbox(plugin.getDataOperator(KitMailboxData.class), logger);
+        this.consoleCommands = new ConsoleCommandBatch(logger,
+                TimeUnit.MILLISECONDS.toNanos(getConfig().getConsoleCommandBudgetMs()), this::runNextTick,
+                command -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command), System::nanoTime);
+        this.metrics = new ClaimMetrics(getConfig().isClaimMetrics() || isMetricsExportEnabled(), System::nanoTime);
+        this.itemCache = new KitItemCache(getConfig().getItemCacheMaxKb() * 1024L);
+        this.workers = createPool("UltiKits-Worker-", 4);
+        this.loaders = createPool("UltiKits-Loader-", 8);
+        this.fileWriter = new KitFileWriter(logger, this::rememberFileStamp);
         loadKits();
+        if (ItemCodec.isNativeAvailable()) {
+            logger.info("Using native item serialization");
+        }
+        this.folderWatcher = getConfig().isWatchKitsFolder() ? startFolderWatcher() : null;
+        this.metricsExporter = isMetricsExportEnabled() ? startMetricsExporter() : null;
     }
 
+    private boolean isMetricsExportEnabled() {
+        KitsConfig config = getConfig();
+        return config.getMetricsHttpPort() > 0 || !metricsTextfile(config).isEmpty();
+    }
+
+    private static String metricsTextfile(KitsConfig config) {
+        return config.getMetricsTextfile() != null ? config.getMetricsTextfile().trim() : "";
+    }
+
+    private KitMetricsExporter startMetricsExporter() {
+        KitsConfig config = getConfig();
+        KitMetricsExporter exporter = new KitMetricsExporter(this::scrapeMetrics, logger);
+        if (config.getMetricsHttpPort() > 0) {
+            try {
+                exporter.startHttp(config.getMetricsHttpHost(), config.getMetricsHttpPort());
+                logger.info("Serving kit metrics on " + config.getMetricsHttpHost() + ":" + exporter.getPort() + "/metrics");
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Failed to start kit metrics listener: " + e.getMessage());
+            }
+        }
+        String textfile = metricsTextfile(config);
+        if (!textfile.isEmpty()) {
+            File file = new File(textfile);
+            if (!file.isAbsolute()) {
+                file = new File(plugin.getResourceFolderPath(), textfile);
+            }
+            exporter.startTextfile(file, config.getMetricsTextfileIntervalSeconds());
+        }
+        return exporter;
+    }
+
+    @Nullable
+    private KitFolderWatcher startFolderWatcher() {
+        File kitsFolder = new File(plugin.getResourceFolderPath(), "kits");
+        KitFolderWatcher watcher = new KitFolderWatcher(kitsFolder.toPath(),
+                getConfig().getWatchDebounceMs(), this::reloadKitFiles, logger);
+        try {
+            watcher.start();
+            return watcher;
+        } catch (IOException e) {
+            logger.warn("Failed to watch kits folder: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ExecutorService createPool(String threadPrefix, int maxThreads) {
+        int threads = Math.max(2, Math.min(maxThreads, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threadPrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads all kit files, parsing them in parallel, and waits for the result.
+     * Used at startup, where the registry must be complete before commands run.
+     */
     @Override
     public void loadKits() {
-        kits.clear();
+        loadRegistry(listKitFiles(), false).join();
+    }
 
+    @Override
+    public CompletableFuture<ReloadResult> reloadAsync() {
+        synchronized (registryLock) {
+            if (runningReload != null && !runningReload.isDone()) {
+                return runningReload;
+            }
+            CompletableFuture<ReloadResult> reload = CompletableFuture.supplyAsync(this::listKitFiles, loaders)
+                    .thenCompose(files -> loadRegistry(files, true))
+                    .thenApplyAsync(result -> result, mainThreadExecutor);
+            runningReload = reload;
+            return reload;
+        }
+    }
+
+    @Nullable
+    private File[] listKitFiles() {
+        // Pending saves and deletes must reach the disk first, or the reload would undo them
+        fileWriter.flush();
         File kitsFolder = new File(plugin.getResourceFolderPath(), "kits");
         if (!kitsFolder.exists()) {
             kitsFolder.mkdirs();
             copyExampleKit(kitsFolder);
         }
+        return kitsFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+    }
+
+    /**
+     * Loads the given files on the loader pool and publishes them as one registry snapshot.
+     * When incremental, files whose stamp still matches keep their current definition.
+     * A file that fails to parse keeps its current definition, if it has one, without
+     * affecting the others.
+     */
+    private CompletableFuture<ReloadResult> loadRegistry(@Nullable File[] files, boolean incremental) {
+        long generation = loadGeneration.incrementAndGet();
+        long reloadStart = reloads.start();
+        Object reloadEvent = events.begin(KitEvents.Type.KIT_RELOAD);
+        Map<String, KitDefinition> currentKits;
+        Map<String, KitFileStamp> previousStamps;
+        synchronized (registryLock) {
+            currentKits = kits;
+            previousStamps = fileStamps;
+        }
+        Map<String, KitFileStamp> currentStamps = incremental ? previousStamps : Collections.emptyMap();
 
-        File[] files = kitsFolder.listFiles((dir, name) -> name.endsWith(".yml"));
         if (files == null || files.length == 0) {
+            publishRegistry(new LinkedHashMap<>(), new HashMap<>(), generation);
             logger.warn(plugin.i18n("没有找到礼包配置文件"));
-            return;
+            events.end(reloadEvent, "", null, "EMPTY", 0);
+            reloads.record(reloadStart, true);
+            return CompletableFuture.completedFuture(new ReloadResult(0, 0, currentKits.size(), 0, 0));
         }
 
-        int loadedCount = 0;
+        List<CompletableFuture<LoadedKit>> loads = new ArrayList<>(files.length);
         for (File file : files) {
-            KitDefinition kit = parseKitFile(file);
-            if (kit != null) {
-                String kitName = file.getName().replace(".yml", "").toLowerCase();
-                kit.setName(kitName);
-                kits.put(kitName, kit);
-                loadedCount++;
+            String name = file.getName().replace(".yml", "").toLowerCase();
+            KitDefinition current = currentKits.get(name);
+            KitFileStamp stamp = currentStamps.get(name);
+            loads.add(CompletableFuture.supplyAsync(() -> loadKitFile(file, name, current, stamp), loaders)
+                    .exceptionally(e -> {
+                        logger.warn(plugin.i18n("加载礼包失败: ") + file.getName() + " - " + e.getMessage());
+                        return new LoadedKit(name, null, null, false);
+                    }));
+        }
+
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            Map<String, KitDefinition> loaded = new LinkedHashMap<>();
+            Map<String, KitFileStamp> stamps = new HashMap<>();
+            int added = 0;
+            int changed = 0;
+            int failed = 0;
+            for (CompletableFuture<LoadedKit> future : loads) {
+                LoadedKit result = future.join();
+                if (result.kit == null) {
+                    failed++;
+                    // Keep a working kit over a broken save, e.g. an editor's intermediate write
+                    KitDefinition previous = currentKits.get(result.name);
+                    if (previous != null) {
+                        loaded.put(result.name, previous);
+                        KitFileStamp stamp = previousStamps.get(result.name);
+                        if (stamp != null) {
+                            stamps.put(result.name, stamp);
+                        }
+                    }
+                    continue;
+                }
+                loaded.put(result.name, result.kit);
+                stamps.put(result.name, result.stamp);
+                if (result.parsed) {
+                    if (currentKits.containsKey(result.name)) {
+                        changed++;
+                    } else {
+                        added++;
+                    }
+                }
+            }
+            int removed = 0;
+            for (String name : currentKits.keySet()) {
+                if (!loaded.containsKey(name)) {
+                    removed++;
+                }
+            }
+            publishRegistry(loaded, stamps, generation);
+            logger.info(String.format(plugin.i18n("共加载 %d 个礼包"), loaded.size()));
+            events.end(reloadEvent, "", null, failed > 0 ? "PARTIAL" : "OK", loaded.size());
+            reloads.record(reloadStart, failed == 0);
+            return new ReloadResult(added, changed, removed, failed, loaded.size());
+        });
+    }
+
+    /**
+     * Loads one kit file, reusing the current definition when the file has not changed.
+     */
+    private LoadedKit loadKitFile(File file, String name, @Nullable KitDefinition current,
+                                  @Nullable KitFileStamp previous) {
+        Object event = events.begin(KitEvents.Type.KIT_LOAD);
+        LoadedKit loaded = readKitFile(file, name, current, previous);
+        events.end(event, name, null, loaded.kit == null ? "FAILED" : loaded.parsed ? "PARSED" : "UNCHANGED");
+        return loaded;
+    }
+
+    private LoadedKit readKitFile(File file, String name, @Nullable KitDefinition current,
+                                  @Nullable KitFileStamp previous) {
+        boolean reusable = current != null && previous != null;
+        if (reusable && previous.isUnchanged(file, itemFileFor(file))) {
+            return new LoadedKit(name, current, previous, false);
+        }
+
+        byte[] content;
+        KitFileStamp stamp;
+        try {
+            content = Files.readAllBytes(file.toPath());
+            stamp = stampKitFile(file, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (reusable && previous.hasSameContent(stamp)) {
+            return new LoadedKit(name, current, stamp, false);
+        }
+
+        KitDefinition kit = parseKitFile(file);
+        if (kit != null) {
+            kit.setName(name);
+            migrateInlineItems(name, kit);
+        }
+        return new LoadedKit(name, kit, stamp, true);
+    }
+
+    /**
+     * Moves items stored inline in a kit's YAML into its item file. Values that are not a
+     * recognised item payload are left inline untouched.
+     */
+    private void migrateInlineItems(String name, KitDefinition kit) {
+        if (toItemData(kit.getItems()) == null) {
+            return;
+        }
+        saveKitToFile(name, kit);
+        logger.info(String.format(plugin.i18n("已将礼包物品迁移到独立文件: %s"), name));
+    }
+
+    /**
+     * Replaces the whole registry. Claims in flight keep the definition they already resolved.
+     * Kits edited or reloaded after this load read the files keep their newer state.
+     * Cached items are dropped only for kits whose definition was replaced or removed.
+     */
+    private void publishRegistry(Map<String, KitDefinition> loaded, Map<String, KitFileStamp> stamps,
+                                 long generation) {
+        synchronized (registryLock) {
+            if (generation < publishedGeneration) {
+                return;
+            }
+            publishedGeneration = generation;
+            Map<String, KitDefinition> previous = kits;
+            for (Map.Entry<String, Long> entry : kitGenerations.entrySet()) {
+                if (entry.getValue() <= generation) {
+                    continue;
+                }
+                String name = entry.getKey();
+                KitDefinition newer = previous.get(name);
+                KitFileStamp newerStamp = fileStamps.get(name);
+                if (newer != null) {
+                    loaded.put(name, newer);
+                } else {
+                    loaded.remove(name);
+                }
+                if (newerStamp != null) {
+                    stamps.put(name, newerStamp);
+                } else {
+                    stamps.remove(name);
+                }
+            }
+            kitGenerations.values().removeIf(kitGeneration -> kitGeneration <= generation);
+            kits = Collections.unmodifiableMap(loaded);
+            fileStamps = Collections.unmodifiableMap(stamps);
+            for (Map.Entry<String, KitDefinition> entry : previous.entrySet()) {
+                if (loaded.get(entry.getKey()) != entry.getValue()) {
+                    itemCache.invalidate(entry.getKey());
+                }
+            }
+            for (Map.Entry<String, KitDefinition> entry : loaded.entrySet()) {
+                if (previous.get(entry.getKey()) != entry.getValue()) {
+                    itemCache.invalidate(entry.getKey());
+                }
             }
         }
+    }
 
-        logger.info(String.format(plugin.i18n("共加载 %d 个礼包"), loadedCount));
+    /**
+     * Applies changes of individual kit files to the registry: changed files are reparsed,
+     * deleted ones removed, and every other kit is left untouched. A file that fails to parse
+     * keeps its current definition. Blocking; called by the folder watcher off the main thread.
+     *
+     * @param fileNames kit file names without the extension, in any case
+     */
+    ReloadResult reloadKitFiles(Collection<String> fileNames) {
+        // Queued saves must reach the disk first, or the reload would read an older file
+        fileWriter.flush();
+        long generation = loadGeneration.incrementAndGet();
+        long reloadStart = reloads.start();
+        Object reloadEvent = events.begin(KitEvents.Type.KIT_RELOAD);
+        File kitsFolder = new File(plugin.getResourceFolderPath(), "kits");
+        Map<String, KitDefinition> currentKits;
+        Map<String, KitFileStamp> currentStamps;
+        synchronized (registryLock) {
+            currentKits = kits;
+            currentStamps = fileStamps;
+        }
+
+        Map<String, LoadedKit> updates = new LinkedHashMap<>();
+        int failed = 0;
+        for (String fileName : fileNames) {
+            String name = fileName.toLowerCase();
+            if (updates.containsKey(name)) {
+                continue;
+            }
+            File file = findKitFile(kitsFolder, fileName);
+            if (file == null) {
+                updates.put(name, null);
+                continue;
+            }
+            try {
+                LoadedKit loaded = loadKitFile(file, name, currentKits.get(name), currentStamps.get(name));
+                if (loaded.kit == null) {
+                    failed++;
+                }
+                updates.put(name, loaded);
+            } catch (UncheckedIOException e) {
+                logger.warn(plugin.i18n("加载礼包失败: ") + file.getName() + " - " + e.getMessage());
+                failed++;
+            }
+        }
+
+        int added = 0;
+        int changed = 0;
+        int removed = 0;
+        int total;
+        synchronized (registryLock) {
+            Map<String, KitDefinition> nextKits = new LinkedHashMap<>(kits);
+            Map<String, KitFileStamp> nextStamps = new HashMap<>(fileStamps);
+            for (Map.Entry<String, LoadedKit> entry : updates.entrySet()) {
+                String name = entry.getKey();
+                LoadedKit loaded = entry.getValue();
+                if (loaded != null && loaded.kit == null) {
+                    // Parse failure; the stamp is kept too, so the next change is parsed again
+                    continue;
+                }
+                if (generation < publishedGeneration || kitGenerations.getOrDefault(name, 0L) > generation) {
+                    // A reload or edit that started later has already published this kit
+                    continue;
+                }
+                kitGenerations.put(name, generation);
+                if (loaded == null) {
+                    if (nextKits.remove(name) != null) {
+                        removed++;
+                    }
+                    nextStamps.remove(name);
+                    itemCache.invalidate(name);
+                    continue;
+                }
+                nextStamps.put(name, loaded.stamp);
+                if (!loaded.parsed) {
+                    continue;
+                }
+                if (nextKits.put(name, loaded.kit) != null) {
+                    changed++;
+                } else {
+                    added++;
+                }
+                itemCache.invalidate(name);
+            }
+            kits = Collections.unmodifiableMap(nextKits);
+            fileStamps = Collections.unmodifiableMap(nextStamps);
+            total = nextKits.size();
+        }
+
+        if (added + changed + removed > 0) {
+            logger.info(String.format(plugin.i18n("已热重载礼包: %s"), String.join(", ", updates.keySet())));
+        }
+        events.end(reloadEvent, String.join(",", updates.keySet()), null, failed > 0 ? "PARTIAL" : "OK", total);
+        reloads.record(reloadStart, failed == 0);
+        return new ReloadResult(added, changed, removed, failed, total);
+    }
+
+    /**
+     * Finds a kit file by its name, falling back to a case-insensitive match since kit names
+     * ignore case but the file system may not.
+     */
+    @Nullable
+    private static File findKitFile(File kitsFolder, String fileName) {
+        File file = new File(kitsFolder, fileName + ".yml");
+        if (file.isFile()) {
+            return file;
+        }
+        File[] matches = kitsFolder.listFiles((dir, name) -> name.equalsIgnoreCase(fileName + ".yml"));
+        return matches != null && matches.length > 0 ? matches[0] : null;
+    }
+
+    /**
+     * Stamps a kit file whose content has just been read together with its item file.
+     */
+    private static KitFileStamp stampKitFile(File file, byte[] content) throws IOException {
+        File itemFile = itemFileFor(file);
+        KitFileStamp itemStamp = itemFile.isFile()
+                ? KitFileStamp.of(itemFile, Files.readAllBytes(itemFile.toPath())) : null;
+        return KitFileStamp.of(file, content).withItems(itemStamp);
+    }
+
+    /**
+     * Records the stamp of a kit file or item file the plugin itself just wrote, so the next
+     * reload keeps the kit.
+     */
+    private void rememberFileStamp(String name, File file) {
+        File kitFile;
+        if (file.getName().endsWith(".yml")) {
+            kitFile = file;
+        } else if (file.getName().endsWith(ITEM_FILE_SUFFIX)) {
+            kitFile = new File(file.getParentFile(), name + ".yml");
+        } else {
+            return;
+        }
+        KitFileStamp stamp;
+        try {
+            stamp = stampKitFile(kitFile, Files.readAllBytes(kitFile.toPath()));
+        } catch (IOException e) {
+            stamp = null;
+        }
+        synchronized (registryLock) {
+            Map<String, KitFileStamp> next = new HashMap<>(fileStamps);
+            if (stamp != null) {
+                next.put(name, stamp);
+            } else {
+                next.remove(name);
+            }
+            fileStamps = Collections.unmodifiableMap(next);
+        }
+    }
+
+    /**
+     * Applies a change to a copy of the registry and publishes the copy.
+     */
+    private void updateRegistry(Consumer<Map<String, KitDefinition>> change) {
+        synchronized (registryLock) {
+            Map<String, KitDefinition> next = new LinkedHashMap<>(kits);
+            change.accept(next);
+            kits = Collections.unmodifiableMap(next);
+        }
+    }
+
+    /**
+     * Applies an edit of one kit to the registry. The edit gets its own generation, so a reload
+     * that read the kit files before it does not undo it.
+     */
+    private void editRegistry(String name, Consumer<Map<String, KitDefinition>> change) {
+        synchronized (registryLock) {
+            kitGenerations.put(name, loadGeneration.incrementAndGet());
+            updateRegistry(change);
+        }
     }
 
     @Override
     public void reload() {
-        loadKits();
+        loadRegistry(listKitFiles(), true).join();
+    }
+
+    @Override
+    public void preloadClaims(UUID playerUuid) {
+        claimCache.preload(playerUuid);
+    }
+
+    @Override
+    public void preloadClaimsAsync(UUID playerUuid) {
+        claimCache.preloadAsync(playerUuid);
+    }
+
+    @Override
+    public void evictClaims(UUID playerUuid) {
+        claimCache.evict(playerUuid);
+    }
+
+    @Override
+    public void shutdown() {
+        if (folderWatcher != null) {
+            folderWatcher.close();
+        }
+        if (metricsExporter != null) {
+            metricsExporter.close();
+        }
+        consoleCommands.drain();
+        workers.shutdown();
+        loaders.shutdown();
+        fileWriter.shutdown();
+        claimCache.shutdown();
+        mailbox.shutdown();
+        events.close();
     }
 
     @Nullable
@@ -85,7 +601,7 @@ public class KitServiceImpl implements KitService {
 
     @Override
     public Collection<KitDefinition> getAllKits() {
-        return Collections.unmodifiableCollection(kits.values());
+        return kits.values();
     }
 
     @Override
@@ -131,13 +647,15 @@ public class KitServiceImpl implements KitService {
         kit.setDisplayName("&f" + name);
         kit.setIcon(validItems[0].getType().name());
         kit.setItems(serializedItems);
+        kit.setFit(KitFit.of(validItems));
 
         // Save to YAML
         if (!saveKitToFile(normalizedName, kit)) {
             return CreateResult.ERROR;
         }
 
-        kits.put(normalizedName, kit);
+        editRegistry(normalizedName, registry -> registry.put(normalizedName, kit));
+        itemCache.invalidate(normalizedName);
         return CreateResult.SUCCESS;
     }
 
@@ -149,11 +667,11 @@ public class KitServiceImpl implements KitService {
         }
 
         File kitFile = new File(plugin.getResourceFolderPath(), "kits/" + normalizedName + ".yml");
-        if (kitFile.exists()) {
-            kitFile.delete(); // NOPMD
-        }
+        fileWriter.delete(normalizedName, kitFile);
+        fileWriter.delete(normalizedName, itemFile(normalizedName));
 
-        kits.remove(normalizedName);
+        editRegistry(normalizedName, registry -> registry.remove(normalizedName));
+        itemCache.invalidate(normalizedName);
         return true;
     }
 
@@ -174,50 +692,297 @@ public class KitServiceImpl implements KitService {
             return false;
         }
 
-        kit.setItems(serialized);
-        return saveKitToFile(kit.getName(), kit);
+        // Readers may still hold the published definition, so the change goes into a copy
+        KitDefinition updated = kit.copy();
+        updated.setItems(serialized);
+        updated.setFit(KitFit.of(validItems));
+        if (!saveKitToFile(updated.getName(), updated)) {
+            return false;
+        }
+
+        editRegistry(updated.getName(), registry -> registry.replace(updated.getName(), updated));
+        itemCache.invalidate(updated.getName());
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public ItemStack[] getKitItems(KitDefinition kit) {
+        ItemStack[] template = getItemTemplate(kit);
+        if (template == null) {
+            return null;
+        }
+        ItemStack[] copy = new ItemStack[template.length];
+        for (int i = 0; i < template.length; i++) {
+            copy[i] = template[i] != null ? template[i].clone() : null;
+        }
+        return copy;
+    }
+
+    /**
+     * Shared decoded items of a kit. Never modify or hand out the returned stacks.
+     */
+    @Nullable
+    ItemStack[] getItemTemplate(KitDefinition kit) {
+        if (!kit.hasItems()) {
+            return null;
+        }
+        return itemCache.get(kit.getName(), itemWeight(kit), () -> {
+            ItemStack[] items = loadItems(kit);
+            if (items != null && kit.getFit() == null) {
+                // Kits saved before fit metadata existed get it from their first decode
+                publishFit(kit, KitFit.of(items));
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Publishes a copy of the kit with fit metadata. The published definition is never changed
+     * in place, and a kit replaced in the meantime keeps its newer definition.
+     */
+    private void publishFit(KitDefinition kit, KitFit fit) {
+        KitDefinition fitted = kit.copy();
+        fitted.setFit(fit);
+        updateRegistry(registry -> registry.computeIfPresent(kit.getName(),
+                (name, current) -> current == kit ? fitted : current));
+    }
+
+    /**
+     * Serialized size of a kit's items, used as its weight in the template cache.
+     */
+    private static long itemWeight(KitDefinition kit) {
+        return kit.hasInlineItems() ? kit.getItems().length() : kit.getItemDataSize();
+    }
+
+    /**
+     * Decodes a kit's items from its inline payload if it still has one, otherwise from its item file.
+     */
+    @Nullable
+    private ItemStack[] loadItems(KitDefinition kit) {
+        Object event = events.begin(KitEvents.Type.ITEM_DECODE);
+        ItemStack[] items = decodeItems(kit);
+        events.end(event, kit.getName(), null, items != null ? "OK" : "FAILED", items != null ? items.length : 0);
+        return items;
+    }
+
+    @Nullable
+    private ItemStack[] decodeItems(KitDefinition kit) {
+        String inline = kit.getItems();
+        if (inline != null && !inline.isEmpty()) {
+            return deserializeItems(inline);
+        }
+        File file = itemFile(kit.getName());
+        try {
+            byte[] data = fileWriter.pendingContent(file);
+            return ItemCodec.decode(data != null ? data : Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            logger.error("Failed to deserialize kit items: " + kit.getName() + " - " + e.getMessage());
+            return null;
+        }
     }
 
     @Override
     public ClaimResult claimKit(Player player, String kitName) {
+        Object event = events.begin(KitEvents.Type.CLAIM);
+        long start = metrics.start();
+        KitDefinition kit = getKit(kitName);
+        ClaimResult result = kit != null ? claim(player, kit, start) : ClaimResult.NOT_FOUND;
+        metrics.record(ClaimMetrics.Phase.TOTAL, start);
+        metrics.recordOutcome(kit != null ? kit.getName() : null, result);
+        events.end(event, kitName, player.getUniqueId(), result.name());
+        return result;
+    }
+
+    private ClaimResult claim(Player player, KitDefinition kit, long start) {
+        String claimKey = claimKey(player.getUniqueId(), kit);
+        if (!claimsInFlight.add(claimKey)) {
+            return ClaimResult.IN_PROGRESS;
+        }
+        try {
+            ClaimContext context = createContext(player, kit);
+            metrics.record(ClaimMetrics.Phase.LOAD, start);
+            if (context == null) {
+                logger.warn("Kit claim records are not loaded yet: " + player.getName());
+                return ClaimResult.ERROR;
+            }
+            return completeClaim(context, () -> getItemTemplate(kit));
+        } finally {
+            claimsInFlight.remove(claimKey);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ClaimResult> claimKitAsync(Player player, String kitName) {
+        Object event = events.begin(KitEvents.Type.CLAIM);
+        long start = metrics.start();
+        UUID playerUuid = player.getUniqueId();
         KitDefinition kit = getKit(kitName);
         if (kit == null) {
-            return ClaimResult.NOT_FOUND;
+            metrics.recordOutcome(ClaimResult.NOT_FOUND);
+            events.end(event, kitName, playerUuid, ClaimResult.NOT_FOUND.name());
+            return CompletableFuture.completedFuture(ClaimResult.NOT_FOUND);
         }
+        String claimKey = claimKey(playerUuid, kit);
+        if (!claimsInFlight.add(claimKey)) {
+            metrics.recordOutcome(kit.getName(), ClaimResult.IN_PROGRESS);
+            events.end(event, kitName, playerUuid, ClaimResult.IN_PROGRESS.name());
+            return CompletableFuture.completedFuture(ClaimResult.IN_PROGRESS);
+        }
+        CompletableFuture<ClaimResult> claim;
+        try {
+            claim = claimAsync(player, playerUuid, kit);
+        } catch (RuntimeException e) {
+            claimsInFlight.remove(claimKey);
+            throw e;
+        }
+        return claim.whenComplete((result, error) -> {
+            claimsInFlight.remove(claimKey);
+            metrics.record(ClaimMetrics.Phase.TOTAL, start);
+            metrics.recordOutcome(kit.getName(), result);
+            events.end(event, kitName, playerUuid, result != null ? result.name() : ClaimResult.ERROR.name());
+        });
+    }
+
+    private CompletableFuture<ClaimResult> claimAsync(Player player, UUID playerUuid, KitDefinition kit) {
+        return CompletableFuture.supplyAsync(() -> {
+                    long start = metrics.start();
+                    PreparedClaim prepared = prepareClaim(playerUuid, kit);
+                    metrics.record(ClaimMetrics.Phase.LOAD, start);
+                    return prepared;
+                }, workers)
+                .handleAsync((prepared, error) -> {
+                    if (error != null) {
+                        logger.error("Failed to load kit claim: " + kit.getName() + " - " + error.getMessage());
+                        return ClaimResult.ERROR;
+                    }
+                    if (!player.isOnline()) {
+                        return ClaimResult.ERROR;
+                    }
+                    ClaimContext context = new ClaimContext(player, kit, prepared.getClaim());
+                    return completeClaim(context, prepared::getItems);
+                }, mainThreadExecutor)
+                .exceptionally(e -> {
+                    logger.error("Failed to claim kit: " + kit.getName() + " - " + e.getMessage());
+                    return ClaimResult.ERROR;
+                });
+    }
 
-        ClaimResult validationResult = validateClaim(player, kit);
+    private static String claimKey(UUID playerUuid, KitDefinition kit) {
+        return playerUuid + ":" + kit.getName().toLowerCase();
+    }
+
+    boolean isClaimInFlight(UUID playerUuid, String kitName) {
+        return claimsInFlight.contains(playerUuid + ":" + kitName.toLowerCase());
+    }
+
+    /**
+     * Worker-thread half of an async claim: loads the claim record and decodes the items.
+     * Items are not decoded when the record already rules the claim out.
+     */
+    PreparedClaim prepareClaim(UUID playerUuid, KitDefinition kit) {
+        KitClaimData claim = getClaimData(playerUuid, kit.getName());
+        boolean blocked = claim != null
+                && (kit.isOneTime() || computeRemainingCooldown(kit, claim, System.currentTimeMillis()) > 0);
+        ItemStack[] items = blocked || !kit.hasItems() ? null : getItemTemplate(kit);
+        return new PreparedClaim(claim, items);
+    }
+
+    /**
+     * Main-thread half of a claim: validation against live player state, then delivery.
+     */
+    private ClaimResult completeClaim(ClaimContext context, Supplier<ItemStack[]> itemSupplier) {
+        long phaseStart = metrics.start();
+        ClaimResult validationResult = validateClaim(context);
+        phaseStart = metrics.record(ClaimMetrics.Phase.VALIDATE, phaseStart);
         if (validationResult != null) {
             return validationResult;
         }
 
-        ItemStack[] items = deserializeItems(kit.getItems());
+        // With the mailbox nothing is rejected for space; whatever does not fit is mailed
+        boolean mailOverflow = getConfig().isOverflowMailbox();
+
+        // Known fit rejects a full inventory without decoding the items
+        ItemStack[] contents = null;
+        KitFit fit = context.getKit().getFit();
+        if (fit != null && !mailOverflow) {
+            contents = context.getPlayer().getInventory().getStorageContents();
+            if (InventoryFit.countEmptySlots(contents) < InventoryFit.minimumEmptySlots(contents, fit)) {
+                return ClaimResult.INVENTORY_FULL;
+            }
+        }
+
+        ItemStack[] items = itemSupplier.get();
         if (items == null || items.length == 0) {
             return ClaimResult.EMPTY_KIT;
         }
 
-        if (countEmptySlots(player) < items.length) {
-            return ClaimResult.INVENTORY_FULL;
+        if (!mailOverflow) {
+            if (contents == null) {
+                contents = context.getPlayer().getInventory().getStorageContents();
+            }
+            if (!InventoryFit.fits(contents, items)) {
+                return ClaimResult.INVENTORY_FULL;
+            }
         }
+        phaseStart = metrics.record(ClaimMetrics.Phase.ITEMS, phaseStart);
 
-        deliverKit(player, kit, items);
+        List<ItemStack> leftover = deliverKit(context, items);
+        metrics.record(ClaimMetrics.Phase.DELIVER, phaseStart);
+        if (leftover.isEmpty()) {
+            return ClaimResult.SUCCESS;
+        }
+        if (mailOverflow && mailLeftover(context.getPlayer(), context.getKit(), leftover)) {
+            return ClaimResult.SUCCESS_MAILBOX;
+        }
+        dropLeftover(context.getPlayer(), context.getKit().getName(), leftover);
         return ClaimResult.SUCCESS;
     }
 
+    void setMainThreadExecutor(Executor mainThreadExecutor) {
+        this.mainThreadExecutor = mainThreadExecutor;
+    }
+
+    private void runOnMainThread(Runnable task) {
+        org.bukkit.plugin.Plugin ultiToolsPlugin = Bukkit.getPluginManager().getPlugin("UltiTools");
+        if (ultiToolsPlugin == null || Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+        Bukkit.getScheduler().runTask(ultiToolsPlugin, task);
+    }
+
     /**
      * Validates player eligibility to claim a kit.
      * Returns null if all checks pass, or the failure result.
      */
     @Nullable
     ClaimResult validateClaim(Player player, KitDefinition kit) {
-        ClaimResult prereq = checkPrerequisites(player, kit);
+        ClaimContext context = createContext(player, kit);
+        return context != null ? validateClaim(context) : ClaimResult.ERROR;
+    }
+
+    @Nullable
+    ClaimResult validateClaim(ClaimContext context) {
+        ClaimResult prereq = checkPrerequisites(context.getPlayer(), context.getKit());
         if (prereq != null) {
             return prereq;
         }
-        ClaimResult cooldown = checkCooldown(player, kit);
+        ClaimResult cooldown = checkCooldown(context);
         if (cooldown != null) {
             return cooldown;
         }
-        return kit.hasItems() ? null : ClaimResult.EMPTY_KIT;
+        return context.getKit().hasItems() ? null : ClaimResult.EMPTY_KIT;
+    }
+
+    /**
+     * Builds a claim context from the player's cached claim records, or returns null while they are
+     * still loading. Never queries the database, so it is safe on the server thread.
+     */
+    @Nullable
+    ClaimContext createContext(Player player, KitDefinition kit) {
+        Map<String, KitClaimData> claims = claimCache.getIfLoaded(player.getUniqueId());
+        return claims != null ? new ClaimContext(player, kit, claims.get(kit.getName().toLowerCase())) : null;
     }
 
     @Nullable
@@ -235,57 +1000,344 @@ public class KitServiceImpl implements KitService {
     }
 
     private boolean canAfford(Player player, double price) {
-        return EconomyUtils.isAvailable() && EconomyUtils.has(player, price);
+        long start = metrics.start();
+        boolean affordable = EconomyUtils.isAvailable() && EconomyUtils.has(player, price);
+        metrics.record(ClaimMetrics.Phase.ECONOMY, start);
+        return affordable;
     }
 
     @Nullable
-    private ClaimResult checkCooldown(Player player, KitDefinition kit) {
-        KitClaimData claim = getClaimData(player.getUniqueId(), kit.getName());
-        if (claim == null) {
+    private ClaimResult checkCooldown(ClaimContext context) {
+        if (!context.hasClaimed()) {
             return null;
         }
-        if (kit.isOneTime()) {
+        if (context.getKit().isOneTime()) {
             return ClaimResult.ALREADY_CLAIMED;
         }
-        return getRemainingCooldown(player, kit) > 0 ? ClaimResult.ON_COOLDOWN : null;
+        return computeRemainingCooldown(context.getKit(), context.getClaim(), context.getNow()) > 0
+                ? ClaimResult.ON_COOLDOWN : null;
     }
 
-    private int countEmptySlots(Player player) {
-        int count = 0;
-        for (ItemStack slot : player.getInventory().getStorageContents()) {
-            if (slot == null || slot.getType() == Material.AIR) {
-                count++;
+    /**
+     * Charges the player, adds the items and runs the kit commands.
+     *
+     * @return stacks that did not fit; empty unless the fit check was skipped for the mailbox
+     */
+    private List<ItemStack> deliverKit(ClaimContext context, ItemStack[] items) {
+        Player player = context.getPlayer();
+        KitDefinition kit = context.getKit();
+        if (!kit.isFree() && EconomyUtils.isAvailable()) {
+            long start = metrics.start();
+            EconomyUtils.withdraw(player, kit.getPrice());
+            metrics.record(ClaimMetrics.Phase.ECONOMY, start);
+        }
+        List<ItemStack> leftover = addItems(player, items);
+        KitTemplates templates = kit.getTemplates();
+        executePlayerCommands(player, kit, templates.getPlayerCommands());
+        executeConsoleCommands(player, kit, templates.getConsoleCommands());
+        updateClaimData(context);
+        return leftover;
+    }
+
+    private static List<ItemStack> addItems(Player player, ItemStack[] items) {
+        List<ItemStack> leftover = new ArrayList<>();
+        for (ItemStack item : items) {
+            if (item == null) {
+                continue;
+            }
+            Map<Integer, ItemStack> rest = player.getInventory().addItem(item.clone());
+            if (rest != null) {
+                leftover.addAll(rest.values());
             }
         }
-        return count;
+        return leftover;
     }
 
-    private void deliverKit(Player player, KitDefinition kit, ItemStack[] items) {
-        if (!kit.isFree() && EconomyUtils.isAvailable()) {
-            EconomyUtils.withdraw(player, kit.getPrice());
+    private static int totalAmount(Collection<ItemStack> stacks) {
+        int total = 0;
+        for (ItemStack stack : stacks) {
+            if (stack != null) {
+                total += stack.getAmount();
+            }
         }
-        for (ItemStack item : items) {
-            player.getInventory().addItem(item.clone());
+        return total;
+    }
+
+    /**
+     * Stores stacks that did not fit in the player's mailbox.
+     *
+     * @return false if they could not be serialized and must be dropped instead
+     */
+    private boolean mailLeftover(Player player, KitDefinition kit, List<ItemStack> leftover) {
+        String data = serializeItems(leftover.toArray(new ItemStack[0]));
+        if (data == null) {
+            return false;
+        }
+        storeInMailbox(player, KitMailboxData.builder()
+                .uuid(UUID.randomUUID().toString())
+                .playerUuid(player.getUniqueId().toString())
+                .kitName(kit.getName())
+                .items(data)
+                .createdAt(System.currentTimeMillis())
+                .build(), leftover);
+        return true;
+    }
+
+    /**
+     * Stores a mailbox entry. Failed inserts are retried by the mailbox; only an entry that is
+     * still not stored at shutdown is given up on, and its items are dropped at the player's
+     * feet instead.
+     */
+    private void storeInMailbox(Player player, KitMailboxData entry, Collection<ItemStack> items) {
+        mailbox.store(entry).whenComplete((stored, error) -> {
+            if (error == null) {
+                return;
+            }
+            mainThreadExecutor.execute(() -> {
+                if (player.isOnline()) {
+                    dropLeftover(player, entry.getKitName(), items);
+                } else {
+                    logger.error("Kit mailbox items could not be stored: " + entry.getKitName() + " - "
+                            + entry.getPlayerUuid() + " - " + entry.getItems());
+                }
+            });
+        });
+    }
+
+    /**
+     * Drops items that did not fit at the player's feet instead of losing them.
+     */
+    private void dropLeftover(Player player, String kitName, Collection<ItemStack> leftover) {
+        logger.warn("Kit items did not fit and were dropped: " + kitName + " - " + player.getName());
+        for (ItemStack stack : leftover) {
+            player.getWorld().dropItemNaturally(player.getLocation(), stack);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<KitMailboxData>> getMailboxAsync(Player player) {
+        return mailbox.load(player.getUniqueId())
+                .thenApplyAsync(entries -> entries, mainThreadExecutor);
+    }
+
+    @Nullable
+    @Override
+    public ItemStack[] getMailboxItems(KitMailboxData entry) {
+        return deserializeItems(entry.getItems());
+    }
+
+    @Override
+    public CompletableFuture<CollectResult> collectMailbox(Player player, KitMailboxData entry) {
+        String data = entry.getItems();
+        if (data == null) {
+            return CompletableFuture.completedFuture(CollectResult.EMPTY);
+        }
+        ItemStack[] items = getMailboxItems(entry);
+        if (items == null) {
+            return CompletableFuture.completedFuture(CollectResult.ERROR);
+        }
+        if (!InventoryFit.hasRoom(player.getInventory().getStorageContents(), items)) {
+            return CompletableFuture.completedFuture(CollectResult.INVENTORY_FULL);
+        }
+
+        // Cleared right away so a repeated click cannot collect the entry twice. The row is
+        // removed before anything is handed out; if that fails, the player gets nothing.
+        entry.setItems(null);
+        return mailbox.remove(entry).handleAsync((removed, error) -> {
+            if (error != null) {
+                entry.setItems(data);
+                return CollectResult.ERROR;
+            }
+            return deliverMailbox(player, entry, data, items);
+        }, mainThreadExecutor);
+    }
+
+    /**
+     * Hands out the items of a removed entry. What does not fit is stored again under the same
+     * entry, so the mailbox screen keeps showing it.
+     */
+    private CollectResult deliverMailbox(Player player, KitMailboxData entry, String data, ItemStack[] items) {
+        List<ItemStack> leftover = addItems(player, items);
+        if (leftover.isEmpty()) {
+            return CollectResult.COLLECTED;
+        }
+        boolean nothingAdded = totalAmount(leftover) == totalAmount(Arrays.asList(items));
+        String rest = nothingAdded ? data : serializeItems(leftover.toArray(new ItemStack[0]));
+        if (rest == null) {
+            dropLeftover(player, entry.getKitName(), leftover);
+            return CollectResult.COLLECTED;
+        }
+        entry.setItems(rest);
+        storeInMailbox(player, entry, leftover);
+        return nothingAdded ? CollectResult.INVENTORY_FULL : CollectResult.PARTIAL;
+    }
+
+    @Override
+    public ClaimStats getClaimStats() {
+        return metrics.snapshot();
+    }
+
+    @Override
+    public void resetClaimStats() {
+        metrics.reset();
+    }
+
+    /**
+     * Renders the kit metrics in the Prometheus text format. Only reads counters, so any
+     * thread may call it.
+     */
+    String scrapeMetrics() {
+        PrometheusText text = new PrometheusText();
+        text.family("ultikits_kits", "gauge", "Kits currently loaded.")
+                .sample("ultikits_kits", kits.size());
+
+        if (metrics.isEnabled()) {
+            text.family("ultikits_claims_total", "counter", "Kit claims by result, including unknown kits.");
+            for (ClaimResult result : ClaimResult.values()) {
+                text.sample("ultikits_claims_total", metrics.getOutcomeCount(result), "result", result.name());
+            }
+            text.family("ultikits_kit_claims_total", "counter", "Claims of existing kits by kit and result.");
+            for (Map.Entry<String, Map<ClaimResult, Long>> kit : metrics.getKitOutcomes().entrySet()) {
+                for (Map.Entry<ClaimResult, Long> result : kit.getValue().entrySet()) {
+                    text.sample("ultikits_kit_claims_total", result.getValue(),
+                            "kit", kit.getKey(), "result", result.getKey().name());
+                }
+            }
+            text.family("ultikits_claim_phase_seconds", "summary", "Time spent in each claim phase.");
+            for (ClaimMetrics.Phase phase : ClaimMetrics.Phase.values()) {
+                LatencyHistogram histogram = metrics.getHistogram(phase);
+                String name = phase.name().toLowerCase(Locale.ROOT);
+                for (double quantile : new double[]{0.5, 0.95, 0.99}) {
+                    text.sample("ultikits_claim_phase_seconds",
+                            PrometheusText.seconds(histogram.percentile(quantile * 100)),
+                            "phase", name, "quantile", Double.toString(quantile));
+                }
+                text.sample("ultikits_claim_phase_seconds_sum", PrometheusText.seconds(histogram.getSum()), "phase", name);
+                text.sample("ultikits_claim_phase_seconds_count", histogram.getCount(), "phase", name);
+            }
+        }
+
+        text.family("ultikits_cache_requests_total", "counter", "Cache lookups by cache and result.")
+                .sample("ultikits_cache_requests_total", itemCache.getHits(), "cache", "items", "result", "hit")
+                .sample("ultikits_cache_requests_total", itemCache.getMisses(), "cache", "items", "result", "miss")
+                .sample("ultikits_cache_requests_total", claimCache.getHits(), "cache", "claims", "result", "hit")
+                .sample("ultikits_cache_requests_total", claimCache.getMisses(), "cache", "claims", "result", "miss");
+        text.family("ultikits_cache_hit_ratio", "gauge", "Share of cache lookups that were hits since startup.")
+                .sample("ultikits_cache_hit_ratio",
+                        PrometheusText.ratio(itemCache.getHits(), itemCache.getMisses()), "cache", "items")
+                .sample("ultikits_cache_hit_ratio",
+                        PrometheusText.ratio(claimCache.getHits(), claimCache.getMisses()), "cache", "claims");
+        text.family("ultikits_item_cache_evictions_total", "counter", "Decoded kits dropped from the item cache.")
+                .sample("ultikits_item_cache_evictions_total", itemCache.getEvictions());
+        text.family("ultikits_item_cache_bytes", "gauge", "Serialized size of the kits in the item cache.")
+                .sample("ultikits_item_cache_bytes", itemCache.getWeight());
+        text.family("ultikits_claim_cache_players", "gauge", "Players whose claim records are cached.")
+                .sample("ultikits_claim_cache_players", claimCache.size());
+        text.family("ultikits_claim_pending_writes", "gauge", "Claim records waiting to be written.")
+                .sample("ultikits_claim_pending_writes", claimCache.pendingWrites());
+        text.family("ultikits_console_commands_pending", "gauge", "Kit console commands waiting for the next tick.")
+                .sample("ultikits_console_commands_pending", consoleCommands.pendingCommands());
+
+        text.family("ultikits_db_operations_total", "counter", "Database operations by table and operation.");
+        sampleOperations(text, "ultikits_db_operations_total", OperationStats::getCount, false);
+        text.family("ultikits_db_operation_failures_total", "counter", "Failed database operations by table and operation.");
+        sampleOperations(text, "ultikits_db_operation_failures_total", OperationStats::getFailures, false);
+        text.family("ultikits_db_operation_seconds_total", "counter", "Time spent in database operations by table and operation.");
+        sampleOperations(text, "ultikits_db_operation_seconds_total", OperationStats::getTotalNanos, true);
+
+        text.family("ultikits_reloads_total", "counter", "Kit reloads, including startup and folder watcher reloads.")
+                .sample("ultikits_reloads_total", reloads.getCount());
+        text.family("ultikits_reload_failures_total", "counter", "Kit reloads in which some kit files failed to load.")
+                .sample("ultikits_reload_failures_total", reloads.getFailures());
+        text.family("ultikits_reload_seconds_total", "counter", "Time spent reloading kits.")
+                .sample("ultikits_reload_seconds_total", PrometheusText.seconds(reloads.getTotalNanos()));
+        text.family("ultikits_reload_last_seconds", "gauge", "Duration of the most recent kit reload.")
+                .sample("ultikits_reload_last_seconds", PrometheusText.seconds(reloads.getLastNanos()));
+        return text.toString();
+    }
+
+    /**
+     * Adds one sample per database table and operation.
+     *
+     * @param nanos whether the value is a duration to export in seconds
+     */
+    private void sampleOperations(PrometheusText text, String name, ToLongFunction<OperationStats> value,
+                                  boolean nanos) {
+        String[][] labels = {
+                {"kits_claims", "query"}, {"kits_claims", "write"},
+                {"kits_mailbox", "query"}, {"kits_mailbox", "write"}
+        };
+        OperationStats[] stats = {
+                claimCache.getQueries(), claimCache.getWrites(), mailbox.getQueries(), mailbox.getWrites()
+        };
+        for (int i = 0; i < stats.length; i++) {
+            long sample = value.applyAsLong(stats[i]);
+            if (nanos) {
+                text.sample(name, PrometheusText.seconds(sample), "table", labels[i][0], "operation", labels[i][1]);
+            } else {
+                text.sample(name, sample, "table", labels[i][0], "operation", labels[i][1]);
+            }
         }
-        executePlayerCommands(player, kit.getPlayerCommands());
-        executeConsoleCommands(player, kit.getConsoleCommands());
-        updateClaimData(player.getUniqueId(), kit.getName());
     }
 
     @Override
     public long getRemainingCooldown(Player player, KitDefinition kit) {
-        if (kit.isOneTime()) {
-            KitClaimData claim = getClaimData(player.getUniqueId(), kit.getName());
-            return claim != null ? -1 : 0;
+        Map<String, KitClaimData> claims = claimCache.getIfLoaded(player.getUniqueId());
+        KitClaimData claim = claims != null ? claims.get(kit.getName().toLowerCase()) : null;
+        return computeRemainingCooldown(kit, claim, System.currentTimeMillis());
+    }
+
+    @Override
+    public Map<String, KitStatus> getKitStatuses(Player player, Collection<KitDefinition> kits) {
+        Map<String, KitClaimData> claims = claimCache.getIfLoaded(player.getUniqueId());
+        if (claims == null) {
+            claims = Collections.emptyMap();
         }
+        long now = System.currentTimeMillis();
+        int level = player.getLevel();
+        double balance = Double.NaN;
+
+        Map<String, KitStatus> statuses = new LinkedHashMap<>();
+        for (KitDefinition kit : kits) {
+            if (kit.hasLevelRequirement() && level < kit.getLevelRequired()) {
+                statuses.put(kit.getName(), KitStatus.insufficientLevel());
+                continue;
+            }
+            if (!kit.isFree()) {
+                if (Double.isNaN(balance)) {
+                    balance = EconomyUtils.isAvailable() ? EconomyUtils.getBalance(player) : -1;
+                }
+                if (balance < kit.getPrice()) {
+                    statuses.put(kit.getName(), KitStatus.insufficientFunds());
+                    continue;
+                }
+            }
+            long remaining = computeRemainingCooldown(kit, claims.get(kit.getName().toLowerCase()), now);
+            if (remaining < 0) {
+                statuses.put(kit.getName(), KitStatus.alreadyClaimed());
+            } else if (remaining > 0) {
+                statuses.put(kit.getName(), KitStatus.onCooldown(remaining));
+            } else {
+                statuses.put(kit.getName(), KitStatus.claimable());
+            }
+        }
+        return statuses;
+    }
 
-        KitClaimData claim = getClaimData(player.getUniqueId(), kit.getName());
+    /**
+     * Remaining cooldown for an already loaded claim record.
+     * Returns -1 for a claimed one-time kit, 0 when claimable.
+     */
+    long computeRemainingCooldown(KitDefinition kit, @Nullable KitClaimData claim, long now) {
         if (claim == null) {
             return 0;
         }
+        if (kit.isOneTime()) {
+            return -1;
+        }
 
         long cooldownEnd = claim.getLastClaim() + (kit.getCooldown() * 1000);
-        long remaining = cooldownEnd - System.currentTimeMillis();
+        long remaining = cooldownEnd - now;
         return Math.max(0, remaining);
     }
 
@@ -316,16 +1368,7 @@ public class KitServiceImpl implements KitService {
     @Override
     public String serializeItems(ItemStack[] items) {
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(outputStream);
-
-            dataOutput.writeInt(items.length);
-            for (ItemStack item : items) {
-                dataOutput.writeObject(item);
-            }
-
-            dataOutput.close();
-            return Base64Coder.encodeLines(outputStream.toByteArray());
+            return ItemCodec.encode(items);
         } catch (IOException e) {
             logger.error("Failed to serialize kit items: " + e.getMessage());
             return null;
@@ -339,19 +1382,8 @@ public class KitServiceImpl implements KitService {
             return null;
         }
         try {
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(Base64Coder.decodeLines(data));
-            BukkitObjectInputStream dataInput = new BukkitObjectInputStream(inputStream);
-
-            int size = dataInput.readInt();
-            ItemStack[] items = new ItemStack[size];
-
-            for (int i = 0; i < size; i++) {
-                items[i] = (ItemStack) dataInput.readObject();
-            }
-
-            dataInput.close();
-            return items;
-        } catch (IOException | ClassNotFoundException e) {
+            return ItemCodec.decode(data);
+        } catch (IOException e) {
             logger.error("Failed to deserialize kit items: " + e.getMessage());
             return null;
         }
@@ -359,45 +1391,56 @@ public class KitServiceImpl implements KitService {
 
     // --- Internal methods ---
 
+    /**
+     * Blocking read-through of a claim record; worker threads only.
+     */
     @Nullable
     KitClaimData getClaimData(UUID playerUuid, String kitName) {
-        List<KitClaimData> claims = claimOperator.query()
-                .where("player_uuid").eq(playerUuid.toString())
-                .list();
+        return claimCache.get(playerUuid, kitName);
+    }
 
-        return claims.stream()
-                .filter(c -> c.getKitName().equalsIgnoreCase(kitName))
-                .findFirst()
-                .orElse(null);
+    /**
+     * Writes all queued claim records and waits for completion.
+     */
+    void flushClaimData() {
+        claimCache.flush();
     }
 
-    void updateClaimData(UUID playerUuid, String kitName) {
-        KitClaimData existing = getClaimData(playerUuid, kitName);
+    /**
+     * Waits until queued mailbox writes are done.
+     */
+    void flushMailbox() {
+        mailbox.flush();
+    }
 
-        if (existing != null) {
-            existing.setLastClaim(System.currentTimeMillis());
-            existing.setClaimCount(existing.getClaimCount() + 1);
-            try {
-                claimOperator.update(existing);
-            } catch (IllegalAccessException e) {
-                logger.error("Failed to update kit claim data: " + e.getMessage());
-            }
-        } else {
-            KitClaimData claim = KitClaimData.builder()
-                    .uuid(UUID.randomUUID().toString())
-                    .playerUuid(playerUuid.toString())
-                    .kitName(kitName)
-                    .lastClaim(System.currentTimeMillis())
-                    .claimCount(1)
-                    .build();
-            claimOperator.insert(claim);
-        }
+    void updateClaimData(ClaimContext context) {
+        KitClaimData written = writeClaimData(context.getClaim(), context.getPlayer().getUniqueId(),
+                context.getKit().getName(), context.getNow());
+        context.setClaim(written);
+    }
+
+    /**
+     * Records a claim as a new record that replaces the cached one; cached records are never
+     * changed in place because other threads may be reading them.
+     */
+    private KitClaimData writeClaimData(@Nullable KitClaimData existing, UUID playerUuid, String kitName, long now) {
+        KitClaimData claim = KitClaimData.builder()
+                .uuid(existing != null ? existing.getUuid() : UUID.randomUUID().toString())
+                .playerUuid(existing != null ? existing.getPlayerUuid() : playerUuid.toString())
+                .kitName(existing != null ? existing.getKitName() : kitName)
+                .lastClaim(now)
+                .claimCount(existing != null ? existing.getClaimCount() + 1 : 1)
+                .build();
+        claimCache.put(claim, existing == null);
+        return claim;
     }
 
     @Nullable
     KitDefinition parseKitFile(File file) {
         try {
-            YamlConfiguration config = YamlConfiguration.loadConfiguration(file);
+            // load() throws on invalid YAML, where loadConfiguration() would return an empty kit
+            YamlConfiguration config = new YamlConfiguration();
+            config.load(file);
 
             KitDefinition kit = new KitDefinition();
             kit.setDisplayName(config.getString("displayName", "&7Kit"));
@@ -410,6 +1453,10 @@ public class KitServiceImpl implements KitService {
             kit.setPlayerCommands(config.getStringList("playerCommands"));
             kit.setConsoleCommands(config.getStringList("consoleCommands"));
             kit.setItems(config.getString("items", ""));
+            kit.setItemDataSize(itemFileFor(file).length());
+            kit.setFit(parseFit(config.getConfigurationSection("fit")));
+            // Compiled on the loader thread instead of on the first claim or GUI open
+            kit.getTemplates();
 
             // Validate icon material
             String iconStr = config.getString("icon", "CHEST");
@@ -428,31 +1475,125 @@ public class KitServiceImpl implements KitService {
         }
     }
 
+    KitsConfig getConfig() {
+        KitsConfig config = plugin.getConfig(KitsConfig.class);
+        return config != null ? config : DEFAULT_CONFIG;
+    }
+
+    /**
+     * Queues the kit's YAML for the background file writer. The registry is not touched here;
+     * callers update it themselves, so the kit is usable before the file is written.
+     *
+     * <p>An inline item payload is moved out of the kit into its binary item file, queued
+     * before the YAML so the items are on disk by the time the YAML stops referencing them.</p>
+     *
+     * @return false if the kit could not be serialized or the kits folder is not writable;
+     * errors from the write itself are logged by the writer
+     */
     boolean saveKitToFile(String name, KitDefinition kit) {
+        File kitsFolder = new File(plugin.getResourceFolderPath(), "kits");
+        if (!kitsFolder.isDirectory() && !kitsFolder.mkdirs()) {
+            logger.error("Failed to save kit file: " + name + " - cannot create " + kitsFolder.getPath());
+            return false;
+        }
+        byte[] itemData;
+        String yaml;
         try {
-            File kitFile = new File(plugin.getResourceFolderPath(), "kits/" + name + ".yml");
-            YamlConfiguration config = new YamlConfiguration();
+            itemData = toItemData(kit.getItems());
+            yaml = toYaml(kit, itemData == null && kit.hasInlineItems());
+        } catch (RuntimeException e) {
+            logger.error("Failed to save kit file: " + name + " - " + e.getMessage());
+            return false;
+        }
 
-            config.set("displayName", kit.getDisplayName());
-            config.set("description", kit.getDescription());
-            config.set("icon", kit.getIcon());
-            config.set("price", kit.getPrice());
-            config.set("levelRequired", kit.getLevelRequired());
-            config.set("permission", kit.getPermission());
-            config.set("reBuyable", kit.isReBuyable());
-            config.set("cooldown", kit.getCooldown());
-            config.set("playerCommands", kit.getPlayerCommands());
-            config.set("consoleCommands", kit.getConsoleCommands());
+        if (itemData != null) {
+            fileWriter.write(name, itemFile(name), itemData);
+            kit.setItemDataSize(itemData.length);
+            kit.setItems("");
+        }
+        fileWriter.write(name, new File(kitsFolder, name + ".yml"), yaml);
+        return true;
+    }
+
+    private static String toYaml(KitDefinition kit, boolean inlineItems) {
+        YamlConfiguration config = new YamlConfiguration();
+
+        config.set("displayName", kit.getDisplayName());
+        config.set("description", kit.getDescription());
+        config.set("icon", kit.getIcon());
+        config.set("price", kit.getPrice());
+        config.set("levelRequired", kit.getLevelRequired());
+        config.set("permission", kit.getPermission());
+        config.set("reBuyable", kit.isReBuyable());
+        config.set("cooldown", kit.getCooldown());
+        config.set("playerCommands", kit.getPlayerCommands());
+        config.set("consoleCommands", kit.getConsoleCommands());
+        if (inlineItems) {
             config.set("items", kit.getItems());
+        }
+        KitFit fit = kit.getFit();
+        if (fit != null) {
+            config.set("fit.items", fit.getItemCount());
+            config.createSection("fit.amounts", fit.getAmounts());
+            config.createSection("fit.maxStackSizes", fit.getMaxStackSizes());
+        }
+        return config.saveToString();
+    }
+
+    @Nullable
+    private static KitFit parseFit(@Nullable ConfigurationSection section) {
+        if (section == null) {
+            return null;
+        }
+        return new KitFit(section.getInt("items"), readCounts(section.getConfigurationSection("amounts")),
+                readCounts(section.getConfigurationSection("maxStackSizes")));
+    }
+
+    private static Map<String, Integer> readCounts(@Nullable ConfigurationSection section) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                counts.put(key, section.getInt(key));
+            }
+        }
+        return counts;
+    }
+
+    File itemFile(String name) {
+        return new File(plugin.getResourceFolderPath(), "kits/" + name + ITEM_FILE_SUFFIX);
+    }
+
+    private static File itemFileFor(File kitFile) {
+        String fileName = kitFile.getName();
+        String baseName = fileName.endsWith(".yml") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        return new File(kitFile.getParentFile(), baseName + ITEM_FILE_SUFFIX);
+    }
 
-            config.save(kitFile);
-            return true;
+    /**
+     * Raw payload bytes of an inline item value.
+     *
+     * @return the bytes, or null if the value is empty or not a recognised item payload
+     */
+    @Nullable
+    private static byte[] toItemData(@Nullable String items) {
+        if (items == null || items.isEmpty()) {
+            return null;
+        }
+        try {
+            byte[] data = ItemCodec.toBytes(items);
+            return ItemCodec.isPayload(data) ? data : null;
         } catch (IOException e) {
-            logger.error("Failed to save kit file: " + name + " - " + e.getMessage());
-            return false;
+            return null;
         }
     }
 
+    /**
+     * Waits until all queued kit file writes are on disk.
+     */
+    void flushKitFiles() {
+        fileWriter.flush();
+    }
+
     private void copyExampleKit(File folder) {
         try (InputStream is = plugin.getClass().getClassLoader().getResourceAsStream("kits/starter.yml")) {
             File exampleFile = new File(folder, "starter.yml");
@@ -464,29 +1605,53 @@ public class KitServiceImpl implements KitService {
         }
     }
 
-    private void executePlayerCommands(Player player, List<String> commands) {
-        if (commands == null || commands.isEmpty()) {
-            return;
-        }
-        for (String cmd : commands) {
-            String processed = cmd.replace("{player}", player.getName());
-            player.performCommand(processed);
+    private void executePlayerCommands(Player player, KitDefinition kit, List<TextTemplate> commands) {
+        for (TextTemplate command : commands) {
+            player.performCommand(command.render(player, kit.getName()));
         }
     }
 
-    private void executeConsoleCommands(Player player, List<String> commands) {
-        if (commands == null || commands.isEmpty()) {
+    private void executeConsoleCommands(Player player, KitDefinition kit, List<TextTemplate> commands) {
+        if (commands.isEmpty()) {
+            return;
+        }
+        org.bukkit.plugin.Plugin ultiToolsPlugin = Bukkit.getPluginManager().getPlugin("UltiTools");
+        if (ultiToolsPlugin == null) {
             return;
         }
+        List<String> processed = new ArrayList<>(commands.size());
+        for (TextTemplate command : commands) {
+            processed.add(command.render(player, kit.getName()));
+        }
+        consoleCommands.submit(processed);
+    }
+
+    private void runNextTick(Runnable task) {
         org.bukkit.plugin.Plugin ultiToolsPlugin = Bukkit.getPluginManager().getPlugin("UltiTools");
         if (ultiToolsPlugin == null) {
+            // Plugin is gone, e.g. while disabling; run what is queued right away
+            task.run();
             return;
         }
-        for (String cmd : commands) {
-            String processed = cmd.replace("{player}", player.getName());
-            String finalCmd = processed;
-            Bukkit.getScheduler().runTask(ultiToolsPlugin, () ->
-                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), finalCmd));
+        Bukkit.getScheduler().runTask(ultiToolsPlugin, task);
+    }
+
+    private static final class LoadedKit {
+        private final String name;
+        @Nullable
+        private final KitDefinition kit;
+        @Nullable
+        private final KitFileStamp stamp;
+        /**
+         * True if the file was parsed rather than kept from the previous registry.
+         */
+        private final boolean parsed;
+
+        private LoadedKit(String name, @Nullable KitDefinition kit, @Nullable KitFileStamp stamp, boolean parsed) {
+            this.name = name;
+            this.kit = kit;
+            this.stamp = stamp;
+            this.parsed = parsed;
         }
     }
 }
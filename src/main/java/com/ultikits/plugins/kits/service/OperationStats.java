@@ -0,0 +1,51 @@
+package com.ultikits.plugins.kits.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, total time and failures of a repeated operation such as a database query.
+ * 重复操作（如数据库查询）的次数、总耗时与失败次数。
+ */
+final class OperationStats {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private volatile long lastNanos;
+
+    long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records one operation that began at {@code start}.
+     */
+    void record(long start, boolean succeeded) {
+        long elapsed = Math.max(0, System.nanoTime() - start);
+        count.increment();
+        totalNanos.add(elapsed);
+        lastNanos = elapsed;
+        if (!succeeded) {
+            failures.increment();
+        }
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    long getFailures() {
+        return failures.sum();
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Duration of the most recent operation, 0 before the first one.
+     */
+    long getLastNanos() {
+        return lastNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.entity.KitClaimData;
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nullable;
+
+/**
+ * Data loaded off the main thread for an async claim.
+ * 异步领取时在工作线程中加载的数据。
+ */
+@Getter
+final class PreparedClaim {
+
+    @Nullable
+    private final KitClaimData claim;
+    @Nullable
+    private final ItemStack[] items;
+
+    PreparedClaim(@Nullable KitClaimData claim, @Nullable ItemStack[] items) {
+        this.claim = claim;
+        this.items = items;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ultikits.plugins.kits.service;
+
+/**
+ * Builds metrics in the Prometheus text exposition format (version 0.0.4).
+ * 生成 Prometheus 文本格式的指标。
+ */
+final class PrometheusText {
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    /**
+     * Starts a metric family with its help text and type ({@code counter}, {@code gauge} or
+     * {@code summary}); the samples of the family follow.
+     */
+    PrometheusText family(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ');
+        escape(help, false);
+        out.append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        return this;
+    }
+
+    /**
+     * Adds a sample.
+     *
+     * @param labels label names and values, alternating
+     */
+    PrometheusText sample(String name, long value, String... labels) {
+        appendName(name, labels);
+        out.append(value).append('\n');
+        return this;
+    }
+
+    PrometheusText sample(String name, double value, String... labels) {
+        appendName(name, labels);
+        out.append(format(value)).append('\n');
+        return this;
+    }
+
+    private void appendName(String name, String[] labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"");
+                escape(labels[i + 1], true);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ');
+    }
+
+    private void escape(String value, boolean quotes) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                out.append("\\\\");
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c == '"' && quotes) {
+                out.append("\\\"");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Share of hits among all lookups, NaN before the first lookup.
+     */
+    static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
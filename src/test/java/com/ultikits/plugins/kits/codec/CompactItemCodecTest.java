@@ -0,0 +1,280 @@
+package com.ultikits.plugins.kits.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CompactItemCodec")
+class CompactItemCodecTest {
+
+    private static final String[] TYPES = {"DIAMOND_SWORD", "BREAD", "IRON_HELMET", "GOLDEN_APPLE", "TORCH"};
+
+    /**
+     * Builds maps shaped like {@code ItemStack#serialize()} output for a typical starter kit.
+     */
+    private static List<Object> sampleKit(int size) {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("v", 3465);
+            item.put("type", TYPES[i % TYPES.length]);
+            item.put("amount", 1 + i % 16);
+            if (i % 2 == 0) {
+                Map<String, Object> meta = new LinkedHashMap<>();
+                meta.put("meta-type", "UNSPECIFIC");
+                meta.put("display-name", "{\"text\":\"Starter " + TYPES[i % TYPES.length] + "\",\"color\":\"gold\"}");
+                meta.put("lore", Arrays.asList("{\"text\":\"A gift for new players\"}", "{\"text\":\"Kit: starter\"}"));
+                Map<String, Object> enchants = new LinkedHashMap<>();
+                enchants.put("DAMAGE_ALL", 5);
+                enchants.put("DURABILITY", 3);
+                meta.put("enchants", enchants);
+                meta.put("Damage", i * 3);
+                item.put("meta", meta);
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("restores item maps")
+        void restoresItemMaps() throws IOException {
+            List<Object> items = sampleKit(27);
+
+            assertThat(CompactItemCodec.decode(CompactItemCodec.encode(items, true))).isEqualTo(items);
+            assertThat(CompactItemCodec.decode(CompactItemCodec.encode(items, false))).isEqualTo(items);
+        }
+
+        @Test
+        @DisplayName("keeps value types")
+        void keepsValueTypes() throws IOException {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("int", -42);
+            values.put("long", Long.MIN_VALUE);
+            values.put("short", (short) 7);
+            values.put("byte", (byte) -3);
+            values.put("double", 1.5D);
+            values.put("float", 2.5F);
+            values.put("true", true);
+            values.put("false", false);
+            values.put("null", null);
+            values.put("text", "礼包");
+            values.put("list", Arrays.asList(1, "two", null));
+
+            Map<?, ?> decoded = (Map<?, ?>) CompactItemCodec.decode(
+                    CompactItemCodec.encode(Collections.singletonList(values), true)).get(0);
+
+            assertThat(decoded).isEqualTo(values);
+            assertThat(decoded.get("short")).isInstanceOf(Short.class);
+            assertThat(decoded.get("byte")).isInstanceOf(Byte.class);
+            assertThat(decoded.get("long")).isInstanceOf(Long.class);
+            assertThat(decoded.get("float")).isInstanceOf(Float.class);
+        }
+
+        @Test
+        @DisplayName("keeps byte arrays")
+        void keepsByteArrays() throws IOException {
+            byte[] bytes = {1, 2, 3};
+
+            Object decoded = CompactItemCodec.decode(
+                    CompactItemCodec.encode(Collections.singletonList(bytes), false)).get(0);
+
+            assertThat((byte[]) decoded).containsExactly(1, 2, 3);
+        }
+
+        @Test
+        @DisplayName("writes sets such as item flags as lists")
+        void setsAsLists() throws IOException {
+            Set<String> flags = new LinkedHashSet<>(Arrays.asList("HIDE_ENCHANTS", "HIDE_ATTRIBUTES"));
+            Map<String, Object> meta = new LinkedHashMap<>();
+            meta.put("meta-type", "UNSPECIFIC");
+            meta.put("ItemFlags", flags);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("type", "DIAMOND_SWORD");
+            item.put("meta", meta);
+
+            Map<?, ?> decoded = (Map<?, ?>) CompactItemCodec.decode(
+                    CompactItemCodec.encode(Collections.singletonList(item), true)).get(0);
+
+            Object decodedFlags = ((Map<?, ?>) decoded.get("meta")).get("ItemFlags");
+            assertThat(decodedFlags).isInstanceOf(List.class);
+            assertThat((List<?>) decodedFlags).containsExactly("HIDE_ENCHANTS", "HIDE_ATTRIBUTES");
+        }
+
+        @Test
+        @DisplayName("keeps empty slots")
+        void keepsEmptySlots() throws IOException {
+            List<Object> items = Arrays.asList(null, sampleKit(1).get(0), null);
+
+            assertThat(CompactItemCodec.decode(CompactItemCodec.encode(items, true))).isEqualTo(items);
+        }
+    }
+
+    @Nested
+    @DisplayName("Header")
+    class HeaderTests {
+
+        @Test
+        @DisplayName("starts with magic and version")
+        void startsWithMagic() throws IOException {
+            byte[] data = CompactItemCodec.encode(sampleKit(1), false);
+
+            assertThat(CompactItemCodec.isCompact(data)).isTrue();
+            assertThat(data[3]).isEqualTo((byte) CompactItemCodec.VERSION);
+            assertThat(data[4]).isZero();
+        }
+
+        @Test
+        @DisplayName("sets deflate flag only when it helps")
+        void deflateFlag() throws IOException {
+            assertThat(CompactItemCodec.encode(sampleKit(27), true)[4]).isEqualTo((byte) CompactItemCodec.FLAG_DEFLATE);
+            assertThat(CompactItemCodec.encode(Collections.emptyList(), true)[4]).isZero();
+        }
+
+        @Test
+        @DisplayName("rejects data without the header")
+        void rejectsOtherData() {
+            assertThat(CompactItemCodec.isCompact(null)).isFalse();
+            assertThat(CompactItemCodec.isCompact(new byte[]{(byte) 0xAC, (byte) 0xED, 0, 5, 0})).isFalse();
+            assertThatThrownBy(() -> CompactItemCodec.decode(new byte[]{1, 2, 3}))
+                    .isInstanceOf(IOException.class);
+        }
+
+        @Test
+        @DisplayName("rejects unknown versions")
+        void rejectsUnknownVersion() throws IOException {
+            byte[] data = CompactItemCodec.encode(sampleKit(1), false);
+            data[3] = 99;
+
+            assertThatThrownBy(() -> CompactItemCodec.decode(data))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("99");
+        }
+
+        @Test
+        @DisplayName("reads version 1 payloads")
+        void readsVersionOne() throws IOException {
+            List<Object> items = sampleKit(3);
+            byte[] data = CompactItemCodec.encode(items, true);
+            data[3] = 1;
+
+            assertThat(CompactItemCodec.decode(data)).isEqualTo(items);
+        }
+
+        @Test
+        @DisplayName("rejects truncated data")
+        void rejectsTruncatedData() throws IOException {
+            byte[] data = CompactItemCodec.encode(sampleKit(3), false);
+
+            assertThatThrownBy(() -> CompactItemCodec.decode(Arrays.copyOf(data, data.length / 2)))
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Native section")
+    class NativeSectionTests {
+
+        @Test
+        @DisplayName("is absent unless given")
+        void absentByDefault() throws IOException {
+            byte[] data = CompactItemCodec.encode(sampleKit(2), true);
+
+            assertThat(CompactItemCodec.readNative(data)).isNull();
+        }
+
+        @Test
+        @DisplayName("keeps one blob per value")
+        void keepsBlobs() throws IOException {
+            List<byte[]> blobs = Arrays.asList(new byte[]{1, 2}, new byte[0]);
+
+            byte[] data = CompactItemCodec.encode(Arrays.asList(sampleKit(1).get(0), null), true, blobs);
+            List<byte[]> read = CompactItemCodec.readNative(data);
+
+            assertThat(data[4] & CompactItemCodec.FLAG_NATIVE).isNotZero();
+            assertThat(read).hasSize(2);
+            assertThat(read.get(0)).containsExactly(1, 2);
+            assertThat(read.get(1)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("is skipped when decoding the portable body")
+        void skippedByDecode() throws IOException {
+            List<Object> items = sampleKit(27);
+            List<byte[]> blobs = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                blobs.add(new byte[]{(byte) i, 42});
+            }
+
+            assertThat(CompactItemCodec.decode(CompactItemCodec.encode(items, true, blobs))).isEqualTo(items);
+        }
+
+        @Test
+        @DisplayName("must match the value count")
+        void mustMatchValueCount() {
+            assertThatThrownBy(() -> CompactItemCodec.encode(sampleKit(2), true,
+                    Collections.singletonList(new byte[]{1})))
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("rejects unsupported values")
+        void rejectsUnsupportedValues() {
+            assertThatThrownBy(() -> CompactItemCodec.encode(Collections.singletonList(new Object()), false))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("java.lang.Object");
+        }
+
+        @Test
+        @DisplayName("rejects non-string map keys")
+        void rejectsNonStringKeys() {
+            Map<Object, Object> map = new HashMap<>();
+            map.put(1, "one");
+
+            assertThatThrownBy(() -> CompactItemCodec.encode(Collections.singletonList(map), false))
+                    .isInstanceOf(IOException.class);
+        }
+
+        @Test
+        @DisplayName("is at least three times smaller than the object stream")
+        void smallerThanObjectStream() throws IOException {
+            List<Object> items = sampleKit(27);
+            ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(legacy)) {
+                out.writeInt(items.size());
+                for (Object item : items) {
+                    out.writeObject(new HashMap<>((Map<?, ?>) item));
+                }
+            }
+
+            byte[] compact = CompactItemCodec.encode(items, true);
+
+            assertThat(compact.length * 3).isLessThan(legacy.size());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ultikits.plugins.kits.codec;
+
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ItemCodec")
+class ItemCodecTest {
+
+    private static final ItemStack NATIVE_ITEM = mock(ItemStack.class);
+    private static boolean refuseNative;
+
+    static byte[] fakeSerialize(ItemStack item) throws IOException {
+        if (refuseNative) {
+            throw new IOException("refused");
+        }
+        return "native".getBytes(StandardCharsets.UTF_8);
+    }
+
+    static ItemStack fakeDeserialize(byte[] bytes) {
+        return NATIVE_ITEM;
+    }
+
+    private static NativeItemCodec fakeNativeCodec() throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        return new NativeItemCodec(
+                lookup.findStatic(ItemCodecTest.class, "fakeSerialize",
+                        MethodType.methodType(byte[].class, ItemStack.class)),
+                lookup.findStatic(ItemCodecTest.class, "fakeDeserialize",
+                        MethodType.methodType(ItemStack.class, byte[].class)));
+    }
+
+    private static ItemStack portableItem() {
+        ItemStack item = mock(ItemStack.class);
+        when(item.serialize()).thenReturn(Collections.singletonMap("type", "STONE"));
+        return item;
+    }
+
+    @AfterEach
+    void restoreNativeCodec() {
+        refuseNative = false;
+        ItemCodec.useNativeCodec(NativeItemCodec.detect());
+    }
+
+    @Nested
+    @DisplayName("Encode")
+    class EncodeTests {
+
+        @Test
+        @DisplayName("writes a single-line compact payload")
+        void writesCompactPayload() throws IOException {
+            String data = ItemCodec.encode(new ItemStack[]{null, null});
+
+            assertThat(data).doesNotContain("\n");
+            assertThat(CompactItemCodec.isCompact(Base64.getDecoder().decode(data))).isTrue();
+        }
+
+        @Test
+        @DisplayName("round trips empty slots")
+        void roundTripsEmptySlots() throws IOException {
+            ItemStack[] items = ItemCodec.decode(ItemCodec.encode(new ItemStack[]{null, null, null}));
+
+            assertThat(items).hasSize(3).containsOnlyNulls();
+        }
+    }
+
+    @Nested
+    @DisplayName("Decode")
+    class DecodeTests {
+
+        @Test
+        @DisplayName("reads legacy payloads")
+        void readsLegacyPayload() throws IOException {
+            String legacy = LegacyItemCodec.encode(new ItemStack[0]);
+
+            assertThat(ItemCodec.decode(legacy)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("reads legacy payloads split over lines")
+        void readsLegacyLines() throws IOException {
+            String legacy = LegacyItemCodec.encode(new ItemStack[]{null, null});
+
+            assertThat(ItemCodec.decode(legacy)).hasSize(2).containsOnlyNulls();
+        }
+
+        @Test
+        @DisplayName("reads raw payload bytes")
+        void readsRawBytes() throws IOException {
+            byte[] bytes = ItemCodec.toBytes(ItemCodec.encode(new ItemStack[]{null}));
+
+            assertThat(ItemCodec.decode(bytes)).hasSize(1).containsOnlyNulls();
+        }
+
+        @Test
+        @DisplayName("recognises both payload formats")
+        void recognisesPayloads() throws IOException {
+            assertThat(ItemCodec.isPayload(ItemCodec.toBytes(ItemCodec.encode(new ItemStack[0])))).isTrue();
+            assertThat(ItemCodec.isPayload(ItemCodec.toBytes(LegacyItemCodec.encode(new ItemStack[0])))).isTrue();
+            assertThat(ItemCodec.isPayload(ItemCodec.toBytes("testdata"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("throws IOException for invalid Base64")
+        void invalidBase64() {
+            assertThatThrownBy(() -> ItemCodec.decode("!!not base64!!"))
+                    .isInstanceOf(IOException.class);
+        }
+
+        @Test
+        @DisplayName("throws IOException for unreadable data")
+        void unreadableData() {
+            assertThatThrownBy(() -> ItemCodec.decode("AAAA"))
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Native items")
+    class NativeTests {
+
+        @Test
+        @DisplayName("is not detected on the Spigot API")
+        void notDetectedOnSpigot() {
+            assertThat(NativeItemCodec.detect()).isNull();
+            assertThat(ItemCodec.isNativeAvailable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("stores native bytes next to the portable form")
+        void storesNativeBytes() throws Exception {
+            ItemCodec.useNativeCodec(fakeNativeCodec());
+
+            byte[] data = Base64.getDecoder().decode(ItemCodec.encode(new ItemStack[]{portableItem(), null}));
+            List<byte[]> nativeItems = CompactItemCodec.readNative(data);
+
+            assertThat(nativeItems).hasSize(2);
+            assertThat(new String(nativeItems.get(0), StandardCharsets.UTF_8)).isEqualTo("native");
+            assertThat(nativeItems.get(1)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("decodes native bytes when available")
+        void decodesNativeBytes() throws Exception {
+            ItemCodec.useNativeCodec(fakeNativeCodec());
+
+            ItemStack[] items = ItemCodec.decode(ItemCodec.encode(new ItemStack[]{portableItem(), null}));
+
+            assertThat(items).containsExactly(NATIVE_ITEM, null);
+        }
+
+        @Test
+        @DisplayName("omits the native section when the server refuses an item")
+        void omitsRefusedItems() throws Exception {
+            ItemCodec.useNativeCodec(fakeNativeCodec());
+            refuseNative = true;
+
+            byte[] data = Base64.getDecoder().decode(ItemCodec.encode(new ItemStack[]{portableItem()}));
+
+            assertThat(CompactItemCodec.readNative(data)).isNull();
+        }
+
+        @Test
+        @DisplayName("ignores the native section without native support")
+        void ignoresNativeSectionOnSpigot() throws Exception {
+            ItemCodec.useNativeCodec(fakeNativeCodec());
+            String data = ItemCodec.encode(new ItemStack[]{null, null});
+            ItemCodec.useNativeCodec(null);
+
+            assertThat(ItemCodec.decode(data)).hasSize(2).containsOnlyNulls();
+        }
+    }
+}
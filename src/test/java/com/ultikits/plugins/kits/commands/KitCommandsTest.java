@@ -1,6 +1,9 @@
 package com.ultikits.plugins.kits.commands;
 
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.plugins.kits.model.ClaimStats;
 import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.ReloadResult;
 import com.ultikits.plugins.kits.service.KitService;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import org.bukkit.command.CommandSender;
@@ -13,10 +16,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 @DisplayName("KitCommands")
@@ -59,7 +64,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("SUCCESS sends success message with kit name")
         void successSendsMessage() {
-            when(kitService.claimKit(player, "starter")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "starter")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             kitCommands.onClaim(player, "starter");
 
@@ -71,7 +76,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("NOT_FOUND sends not found message")
         void notFoundSendsMessage() {
-            when(kitService.claimKit(player, "missing")).thenReturn(KitService.ClaimResult.NOT_FOUND);
+            when(kitService.claimKitAsync(player, "missing")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.NOT_FOUND));
 
             kitCommands.onClaim(player, "missing");
 
@@ -83,7 +88,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("NO_PERMISSION sends permission denied message")
         void noPermissionSendsMessage() {
-            when(kitService.claimKit(player, "vip")).thenReturn(KitService.ClaimResult.NO_PERMISSION);
+            when(kitService.claimKitAsync(player, "vip")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.NO_PERMISSION));
 
             kitCommands.onClaim(player, "vip");
 
@@ -96,7 +101,7 @@ class KitCommandsTest {
         @DisplayName("INSUFFICIENT_LEVEL sends level required message")
         void insufficientLevelSendsMessage() {
             KitDefinition kit = createKit("elite", "&cElite", 0, 30);
-            when(kitService.claimKit(player, "elite")).thenReturn(KitService.ClaimResult.INSUFFICIENT_LEVEL);
+            when(kitService.claimKitAsync(player, "elite")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_LEVEL));
             when(kitService.getKit("elite")).thenReturn(kit);
 
             kitCommands.onClaim(player, "elite");
@@ -109,7 +114,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("INSUFFICIENT_LEVEL with null kit shows 0 level")
         void insufficientLevelNullKit() {
-            when(kitService.claimKit(player, "gone")).thenReturn(KitService.ClaimResult.INSUFFICIENT_LEVEL);
+            when(kitService.claimKitAsync(player, "gone")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_LEVEL));
             when(kitService.getKit("gone")).thenReturn(null);
 
             kitCommands.onClaim(player, "gone");
@@ -123,7 +128,7 @@ class KitCommandsTest {
         @DisplayName("INSUFFICIENT_FUNDS sends balance required message")
         void insufficientFundsSendsMessage() {
             KitDefinition kit = createKit("premium", "&6Premium", 500.0, 0);
-            when(kitService.claimKit(player, "premium")).thenReturn(KitService.ClaimResult.INSUFFICIENT_FUNDS);
+            when(kitService.claimKitAsync(player, "premium")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_FUNDS));
             when(kitService.getKit("premium")).thenReturn(kit);
 
             kitCommands.onClaim(player, "premium");
@@ -136,7 +141,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("INSUFFICIENT_FUNDS with null kit shows question mark")
         void insufficientFundsNullKit() {
-            when(kitService.claimKit(player, "gone")).thenReturn(KitService.ClaimResult.INSUFFICIENT_FUNDS);
+            when(kitService.claimKitAsync(player, "gone")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_FUNDS));
             when(kitService.getKit("gone")).thenReturn(null);
 
             kitCommands.onClaim(player, "gone");
@@ -149,7 +154,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("ALREADY_CLAIMED sends already claimed message")
         void alreadyClaimedSendsMessage() {
-            when(kitService.claimKit(player, "one-time")).thenReturn(KitService.ClaimResult.ALREADY_CLAIMED);
+            when(kitService.claimKitAsync(player, "one-time")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ALREADY_CLAIMED));
 
             kitCommands.onClaim(player, "one-time");
 
@@ -162,7 +167,7 @@ class KitCommandsTest {
         @DisplayName("ON_COOLDOWN sends cooldown message with remaining time")
         void onCooldownSendsMessage() {
             KitDefinition kit = createKit("daily", "&eDaily", 0, 0);
-            when(kitService.claimKit(player, "daily")).thenReturn(KitService.ClaimResult.ON_COOLDOWN);
+            when(kitService.claimKitAsync(player, "daily")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ON_COOLDOWN));
             when(kitService.getKit("daily")).thenReturn(kit);
             when(kitService.getRemainingCooldown(player, kit)).thenReturn(3600000L);
             when(kitService.formatCooldown(3600000L)).thenReturn("1h 0m");
@@ -177,7 +182,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("INVENTORY_FULL sends inventory full message")
         void inventoryFullSendsMessage() {
-            when(kitService.claimKit(player, "big")).thenReturn(KitService.ClaimResult.INVENTORY_FULL);
+            when(kitService.claimKitAsync(player, "big")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INVENTORY_FULL));
 
             kitCommands.onClaim(player, "big");
 
@@ -189,7 +194,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("EMPTY_KIT sends empty kit message")
         void emptyKitSendsMessage() {
-            when(kitService.claimKit(player, "empty")).thenReturn(KitService.ClaimResult.EMPTY_KIT);
+            when(kitService.claimKitAsync(player, "empty")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.EMPTY_KIT));
 
             kitCommands.onClaim(player, "empty");
 
@@ -201,7 +206,7 @@ class KitCommandsTest {
         @Test
         @DisplayName("ERROR sends generic error message")
         void errorSendsMessage() {
-            when(kitService.claimKit(player, "broken")).thenReturn(KitService.ClaimResult.ERROR);
+            when(kitService.claimKitAsync(player, "broken")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ERROR));
 
             kitCommands.onClaim(player, "broken");
 
@@ -209,6 +214,60 @@ class KitCommandsTest {
             verify(player).sendMessage(captor.capture());
             assertThat(captor.getValue()).contains("领取礼包时发生错误");
         }
+
+        @Test
+        @DisplayName("SUCCESS_MAILBOX also points to the mailbox")
+        void successMailboxSendsMessages() {
+            when(kitService.claimKitAsync(player, "starter")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS_MAILBOX));
+
+            kitCommands.onClaim(player, "starter");
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player, times(2)).sendMessage(captor.capture());
+            assertThat(captor.getAllValues().get(0)).contains("成功领取礼包").contains("starter");
+            assertThat(captor.getAllValues().get(1)).contains("/kits mailbox");
+        }
+    }
+
+    @Nested
+    @DisplayName("Mailbox Tests")
+    class MailboxTests {
+
+        @Test
+        @DisplayName("empty mailbox sends empty message")
+        void emptyMailbox() {
+            when(kitService.getMailboxAsync(player)).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+            kitCommands.onMailbox(player);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("邮箱为空");
+        }
+
+        @Test
+        @DisplayName("load failure sends error message")
+        void loadFailure() {
+            CompletableFuture<List<KitMailboxData>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("db"));
+            when(kitService.getMailboxAsync(player)).thenReturn(failed);
+
+            kitCommands.onMailbox(player);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("加载邮箱失败");
+        }
+
+        @Test
+        @DisplayName("nothing is sent before the mailbox is loaded")
+        void waitsForLoad() {
+            when(kitService.getMailboxAsync(player)).thenReturn(new CompletableFuture<>());
+
+            kitCommands.onMailbox(player);
+
+            verify(player, never()).sendMessage(anyString());
+        }
     }
 
     @Nested
@@ -472,40 +531,133 @@ class KitCommandsTest {
             ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
             verify(consoleSender).sendMessage(captor.capture());
             assertThat(captor.getValue()).contains("没有权限");
-            verify(kitService, never()).reload();
+            verify(kitService, never()).reloadAsync();
         }
 
         @Test
         @DisplayName("reload sends count message")
         void reloadSendsCount() {
             when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(true);
-            List<KitDefinition> kits = Arrays.asList(
-                    createKit("a", "A", 0, 0),
-                    createKit("b", "B", 0, 0),
-                    createKit("c", "C", 0, 0));
-            when(kitService.getAllKits()).thenReturn(kits);
+            when(kitService.reloadAsync()).thenReturn(CompletableFuture.completedFuture(new ReloadResult(1, 1, 0, 0, 3)));
 
             kitCommands.onReload(consoleSender);
 
-            verify(kitService).reload();
+            verify(kitService, never()).reload();
             ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
             verify(consoleSender).sendMessage(captor.capture());
-            assertThat(captor.getValue()).contains("已重新加载").contains("3");
+            assertThat(captor.getValue()).contains("已重新加载").contains("3").contains("新增 1").contains("修改 1");
         }
 
         @Test
         @DisplayName("player can reload with admin permission")
         void playerReload() {
             when(player.hasPermission("ultikits.kits.admin")).thenReturn(true);
-            when(kitService.getAllKits()).thenReturn(Collections.emptyList());
+            when(kitService.reloadAsync()).thenReturn(CompletableFuture.completedFuture(new ReloadResult(0, 0, 0, 0, 0)));
 
             kitCommands.onReload(player);
 
-            verify(kitService).reload();
             ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
             verify(player).sendMessage(captor.capture());
             assertThat(captor.getValue()).contains("已重新加载").contains("0");
         }
+
+        @Test
+        @DisplayName("reload reports nothing until the background reload completes")
+        void reloadReportsOnCompletion() {
+            when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(true);
+            CompletableFuture<ReloadResult> pending = new CompletableFuture<>();
+            when(kitService.reloadAsync()).thenReturn(pending);
+
+            kitCommands.onReload(consoleSender);
+            verify(consoleSender, never()).sendMessage(anyString());
+
+            pending.complete(new ReloadResult(0, 2, 1, 0, 1800));
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(consoleSender).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("1800");
+        }
+
+        @Test
+        @DisplayName("reload failure sends error message")
+        void reloadFailure() {
+            when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(true);
+            CompletableFuture<ReloadResult> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("disk"));
+            when(kitService.reloadAsync()).thenReturn(failed);
+
+            kitCommands.onReload(consoleSender);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(consoleSender).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("重新加载礼包失败");
+        }
+    }
+
+    @Nested
+    @DisplayName("Stats Tests")
+    class StatsTests {
+
+        private ClaimStats sampleStats() {
+            Map<String, Long> outcomes = new LinkedHashMap<>();
+            outcomes.put("SUCCESS", 4L);
+            outcomes.put("NOT_FOUND", 0L);
+            outcomes.put("ON_COOLDOWN", 1L);
+            return new ClaimStats(true, Collections.singletonList(
+                    new ClaimStats.PhaseStats("TOTAL", 5, 120_000, 1_500_000, 2_250_000, 3_000_000)), outcomes);
+        }
+
+        @Test
+        @DisplayName("no admin permission sends denied message")
+        void noPermission() {
+            when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(false);
+
+            kitCommands.onStats(consoleSender);
+            kitCommands.onStatsReset(consoleSender);
+
+            verify(consoleSender, times(2)).sendMessage(contains("没有权限"));
+            verify(kitService, never()).getClaimStats();
+            verify(kitService, never()).resetClaimStats();
+        }
+
+        @Test
+        @DisplayName("disabled stats point to the config option")
+        void disabledStats() {
+            when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(true);
+            when(kitService.getClaimStats()).thenReturn(ClaimStats.disabled());
+
+            kitCommands.onStats(consoleSender);
+
+            verify(consoleSender).sendMessage(contains("claim_metrics"));
+        }
+
+        @Test
+        @DisplayName("stats show phase percentiles in milliseconds and non-zero results")
+        void showsStats() {
+            when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(true);
+            when(kitService.getClaimStats()).thenReturn(sampleStats());
+
+            kitCommands.onStats(consoleSender);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(consoleSender, times(3)).sendMessage(captor.capture());
+            List<String> messages = captor.getAllValues();
+            assertThat(messages.get(0)).contains("礼包领取统计");
+            assertThat(messages.get(1)).contains("TOTAL").contains("n=5").contains("p50=0.12ms")
+                    .contains("p95=1.50ms").contains("p99=2.25ms").contains("max=3.00ms");
+            assertThat(messages.get(2)).contains("共 5 次领取").contains("SUCCESS=4").contains("ON_COOLDOWN=1")
+                    .doesNotContain("NOT_FOUND");
+        }
+
+        @Test
+        @DisplayName("stats reset clears the statistics")
+        void resetStats() {
+            when(consoleSender.hasPermission("ultikits.kits.admin")).thenReturn(true);
+
+            kitCommands.onStatsReset(consoleSender);
+
+            verify(kitService).resetClaimStats();
+            verify(consoleSender).sendMessage(contains("已重置礼包领取统计"));
+        }
     }
 
     @Nested
@@ -555,10 +707,12 @@ class KitCommandsTest {
             assertThat(messages.get(0)).contains("UltiKits");
             assertThat(messages).anyMatch(m -> m.contains("/kits claim"));
             assertThat(messages).anyMatch(m -> m.contains("/kits list"));
+            assertThat(messages).anyMatch(m -> m.contains("/kits mailbox"));
             assertThat(messages).anyMatch(m -> m.contains("/kits edit"));
             assertThat(messages).anyMatch(m -> m.contains("/kits create"));
             assertThat(messages).anyMatch(m -> m.contains("/kits delete"));
             assertThat(messages).anyMatch(m -> m.contains("/kits reload"));
+            assertThat(messages).anyMatch(m -> m.contains("/kits stats"));
         }
 
         @Test
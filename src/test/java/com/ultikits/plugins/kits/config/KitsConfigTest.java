@@ -44,6 +44,57 @@ class KitsConfigTest {
             assertThat(config.getKitsPerPage()).isEqualTo(28);
         }
 
+        @Test
+        @DisplayName("claimFlushIntervalSeconds is 5 by default")
+        void claimFlushIntervalDefault() {
+            assertThat(config.getClaimFlushIntervalSeconds()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("watchKitsFolder is false by default")
+        void watchKitsFolderDefault() {
+            assertThat(config.isWatchKitsFolder()).isFalse();
+        }
+
+        @Test
+        @DisplayName("watchDebounceMs is 500 by default")
+        void watchDebounceDefault() {
+            assertThat(config.getWatchDebounceMs()).isEqualTo(500);
+        }
+
+        @Test
+        @DisplayName("itemCacheMaxKb is 4096 by default")
+        void itemCacheMaxKbDefault() {
+            assertThat(config.getItemCacheMaxKb()).isEqualTo(4096);
+        }
+
+        @Test
+        @DisplayName("consoleCommandBudgetMs is 2 by default")
+        void consoleCommandBudgetDefault() {
+            assertThat(config.getConsoleCommandBudgetMs()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("overflowMailbox is disabled by default")
+        void overflowMailboxDefault() {
+            assertThat(config.isOverflowMailbox()).isFalse();
+        }
+
+        @Test
+        @DisplayName("claimMetrics is disabled by default")
+        void claimMetricsDefault() {
+            assertThat(config.isClaimMetrics()).isFalse();
+        }
+
+        @Test
+        @DisplayName("metrics export is disabled by default")
+        void metricsExportDefaults() {
+            assertThat(config.getMetricsHttpPort()).isZero();
+            assertThat(config.getMetricsHttpHost()).isEqualTo("127.0.0.1");
+            assertThat(config.getMetricsTextfile()).isEmpty();
+            assertThat(config.getMetricsTextfileIntervalSeconds()).isEqualTo(15);
+        }
+
         @Test
         @DisplayName("configFilePath is set from constructor")
         void configFilePath() {
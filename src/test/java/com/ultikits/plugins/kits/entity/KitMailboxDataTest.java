@@ -0,0 +1,74 @@
+package com.ultikits.plugins.kits.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KitMailboxData")
+class KitMailboxDataTest {
+
+    @Nested
+    @DisplayName("Builder")
+    class BuilderTests {
+
+        @Test
+        @DisplayName("builds with all fields set")
+        void buildsWithAllFields() {
+            String id = UUID.randomUUID().toString();
+            String playerUuid = UUID.randomUUID().toString();
+
+            KitMailboxData data = KitMailboxData.builder()
+                    .uuid(id)
+                    .playerUuid(playerUuid)
+                    .kitName("starter")
+                    .items("payload")
+                    .createdAt(1000L)
+                    .build();
+
+            assertThat(data.getUuid()).isEqualTo(id);
+            assertThat(data.getPlayerUuid()).isEqualTo(playerUuid);
+            assertThat(data.getKitName()).isEqualTo("starter");
+            assertThat(data.getItems()).isEqualTo("payload");
+            assertThat(data.getCreatedAt()).isEqualTo(1000L);
+        }
+
+        @Test
+        @DisplayName("builder defaults are null/zero")
+        void builderDefaults() {
+            KitMailboxData data = KitMailboxData.builder().build();
+
+            assertThat(data.getUuid()).isNull();
+            assertThat(data.getItems()).isNull();
+            assertThat(data.getCreatedAt()).isEqualTo(0L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get/Set ID")
+    class GetSetId {
+
+        @Test
+        @DisplayName("getId returns uuid field")
+        void getIdReturnsUuid() {
+            String id = UUID.randomUUID().toString();
+            KitMailboxData data = KitMailboxData.builder().uuid(id).build();
+
+            assertThat(data.getId()).isEqualTo(id);
+        }
+
+        @Test
+        @DisplayName("setId updates uuid field")
+        void setIdUpdatesUuid() {
+            KitMailboxData data = new KitMailboxData();
+            String id = UUID.randomUUID().toString();
+
+            data.setId(id);
+
+            assertThat(data.getUuid()).isEqualTo(id);
+        }
+    }
+}
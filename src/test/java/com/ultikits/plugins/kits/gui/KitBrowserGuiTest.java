@@ -1,6 +1,7 @@
 package com.ultikits.plugins.kits.gui;
 
 import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.KitStatus;
 import com.ultikits.plugins.kits.service.KitService;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.utils.EconomyUtils;
@@ -24,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -227,9 +229,8 @@ class KitBrowserGuiTest {
         @DisplayName("valid material returns non-null icon")
         void validMaterial() {
             KitDefinition kit = createKit("sword", "&cSword Kit", "DIAMOND_SWORD", 0, 0);
-            lenient().when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
 
             assertThat(icon).isNotNull();
             assertThat(icon.getItem()).isNotNull();
@@ -239,9 +240,8 @@ class KitBrowserGuiTest {
         @DisplayName("invalid material falls back without throwing")
         void fallbackMaterial() {
             KitDefinition kit = createKit("bad", "&cBad Kit", "NOT_A_MATERIAL", 0, 0);
-            lenient().when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
 
             // Falls back to CHEST when material name is invalid
             assertThat(icon).isNotNull();
@@ -252,10 +252,9 @@ class KitBrowserGuiTest {
         @DisplayName("handles lowercase icon name without throwing")
         void lowercaseIcon() {
             KitDefinition kit = createKit("lower", "&fKit", "gold_ingot", 0, 0);
-            lenient().when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
             // toUpperCase converts "gold_ingot" to "GOLD_INGOT" before Material.valueOf
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
 
             assertThat(icon).isNotNull();
             assertThat(icon.getItem()).isNotNull();
@@ -266,7 +265,7 @@ class KitBrowserGuiTest {
         void displayName() {
             KitDefinition kit = createKit("vip", "&6VIP Kit", "CHEST", 0, 0);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -278,9 +277,8 @@ class KitBrowserGuiTest {
         void freeKitLore() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("free", "&aFree Kit", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -294,9 +292,8 @@ class KitBrowserGuiTest {
         void paidKitLoreNoEconomy() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("paid", "&6Paid Kit", "CHEST", 100.0, 0);
-            lenient().when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -309,11 +306,9 @@ class KitBrowserGuiTest {
         void paidKitLoreWithEconomy() throws Exception {
             setEconomyAvailable(true);
             when(economy.format(250.0)).thenReturn("$250.00");
-            when(economy.has(any(org.bukkit.OfflinePlayer.class), anyDouble())).thenReturn(true);
             KitDefinition kit = createKit("premium", "&6Premium", "GOLD_INGOT", 250.0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -326,10 +321,8 @@ class KitBrowserGuiTest {
         void levelRequirementInLore() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("elite", "&cElite", "CHEST", 0, 20);
-            when(player.getLevel()).thenReturn(25);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -342,9 +335,8 @@ class KitBrowserGuiTest {
         void noLevelRequirement() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("basic", "&fBasic", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -358,9 +350,8 @@ class KitBrowserGuiTest {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("desc", "&aKit", "CHEST", 0, 0);
             kit.setDescription(Arrays.asList("&7Line one", "&eLine two"));
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -374,9 +365,8 @@ class KitBrowserGuiTest {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("noDesc", "&aKit", "CHEST", 0, 0);
             kit.setDescription(new ArrayList<>());
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -390,9 +380,8 @@ class KitBrowserGuiTest {
         void statusInLore() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("avail", "&aKit", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
 
-            Icon icon = gui.buildKitIcon(kit);
+            Icon icon = gui.buildKitIcon(kit, KitStatus.claimable());
             ItemMeta meta = icon.getItem().getItemMeta();
 
             assertThat(meta).isNotNull();
@@ -410,194 +399,54 @@ class KitBrowserGuiTest {
     class GetStatusTextTests {
 
         @Test
-        @DisplayName("level insufficient shows level status")
-        void levelInsufficient() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("elite", "&cElite", "CHEST", 0, 20);
-            when(player.getLevel()).thenReturn(10);
-
-            String result = gui.getStatusText(kit);
+        @DisplayName("insufficient level shows level status")
+        void levelInsufficient() {
+            String result = gui.getStatusText(KitStatus.insufficientLevel());
 
             assertThat(result).contains("等级不足");
         }
 
         @Test
-        @DisplayName("level exactly meets requirement passes level check")
-        void levelExactlyMet() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("exact", "&fExact", "CHEST", 0, 15);
-            when(player.getLevel()).thenReturn(15);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("可领取");
-        }
-
-        @Test
-        @DisplayName("level exceeds requirement passes level check")
-        void levelExceeded() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("over", "&fOver", "CHEST", 0, 5);
-            when(player.getLevel()).thenReturn(50);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("可领取");
-        }
-
-        @Test
-        @DisplayName("balance insufficient shows balance status")
-        void balanceInsufficient() throws Exception {
-            setEconomyAvailable(true);
-            when(economy.has((org.bukkit.OfflinePlayer) player, 100.0)).thenReturn(false);
-            KitDefinition kit = createKit("paid", "&6Paid", "CHEST", 100.0, 0);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("余额不足");
-        }
-
-        @Test
-        @DisplayName("economy unavailable with paid kit shows balance insufficient")
-        void economyUnavailable() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("paid", "&6Paid", "CHEST", 100.0, 0);
-
-            String result = gui.getStatusText(kit);
+        @DisplayName("insufficient funds shows balance status")
+        void balanceInsufficient() {
+            String result = gui.getStatusText(KitStatus.insufficientFunds());
 
             assertThat(result).contains("余额不足");
         }
 
         @Test
-        @DisplayName("sufficient balance passes economy check")
-        void sufficientBalance() throws Exception {
-            setEconomyAvailable(true);
-            when(economy.has((org.bukkit.OfflinePlayer) player, 50.0)).thenReturn(true);
-            KitDefinition kit = createKit("afford", "&6Afford", "CHEST", 50.0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("可领取");
-        }
-
-        @Test
-        @DisplayName("already claimed (remaining < 0) shows claimed status")
-        void alreadyClaimed() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("once", "&fOnce", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(-1L);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("已领取");
-        }
-
-        @Test
-        @DisplayName("large negative cooldown still shows already claimed")
-        void largeNegativeCooldown() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("neg", "&fNeg", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(-999999L);
-
-            String result = gui.getStatusText(kit);
+        @DisplayName("already claimed shows claimed status")
+        void alreadyClaimed() {
+            String result = gui.getStatusText(KitStatus.alreadyClaimed());
 
             assertThat(result).contains("已领取");
         }
 
         @Test
-        @DisplayName("on cooldown (remaining > 0) shows cooldown status")
-        void onCooldown() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("daily", "&eDaily", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(60000L);
+        @DisplayName("on cooldown shows formatted remaining time")
+        void onCooldown() {
             when(kitService.formatCooldown(60000L)).thenReturn("1m");
 
-            String result = gui.getStatusText(kit);
+            String result = gui.getStatusText(KitStatus.onCooldown(60000L));
 
             assertThat(result).contains("冷却中").contains("1m");
         }
 
         @Test
-        @DisplayName("available (remaining == 0) shows available status")
-        void available() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("free", "&aFree", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("可领取");
-        }
-
-        @Test
-        @DisplayName("level check is skipped when no level requirement")
-        void noLevelReq() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("basic", "&fBasic", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("可领取");
-            verify(player, never()).getLevel();
-        }
-
-        @Test
-        @DisplayName("free kit skips economy check")
-        void freeSkipsEconomy() throws Exception {
-            setEconomyAvailable(false);
-            KitDefinition kit = createKit("free", "&aFree", "CHEST", 0, 0);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
+        @DisplayName("claimable shows available status")
+        void available() {
+            String result = gui.getStatusText(KitStatus.claimable());
 
             assertThat(result).contains("可领取");
         }
 
         @Test
-        @DisplayName("with sufficient level and balance, shows available")
-        void allRequirementsMet() throws Exception {
-            setEconomyAvailable(true);
-            when(economy.has((org.bukkit.OfflinePlayer) player, 50.0)).thenReturn(true);
-            KitDefinition kit = createKit("full", "&6Full", "CHEST", 50.0, 10);
-            when(player.getLevel()).thenReturn(15);
-            when(kitService.getRemainingCooldown(player, kit)).thenReturn(0L);
-
-            String result = gui.getStatusText(kit);
+        @DisplayName("status text never queries the service per kit")
+        void noPerKitQueries() {
+            gui.getStatusText(KitStatus.claimable());
 
-            assertThat(result).contains("可领取");
-        }
-
-        @Test
-        @DisplayName("level check takes priority over economy check")
-        void levelPriorityOverEconomy() throws Exception {
-            setEconomyAvailable(true);
-            KitDefinition kit = createKit("both", "&6Both", "CHEST", 100.0, 20);
-            when(player.getLevel()).thenReturn(5);
-
-            String result = gui.getStatusText(kit);
-
-            // Level check comes first, so shows level insufficient
-            assertThat(result).contains("等级不足");
-            // Economy should never be checked since level failed first
-            verify(economy, never()).has(any(org.bukkit.OfflinePlayer.class), anyDouble());
-        }
-
-        @Test
-        @DisplayName("economy check takes priority over cooldown check")
-        void economyPriorityOverCooldown() throws Exception {
-            setEconomyAvailable(true);
-            when(economy.has((org.bukkit.OfflinePlayer) player, 100.0)).thenReturn(false);
-            KitDefinition kit = createKit("prio", "&6Prio", "CHEST", 100.0, 0);
-
-            String result = gui.getStatusText(kit);
-
-            assertThat(result).contains("余额不足");
-            // Cooldown should never be checked since economy failed first
-            verify(kitService, never()).getRemainingCooldown(player, kit);
+            verify(kitService, never()).getRemainingCooldown(any(), any());
+            verifyNoInteractions(player);
         }
     }
 
@@ -614,7 +463,7 @@ class KitBrowserGuiTest {
         void successClaimsAndCloses() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("starter", "&aStarter", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "starter")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "starter")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             gui.handleKitClick(kit);
 
@@ -624,13 +473,29 @@ class KitBrowserGuiTest {
             verify(player).closeInventory();
         }
 
+        @Test
+        @DisplayName("SUCCESS_MAILBOX also points to the mailbox and closes inventory")
+        void successMailbox() throws Exception {
+            setEconomyAvailable(false);
+            KitDefinition kit = createKit("starter", "&aStarter", "CHEST", 0, 0);
+            when(kitService.claimKitAsync(player, "starter")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS_MAILBOX));
+
+            gui.handleKitClick(kit);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player, times(2)).sendMessage(captor.capture());
+            assertThat(captor.getAllValues().get(0)).contains("成功领取礼包");
+            assertThat(captor.getAllValues().get(1)).contains("/kits mailbox");
+            verify(player).closeInventory();
+        }
+
         @Test
         @DisplayName("SUCCESS with paid kit and economy shows deduction message")
         void successPaidKit() throws Exception {
             setEconomyAvailable(true);
             when(economy.format(50.0)).thenReturn("$50.00");
             KitDefinition kit = createKit("paid", "&6Paid", "CHEST", 50.0, 0);
-            when(kitService.claimKit(player, "paid")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "paid")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             gui.handleKitClick(kit);
 
@@ -646,7 +511,7 @@ class KitBrowserGuiTest {
         void successPaidKitNoEconomy() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("paid", "&6Paid", "CHEST", 50.0, 0);
-            when(kitService.claimKit(player, "paid")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "paid")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             gui.handleKitClick(kit);
 
@@ -661,7 +526,7 @@ class KitBrowserGuiTest {
         void successFreeKit() throws Exception {
             setEconomyAvailable(true);
             KitDefinition kit = createKit("free", "&aFree", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "free")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "free")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             gui.handleKitClick(kit);
 
@@ -675,7 +540,7 @@ class KitBrowserGuiTest {
         void successIncludesDisplayName() throws Exception {
             setEconomyAvailable(false);
             KitDefinition kit = createKit("vip", "&6VIP Deluxe", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "vip")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "vip")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             gui.handleKitClick(kit);
 
@@ -688,40 +553,40 @@ class KitBrowserGuiTest {
         @DisplayName("debounce prevents rapid clicks")
         void debounce() throws Exception {
             KitDefinition kit = createKit("test", "&fTest", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "test")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "test")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             // First click succeeds
             gui.handleKitClick(kit);
-            verify(kitService, times(1)).claimKit(player, "test");
+            verify(kitService, times(1)).claimKitAsync(player, "test");
 
             // Immediate second click is debounced
             gui.handleKitClick(kit);
-            verify(kitService, times(1)).claimKit(player, "test");
+            verify(kitService, times(1)).claimKitAsync(player, "test");
         }
 
         @Test
         @DisplayName("click works again after debounce reset")
         void clickAfterDebounceReset() throws Exception {
             KitDefinition kit = createKit("test", "&fTest", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "test")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "test")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             // First click
             gui.handleKitClick(kit);
-            verify(kitService, times(1)).claimKit(player, "test");
+            verify(kitService, times(1)).claimKitAsync(player, "test");
 
             // Reset debounce via reflection
             resetDebounce();
 
             // Second click succeeds after reset
             gui.handleKitClick(kit);
-            verify(kitService, times(2)).claimKit(player, "test");
+            verify(kitService, times(2)).claimKitAsync(player, "test");
         }
 
         @Test
         @DisplayName("debounce does not send any message on blocked click")
         void debounceNoMessage() throws Exception {
             KitDefinition kit = createKit("test", "&fTest", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "test")).thenReturn(KitService.ClaimResult.SUCCESS);
+            when(kitService.claimKitAsync(player, "test")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.SUCCESS));
 
             gui.handleKitClick(kit);
             // Clear first interaction
@@ -736,7 +601,7 @@ class KitBrowserGuiTest {
         @DisplayName("NOT_FOUND sends not found message with kit name")
         void notFound() {
             KitDefinition kit = createKit("gone", "&fGone", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "gone")).thenReturn(KitService.ClaimResult.NOT_FOUND);
+            when(kitService.claimKitAsync(player, "gone")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.NOT_FOUND));
 
             gui.handleKitClick(kit);
 
@@ -749,7 +614,7 @@ class KitBrowserGuiTest {
         @DisplayName("NOT_FOUND does not close inventory")
         void notFoundNoClose() {
             KitDefinition kit = createKit("gone", "&fGone", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "gone")).thenReturn(KitService.ClaimResult.NOT_FOUND);
+            when(kitService.claimKitAsync(player, "gone")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.NOT_FOUND));
 
             gui.handleKitClick(kit);
 
@@ -760,7 +625,7 @@ class KitBrowserGuiTest {
         @DisplayName("NO_PERMISSION sends permission message")
         void noPermission() {
             KitDefinition kit = createKit("vip", "&6VIP", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "vip")).thenReturn(KitService.ClaimResult.NO_PERMISSION);
+            when(kitService.claimKitAsync(player, "vip")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.NO_PERMISSION));
 
             gui.handleKitClick(kit);
 
@@ -773,7 +638,7 @@ class KitBrowserGuiTest {
         @DisplayName("INSUFFICIENT_LEVEL sends level required message with level")
         void insufficientLevel() {
             KitDefinition kit = createKit("elite", "&cElite", "CHEST", 0, 30);
-            when(kitService.claimKit(player, "elite")).thenReturn(KitService.ClaimResult.INSUFFICIENT_LEVEL);
+            when(kitService.claimKitAsync(player, "elite")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_LEVEL));
 
             gui.handleKitClick(kit);
 
@@ -786,7 +651,7 @@ class KitBrowserGuiTest {
         @DisplayName("INSUFFICIENT_FUNDS sends balance message")
         void insufficientFunds() {
             KitDefinition kit = createKit("premium", "&6Premium", "CHEST", 500.0, 0);
-            when(kitService.claimKit(player, "premium")).thenReturn(KitService.ClaimResult.INSUFFICIENT_FUNDS);
+            when(kitService.claimKitAsync(player, "premium")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_FUNDS));
 
             gui.handleKitClick(kit);
 
@@ -799,7 +664,7 @@ class KitBrowserGuiTest {
         @DisplayName("ALREADY_CLAIMED sends already claimed message")
         void alreadyClaimed() {
             KitDefinition kit = createKit("once", "&fOnce", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "once")).thenReturn(KitService.ClaimResult.ALREADY_CLAIMED);
+            when(kitService.claimKitAsync(player, "once")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ALREADY_CLAIMED));
 
             gui.handleKitClick(kit);
 
@@ -812,7 +677,7 @@ class KitBrowserGuiTest {
         @DisplayName("ON_COOLDOWN sends cooldown message with formatted time")
         void onCooldown() {
             KitDefinition kit = createKit("daily", "&eDaily", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "daily")).thenReturn(KitService.ClaimResult.ON_COOLDOWN);
+            when(kitService.claimKitAsync(player, "daily")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ON_COOLDOWN));
             when(kitService.getRemainingCooldown(player, kit)).thenReturn(7200000L);
             when(kitService.formatCooldown(7200000L)).thenReturn("2h 0m");
 
@@ -827,7 +692,7 @@ class KitBrowserGuiTest {
         @DisplayName("INVENTORY_FULL sends inventory full message")
         void inventoryFull() {
             KitDefinition kit = createKit("big", "&fBig", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "big")).thenReturn(KitService.ClaimResult.INVENTORY_FULL);
+            when(kitService.claimKitAsync(player, "big")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INVENTORY_FULL));
 
             gui.handleKitClick(kit);
 
@@ -840,7 +705,7 @@ class KitBrowserGuiTest {
         @DisplayName("EMPTY_KIT sends empty kit message")
         void emptyKit() {
             KitDefinition kit = createKit("empty", "&fEmpty", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "empty")).thenReturn(KitService.ClaimResult.EMPTY_KIT);
+            when(kitService.claimKitAsync(player, "empty")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.EMPTY_KIT));
 
             gui.handleKitClick(kit);
 
@@ -853,7 +718,7 @@ class KitBrowserGuiTest {
         @DisplayName("ERROR sends generic error message")
         void error() {
             KitDefinition kit = createKit("broken", "&fBroken", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "broken")).thenReturn(KitService.ClaimResult.ERROR);
+            when(kitService.claimKitAsync(player, "broken")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ERROR));
 
             gui.handleKitClick(kit);
 
@@ -866,7 +731,7 @@ class KitBrowserGuiTest {
         @DisplayName("non-SUCCESS results do not close inventory")
         void nonSuccessNoClose() {
             KitDefinition kit = createKit("fail", "&fFail", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "fail")).thenReturn(KitService.ClaimResult.INSUFFICIENT_FUNDS);
+            when(kitService.claimKitAsync(player, "fail")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.INSUFFICIENT_FUNDS));
 
             gui.handleKitClick(kit);
 
@@ -877,7 +742,7 @@ class KitBrowserGuiTest {
         @DisplayName("all non-SUCCESS results only send one message")
         void nonSuccessSingleMessage() {
             KitDefinition kit = createKit("once", "&fOnce", "CHEST", 0, 0);
-            when(kitService.claimKit(player, "once")).thenReturn(KitService.ClaimResult.ALREADY_CLAIMED);
+            when(kitService.claimKitAsync(player, "once")).thenReturn(CompletableFuture.completedFuture(KitService.ClaimResult.ALREADY_CLAIMED));
 
             gui.handleKitClick(kit);
 
@@ -898,7 +763,7 @@ class KitBrowserGuiTest {
          * Inject a mock inventory into the Gui's 'inventory' field so that addItem()
          * can call this.inventory.getSize() without NPE.
          */
-        private void injectGuiInventory(Gui guiInstance) throws Exception {
+        private org.bukkit.inventory.Inventory injectGuiInventory(Gui guiInstance) throws Exception {
             org.bukkit.inventory.Inventory mockInv = mock(org.bukkit.inventory.Inventory.class);
             lenient().when(mockInv.getSize()).thenReturn(54); // 6 rows
 
@@ -913,6 +778,21 @@ class KitBrowserGuiTest {
                     clazz = clazz.getSuperclass();
                 }
             }
+            return mockInv;
+        }
+
+        private List<KitDefinition> kits(int count) {
+            List<KitDefinition> kits = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                kits.add(createKit("kit" + i, "&fKit" + i, "CHEST", 0, 0));
+            }
+            return kits;
+        }
+
+        private int page() throws Exception {
+            Field pageField = KitBrowserGui.class.getDeclaredField("page");
+            pageField.setAccessible(true); // NOPMD
+            return (int) pageField.get(gui);
         }
 
         @Test
@@ -937,7 +817,6 @@ class KitBrowserGuiTest {
             KitDefinition kit1 = createKit("starter", "&aStarter", "CHEST", 0, 0);
             KitDefinition kit2 = createKit("vip", "&6VIP", "DIAMOND", 100, 0);
             when(kitService.getAvailableKits(player)).thenReturn(Arrays.asList(kit1, kit2));
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
             injectGuiInventory(gui);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
@@ -948,6 +827,23 @@ class KitBrowserGuiTest {
             verify(kitService).getAvailableKits(player);
         }
 
+        @Test
+        @DisplayName("onOpen requests statuses for the current page in one call")
+        void onOpenRequestsStatusesOnce() throws Exception {
+            setEconomyAvailable(false);
+            List<KitDefinition> kits = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                kits.add(createKit("kit" + i, "&fKit" + i, "CHEST", 0, 0));
+            }
+            when(kitService.getAvailableKits(player)).thenReturn(kits);
+            injectGuiInventory(gui);
+
+            gui.onOpen(mock(org.bukkit.event.inventory.InventoryOpenEvent.class));
+
+            verify(kitService).getKitStatuses(player, kits.subList(0, 28));
+            verify(kitService, never()).getRemainingCooldown(any(), any());
+        }
+
         @Test
         @DisplayName("onOpen does not show prev button on first page")
         void noPrevButtonOnFirstPage() throws Exception {
@@ -973,7 +869,6 @@ class KitBrowserGuiTest {
                 kits.add(k);
             }
             when(kitService.getAvailableKits(player)).thenReturn(kits);
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
             injectGuiInventory(gui);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
@@ -992,7 +887,6 @@ class KitBrowserGuiTest {
                 kits.add(k);
             }
             when(kitService.getAvailableKits(player)).thenReturn(kits);
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
             injectGuiInventory(gui);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
@@ -1014,7 +908,6 @@ class KitBrowserGuiTest {
                 kits.add(k);
             }
             when(kitService.getAvailableKits(player)).thenReturn(kits);
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
                     mock(org.bukkit.event.inventory.InventoryOpenEvent.class);
@@ -1032,7 +925,6 @@ class KitBrowserGuiTest {
                 kits.add(k);
             }
             when(kitService.getAvailableKits(player)).thenReturn(kits);
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
             injectGuiInventory(gui);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
@@ -1054,7 +946,6 @@ class KitBrowserGuiTest {
                 kits.add(k);
             }
             when(kitService.getAvailableKits(player)).thenReturn(kits);
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
                     mock(org.bukkit.event.inventory.InventoryOpenEvent.class);
@@ -1072,7 +963,6 @@ class KitBrowserGuiTest {
                 kits.add(k);
             }
             when(kitService.getAvailableKits(player)).thenReturn(kits);
-            when(kitService.getRemainingCooldown(eq(player), any(KitDefinition.class))).thenReturn(0L);
             injectGuiInventory(gui);
 
             org.bukkit.event.inventory.InventoryOpenEvent event =
@@ -1080,5 +970,68 @@ class KitBrowserGuiTest {
 
             gui.onOpen(event);
         }
+
+        @Test
+        @DisplayName("showPage switches in place without reloading the kit list")
+        void showPageInPlace() throws Exception {
+            setEconomyAvailable(false);
+            List<KitDefinition> kits = kits(30);
+            when(kitService.getAvailableKits(player)).thenReturn(kits);
+            injectGuiInventory(gui);
+            gui.onOpen(mock(org.bukkit.event.inventory.InventoryOpenEvent.class));
+
+            gui.showPage(1);
+
+            assertThat(page()).isEqualTo(1);
+            verify(kitService, times(1)).getAvailableKits(player);
+            verify(kitService).getKitStatuses(player, kits.subList(28, 30));
+            verify(player, never()).closeInventory();
+        }
+
+        @Test
+        @DisplayName("statuses of pages already shown are reused")
+        void statusesReused() throws Exception {
+            setEconomyAvailable(false);
+            List<KitDefinition> kits = kits(30);
+            when(kitService.getAvailableKits(player)).thenReturn(kits);
+            injectGuiInventory(gui);
+            gui.onOpen(mock(org.bukkit.event.inventory.InventoryOpenEvent.class));
+
+            gui.showPage(1);
+            gui.showPage(0);
+            gui.showPage(1);
+
+            verify(kitService, times(2)).getKitStatuses(eq(player), anyList());
+        }
+
+        @Test
+        @DisplayName("slots left over from a fuller page are cleared")
+        void leftoverSlotsCleared() throws Exception {
+            setEconomyAvailable(false);
+            when(kitService.getAvailableKits(player)).thenReturn(kits(30));
+            org.bukkit.inventory.Inventory inventory = injectGuiInventory(gui);
+            gui.onOpen(mock(org.bukkit.event.inventory.InventoryOpenEvent.class));
+
+            gui.showPage(1);
+
+            verify(inventory).setItem(eq(2), argThat(item -> item != null && item.getType() == Material.AIR));
+            verify(inventory).setItem(eq(27), argThat(item -> item != null && item.getType() == Material.AIR));
+            verify(inventory, never()).setItem(eq(28), any());
+        }
+
+        @Test
+        @DisplayName("showPage keeps the page within range")
+        void showPageClamped() throws Exception {
+            setEconomyAvailable(false);
+            when(kitService.getAvailableKits(player)).thenReturn(kits(30));
+            injectGuiInventory(gui);
+            gui.onOpen(mock(org.bukkit.event.inventory.InventoryOpenEvent.class));
+
+            gui.showPage(5);
+            assertThat(page()).isEqualTo(1);
+
+            gui.showPage(-1);
+            assertThat(page()).isZero();
+        }
     }
 }
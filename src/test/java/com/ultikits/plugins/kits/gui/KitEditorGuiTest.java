@@ -535,28 +535,27 @@ class KitEditorGuiTest {
         }
 
         @Test
-        @DisplayName("onOpen with kit items calls deserializeItems")
+        @DisplayName("onOpen with kit items places copies from getKitItems")
         void onOpenWithItems() {
             kit.setItems("someBase64Data");
 
             ItemStack mockItem = mock(ItemStack.class);
             when(mockItem.getType()).thenReturn(Material.DIAMOND);
-            ItemStack clonedItem = mock(ItemStack.class);
-            when(mockItem.clone()).thenReturn(clonedItem);
 
-            when(kitService.deserializeItems("someBase64Data")).thenReturn(new ItemStack[]{mockItem});
+            when(kitService.getKitItems(kit)).thenReturn(new ItemStack[]{mockItem});
 
             gui.onOpen(openEvent);
 
-            verify(kitService).deserializeItems("someBase64Data");
-            verify(eventInventory).setItem(0, clonedItem);
+            verify(kitService).getKitItems(kit);
+            verify(kitService, never()).deserializeItems(anyString());
+            verify(eventInventory).setItem(0, mockItem);
         }
 
         @Test
         @DisplayName("onOpen with null deserialized items does not crash")
         void onOpenNullDeserialized() {
             kit.setItems("corruptedData");
-            when(kitService.deserializeItems("corruptedData")).thenReturn(null);
+            when(kitService.getKitItems(kit)).thenReturn(null);
 
             gui.onOpen(openEvent);
 
@@ -574,17 +573,15 @@ class KitEditorGuiTest {
 
             ItemStack realItem = mock(ItemStack.class);
             when(realItem.getType()).thenReturn(Material.STONE);
-            ItemStack clonedReal = mock(ItemStack.class);
-            when(realItem.clone()).thenReturn(clonedReal);
 
-            when(kitService.deserializeItems("data")).thenReturn(new ItemStack[]{airItem, realItem});
+            when(kitService.getKitItems(kit)).thenReturn(new ItemStack[]{airItem, realItem});
 
             gui.onOpen(openEvent);
 
             // Air item at slot 0 should be skipped
             verify(eventInventory, never()).setItem(eq(0), any(ItemStack.class));
             // Real item at slot 1 should be placed
-            verify(eventInventory).setItem(1, clonedReal);
+            verify(eventInventory).setItem(1, realItem);
         }
 
         @Test
@@ -594,16 +591,14 @@ class KitEditorGuiTest {
 
             ItemStack realItem = mock(ItemStack.class);
             when(realItem.getType()).thenReturn(Material.IRON_INGOT);
-            ItemStack clonedReal = mock(ItemStack.class);
-            when(realItem.clone()).thenReturn(clonedReal);
 
-            when(kitService.deserializeItems("data")).thenReturn(new ItemStack[]{null, realItem});
+            when(kitService.getKitItems(kit)).thenReturn(new ItemStack[]{null, realItem});
 
             gui.onOpen(openEvent);
 
             // Null at slot 0 skipped, real item at slot 1 placed
             verify(eventInventory, never()).setItem(eq(0), any(ItemStack.class));
-            verify(eventInventory).setItem(1, clonedReal);
+            verify(eventInventory).setItem(1, realItem);
         }
 
         @Test
@@ -643,11 +638,9 @@ class KitEditorGuiTest {
                 ItemStack item = mock(ItemStack.class);
                 // Use lenient for all stubs since items beyond slot 44 won't be accessed
                 lenient().when(item.getType()).thenReturn(Material.STONE);
-                ItemStack clone = mock(ItemStack.class);
-                lenient().when(item.clone()).thenReturn(clone);
                 bigArray[i] = item;
             }
-            when(kitService.deserializeItems("data")).thenReturn(bigArray);
+            when(kitService.getKitItems(kit)).thenReturn(bigArray);
 
             gui.onOpen(openEvent);
 
@@ -656,14 +649,14 @@ class KitEditorGuiTest {
         }
 
         @Test
-        @DisplayName("onOpen with hasItems false does not call deserializeItems")
+        @DisplayName("onOpen with hasItems false does not load kit items")
         void onOpenHasItemsFalse() {
             // setItems to empty string => hasItems() returns false
             kit.setItems("");
 
             gui.onOpen(openEvent);
 
-            verify(kitService, never()).deserializeItems(anyString());
+            verify(kitService, never()).getKitItems(any(KitDefinition.class));
         }
 
         @Test
@@ -0,0 +1,204 @@
+package com.ultikits.plugins.kits.gui;
+
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.service.KitService;
+import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
+import mc.obliviate.inventory.Icon;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.plugin.PluginManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KitMailboxGui")
+@ExtendWith(MockitoExtension.class)
+class KitMailboxGuiTest {
+
+    @Mock
+    private UltiToolsPlugin plugin;
+
+    @Mock
+    private KitService kitService;
+
+    @Mock
+    private Player player;
+
+    private List<KitMailboxData> entries;
+    private KitMailboxGui gui;
+
+    @BeforeAll
+    static void setUpClass() {
+        if (Bukkit.getServer() == null) {
+            Server mockServer = mock(Server.class);
+            java.util.logging.Logger mockLogger = mock(java.util.logging.Logger.class);
+            when(mockServer.getLogger()).thenReturn(mockLogger);
+            Bukkit.setServer(mockServer);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(plugin.i18n(anyString())).thenAnswer(inv -> inv.getArgument(0));
+        entries = new ArrayList<>();
+        entries.add(entry("starter"));
+        entries.add(entry("vip"));
+        gui = new KitMailboxGui(player, plugin, kitService, entries, 0);
+    }
+
+    private KitMailboxData entry(String kitName) {
+        return KitMailboxData.builder()
+                .uuid(kitName + "-entry")
+                .playerUuid("player")
+                .kitName(kitName)
+                .items("payload")
+                .createdAt(1000L)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ItemMeta mockItemMeta() {
+        ItemMeta meta = mock(ItemMeta.class);
+        final List<String>[] lore = new List[]{null};
+        doAnswer(inv -> {
+            lore[0] = new ArrayList<>((List<String>) inv.getArgument(0));
+            return null;
+        }).when(meta).setLore(anyList());
+        when(meta.getLore()).thenAnswer(inv -> lore[0]);
+        return meta;
+    }
+
+    @Nested
+    @DisplayName("Entry Icon Tests")
+    class EntryIconTests {
+
+        @Test
+        @DisplayName("undecodable entry has no icon")
+        void undecodableEntry() {
+            when(kitService.getMailboxItems(entries.get(0))).thenReturn(null);
+
+            assertThat(gui.buildEntryIcon(entries.get(0))).isNull();
+        }
+
+        @Test
+        @DisplayName("icon shows the first stack with kit name and stack count")
+        void iconLore() {
+            ItemStack first = mock(ItemStack.class);
+            ItemStack shown = mock(ItemStack.class);
+            ItemMeta meta = mockItemMeta();
+            when(first.clone()).thenReturn(shown);
+            when(shown.getItemMeta()).thenReturn(meta);
+            when(kitService.getMailboxItems(entries.get(0))).thenReturn(new ItemStack[]{first, mock(ItemStack.class)});
+            KitDefinition kit = new KitDefinition();
+            kit.setName("starter");
+            kit.setDisplayName("Starter Kit");
+            when(kitService.getKit("starter")).thenReturn(kit);
+
+            Icon icon = gui.buildEntryIcon(entries.get(0));
+
+            assertThat(icon).isNotNull();
+            verify(shown).setItemMeta(meta);
+            assertThat(meta.getLore()).anyMatch(line -> line.contains("来自礼包") && line.contains("Starter Kit"));
+            assertThat(meta.getLore()).anyMatch(line -> line.contains("共 %d 组物品"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Entry Click Tests")
+    class EntryClickTests {
+
+        @Test
+        @DisplayName("COLLECTED removes the entry and closes the inventory")
+        void collected() {
+            KitMailboxData first = entries.get(0);
+            entries.remove(1);
+            when(kitService.collectMailbox(player, first))
+                    .thenReturn(CompletableFuture.completedFuture(KitService.CollectResult.COLLECTED));
+
+            gui.handleEntryClick(first);
+
+            assertThat(entries).isEmpty();
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("已领取邮箱物品");
+            verify(player).closeInventory();
+        }
+
+        @Test
+        @DisplayName("PARTIAL keeps the entry and reopens")
+        void partial() {
+            PluginManager pluginManager = mock(PluginManager.class);
+            when(Bukkit.getServer().getPluginManager()).thenReturn(pluginManager);
+            KitMailboxData first = entries.get(0);
+            when(kitService.collectMailbox(player, first))
+                    .thenReturn(CompletableFuture.completedFuture(KitService.CollectResult.PARTIAL));
+
+            gui.handleEntryClick(first);
+
+            assertThat(entries).hasSize(2);
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("剩余物品仍在邮箱中");
+            verify(player).closeInventory();
+            verify(pluginManager).getPlugin("UltiTools");
+        }
+
+        @Test
+        @DisplayName("INVENTORY_FULL keeps the GUI open")
+        void inventoryFull() {
+            KitMailboxData first = entries.get(0);
+            when(kitService.collectMailbox(player, first))
+                    .thenReturn(CompletableFuture.completedFuture(KitService.CollectResult.INVENTORY_FULL));
+
+            gui.handleEntryClick(first);
+
+            assertThat(entries).hasSize(2);
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("背包空间不足");
+            verify(player, never()).closeInventory();
+        }
+
+        @Test
+        @DisplayName("EMPTY from a repeated click is silent")
+        void repeatedClick() {
+            KitMailboxData first = entries.get(0);
+            when(kitService.collectMailbox(player, first))
+                    .thenReturn(CompletableFuture.completedFuture(KitService.CollectResult.EMPTY));
+
+            gui.handleEntryClick(first);
+
+            verify(player, never()).sendMessage(anyString());
+            verify(player, never()).closeInventory();
+        }
+
+        @Test
+        @DisplayName("ERROR sends error message")
+        void error() {
+            KitMailboxData first = entries.get(0);
+            when(kitService.collectMailbox(player, first))
+                    .thenReturn(CompletableFuture.completedFuture(KitService.CollectResult.ERROR));
+
+            gui.handleEntryClick(first);
+
+            ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+            verify(player).sendMessage(captor.capture());
+            assertThat(captor.getValue()).contains("领取邮箱物品时发生错误");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ultikits.plugins.kits.listener;
+
+import com.ultikits.plugins.kits.service.KitService;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KitPlayerListener")
+@ExtendWith(MockitoExtension.class)
+class KitPlayerListenerTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private KitService kitService;
+
+    @Mock
+    private Player player;
+
+    private KitPlayerListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new KitPlayerListener(kitService);
+    }
+
+    @Test
+    @DisplayName("pre-login preloads claim records of allowed logins")
+    void preLoginPreloads() {
+        AsyncPlayerPreLoginEvent event = mock(AsyncPlayerPreLoginEvent.class);
+        when(event.getLoginResult()).thenReturn(AsyncPlayerPreLoginEvent.Result.ALLOWED);
+        when(event.getUniqueId()).thenReturn(PLAYER);
+
+        listener.onPreLogin(event);
+
+        verify(kitService).preloadClaims(PLAYER);
+    }
+
+    @Test
+    @DisplayName("pre-login skips denied logins")
+    void preLoginSkipsDenied() {
+        AsyncPlayerPreLoginEvent event = mock(AsyncPlayerPreLoginEvent.class);
+        when(event.getLoginResult()).thenReturn(AsyncPlayerPreLoginEvent.Result.KICK_BANNED);
+
+        listener.onPreLogin(event);
+
+        verify(kitService, never()).preloadClaims(any());
+    }
+
+    @Test
+    @DisplayName("join schedules a background preload")
+    void joinPreloadsAsync() {
+        when(player.getUniqueId()).thenReturn(PLAYER);
+
+        listener.onJoin(new PlayerJoinEvent(player, "joined"));
+
+        verify(kitService).preloadClaimsAsync(PLAYER);
+    }
+
+    @Test
+    @DisplayName("quit evicts the player's claim records")
+    void quitEvicts() {
+        when(player.getUniqueId()).thenReturn(PLAYER);
+
+        listener.onQuit(new PlayerQuitEvent(player, "left"));
+
+        verify(kitService).evictClaims(PLAYER);
+    }
+}
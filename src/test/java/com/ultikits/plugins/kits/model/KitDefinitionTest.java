@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -215,6 +216,15 @@ class KitDefinitionTest {
                 kit.setItems("base64encodeddata");
                 assertThat(kit.hasItems()).isTrue();
             }
+
+            @Test
+            @DisplayName("returns true when items are in an item file")
+            void trueWithItemFile() {
+                kit.setItems("");
+                kit.setItemDataSize(128);
+                assertThat(kit.hasItems()).isTrue();
+                assertThat(kit.hasInlineItems()).isFalse();
+            }
         }
     }
 
@@ -336,4 +346,110 @@ class KitDefinitionTest {
             assertThat(kit.getConsoleCommands()).containsExactly("broadcast Welcome");
         }
     }
+
+    @Nested
+    @DisplayName("Templates")
+    class Templates {
+
+        @Test
+        @DisplayName("templates are compiled once and reused")
+        void compiledOnce() {
+            kit.setConsoleCommands(Arrays.asList("give {player} diamond 1"));
+
+            KitTemplates templates = kit.getTemplates();
+
+            assertThat(kit.getTemplates()).isSameAs(templates);
+            assertThat(templates.getConsoleCommands()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("changing text drops the compiled templates")
+        void settersInvalidate() {
+            KitTemplates before = kit.getTemplates();
+            kit.setDisplayName("&aNew");
+            KitTemplates afterName = kit.getTemplates();
+            kit.setDescription(Arrays.asList("line"));
+            KitTemplates afterDescription = kit.getTemplates();
+            kit.setPlayerCommands(Arrays.asList("spawn"));
+            KitTemplates afterPlayer = kit.getTemplates();
+
+            assertThat(afterName).isNotSameAs(before);
+            assertThat(afterDescription).isNotSameAs(afterName);
+            assertThat(afterPlayer).isNotSameAs(afterDescription);
+            assertThat(afterPlayer.getPlayerCommands()).hasSize(1);
+            assertThat(afterPlayer.getDescription()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("display text has color codes translated")
+        void colorsTranslated() {
+            kit.setDisplayName("&aStarter");
+
+            assertThat(kit.getTemplates().getDisplayName().isConstant()).isTrue();
+            assertThat(kit.getTemplates().getDisplayName().render(null, "starter")).isEqualTo("\u00a7aStarter");
+        }
+
+        @Test
+        @DisplayName("null command lists compile to empty lists")
+        void nullLists() {
+            kit.setPlayerCommands(null);
+            kit.setConsoleCommands(null);
+
+            assertThat(kit.getTemplates().getPlayerCommands()).isEmpty();
+            assertThat(kit.getTemplates().getConsoleCommands()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("templates do not affect equality")
+        void equalityIgnoresTemplates() {
+            KitDefinition other = new KitDefinition();
+            other.setName(kit.getName());
+            kit.getTemplates();
+
+            assertThat(kit).isEqualTo(other);
+        }
+    }
+
+    @Nested
+    @DisplayName("Copy")
+    class CopyTests {
+
+        @Test
+        @DisplayName("copy has the same fields")
+        void sameFields() {
+            KitDefinition kit = new KitDefinition();
+            kit.setName("starter");
+            kit.setDisplayName("&aStarter");
+            kit.setDescription(Arrays.asList("Line 1", "Line 2"));
+            kit.setPrice(10);
+            kit.setItems("data");
+            kit.setItemDataSize(42);
+
+            assertThat(kit.copy()).isEqualTo(kit).isNotSameAs(kit);
+        }
+
+        @Test
+        @DisplayName("changing the copy leaves the original alone")
+        void independent() {
+            KitDefinition kit = new KitDefinition();
+            kit.setItems("old");
+            kit.setPlayerCommands(new ArrayList<>(Arrays.asList("spawn")));
+
+            KitDefinition copy = kit.copy();
+            copy.setItems("new");
+            copy.getPlayerCommands().add("home");
+
+            assertThat(kit.getItems()).isEqualTo("old");
+            assertThat(kit.getPlayerCommands()).containsExactly("spawn");
+        }
+
+        @Test
+        @DisplayName("null lists stay null")
+        void nullLists() {
+            KitDefinition kit = new KitDefinition();
+            kit.setConsoleCommands(null);
+
+            assertThat(kit.copy().getConsoleCommands()).isNull();
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.ultikits.plugins.kits.model;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("KitFit")
+class KitFitTest {
+
+    private static ItemStack stack(Material material, int amount, int maxStackSize) {
+        ItemStack item = mock(ItemStack.class);
+        when(item.getType()).thenReturn(material);
+        when(item.getAmount()).thenReturn(amount);
+        when(item.getMaxStackSize()).thenReturn(maxStackSize);
+        return item;
+    }
+
+    @Nested
+    @DisplayName("of")
+    class Of {
+
+        @Test
+        @DisplayName("counts stacks and sums amounts per material")
+        void sumsPerMaterial() {
+            KitFit fit = KitFit.of(new ItemStack[]{
+                    stack(Material.STONE, 40, 64),
+                    stack(Material.STONE, 30, 64),
+                    stack(Material.DIAMOND_SWORD, 1, 1)});
+
+            assertThat(fit.getItemCount()).isEqualTo(3);
+            assertThat(fit.getAmounts()).containsEntry("STONE", 70).containsEntry("DIAMOND_SWORD", 1);
+            assertThat(fit.getMaxStackSize("STONE")).isEqualTo(64);
+            assertThat(fit.getMaxStackSize("DIAMOND_SWORD")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("ignores empty slots and air")
+        void ignoresEmptySlots() {
+            ItemStack air = mock(ItemStack.class);
+            when(air.getType()).thenReturn(Material.AIR);
+
+            KitFit fit = KitFit.of(new ItemStack[]{null, air, stack(Material.BREAD, 16, 64)});
+
+            assertThat(fit.getItemCount()).isEqualTo(1);
+            assertThat(fit.getAmounts()).containsOnlyKeys("BREAD");
+        }
+
+        @Test
+        @DisplayName("empty kits need no space")
+        void emptyKit() {
+            KitFit fit = KitFit.of(new ItemStack[0]);
+
+            assertThat(fit.getItemCount()).isZero();
+            assertThat(fit.getAmounts()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Accessors")
+    class Accessors {
+
+        @Test
+        @DisplayName("unknown materials stack to one")
+        void unknownMaterialMaxStack() {
+            KitFit fit = new KitFit(0, Collections.emptyMap(), Collections.emptyMap());
+
+            assertThat(fit.getMaxStackSize("STONE")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("maps are copied and read-only")
+        void mapsAreImmutable() {
+            Map<String, Integer> amounts = new HashMap<>();
+            amounts.put("STONE", 1);
+            KitFit fit = new KitFit(1, amounts, Collections.emptyMap());
+            amounts.put("BREAD", 2);
+
+            assertThat(fit.getAmounts()).containsOnlyKeys("STONE");
+            assertThatThrownBy(() -> fit.getAmounts().put("BREAD", 2))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
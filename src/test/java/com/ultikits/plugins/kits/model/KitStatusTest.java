@@ -0,0 +1,68 @@
+package com.ultikits.plugins.kits.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KitStatus")
+class KitStatusTest {
+
+    @Nested
+    @DisplayName("Factories")
+    class Factories {
+
+        @Test
+        @DisplayName("claimable is claimable with no remaining time")
+        void claimable() {
+            KitStatus status = KitStatus.claimable();
+
+            assertThat(status.getType()).isEqualTo(KitStatus.Type.CLAIMABLE);
+            assertThat(status.isClaimable()).isTrue();
+            assertThat(status.getRemainingMillis()).isZero();
+        }
+
+        @Test
+        @DisplayName("onCooldown keeps remaining milliseconds")
+        void onCooldown() {
+            KitStatus status = KitStatus.onCooldown(5000L);
+
+            assertThat(status.getType()).isEqualTo(KitStatus.Type.ON_COOLDOWN);
+            assertThat(status.isClaimable()).isFalse();
+            assertThat(status.getRemainingMillis()).isEqualTo(5000L);
+        }
+
+        @Test
+        @DisplayName("blocking statuses are not claimable")
+        void blockingStatuses() {
+            assertThat(KitStatus.alreadyClaimed().getType()).isEqualTo(KitStatus.Type.ALREADY_CLAIMED);
+            assertThat(KitStatus.insufficientLevel().getType()).isEqualTo(KitStatus.Type.INSUFFICIENT_LEVEL);
+            assertThat(KitStatus.insufficientFunds().getType()).isEqualTo(KitStatus.Type.INSUFFICIENT_FUNDS);
+            assertThat(KitStatus.alreadyClaimed().isClaimable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("constant statuses are shared instances")
+        void sharedInstances() {
+            assertThat(KitStatus.claimable()).isSameAs(KitStatus.claimable());
+        }
+    }
+
+    @Nested
+    @DisplayName("toString")
+    class ToStringTests {
+
+        @Test
+        @DisplayName("includes remaining time for cooldown")
+        void cooldownToString() {
+            assertThat(KitStatus.onCooldown(100L).toString()).isEqualTo("ON_COOLDOWN(100ms)");
+        }
+
+        @Test
+        @DisplayName("uses type name otherwise")
+        void plainToString() {
+            assertThat(KitStatus.claimable().toString()).isEqualTo("CLAIMABLE");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ultikits.plugins.kits.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReloadResult")
+class ReloadResultTest {
+
+    @Test
+    @DisplayName("exposes all counts")
+    void exposesCounts() {
+        ReloadResult result = new ReloadResult(2, 3, 4, 1, 10);
+
+        assertThat(result.getAdded()).isEqualTo(2);
+        assertThat(result.getChanged()).isEqualTo(3);
+        assertThat(result.getRemoved()).isEqualTo(4);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getTotal()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("unchanged is total minus added and changed")
+    void unchanged() {
+        assertThat(new ReloadResult(2, 3, 4, 1, 10).getUnchanged()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,116 @@
+package com.ultikits.plugins.kits.model;
+
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TextTemplate")
+class TextTemplateTest {
+
+    private static final UUID PLAYER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        player = mock(Player.class);
+        when(player.getName()).thenReturn("Steve");
+        when(player.getUniqueId()).thenReturn(PLAYER_UUID);
+        World world = mock(World.class);
+        when(world.getName()).thenReturn("world_nether");
+        when(player.getWorld()).thenReturn(world);
+    }
+
+    @Nested
+    @DisplayName("Placeholders")
+    class Placeholders {
+
+        @Test
+        @DisplayName("replaces all supported placeholders")
+        void allPlaceholders() {
+            TextTemplate template = TextTemplate.compile("{player} {uuid} {kit} {world}");
+
+            assertThat(template.render(player, "starter"))
+                    .isEqualTo("Steve " + PLAYER_UUID + " starter world_nether");
+        }
+
+        @Test
+        @DisplayName("repeated placeholders are all replaced")
+        void repeated() {
+            TextTemplate template = TextTemplate.compile("give {player} diamond; msg {player} hi");
+
+            assertThat(template.render(player, "starter")).isEqualTo("give Steve diamond; msg Steve hi");
+        }
+
+        @Test
+        @DisplayName("unknown and unclosed braces stay literal")
+        void unknownBraces() {
+            TextTemplate template = TextTemplate.compile("{other} {player} {unclosed");
+
+            assertThat(template.render(player, "starter")).isEqualTo("{other} Steve {unclosed");
+        }
+
+        @Test
+        @DisplayName("placeholder inside an unknown brace is still replaced")
+        void nestedBrace() {
+            TextTemplate template = TextTemplate.compile("{a{player}}");
+
+            assertThat(template.render(player, "starter")).isEqualTo("{aSteve}");
+        }
+
+        @Test
+        @DisplayName("player placeholders are not looked up when unused")
+        void lazyLookup() {
+            TextTemplate template = TextTemplate.compile("kit {kit}");
+
+            assertThat(template.render(player, "vip")).isEqualTo("kit vip");
+            verify(player, never()).getWorld();
+            verify(player, never()).getName();
+        }
+
+        @Test
+        @DisplayName("missing world renders empty")
+        void missingWorld() {
+            when(player.getWorld()).thenReturn(null);
+
+            assertThat(TextTemplate.compile("[{world}]").render(player, "starter")).isEqualTo("[]");
+        }
+    }
+
+    @Nested
+    @DisplayName("Constants")
+    class Constants {
+
+        @Test
+        @DisplayName("text without placeholders is constant and returned as is")
+        void constant() {
+            TextTemplate template = TextTemplate.compile("say hello");
+
+            assertThat(template.isConstant()).isTrue();
+            assertThat(template.render(player, "starter")).isSameAs(template.render(player, "other"));
+            verifyNoInteractions(player);
+        }
+
+        @Test
+        @DisplayName("empty text renders empty")
+        void empty() {
+            assertThat(TextTemplate.compile("").render(player, "starter")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("compileColored translates color codes once")
+        void colored() {
+            TextTemplate template = TextTemplate.compileColored("&a{player}&r!");
+
+            assertThat(template.render(player, "starter")).isEqualTo("§aSteve§r!");
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.entity.KitClaimData;
+import com.ultikits.ultitools.interfaces.DataOperator;
+import com.ultikits.ultitools.interfaces.Query;
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClaimDataCache")
+class ClaimDataCacheTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private DataOperator<KitClaimData> claimOperator;
+    private Query<KitClaimData> query;
+    private PluginLogger logger;
+    private ClaimDataCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        claimOperator = mock(DataOperator.class);
+        query = mock(Query.class);
+        logger = mock(PluginLogger.class);
+        when(claimOperator.query()).thenReturn(query);
+        when(query.where(anyString())).thenReturn(query);
+        when(query.eq(any())).thenReturn(query);
+        when(query.list()).thenReturn(Collections.emptyList());
+        cache = new ClaimDataCache(claimOperator, logger, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    private KitClaimData claim(String kitName, int count) {
+        return KitClaimData.builder()
+                .uuid(UUID.randomUUID().toString())
+                .playerUuid(PLAYER.toString())
+                .kitName(kitName)
+                .lastClaim(1000L)
+                .claimCount(count)
+                .build();
+    }
+
+    /**
+     * Matches a record with the same fields; queued writes hold a copy, not the cached record.
+     */
+    private static KitClaimData sameRecord(KitClaimData expected) {
+        return argThat(actual -> actual != null
+                && expected.getUuid().equals(actual.getUuid())
+                && expected.getPlayerUuid().equals(actual.getPlayerUuid())
+                && expected.getKitName().equals(actual.getKitName())
+                && expected.getLastClaim() == actual.getLastClaim()
+                && expected.getClaimCount() == actual.getClaimCount());
+    }
+
+    @Nested
+    @DisplayName("Loading")
+    class Loading {
+
+        @Test
+        @DisplayName("loads all records of a player with a single query")
+        void singleQueryPerPlayer() {
+            KitClaimData starter = claim("Starter", 1);
+            KitClaimData vip = claim("vip", 2);
+            when(query.list()).thenReturn(Arrays.asList(starter, vip));
+
+            assertThat(cache.get(PLAYER, "starter")).isSameAs(starter);
+            assertThat(cache.get(PLAYER, "VIP")).isSameAs(vip);
+            assertThat(cache.get(PLAYER, "other")).isNull();
+
+            verify(claimOperator, times(1)).query();
+            verify(query).eq(PLAYER.toString());
+        }
+
+        @Test
+        @DisplayName("preload marks the player as loaded")
+        void preloadLoadsPlayer() {
+            assertThat(cache.isLoaded(PLAYER)).isFalse();
+            cache.preload(PLAYER);
+            assertThat(cache.isLoaded(PLAYER)).isTrue();
+            assertThat(cache.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("preloadAsync loads in the background")
+        void preloadAsyncLoadsPlayer() {
+            cache.preloadAsync(PLAYER);
+            cache.flush();
+            assertThat(cache.isLoaded(PLAYER)).isTrue();
+        }
+
+        @Test
+        @DisplayName("getIfLoaded never queries on the calling thread")
+        void getIfLoadedLoadsInBackground() {
+            KitClaimData starter = claim("starter", 1);
+            when(query.list()).thenAnswer(inv -> {
+                assertThat(Thread.currentThread().getName()).isEqualTo("UltiKits-ClaimWriter");
+                return Collections.singletonList(starter);
+            });
+
+            assertThat(cache.getIfLoaded(PLAYER)).isNull();
+            cache.flush();
+
+            assertThat(cache.getIfLoaded(PLAYER)).containsEntry("starter", starter);
+            verify(claimOperator, times(1)).query();
+        }
+
+        @Test
+        @DisplayName("put does not load a player who is not cached")
+        void putSkipsUnloadedPlayer() {
+            KitClaimData record = claim("starter", 1);
+
+            cache.put(record, true);
+
+            verify(claimOperator, never()).query();
+            assertThat(cache.isLoaded(PLAYER)).isFalse();
+            assertThat(cache.get(PLAYER, "starter").getClaimCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("preloadAsync skips already loaded players")
+        void preloadAsyncSkipsLoaded() {
+            cache.preload(PLAYER);
+            cache.preloadAsync(PLAYER);
+            cache.flush();
+            verify(claimOperator, times(1)).query();
+        }
+    }
+
+    @Nested
+    @DisplayName("Write-behind")
+    class WriteBehind {
+
+        @Test
+        @DisplayName("put is visible immediately and written on flush")
+        void putThenFlush() {
+            KitClaimData record = claim("starter", 1);
+            cache.preload(PLAYER);
+            cache.put(record, true);
+
+            assertThat(cache.get(PLAYER, "starter")).isSameAs(record);
+            assertThat(cache.pendingWrites()).isEqualTo(1);
+            verify(claimOperator, never()).insert(any(KitClaimData.class));
+
+            cache.flush();
+
+            verify(claimOperator).insert(sameRecord(record));
+            assertThat(cache.pendingWrites()).isZero();
+        }
+
+        @Test
+        @DisplayName("repeated updates before a flush are merged into one write")
+        void mergesRepeatedWrites() throws Exception {
+            KitClaimData record = claim("starter", 1);
+            cache.put(record, false);
+            cache.put(record, false);
+            cache.put(record, false);
+
+            cache.flush();
+
+            verify(claimOperator, times(1)).update(sameRecord(record));
+        }
+
+        @Test
+        @DisplayName("a pending insert stays an insert when updated again")
+        void insertWinsOverUpdate() throws Exception {
+            KitClaimData record = claim("starter", 1);
+            cache.put(record, true);
+            cache.put(record, false);
+
+            cache.flush();
+
+            verify(claimOperator).insert(sameRecord(record));
+            verify(claimOperator, never()).update(any(KitClaimData.class));
+        }
+
+        @Test
+        @DisplayName("update failures are logged")
+        void logsUpdateFailure() throws Exception {
+            KitClaimData record = claim("starter", 1);
+            doThrow(new IllegalAccessException("boom")).when(claimOperator).update(any(KitClaimData.class));
+            cache.put(record, false);
+
+            cache.flush();
+
+            verify(logger).error(contains("Failed to update kit claim data"));
+        }
+
+        @Test
+        @DisplayName("a queued write keeps the fields it was queued with")
+        void queuesCopy() {
+            KitClaimData record = claim("starter", 1);
+            cache.put(record, true);
+
+            record.setClaimCount(99);
+            cache.flush();
+
+            ArgumentCaptor<KitClaimData> captor = ArgumentCaptor.forClass(KitClaimData.class);
+            verify(claimOperator).insert(captor.capture());
+            assertThat(captor.getValue()).isNotSameAs(record);
+            assertThat(captor.getValue().getClaimCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("failed writes stay queued and are retried on the next flush")
+        void retriesFailedWrites() throws Exception {
+            KitClaimData record = claim("starter", 1);
+            doThrow(new IllegalAccessException("boom")).doAnswer(inv -> null).when(claimOperator).update(any(KitClaimData.class));
+            cache.put(record, false);
+
+            cache.flush();
+            assertThat(cache.pendingWrites()).isEqualTo(1);
+
+            cache.flush();
+            assertThat(cache.pendingWrites()).isZero();
+            verify(claimOperator, times(2)).update(sameRecord(record));
+        }
+
+        @Test
+        @DisplayName("a failed insert is retried as an insert with the newest fields")
+        void retryKeepsInsert() {
+            KitClaimData record = claim("starter", 1);
+            doThrow(new IllegalStateException("down")).doAnswer(inv -> null).when(claimOperator).insert(any(KitClaimData.class));
+            cache.put(record, true);
+            cache.flush();
+
+            record.setClaimCount(2);
+            cache.put(record, false);
+            cache.flush();
+
+            verify(claimOperator, times(2)).insert(any(KitClaimData.class));
+            verify(claimOperator).insert(sameRecord(record));
+        }
+
+        @Test
+        @DisplayName("a player loaded again sees records that are not written yet")
+        void reloadSeesPendingWrites() throws Exception {
+            KitClaimData record = claim("starter", 3);
+            doThrow(new IllegalAccessException("boom")).when(claimOperator).update(any(KitClaimData.class));
+            cache.put(record, false);
+            cache.evict(PLAYER);
+            cache.flush();
+
+            KitClaimData reloaded = cache.get(PLAYER, "starter");
+
+            assertThat(reloaded).isNotNull().isNotSameAs(record);
+            assertThat(reloaded.getClaimCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("evict writes pending records before dropping the player")
+        void evictFlushesFirst() {
+            KitClaimData record = claim("starter", 1);
+            cache.put(record, true);
+
+            cache.evict(PLAYER);
+            cache.flush();
+
+            verify(claimOperator).insert(sameRecord(record));
+            assertThat(cache.isLoaded(PLAYER)).isFalse();
+        }
+
+        @Test
+        @DisplayName("shutdown writes everything that is still pending")
+        void shutdownFlushes() {
+            KitClaimData record = claim("starter", 1);
+            cache.put(record, true);
+
+            cache.shutdown();
+
+            verify(claimOperator).insert(sameRecord(record));
+        }
+    }
+
+    @Nested
+    @DisplayName("Statistics")
+    class Statistics {
+
+        @Test
+        @DisplayName("lookups count as a miss until the player is cached")
+        void hitsAndMisses() {
+            cache.get(PLAYER, "starter");
+            cache.get(PLAYER, "starter");
+            cache.get(PLAYER, "vip");
+
+            assertThat(cache.getMisses()).isEqualTo(1);
+            assertThat(cache.getHits()).isEqualTo(2);
+            assertThat(cache.getQueries().getCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("failed queries are counted and rethrown")
+        void failedQuery() {
+            when(query.list()).thenThrow(new IllegalStateException("db"));
+
+            assertThatThrownBy(() -> cache.get(PLAYER, "starter")).isInstanceOf(IllegalStateException.class);
+
+            assertThat(cache.getQueries().getCount()).isEqualTo(1);
+            assertThat(cache.getQueries().getFailures()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("writes are counted with their failures")
+        void writesCounted() throws Exception {
+            KitClaimData failing = claim("starter", 1);
+            doThrow(new IllegalAccessException("boom")).when(claimOperator).update(sameRecord(failing));
+            cache.put(failing, false);
+            cache.put(claim("vip", 1), true);
+
+            cache.flush();
+
+            assertThat(cache.getWrites().getCount()).isEqualTo(2);
+            assertThat(cache.getWrites().getFailures()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.model.ClaimStats;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClaimMetrics")
+class ClaimMetricsTest {
+
+    private AtomicLong clock;
+    private int clockReads;
+    private LongSupplier countingClock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1000);
+        clockReads = 0;
+        countingClock = () -> {
+            clockReads++;
+            return clock.get();
+        };
+    }
+
+    private ClaimStats.PhaseStats phase(ClaimStats stats, ClaimMetrics.Phase phase) {
+        return stats.getPhases().get(phase.ordinal());
+    }
+
+    @Nested
+    @DisplayName("Enabled")
+    class Enabled {
+
+        private ClaimMetrics metrics;
+
+        @BeforeEach
+        void setUp() {
+            metrics = new ClaimMetrics(true, countingClock);
+        }
+
+        @Test
+        @DisplayName("record measures from start and returns the time for the next phase")
+        void recordChainsPhases() {
+            long start = metrics.start();
+            clock.addAndGet(300);
+            long next = metrics.record(ClaimMetrics.Phase.VALIDATE, start);
+            clock.addAndGet(5);
+            metrics.record(ClaimMetrics.Phase.ITEMS, next);
+
+            ClaimStats stats = metrics.snapshot();
+            assertThat(phase(stats, ClaimMetrics.Phase.VALIDATE).getMax()).isEqualTo(300);
+            assertThat(phase(stats, ClaimMetrics.Phase.ITEMS).getMax()).isEqualTo(5);
+            assertThat(phase(stats, ClaimMetrics.Phase.ITEMS).getP99()).isEqualTo(5);
+            assertThat(phase(stats, ClaimMetrics.Phase.DELIVER).getCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("outcomes are counted per result in declaration order")
+        void outcomesCounted() {
+            metrics.recordOutcome(KitService.ClaimResult.SUCCESS);
+            metrics.recordOutcome(KitService.ClaimResult.SUCCESS);
+            metrics.recordOutcome(KitService.ClaimResult.ON_COOLDOWN);
+            metrics.recordOutcome(null);
+
+            ClaimStats stats = metrics.snapshot();
+            assertThat(stats.getOutcomes().keySet()).first().isEqualTo("SUCCESS");
+            assertThat(stats.getOutcomes())
+                    .hasSize(KitService.ClaimResult.values().length)
+                    .containsEntry("SUCCESS", 2L)
+                    .containsEntry("ON_COOLDOWN", 1L)
+                    .containsEntry("ERROR", 0L);
+            assertThat(stats.getTotalClaims()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("outcomes of named kits are also counted per kit, sorted by name")
+        void outcomesPerKit() {
+            metrics.recordOutcome("vip", KitService.ClaimResult.SUCCESS);
+            metrics.recordOutcome("starter", KitService.ClaimResult.SUCCESS);
+            metrics.recordOutcome("starter", KitService.ClaimResult.ON_COOLDOWN);
+            metrics.recordOutcome(null, KitService.ClaimResult.NOT_FOUND);
+
+            assertThat(metrics.getKitOutcomes().keySet()).containsExactly("starter", "vip");
+            assertThat(metrics.getKitOutcomes().get("starter"))
+                    .containsEntry(KitService.ClaimResult.SUCCESS, 1L)
+                    .containsEntry(KitService.ClaimResult.ON_COOLDOWN, 1L)
+                    .hasSize(2);
+            assertThat(metrics.getOutcomeCount(KitService.ClaimResult.NOT_FOUND)).isEqualTo(1);
+            assertThat(metrics.getOutcomeCount(KitService.ClaimResult.SUCCESS)).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("reset clears phases, outcomes and per kit outcomes")
+        void reset() {
+            metrics.record(ClaimMetrics.Phase.TOTAL, metrics.start());
+            metrics.recordOutcome("starter", KitService.ClaimResult.ERROR);
+
+            metrics.reset();
+
+            assertThat(metrics.getKitOutcomes()).isEmpty();
+
+            ClaimStats stats = metrics.snapshot();
+            assertThat(stats.getTotalClaims()).isZero();
+            assertThat(phase(stats, ClaimMetrics.Phase.TOTAL).getCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Disabled")
+    class Disabled {
+
+        private ClaimMetrics metrics;
+
+        @BeforeEach
+        void setUp() {
+            metrics = new ClaimMetrics(false, countingClock);
+        }
+
+        @Test
+        @DisplayName("nothing reads the clock")
+        void noClockReads() {
+            long start = metrics.start();
+            long next = metrics.record(ClaimMetrics.Phase.LOAD, start);
+            metrics.record(ClaimMetrics.Phase.TOTAL, next);
+            metrics.recordOutcome(KitService.ClaimResult.SUCCESS);
+
+            assertThat(start).isEqualTo(ClaimMetrics.OFF);
+            assertThat(next).isEqualTo(ClaimMetrics.OFF);
+            assertThat(clockReads).isZero();
+        }
+
+        @Test
+        @DisplayName("snapshot reports disabled stats")
+        void disabledSnapshot() {
+            ClaimStats stats = metrics.snapshot();
+
+            assertThat(stats.isEnabled()).isFalse();
+            assertThat(stats.getPhases()).isEmpty();
+            assertThat(stats.getTotalClaims()).isZero();
+        }
+    }
+}
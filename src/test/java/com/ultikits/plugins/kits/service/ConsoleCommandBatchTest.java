@@ -0,0 +1,154 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ConsoleCommandBatch")
+class ConsoleCommandBatchTest {
+
+    private static final long BUDGET = 100;
+
+    private PluginLogger logger;
+    private List<Runnable> ticks;
+    private List<String> dispatched;
+    private AtomicLong clock;
+    /**
+     * Clock advance per dispatched command.
+     */
+    private long commandCost;
+    private ConsoleCommandBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(PluginLogger.class);
+        ticks = new ArrayList<>();
+        dispatched = new ArrayList<>();
+        clock = new AtomicLong();
+        commandCost = 0;
+        batch = new ConsoleCommandBatch(logger, BUDGET, ticks::add, command -> {
+            dispatched.add(command);
+            clock.addAndGet(commandCost);
+        }, clock::get);
+    }
+
+    private void runNextTick() {
+        Runnable task = ticks.remove(0);
+        task.run();
+    }
+
+    @Nested
+    @DisplayName("Scheduling")
+    class Scheduling {
+
+        @Test
+        @DisplayName("claims in the same tick share one task")
+        void oneTaskPerTick() {
+            batch.submit(Arrays.asList("a", "b"));
+            batch.submit(Collections.singletonList("c"));
+
+            assertThat(ticks).hasSize(1);
+            assertThat(dispatched).isEmpty();
+
+            runNextTick();
+
+            assertThat(dispatched).containsExactly("a", "b", "c");
+            assertThat(ticks).isEmpty();
+            assertThat(batch.pendingCommands()).isZero();
+        }
+
+        @Test
+        @DisplayName("a new task is scheduled after the previous one ran")
+        void schedulesAgainAfterRun() {
+            batch.submit(Collections.singletonList("a"));
+            runNextTick();
+            batch.submit(Collections.singletonList("b"));
+
+            assertThat(ticks).hasSize(1);
+            runNextTick();
+            assertThat(dispatched).containsExactly("a", "b");
+        }
+    }
+
+    @Nested
+    @DisplayName("Time Budget")
+    class TimeBudget {
+
+        @Test
+        @DisplayName("commands over the budget carry into the next tick")
+        void carriesOver() {
+            commandCost = 40;
+            batch.submit(Arrays.asList("a", "b", "c", "d", "e"));
+
+            runNextTick();
+            assertThat(dispatched).containsExactly("a", "b", "c");
+            assertThat(ticks).hasSize(1);
+
+            runNextTick();
+            assertThat(dispatched).containsExactly("a", "b", "c", "d", "e");
+            assertThat(ticks).isEmpty();
+        }
+
+        @Test
+        @DisplayName("at least one command runs per tick even over budget")
+        void alwaysProgresses() {
+            commandCost = BUDGET * 10;
+            batch.submit(Arrays.asList("a", "b"));
+
+            runNextTick();
+            assertThat(dispatched).containsExactly("a");
+            runNextTick();
+            assertThat(dispatched).containsExactly("a", "b");
+        }
+    }
+
+    @Nested
+    @DisplayName("Draining")
+    class Draining {
+
+        @Test
+        @DisplayName("drain runs every queued command at once, over budget")
+        void drainsAll() {
+            commandCost = BUDGET * 10;
+            batch.submit(Arrays.asList("a", "b", "c"));
+
+            batch.drain();
+
+            assertThat(dispatched).containsExactly("a", "b", "c");
+            assertThat(batch.pendingCommands()).isZero();
+            runNextTick();
+            assertThat(dispatched).containsExactly("a", "b", "c");
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class Failures {
+
+        @Test
+        @DisplayName("a failing command is logged and the rest still run")
+        void failingCommand() {
+            batch = new ConsoleCommandBatch(logger, BUDGET, ticks::add, command -> {
+                if ("bad".equals(command)) {
+                    throw new IllegalStateException("boom");
+                }
+                dispatched.add(command);
+            }, clock::get);
+
+            batch.submit(Arrays.asList("bad", "good"));
+            runNextTick();
+
+            assertThat(dispatched).containsExactly("good");
+            verify(logger).warn(contains("bad"));
+        }
+    }
+}
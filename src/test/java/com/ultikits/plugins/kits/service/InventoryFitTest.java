@@ -0,0 +1,171 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.model.KitFit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("InventoryFit")
+class InventoryFitTest {
+
+    /**
+     * A stack that is similar to every other stack of the same material.
+     */
+    private static ItemStack stack(Material material, int amount, int maxStackSize) {
+        ItemStack item = mock(ItemStack.class);
+        when(item.getType()).thenReturn(material);
+        when(item.getAmount()).thenReturn(amount);
+        when(item.getMaxStackSize()).thenReturn(maxStackSize);
+        when(item.isSimilar(any())).thenAnswer(inv -> {
+            ItemStack other = inv.getArgument(0);
+            return other != null && other.getType() == material;
+        });
+        return item;
+    }
+
+    private static ItemStack[] inventory(int size, ItemStack... filled) {
+        ItemStack[] contents = new ItemStack[size];
+        System.arraycopy(filled, 0, contents, 0, filled.length);
+        return contents;
+    }
+
+    @Nested
+    @DisplayName("fits")
+    class Fits {
+
+        @Test
+        @DisplayName("merges into partial stacks when no slot is empty")
+        void mergesIntoPartialStacks() {
+            ItemStack[] contents = inventory(2, stack(Material.STONE, 32, 64), stack(Material.DIRT, 64, 64));
+
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{stack(Material.STONE, 32, 64)})).isTrue();
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{stack(Material.STONE, 33, 64)})).isFalse();
+        }
+
+        @Test
+        @DisplayName("does not merge into stacks that are not similar")
+        void respectsSimilarity() {
+            ItemStack[] contents = inventory(1, stack(Material.DIRT, 1, 64));
+
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{stack(Material.STONE, 1, 64)})).isFalse();
+        }
+
+        @Test
+        @DisplayName("kit stacks merge into slots filled earlier in the same kit")
+        void mergesKitStacksTogether() {
+            ItemStack[] contents = inventory(1);
+
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{
+                    stack(Material.BREAD, 16, 64), stack(Material.BREAD, 16, 64)})).isTrue();
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{
+                    stack(Material.BREAD, 16, 64), stack(Material.STONE, 1, 64)})).isFalse();
+        }
+
+        @Test
+        @DisplayName("splits stacks larger than the space left in one slot")
+        void splitsAcrossSlots() {
+            ItemStack[] contents = inventory(2, stack(Material.STONE, 60, 64));
+
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{stack(Material.STONE, 68, 64)})).isTrue();
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{stack(Material.STONE, 69, 64)})).isFalse();
+        }
+
+        @Test
+        @DisplayName("unstackable items need one empty slot each")
+        void unstackableItems() {
+            ItemStack[] contents = inventory(2, stack(Material.DIAMOND_SWORD, 1, 1));
+
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{stack(Material.DIAMOND_SWORD, 1, 1)})).isTrue();
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{
+                    stack(Material.DIAMOND_SWORD, 1, 1), stack(Material.DIAMOND_SWORD, 1, 1)})).isFalse();
+        }
+
+        @Test
+        @DisplayName("ignores empty kit slots and never changes the inventory")
+        void leavesInventoryUntouched() {
+            ItemStack existing = stack(Material.STONE, 10, 64);
+            ItemStack[] contents = inventory(1, existing);
+
+            assertThat(InventoryFit.fits(contents, new ItemStack[]{null, stack(Material.STONE, 5, 64)})).isTrue();
+
+            assertThat(contents).containsExactly(existing);
+            verify(existing, never()).setAmount(anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("minimumEmptySlots")
+    class MinimumEmptySlots {
+
+        @Test
+        @DisplayName("counts full stacks beyond the room in existing stacks")
+        void countsOverflow() {
+            KitFit fit = new KitFit(3, Collections.singletonMap("STONE", 150), Collections.singletonMap("STONE", 64));
+            ItemStack[] contents = inventory(4, stack(Material.STONE, 44, 64));
+
+            // 150 - 20 room = 130 -> 3 stacks of 64
+            assertThat(InventoryFit.minimumEmptySlots(contents, fit)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("is zero when existing stacks have room for everything")
+        void zeroWhenRoomEnough() {
+            KitFit fit = new KitFit(1, Collections.singletonMap("STONE", 10), Collections.singletonMap("STONE", 64));
+            ItemStack[] contents = inventory(1, stack(Material.STONE, 50, 64));
+
+            assertThat(InventoryFit.minimumEmptySlots(contents, fit)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("countEmptySlots counts null and air")
+    void countsEmptySlots() {
+        ItemStack air = mock(ItemStack.class);
+        when(air.getType()).thenReturn(Material.AIR);
+        ItemStack[] contents = Arrays.asList(null, air, stack(Material.STONE, 1, 64)).toArray(new ItemStack[0]);
+
+        assertThat(InventoryFit.countEmptySlots(contents)).isEqualTo(2);
+    }
+
+    @Nested
+    @DisplayName("hasRoom")
+    class HasRoom {
+
+        @Test
+        @DisplayName("an empty slot is room")
+        void emptySlot() {
+            ItemStack[] contents = inventory(2, stack(Material.DIRT, 64, 64));
+
+            assertThat(InventoryFit.hasRoom(contents, new ItemStack[]{stack(Material.STONE, 64, 64)})).isTrue();
+        }
+
+        @Test
+        @DisplayName("a similar stack that is not full is room")
+        void partialStack() {
+            ItemStack[] contents = inventory(2, stack(Material.DIRT, 64, 64), stack(Material.STONE, 63, 64));
+
+            assertThat(InventoryFit.hasRoom(contents, new ItemStack[]{stack(Material.STONE, 64, 64)})).isTrue();
+        }
+
+        @Test
+        @DisplayName("full stacks and other materials are no room")
+        void noRoom() {
+            ItemStack[] contents = inventory(2, stack(Material.STONE, 64, 64), stack(Material.DIRT, 10, 64));
+
+            assertThat(InventoryFit.hasRoom(contents, new ItemStack[]{stack(Material.STONE, 1, 64)})).isFalse();
+        }
+    }
+}
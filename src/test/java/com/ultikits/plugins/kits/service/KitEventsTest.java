@@ -0,0 +1,138 @@
+package com.ultikits.plugins.kits.service;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KitEvents")
+class KitEventsTest {
+
+    @Nested
+    @DisplayName("Without JFR")
+    class WithoutJfr {
+
+        private final KitEvents events = new KitEvents();
+
+        @Test
+        @DisplayName("nothing is recorded")
+        void recordsNothing() {
+            assertThat(events.isSupported()).isFalse();
+            for (KitEvents.Type type : KitEvents.Type.values()) {
+                assertThat(events.begin(type)).isNull();
+            }
+        }
+
+        @Test
+        @DisplayName("ending a missing event is harmless")
+        void endIgnored() {
+            events.end(null, "starter", null, "OK");
+            events.end(null, "starter", null, "OK", 3);
+            events.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("With JFR")
+    class WithJfr {
+
+        @TempDir
+        Path tempDir;
+
+        private JfrKitEvents events;
+
+        @BeforeEach
+        void setUp() {
+            events = new JfrKitEvents();
+        }
+
+        @AfterEach
+        void tearDown() {
+            events.close();
+        }
+
+        private List<RecordedEvent> record(Runnable action, String... eventNames) throws Exception {
+            Path file = tempDir.resolve("kits.jfr");
+            try (Recording recording = new Recording()) {
+                for (String name : eventNames) {
+                    recording.enable(name);
+                }
+                recording.start();
+                action.run();
+                recording.stop();
+                recording.dump(file);
+            }
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("ultikits."))
+                    .collect(Collectors.toList());
+        }
+
+        private RecordedEvent byName(List<RecordedEvent> recorded, String name) {
+            return recorded.stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+        }
+
+        @Test
+        @DisplayName("the runtime used for tests supports JFR")
+        void detected() {
+            assertThat(KitEvents.get().isSupported()).isTrue();
+            assertThat(events.isSupported()).isTrue();
+        }
+
+        @Test
+        @DisplayName("no event is created while nothing records")
+        void idleBeginReturnsNull() {
+            assertThat(events.begin(KitEvents.Type.CLAIM)).isNull();
+        }
+
+        @Test
+        @DisplayName("claim events carry kit, player, result and duration")
+        void claimEvent() throws Exception {
+            UUID player = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+            List<RecordedEvent> recorded = record(() -> {
+                Object event = events.begin(KitEvents.Type.CLAIM);
+                assertThat(event).isNotNull();
+                events.end(event, "starter", player, "SUCCESS");
+            }, "ultikits.KitClaim");
+
+            assertThat(recorded).hasSize(1);
+            RecordedEvent event = recorded.get(0);
+            assertThat(event.getEventType().getName()).isEqualTo("ultikits.KitClaim");
+            assertThat(event.getEventType().getCategoryNames()).containsExactly("UltiKits");
+            assertThat(event.getString("kitName")).isEqualTo("starter");
+            assertThat(event.getString("playerUuid")).isEqualTo(player.toString());
+            assertThat(event.getString("result")).isEqualTo("SUCCESS");
+            assertThat(event.getDuration()).isNotNegative();
+        }
+
+        @Test
+        @DisplayName("sized events record their size field")
+        void sizedEvents() throws Exception {
+            List<RecordedEvent> recorded = record(() -> {
+                events.end(events.begin(KitEvents.Type.ITEM_DECODE), "starter", null, "OK", 9);
+                events.end(events.begin(KitEvents.Type.KIT_SAVE), "starter", null, "WRITTEN", 2048);
+                events.end(events.begin(KitEvents.Type.KIT_RELOAD), "", null, "OK", 4);
+                events.end(events.begin(KitEvents.Type.KIT_LOAD), "starter", null, "PARSED");
+            }, "ultikits.ItemDecode", "ultikits.KitSave", "ultikits.KitReload", "ultikits.KitLoad");
+
+            assertThat(recorded).hasSize(4);
+            assertThat(byName(recorded, "ultikits.ItemDecode").getLong("stacks")).isEqualTo(9);
+            assertThat(byName(recorded, "ultikits.KitSave").getLong("bytes")).isEqualTo(2048);
+            assertThat(byName(recorded, "ultikits.KitReload").getLong("kits")).isEqualTo(4);
+            RecordedEvent load = byName(recorded, "ultikits.KitLoad");
+            assertThat(load.getString("result")).isEqualTo("PARSED");
+            assertThat(load.getString("playerUuid")).isNull();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ultikits.plugins.kits.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KitFileStamp")
+class KitFileStampTest {
+
+    @TempDir
+    File tempDir;
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private KitFileStamp stampOf(File file) throws IOException {
+        return KitFileStamp.of(file, Files.readAllBytes(file.toPath()));
+    }
+
+    @Nested
+    @DisplayName("Metadata Check")
+    class MetadataCheck {
+
+        @Test
+        @DisplayName("old file with same time and size is unchanged")
+        void oldFileUnchanged() throws IOException {
+            File file = write("a.yml", "price: 1");
+            file.setLastModified(System.currentTimeMillis() - 60_000);
+            KitFileStamp stamp = stampOf(file);
+
+            assertThat(stamp.isUnchanged(file)).isTrue();
+        }
+
+        @Test
+        @DisplayName("recently written file is not trusted by metadata")
+        void recentFileNotTrusted() throws IOException {
+            File file = write("a.yml", "price: 1");
+            KitFileStamp stamp = stampOf(file);
+
+            assertThat(stamp.isUnchanged(file)).isFalse();
+        }
+
+        @Test
+        @DisplayName("size change is detected")
+        void sizeChange() throws IOException {
+            File file = write("a.yml", "price: 1");
+            long time = System.currentTimeMillis() - 60_000;
+            file.setLastModified(time);
+            KitFileStamp stamp = stampOf(file);
+
+            write("a.yml", "price: 100");
+            file.setLastModified(time);
+
+            assertThat(stamp.isUnchanged(file)).isFalse();
+        }
+
+        @Test
+        @DisplayName("modification time change is detected")
+        void timeChange() throws IOException {
+            File file = write("a.yml", "price: 1");
+            file.setLastModified(System.currentTimeMillis() - 60_000);
+            KitFileStamp stamp = stampOf(file);
+
+            file.setLastModified(System.currentTimeMillis() - 30_000);
+
+            assertThat(stamp.isUnchanged(file)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Content Check")
+    class ContentCheck {
+
+        @Test
+        @DisplayName("identical content has the same hash")
+        void sameContent() throws IOException {
+            KitFileStamp first = stampOf(write("a.yml", "price: 1"));
+            KitFileStamp second = stampOf(write("b.yml", "price: 1"));
+
+            assertThat(first.hasSameContent(second)).isTrue();
+        }
+
+        @Test
+        @DisplayName("different content of the same size differs")
+        void differentContent() throws IOException {
+            KitFileStamp first = stampOf(write("a.yml", "price: 1"));
+            KitFileStamp second = stampOf(write("b.yml", "price: 2"));
+
+            assertThat(first.hasSameContent(second)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Item File")
+    class ItemFile {
+
+        @Test
+        @DisplayName("an unchanged item file keeps the kit unchanged")
+        void unchangedItems() throws IOException {
+            File file = write("a.yml", "price: 1");
+            File items = write("a.items", "items");
+            long time = System.currentTimeMillis() - 60_000;
+            file.setLastModified(time);
+            items.setLastModified(time);
+            KitFileStamp stamp = stampOf(file).withItems(stampOf(items));
+
+            assertThat(stamp.isUnchanged(file, items)).isTrue();
+        }
+
+        @Test
+        @DisplayName("an item file that appeared or changed makes the kit changed")
+        void changedItems() throws IOException {
+            File file = write("a.yml", "price: 1");
+            file.setLastModified(System.currentTimeMillis() - 60_000);
+            KitFileStamp stamp = stampOf(file);
+            File items = new File(tempDir, "a.items");
+
+            assertThat(stamp.isUnchanged(file, items)).isTrue();
+            write("a.items", "items");
+            assertThat(stamp.isUnchanged(file, items)).isFalse();
+        }
+
+        @Test
+        @DisplayName("item content of the same size is compared by hash")
+        void sameSizeItems() throws IOException {
+            File file = write("a.yml", "price: 1");
+            KitFileStamp before = stampOf(file).withItems(stampOf(write("a.items", "aaaa")));
+            KitFileStamp same = stampOf(file).withItems(stampOf(write("a.items", "aaaa")));
+            KitFileStamp after = stampOf(file).withItems(stampOf(write("a.items", "bbbb")));
+
+            assertThat(before.hasSameContent(same)).isTrue();
+            assertThat(before.hasSameContent(after)).isFalse();
+            assertThat(before.hasSameContent(stampOf(file))).isFalse();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("KitFileWriter")
+class KitFileWriterTest {
+
+    @TempDir
+    File tempDir;
+
+    private PluginLogger logger;
+    private List<String> written;
+    private KitFileWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(PluginLogger.class);
+        written = new CopyOnWriteArrayList<>();
+        writer = new KitFileWriter(logger, (name, file) -> written.add(name));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    private String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Occupies the writer thread until the returned latch is released.
+     */
+    private CountDownLatch blockWriter() throws Exception {
+        Field executorField = KitFileWriter.class.getDeclaredField("writer");
+        executorField.setAccessible(true); // NOPMD
+        ExecutorService executor = (ExecutorService) executorField.get(writer);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await(5, TimeUnit.SECONDS);
+        return release;
+    }
+
+    @Nested
+    @DisplayName("Writing")
+    class Writing {
+
+        @Test
+        @DisplayName("writes binary content unchanged")
+        void writesBytes() throws Exception {
+            File target = new File(tempDir, "starter.items");
+            byte[] content = {0, (byte) 0xFF, 42};
+
+            writer.write("starter", target, content);
+            writer.flush();
+
+            assertThat(Files.readAllBytes(target.toPath())).containsExactly(0, (byte) 0xFF, 42);
+        }
+
+        @Test
+        @DisplayName("queued content is readable until it is written")
+        void pendingContentVisible() throws Exception {
+            File target = new File(tempDir, "starter.items");
+            CountDownLatch release = blockWriter();
+
+            writer.write("starter", target, new byte[]{7});
+            assertThat(writer.pendingContent(target)).containsExactly(7);
+
+            release.countDown();
+            writer.flush();
+            assertThat(writer.pendingContent(target)).isNull();
+        }
+
+        @Test
+        @DisplayName("files of the same kit are queued separately")
+        void filesOfSameKitIndependent() throws Exception {
+            File yaml = new File(tempDir, "starter.yml");
+            File items = new File(tempDir, "starter.items");
+
+            writer.write("starter", items, new byte[]{1});
+            writer.write("starter", yaml, "price: 1\n");
+            writer.flush();
+
+            assertThat(items).exists();
+            assertThat(read(yaml)).isEqualTo("price: 1\n");
+        }
+
+        @Test
+        @DisplayName("a file saved again while being written stays ahead of files queued after it")
+        void resaveKeepsOrder() throws Exception {
+            File yaml = new File(tempDir, "starter.yml");
+            File items = new File(tempDir, "starter.items");
+            List<String> order = new CopyOnWriteArrayList<>();
+            CountDownLatch firstWritten = new CountDownLatch(1);
+            CountDownLatch resume = new CountDownLatch(1);
+            KitFileWriter ordered = new KitFileWriter(logger, (name, file) -> {
+                order.add(file.getName());
+                if (order.size() == 1) {
+                    firstWritten.countDown();
+                    try {
+                        resume.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            try {
+                ordered.write("starter", items, new byte[]{1});
+                ordered.write("starter", yaml, "v1");
+                assertThat(firstWritten.await(5, TimeUnit.SECONDS)).isTrue();
+                ordered.write("starter", items, new byte[]{2});
+                ordered.write("starter", yaml, "v2");
+                resume.countDown();
+                ordered.flush();
+            } finally {
+                ordered.shutdown();
+            }
+
+            assertThat(order).containsExactly("starter.items", "starter.items", "starter.yml");
+            assertThat(Files.readAllBytes(items.toPath())).containsExactly(2);
+            assertThat(read(yaml)).isEqualTo("v2");
+        }
+
+        @Test
+        @DisplayName("writes the content and reports the written kit")
+        void writesContent() throws Exception {
+            File target = new File(tempDir, "starter.yml");
+
+            writer.write("starter", target, "price: 1\n");
+            writer.flush();
+
+            assertThat(read(target)).isEqualTo("price: 1\n");
+            assertThat(written).containsExactly("starter");
+        }
+
+        @Test
+        @DisplayName("replaces an existing file and leaves no temp file")
+        void replacesAtomically() throws Exception {
+            File target = new File(tempDir, "starter.yml");
+            Files.write(target.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+            writer.write("starter", target, "new");
+            writer.flush();
+
+            assertThat(read(target)).isEqualTo("new");
+            assertThat(new File(tempDir, "starter.yml.tmp")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("repeated saves of one kit are merged into a single write")
+        void coalescesSaves() throws Exception {
+            File target = new File(tempDir, "starter.yml");
+            CountDownLatch release = blockWriter();
+
+            writer.write("starter", target, "v1");
+            writer.write("starter", target, "v2");
+            writer.write("starter", target, "v3");
+            assertThat(writer.pendingWrites()).isEqualTo(1);
+            release.countDown();
+            writer.flush();
+
+            assertThat(read(target)).isEqualTo("v3");
+            assertThat(written).containsExactly("starter");
+        }
+
+        @Test
+        @DisplayName("different kits are written independently")
+        void separateKits() throws Exception {
+            writer.write("a", new File(tempDir, "a.yml"), "a");
+            writer.write("b", new File(tempDir, "b.yml"), "b");
+            writer.flush();
+
+            assertThat(written).containsExactlyInAnyOrder("a", "b");
+        }
+
+        @Test
+        @DisplayName("write failures are logged")
+        void logsFailures() {
+            File target = new File(tempDir, "missing/dir/starter.yml");
+
+            writer.write("starter", target, "x");
+            writer.flush();
+
+            verify(logger).error(contains("Failed to save kit file"));
+            assertThat(written).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Deleting")
+    class Deleting {
+
+        @Test
+        @DisplayName("deletes the kit file")
+        void deletesFile() throws Exception {
+            File target = new File(tempDir, "starter.yml");
+            Files.write(target.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+            writer.delete("starter", target);
+            writer.flush();
+
+            assertThat(target).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("a delete queued after a save wins")
+        void deleteAfterSave() throws Exception {
+            File target = new File(tempDir, "starter.yml");
+            CountDownLatch release = blockWriter();
+
+            writer.write("starter", target, "new");
+            writer.delete("starter", target);
+            release.countDown();
+            writer.flush();
+
+            assertThat(target).doesNotExist();
+        }
+    }
+}
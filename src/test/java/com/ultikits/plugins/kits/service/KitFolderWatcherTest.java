@@ -0,0 +1,140 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("KitFolderWatcher")
+class KitFolderWatcherTest {
+
+    @TempDir
+    File tempDir;
+
+    private final BlockingQueue<Set<String>> changes = new LinkedBlockingQueue<>();
+    private KitFolderWatcher watcher;
+
+    private KitFolderWatcher createWatcher(long debounceMillis) {
+        watcher = new KitFolderWatcher(tempDir.toPath(), debounceMillis, changes::add, mock(PluginLogger.class));
+        return watcher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Debounce")
+    class Debounce {
+
+        @Test
+        @DisplayName("events are held back until the debounce window passes")
+        void heldUntilQuiet() {
+            KitFolderWatcher watcher = createWatcher(500);
+            watcher.recordEvent("starter.yml", 1000);
+
+            assertThat(watcher.drainDue(1400)).isEmpty();
+            assertThat(watcher.drainDue(1500)).containsExactly("starter");
+        }
+
+        @Test
+        @DisplayName("a burst of events for one file is reported once")
+        void burstCoalesced() {
+            KitFolderWatcher watcher = createWatcher(500);
+            watcher.recordEvent("starter.yml", 1000);
+            watcher.recordEvent("starter.yml", 1300);
+            watcher.recordEvent("starter.yml", 1600);
+
+            assertThat(watcher.drainDue(1700)).isEmpty();
+            assertThat(watcher.drainDue(2100)).containsExactly("starter");
+            assertThat(watcher.drainDue(5000)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("files are debounced independently")
+        void perFileWindows() {
+            KitFolderWatcher watcher = createWatcher(500);
+            watcher.recordEvent("a.yml", 1000);
+            watcher.recordEvent("b.yml", 1400);
+
+            assertThat(watcher.drainDue(1500)).containsExactly("a");
+            assertThat(watcher.drainDue(1900)).containsExactly("b");
+        }
+
+        @Test
+        @DisplayName("non-kit files are ignored and names keep their case")
+        void filtersNames() {
+            KitFolderWatcher watcher = createWatcher(100);
+            watcher.recordEvent("notes.txt", 0);
+            watcher.recordEvent("starter.yml.swp", 0);
+            watcher.recordEvent("starter.items.tmp", 0);
+            watcher.recordEvent("VIP.yml", 0);
+
+            assertThat(watcher.drainDue(100)).containsExactly("VIP");
+        }
+
+        @Test
+        @DisplayName("an item file change reports its kit, once with the kit file")
+        void itemFiles() {
+            KitFolderWatcher watcher = createWatcher(100);
+            watcher.recordEvent("Starter.items", 0);
+            watcher.recordEvent("vip.items", 0);
+            watcher.recordEvent("vip.yml", 50);
+
+            assertThat(watcher.drainDue(100)).containsExactly("Starter");
+            assertThat(watcher.drainDue(150)).containsExactly("vip");
+        }
+
+        @Test
+        @DisplayName("next delay is the time to the earliest deadline")
+        void nextDelay() {
+            KitFolderWatcher watcher = createWatcher(500);
+            watcher.recordEvent("a.yml", 1000);
+            watcher.recordEvent("b.yml", 1200);
+
+            assertThat(watcher.nextDelay(1100)).isEqualTo(400);
+            assertThat(watcher.nextDelay(2000)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Watching")
+    class Watching {
+
+        @Test
+        @DisplayName("reports a written kit file after the debounce window")
+        void reportsWrittenFile() throws Exception {
+            createWatcher(100).start();
+
+            Files.write(new File(tempDir, "starter.yml").toPath(), "price: 1".getBytes(StandardCharsets.UTF_8));
+
+            Set<String> changed = changes.poll(30, TimeUnit.SECONDS);
+            assertThat(changed).containsExactly("starter");
+        }
+
+        @Test
+        @DisplayName("close stops the watcher without error")
+        void closeStops() throws Exception {
+            createWatcher(100).start();
+
+            watcher.close();
+            watcher = null;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.ultikits.plugins.kits.service;
+
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("KitItemCache")
+class KitItemCacheTest {
+
+    private KitItemCache cache;
+    private AtomicInteger loads;
+    private ItemStack[] template;
+
+    @BeforeEach
+    void setUp() {
+        cache = new KitItemCache(1000);
+        loads = new AtomicInteger();
+        template = new ItemStack[]{mock(ItemStack.class)};
+    }
+
+    private ItemStack[] load() {
+        loads.incrementAndGet();
+        return template;
+    }
+
+    @Nested
+    @DisplayName("Loading")
+    class Loading {
+
+        @Test
+        @DisplayName("loads a template once and then serves it from memory")
+        void loadsOnce() {
+            assertThat(cache.get("starter", 10, KitItemCacheTest.this::load)).isSameAs(template);
+            assertThat(cache.get("STARTER", 10, KitItemCacheTest.this::load)).isSameAs(template);
+            assertThat(loads.get()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("does not cache failed loads")
+        void doesNotCacheNull() {
+            assertThat(cache.get("broken", 10, () -> null)).isNull();
+            assertThat(cache.size()).isZero();
+            assertThat(cache.getWeight()).isZero();
+        }
+
+        @Test
+        @DisplayName("does not cache a load that throws")
+        void doesNotCacheException() {
+            assertThatThrownBy(() -> cache.get("broken", 10, () -> {
+                throw new IllegalStateException("boom");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(cache.get("broken", 10, KitItemCacheTest.this::load)).isSameAs(template);
+        }
+
+        @Test
+        @DisplayName("concurrent misses for one kit decode it once")
+        void concurrentMissesLoadOnce() throws Exception {
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<ItemStack[]> first = CompletableFuture.supplyAsync(() -> cache.get("starter", 10, () -> {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return load();
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            CompletableFuture<ItemStack[]> second = CompletableFuture.supplyAsync(
+                    () -> cache.get("starter", 10, KitItemCacheTest.this::load));
+
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(template);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(template);
+            assertThat(loads.get()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class Invalidation {
+
+        @Test
+        @DisplayName("invalidate forces the next get to reload")
+        void invalidateReloads() {
+            cache.get("starter", 10, KitItemCacheTest.this::load);
+            cache.invalidate("Starter");
+            cache.get("starter", 10, KitItemCacheTest.this::load);
+            assertThat(loads.get()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("invalidate releases the template's weight")
+        void invalidateReleasesWeight() {
+            cache.get("starter", 300, KitItemCacheTest.this::load);
+            cache.invalidate("starter");
+            assertThat(cache.getWeight()).isZero();
+        }
+
+        @Test
+        @DisplayName("a template invalidated while decoding is not cached")
+        void invalidatedDuringLoadNotCached() {
+            cache.get("starter", 10, () -> {
+                cache.invalidate("starter");
+                return load();
+            });
+
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("clear drops every template")
+        void clearDropsAll() {
+            cache.get("a", 10, KitItemCacheTest.this::load);
+            cache.get("b", 10, KitItemCacheTest.this::load);
+            cache.clear();
+            assertThat(cache.size()).isZero();
+            assertThat(cache.getWeight()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Weight limit")
+    class WeightLimit {
+
+        @Test
+        @DisplayName("evicts the least recently used templates over the limit")
+        void evictsLeastRecentlyUsed() {
+            cache.get("a", 400, KitItemCacheTest.this::load);
+            cache.get("b", 400, KitItemCacheTest.this::load);
+            cache.get("a", 400, KitItemCacheTest.this::load);
+            cache.get("c", 400, KitItemCacheTest.this::load);
+
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.getWeight()).isEqualTo(800);
+            assertThat(cache.getEvictions()).isEqualTo(1);
+
+            int before = loads.get();
+            cache.get("a", 400, KitItemCacheTest.this::load);
+            assertThat(loads.get()).isEqualTo(before);
+            cache.get("b", 400, KitItemCacheTest.this::load);
+            assertThat(loads.get()).isEqualTo(before + 1);
+        }
+
+        @Test
+        @DisplayName("templates heavier than the limit are served but not kept")
+        void oversizedNotKept() {
+            cache.get("huge", 5000, KitItemCacheTest.this::load);
+            cache.get("huge", 5000, KitItemCacheTest.this::load);
+
+            assertThat(loads.get()).isEqualTo(2);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Counters")
+    class Counters {
+
+        @Test
+        @DisplayName("counts hits and misses")
+        void countsHitsAndMisses() {
+            cache.get("a", 10, KitItemCacheTest.this::load);
+            cache.get("a", 10, KitItemCacheTest.this::load);
+            cache.get("a", 10, KitItemCacheTest.this::load);
+            cache.get("b", 10, KitItemCacheTest.this::load);
+
+            assertThat(cache.getHits()).isEqualTo(2);
+            assertThat(cache.getMisses()).isEqualTo(2);
+            assertThat(cache.getEvictions()).isZero();
+            assertThat(cache.getMaxWeight()).isEqualTo(1000);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.ultitools.interfaces.DataOperator;
+import com.ultikits.ultitools.interfaces.Query;
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.junit.jupiter.api.*;
+import org.mockito.InOrder;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KitMailbox")
+class KitMailboxTest {
+
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private DataOperator<KitMailboxData> mailboxOperator;
+    private Query<KitMailboxData> query;
+    private PluginLogger logger;
+    private KitMailbox mailbox;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mailboxOperator = mock(DataOperator.class);
+        query = mock(Query.class);
+        logger = mock(PluginLogger.class);
+        when(mailboxOperator.query()).thenReturn(query);
+        when(query.where(anyString())).thenReturn(query);
+        when(query.eq(any())).thenReturn(query);
+        when(query.list()).thenReturn(Collections.emptyList());
+        mailbox = new KitMailbox(mailboxOperator, logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailbox.shutdown();
+    }
+
+    private KitMailboxData entry(String kitName, long createdAt) {
+        return KitMailboxData.builder()
+                .uuid(UUID.randomUUID().toString())
+                .playerUuid(PLAYER.toString())
+                .kitName(kitName)
+                .items("payload")
+                .createdAt(createdAt)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Loading")
+    class Loading {
+
+        @Test
+        @DisplayName("nothing is queried until a mailbox is loaded")
+        void lazy() {
+            verifyNoInteractions(mailboxOperator);
+        }
+
+        @Test
+        @DisplayName("loads the player's entries oldest first")
+        void loadsSorted() {
+            KitMailboxData newer = entry("vip", 2000L);
+            KitMailboxData older = entry("starter", 1000L);
+            when(query.list()).thenReturn(Arrays.asList(newer, older));
+
+            List<KitMailboxData> entries = mailbox.load(PLAYER).join();
+
+            assertThat(entries).containsExactly(older, newer);
+            verify(query).eq(PLAYER.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Writing")
+    class Writing {
+
+        @Test
+        @DisplayName("store and remove are written in order")
+        void writesInOrder() throws Exception {
+            KitMailboxData data = entry("starter", 1000L);
+
+            CompletableFuture<Void> stored = mailbox.store(data);
+            CompletableFuture<Void> removed = mailbox.remove(data);
+            mailbox.flush();
+
+            assertThat(stored).isCompleted();
+            assertThat(removed).isCompleted();
+            InOrder order = inOrder(mailboxOperator);
+            order.verify(mailboxOperator).insert(data);
+            order.verify(mailboxOperator).delById(data.getUuid());
+        }
+
+        @Test
+        @DisplayName("a load after a write sees the write")
+        void loadAfterWrite() {
+            KitMailboxData data = entry("starter", 1000L);
+
+            mailbox.store(data);
+            mailbox.load(PLAYER).join();
+
+            InOrder order = inOrder(mailboxOperator);
+            order.verify(mailboxOperator).insert(data);
+            order.verify(mailboxOperator).query();
+        }
+
+        @Test
+        @DisplayName("failed insert is logged and kept for a retry")
+        void failedInsertKept() {
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).insert(any());
+
+            CompletableFuture<Void> stored = mailbox.store(entry("starter", 1000L));
+            mailbox.flush();
+
+            verify(logger).error(contains("Failed to store kit mailbox items, will retry"));
+            assertThat(stored).isNotDone();
+            assertThat(mailbox.pendingStores()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("shutdown makes a last attempt at entries waiting for a retry")
+        void shutdownRetries() {
+            KitMailboxData data = entry("starter", 1000L);
+            doThrow(new IllegalStateException("db")).doAnswer(inv -> null).when(mailboxOperator).insert(any());
+
+            CompletableFuture<Void> stored = mailbox.store(data);
+            mailbox.flush();
+            mailbox.shutdown();
+
+            assertThat(stored).isCompleted();
+            verify(mailboxOperator, times(2)).insert(data);
+        }
+
+        @Test
+        @DisplayName("an entry that cannot be stored by shutdown fails its future")
+        void shutdownFailsUnstored() {
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).insert(any());
+
+            CompletableFuture<Void> stored = mailbox.store(entry("starter", 1000L));
+            mailbox.shutdown();
+
+            assertThat(stored).isCompletedExceptionally();
+        }
+
+        @Test
+        @DisplayName("removing an entry that waits for a retry drops the retry")
+        void removeCancelsRetry() {
+            KitMailboxData data = entry("starter", 1000L);
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).insert(any());
+
+            CompletableFuture<Void> stored = mailbox.store(data);
+            mailbox.remove(data).join();
+            mailbox.shutdown();
+
+            assertThat(stored).isCompleted();
+            assertThat(mailbox.pendingStores()).isZero();
+            verify(mailboxOperator, times(1)).insert(data);
+            verify(mailboxOperator, never()).delById(anyString());
+        }
+
+        @Test
+        @DisplayName("a failed removal fails its future")
+        void failedRemoval() {
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).delById(anyString());
+
+            CompletableFuture<Void> removed = mailbox.remove(entry("starter", 1000L));
+            mailbox.flush();
+
+            assertThat(removed).isCompletedExceptionally();
+            verify(logger).error(contains("Failed to remove kit mailbox entry"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Statistics")
+    class Statistics {
+
+        @Test
+        @DisplayName("queries and writes are counted with their failures")
+        void countsOperations() {
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).delById(anyString());
+            KitMailboxData data = entry("starter", 1000L);
+
+            mailbox.store(data);
+            mailbox.remove(data);
+            mailbox.load(PLAYER).join();
+
+            assertThat(mailbox.getQueries().getCount()).isEqualTo(1);
+            assertThat(mailbox.getQueries().getFailures()).isZero();
+            assertThat(mailbox.getWrites().getCount()).isEqualTo(2);
+            assertThat(mailbox.getWrites().getFailures()).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.ultikits.plugins.kits.service;
+
+import com.ultikits.ultitools.interfaces.impl.logger.PluginLogger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@DisplayName("KitMetricsExporter")
+class KitMetricsExporterTest {
+
+    private static final String METRICS = "# HELP ultikits_kits Loaded kits\n# TYPE ultikits_kits gauge\nultikits_kits 2\n";
+
+    @TempDir
+    File tempDir;
+
+    private PluginLogger logger;
+    private AtomicInteger scrapes;
+    private AtomicBoolean failing;
+    private KitMetricsExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        logger = mock(PluginLogger.class);
+        scrapes = new AtomicInteger();
+        failing = new AtomicBoolean();
+        exporter = new KitMetricsExporter(() -> {
+            scrapes.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("boom");
+            }
+            return METRICS;
+        }, logger);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.close();
+    }
+
+    private HttpURLConnection request(String method) throws IOException {
+        URL url = new URL("http://127.0.0.1:" + exporter.getPort() + "/metrics");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(5000);
+        return connection;
+    }
+
+    private static String read(InputStream stream) throws IOException {
+        try (InputStream in = stream) {
+            byte[] buffer = new byte[4096];
+            StringBuilder text = new StringBuilder();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                text.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+            return text.toString();
+        }
+    }
+
+    @Nested
+    @DisplayName("HTTP")
+    class Http {
+
+        @BeforeEach
+        void setUp() throws IOException {
+            exporter.startHttp("127.0.0.1", 0);
+        }
+
+        @Test
+        @DisplayName("GET /metrics returns the scraped text")
+        void get() throws IOException {
+            HttpURLConnection connection = request("GET");
+
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+            assertThat(connection.getContentType()).isEqualTo(KitMetricsExporter.CONTENT_TYPE);
+            assertThat(read(connection.getInputStream())).isEqualTo(METRICS);
+        }
+
+        @Test
+        @DisplayName("HEAD returns the headers without scraping a body")
+        void head() throws IOException {
+            HttpURLConnection connection = request("HEAD");
+
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+            assertThat(connection.getContentType()).isEqualTo(KitMetricsExporter.CONTENT_TYPE);
+        }
+
+        @Test
+        @DisplayName("other methods are refused")
+        void otherMethods() throws IOException {
+            HttpURLConnection connection = request("DELETE");
+
+            assertThat(connection.getResponseCode()).isEqualTo(405);
+            assertThat(connection.getHeaderField("Allow")).isEqualTo("GET, HEAD");
+            assertThat(scrapes.get()).isZero();
+        }
+
+        @Test
+        @DisplayName("a failed scrape returns 500 and later requests still work")
+        void scrapeFailure() throws IOException {
+            failing.set(true);
+            assertThat(request("GET").getResponseCode()).isEqualTo(500);
+            verify(logger).warn(startsWith("Failed to render kit metrics: "));
+
+            failing.set(false);
+            HttpURLConnection connection = request("GET");
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+            assertThat(read(connection.getInputStream())).isEqualTo(METRICS);
+        }
+
+        @Test
+        @DisplayName("close stops the listener")
+        void close() {
+            assertThat(exporter.getPort()).isPositive();
+
+            exporter.close();
+
+            assertThat(exporter.getPort()).isEqualTo(-1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Textfile")
+    class Textfile {
+
+        @Test
+        @DisplayName("writes the metrics and leaves no temporary file")
+        void writes() throws IOException {
+            File file = new File(tempDir, "collector/ultikits.prom");
+
+            exporter.writeTextfile(file);
+
+            assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).isEqualTo(METRICS);
+            assertThat(new File(file.getParentFile(), "ultikits.prom.tmp")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("replaces an existing file")
+        void replaces() throws IOException {
+            File file = new File(tempDir, "ultikits.prom");
+            Files.write(file.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+            exporter.writeTextfile(file);
+
+            assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)).isEqualTo(METRICS);
+        }
+
+        @Test
+        @DisplayName("a scheduled export writes right away")
+        void scheduled() throws InterruptedException {
+            File file = new File(tempDir, "ultikits.prom");
+
+            exporter.startTextfile(file, 60);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!file.exists() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(file).exists();
+        }
+
+        @Test
+        @DisplayName("a failed write is logged")
+        void failureLogged() throws IOException {
+            File blocker = new File(tempDir, "blocker");
+            Files.write(blocker.toPath(), new byte[0]);
+
+            exporter.writeTextfile(new File(blocker, "ultikits.prom"));
+
+            verify(logger).warn(startsWith("Failed to write kit metrics file: "));
+        }
+    }
+}
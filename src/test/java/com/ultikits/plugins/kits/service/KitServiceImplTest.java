@@ -1,7 +1,14 @@
 package com.ultikits.plugins.kits.service;
 
+import com.ultikits.plugins.kits.codec.ItemCodec;
+import com.ultikits.plugins.kits.config.KitsConfig;
 import com.ultikits.plugins.kits.entity.KitClaimData;
+import com.ultikits.plugins.kits.entity.KitMailboxData;
+import com.ultikits.plugins.kits.model.ClaimStats;
 import com.ultikits.plugins.kits.model.KitDefinition;
+import com.ultikits.plugins.kits.model.KitFit;
+import com.ultikits.plugins.kits.model.KitStatus;
+import com.ultikits.plugins.kits.model.ReloadResult;
 import com.ultikits.ultitools.abstracts.UltiToolsPlugin;
 import com.ultikits.ultitools.interfaces.DataOperator;
 import com.ultikits.ultitools.interfaces.Query;
@@ -10,7 +17,10 @@ import com.ultikits.ultitools.utils.EconomyUtils;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
@@ -25,7 +35,17 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -134,14 +154,15 @@ class KitServiceImplTest {
     }
 
     /**
-     * Inject a KitDefinition into the service's internal kits map via reflection.
+     * Inject a KitDefinition into the service's registry snapshot via reflection.
      */
     private void injectKit(KitServiceImpl svc, KitDefinition kit) throws Exception {
         Field kitsField = KitServiceImpl.class.getDeclaredField("kits");
         kitsField.setAccessible(true); // NOPMD
         @SuppressWarnings("unchecked")
-        Map<String, KitDefinition> kitsMap = (Map<String, KitDefinition>) kitsField.get(svc);
+        Map<String, KitDefinition> kitsMap = new LinkedHashMap<>((Map<String, KitDefinition>) kitsField.get(svc));
         kitsMap.put(kit.getName().toLowerCase(), kit);
+        kitsField.set(svc, Collections.unmodifiableMap(kitsMap));
     }
 
     /**
@@ -631,6 +652,610 @@ class KitServiceImplTest {
         }
     }
 
+    // =========================================================================
+    // Async Reload Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Async Reload Tests")
+    class AsyncReloadTests {
+
+        @Test
+        @DisplayName("reloadAsync completes with the number of loaded kits")
+        void reloadAsyncReportsCount() throws Exception {
+            createSimpleKitFile("alpha");
+            service = createService();
+            service.setMainThreadExecutor(Runnable::run);
+            createSimpleKitFile("beta");
+            createSimpleKitFile("gamma");
+
+            ReloadResult result = service.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(result.getTotal()).isEqualTo(3);
+            assertThat(result.getAdded()).isEqualTo(2);
+            assertThat(result.getUnchanged()).isEqualTo(1);
+            assertThat(service.getKitNames()).containsExactlyInAnyOrder("alpha", "beta", "gamma");
+        }
+
+        @Test
+        @DisplayName("reloadAsync parses files on loader threads")
+        void reloadAsyncParsesOffThread() throws Exception {
+            createSimpleKitFile("alpha");
+            service = createService();
+            createSimpleKitFile("beta");
+            KitServiceImpl spyService = spy(service);
+            spyService.setMainThreadExecutor(Runnable::run);
+            Set<String> threads = ConcurrentHashMap.newKeySet();
+            doAnswer(inv -> {
+                threads.add(Thread.currentThread().getName());
+                return inv.callRealMethod();
+            }).when(spyService).parseKitFile(any(File.class));
+
+            spyService.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("UltiKits-Loader"));
+        }
+
+        @Test
+        @DisplayName("a failing file does not prevent the others from loading")
+        void failingFileIsIsolated() throws Exception {
+            createSimpleKitFile("good");
+            service = createService();
+            createSimpleKitFile("bad");
+            KitServiceImpl spyService = spy(service);
+            spyService.setMainThreadExecutor(Runnable::run);
+            doThrow(new IllegalStateException("corrupt")).when(spyService)
+                    .parseKitFile(argThat(file -> file.getName().equals("bad.yml")));
+
+            ReloadResult result = spyService.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(result.getTotal()).isEqualTo(1);
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(spyService.getKit("good")).isNotNull();
+            assertThat(spyService.getKit("bad")).isNull();
+            verify(mockLogger).warn(contains("bad.yml"));
+        }
+
+        @Test
+        @DisplayName("a kit whose file is rewritten with invalid YAML keeps its definition")
+        void brokenRewriteKeepsKit() throws Exception {
+            File alphaFile = createSimpleKitFile("alpha");
+            service = createService();
+            service.setMainThreadExecutor(Runnable::run);
+            KitDefinition alpha = service.getKit("alpha");
+            try (FileWriter writer = new FileWriter(alphaFile)) {
+                writer.write("displayName: [unclosed\n  icon: {{\n");
+            }
+
+            ReloadResult result = service.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getRemoved()).isZero();
+            assertThat(result.getTotal()).isEqualTo(1);
+            assertThat(service.getKit("alpha")).isSameAs(alpha);
+
+            createKitFile("alpha", "&aFixed", "CHEST", 0, 0, "", false, 0);
+            service.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(service.getKit("alpha").getDisplayName()).isEqualTo("&aFixed");
+        }
+
+        @Test
+        @DisplayName("registry is published before the count is reported on the main thread")
+        void publishedBeforeMainThreadCallback() throws Exception {
+            createSimpleKitFile("alpha");
+            service = createService();
+            BlockingQueue<Runnable> mainThread = new LinkedBlockingQueue<>();
+            service.setMainThreadExecutor(mainThread::add);
+            new File(tempDir, "kits/alpha.yml").delete();
+            createSimpleKitFile("beta");
+
+            CompletableFuture<ReloadResult> reload = service.reloadAsync();
+            Runnable completion = mainThread.poll(5, TimeUnit.SECONDS);
+
+            assertThat(completion).isNotNull();
+            assertThat(service.getKitNames()).containsExactly("beta");
+            assertThat(reload).isNotDone();
+            completion.run();
+            assertThat(reload).isCompleted();
+            assertThat(reload.join().getTotal()).isEqualTo(1);
+            assertThat(reload.join().getRemoved()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("kits deleted or reloaded while a reload runs are not brought back by it")
+        void changesDuringReloadSurvive() throws Exception {
+            createSimpleKitFile("alpha");
+            File gammaFile = createSimpleKitFile("gamma");
+            service = createService();
+            createSimpleKitFile("beta");
+            KitServiceImpl spyService = spy(service);
+            spyService.setMainThreadExecutor(Runnable::run);
+            CountDownLatch parsing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            doAnswer(inv -> {
+                parsing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return inv.callRealMethod();
+            }).when(spyService).parseKitFile(argThat(file -> file.getName().equals("beta.yml")));
+
+            CompletableFuture<ReloadResult> reload = spyService.reloadAsync();
+            assertThat(parsing.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(spyService.deleteKit("alpha")).isTrue();
+            assertThat(gammaFile.delete()).isTrue();
+            spyService.reloadKitFiles(Collections.singletonList("gamma"));
+            release.countDown();
+            reload.get(5, TimeUnit.SECONDS);
+
+            assertThat(spyService.getKitNames()).containsExactly("beta");
+        }
+
+        @Test
+        @DisplayName("loadKits parses in parallel and loads a large kit set")
+        void loadsManyKits() throws Exception {
+            for (int i = 0; i < 200; i++) {
+                createSimpleKitFile("kit" + i);
+            }
+
+            service = createService();
+
+            assertThat(service.getAllKits()).hasSize(200);
+        }
+    }
+
+    // =========================================================================
+    // Incremental Reload Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Incremental Reload Tests")
+    class IncrementalReloadTests {
+
+        @Test
+        @DisplayName("unchanged files keep their definition instance and are not reparsed")
+        void unchangedFilesKept() throws Exception {
+            createSimpleKitFile("alpha");
+            createSimpleKitFile("beta");
+            service = createService();
+            KitDefinition alpha = service.getKit("alpha");
+            KitServiceImpl spyService = spy(service);
+            spyService.setMainThreadExecutor(Runnable::run);
+
+            ReloadResult result = spyService.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(spyService.getKit("alpha")).isSameAs(alpha);
+            assertThat(result.getUnchanged()).isEqualTo(2);
+            assertThat(result.getAdded()).isZero();
+            assertThat(result.getChanged()).isZero();
+            assertThat(result.getRemoved()).isZero();
+            verify(spyService, never()).parseKitFile(any(File.class));
+        }
+
+        @Test
+        @DisplayName("changed files are reparsed and counted")
+        void changedFilesReparsed() throws Exception {
+            createKitFile("alpha", "&aOld", "CHEST", 0, 0, "", false, 0);
+            service = createService();
+            KitDefinition before = service.getKit("alpha");
+            createKitFile("alpha", "&aNew", "CHEST", 0, 0, "", false, 0);
+            service.setMainThreadExecutor(Runnable::run);
+
+            ReloadResult result = service.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(result.getChanged()).isEqualTo(1);
+            assertThat(service.getKit("alpha")).isNotSameAs(before);
+            assertThat(service.getKit("alpha").getDisplayName()).isEqualTo("&aNew");
+        }
+
+        @Test
+        @DisplayName("reports added, changed and removed counts together")
+        void reportsAllCounts() throws Exception {
+            createKitFile("keep", "&aKeep", "CHEST", 0, 0, "", false, 0);
+            createKitFile("edit", "&aEdit", "CHEST", 0, 0, "", false, 0);
+            File gone = createSimpleKitFile("gone");
+            service = createService();
+            createKitFile("edit", "&aEdited", "CHEST", 0, 0, "", false, 0);
+            gone.delete();
+            createSimpleKitFile("fresh");
+            service.setMainThreadExecutor(Runnable::run);
+
+            ReloadResult result = service.reloadAsync().get(5, TimeUnit.SECONDS);
+
+            assertThat(result.getAdded()).isEqualTo(1);
+            assertThat(result.getChanged()).isEqualTo(1);
+            assertThat(result.getRemoved()).isEqualTo(1);
+            assertThat(result.getUnchanged()).isEqualTo(1);
+            assertThat(result.getTotal()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("unchanged kits keep their decoded items across reload")
+        void unchangedKitsKeepItemCache() throws Exception {
+            createSimpleKitFile("alpha");
+            service = createService();
+            KitServiceImpl spyService = spy(service);
+            doReturn(new ItemStack[]{mock(ItemStack.class)}).when(spyService).deserializeItems("someBase64Data");
+            KitDefinition alpha = spyService.getKit("alpha");
+
+            spyService.getKitItems(alpha);
+            spyService.reload();
+            spyService.getKitItems(spyService.getKit("alpha"));
+
+            verify(spyService, times(1)).deserializeItems("someBase64Data");
+        }
+
+        @Test
+        @DisplayName("changed kits drop their decoded items")
+        void changedKitsDropItemCache() throws Exception {
+            createKitFile("alpha", "&aOld", "CHEST", 0, 0, "", false, 0);
+            service = createService();
+            KitServiceImpl spyService = spy(service);
+            doReturn(new ItemStack[]{mock(ItemStack.class)}).when(spyService).deserializeItems("someBase64Data");
+
+            spyService.getKitItems(spyService.getKit("alpha"));
+            createKitFile("alpha", "&aNew", "CHEST", 0, 0, "", false, 0);
+            spyService.reload();
+            spyService.getKitItems(spyService.getKit("alpha"));
+
+            verify(spyService, times(2)).deserializeItems("someBase64Data");
+        }
+
+        @Test
+        @DisplayName("files written by the plugin are not reparsed on the next reload")
+        void savedFilesNotReparsed() throws Exception {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            KitDefinition kit = createTestKit("saved");
+            service.saveKitToFile("saved", kit);
+            injectKit(service, kit);
+            KitServiceImpl spyService = spy(service);
+
+            spyService.reload();
+
+            assertThat(spyService.getKit("saved")).isSameAs(kit);
+            verify(spyService, never()).parseKitFile(any(File.class));
+        }
+
+        @Test
+        @DisplayName("loadKits reparses every file")
+        void loadKitsIsFull() throws Exception {
+            createSimpleKitFile("alpha");
+            service = createService();
+            KitServiceImpl spyService = spy(service);
+
+            spyService.loadKits();
+
+            verify(spyService, times(1)).parseKitFile(any(File.class));
+        }
+    }
+
+    // =========================================================================
+    // Item File Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Item File Tests")
+    class ItemFileTests {
+
+        private String payload(int slots) throws IOException {
+            return ItemCodec.encode(new ItemStack[slots]);
+        }
+
+        private File itemFile(String name) {
+            return new File(tempDir, "kits/" + name + ".items");
+        }
+
+        @Test
+        @DisplayName("inline item payloads are moved to an item file on load")
+        void migratesInlinePayload() throws Exception {
+            File kitFile = createKitFileWithItems("legacy", payload(2));
+            service = createService();
+            service.flushKitFiles();
+
+            KitDefinition kit = service.getKit("legacy");
+            assertThat(kit.hasInlineItems()).isFalse();
+            assertThat(kit.getItemDataSize()).isEqualTo(itemFile("legacy").length()).isPositive();
+            assertThat(YamlConfiguration.loadConfiguration(kitFile).contains("items")).isFalse();
+            assertThat(service.getKitItems(kit)).hasSize(2).containsOnlyNulls();
+            verify(mockLogger).info(contains("legacy"));
+        }
+
+        @Test
+        @DisplayName("unrecognised inline values stay in the YAML")
+        void keepsUnrecognisedInlineValues() throws Exception {
+            File kitFile = createKitFileWithItems("odd", "testdata");
+            service = createService();
+            service.flushKitFiles();
+
+            assertThat(service.getKit("odd").getItems()).isEqualTo("testdata");
+            assertThat(itemFile("odd")).doesNotExist();
+            assertThat(YamlConfiguration.loadConfiguration(kitFile).getString("items")).isEqualTo("testdata");
+        }
+
+        @Test
+        @DisplayName("kits read their items from the item file lazily")
+        void readsItemFile() throws Exception {
+            createKitFileWithItems("sidecar", "");
+            Files.write(itemFile("sidecar").toPath(), ItemCodec.toBytes(payload(3)));
+            service = createService();
+            KitServiceImpl spyService = spy(service);
+
+            KitDefinition kit = spyService.getKit("sidecar");
+            assertThat(kit.hasItems()).isTrue();
+            assertThat(spyService.getKitItems(kit)).hasSize(3);
+            verify(spyService, never()).deserializeItems(anyString());
+        }
+
+        @Test
+        @DisplayName("saveKitItems writes the item file and no inline payload")
+        void saveWritesItemFile() throws Exception {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            KitDefinition kit = createTestKit("saved");
+            injectKit(service, kit);
+
+            assertThat(service.saveKitItems("saved", new ItemStack[0])).isTrue();
+
+            KitDefinition saved = service.getKit("saved");
+            assertThat(saved.hasInlineItems()).isFalse();
+            assertThat(service.getKitItems(saved)).isEmpty();
+            service.flushKitFiles();
+            assertThat(itemFile("saved")).exists();
+            assertThat(YamlConfiguration.loadConfiguration(new File(tempDir, "kits/saved.yml"))
+                    .contains("items")).isFalse();
+        }
+
+        @Test
+        @DisplayName("deleteKit removes the item file")
+        void deleteRemovesItemFile() throws Exception {
+            createKitFileWithItems("doomed", payload(1));
+            service = createService();
+            service.flushKitFiles();
+            assertThat(itemFile("doomed")).exists();
+
+            service.deleteKit("doomed");
+            service.flushKitFiles();
+
+            assertThat(itemFile("doomed")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("a replaced item file makes the kit reload")
+        void replacedItemFileReloads() throws Exception {
+            createKitFileWithItems("swap", "");
+            Files.write(itemFile("swap").toPath(), ItemCodec.toBytes(payload(1)));
+            service = createService();
+            KitDefinition before = service.getKit("swap");
+
+            Files.write(itemFile("swap").toPath(), ItemCodec.toBytes(payload(40)));
+            service.reload();
+
+            assertThat(service.getKit("swap")).isNotSameAs(before);
+            assertThat(service.getKitItems(service.getKit("swap"))).hasSize(40);
+        }
+    }
+
+    // =========================================================================
+    // Folder Watch Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Folder Watch Tests")
+    class FolderWatchTests {
+
+        @Test
+        @DisplayName("reloadKitFiles applies only the named kits")
+        void appliesOnlyNamedKits() throws Exception {
+            createKitFile("alpha", "&aOld", "CHEST", 0, 0, "", false, 0);
+            createKitFile("beta", "&bOld", "CHEST", 0, 0, "", false, 0);
+            service = createService();
+            KitDefinition beta = service.getKit("beta");
+            createKitFile("alpha", "&aNew", "CHEST", 0, 0, "", false, 0);
+            createKitFile("beta", "&bNew", "CHEST", 0, 0, "", false, 0);
+
+            ReloadResult result = service.reloadKitFiles(Collections.singleton("alpha"));
+
+            assertThat(result.getChanged()).isEqualTo(1);
+            assertThat(service.getKit("alpha").getDisplayName()).isEqualTo("&aNew");
+            assertThat(service.getKit("beta")).isSameAs(beta);
+        }
+
+        @Test
+        @DisplayName("reloadKitFiles adds new and removes deleted kits")
+        void addsAndRemoves() throws Exception {
+            File gone = createSimpleKitFile("gone");
+            service = createService();
+            gone.delete();
+            createSimpleKitFile("fresh");
+
+            ReloadResult result = service.reloadKitFiles(Arrays.asList("gone", "fresh"));
+
+            assertThat(result.getAdded()).isEqualTo(1);
+            assertThat(result.getRemoved()).isEqualTo(1);
+            assertThat(service.getKit("gone")).isNull();
+            assertThat(service.getKit("fresh")).isNotNull();
+        }
+
+        @Test
+        @DisplayName("reloadKitFiles keeps a kit whose file no longer parses")
+        void brokenRewriteKeepsKit() throws Exception {
+            File alphaFile = createSimpleKitFile("alpha");
+            service = createService();
+            KitDefinition alpha = service.getKit("alpha");
+            try (FileWriter writer = new FileWriter(alphaFile)) {
+                writer.write("displayName: [unclosed\n  icon: {{\n");
+            }
+
+            ReloadResult result = service.reloadKitFiles(Collections.singleton("alpha"));
+
+            assertThat(result.getFailed()).isEqualTo(1);
+            assertThat(result.getRemoved()).isZero();
+            assertThat(service.getKit("alpha")).isSameAs(alpha);
+
+            createKitFile("alpha", "&aFixed", "CHEST", 0, 0, "", false, 0);
+            ReloadResult fixed = service.reloadKitFiles(Collections.singleton("alpha"));
+
+            assertThat(fixed.getChanged()).isEqualTo(1);
+            assertThat(service.getKit("alpha").getDisplayName()).isEqualTo("&aFixed");
+        }
+
+        @Test
+        @DisplayName("reloadKitFiles finds mixed-case kit files")
+        void mixedCaseFileName() throws Exception {
+            createKitFile("Starter", "&aOld", "CHEST", 0, 0, "", false, 0);
+            service = createService();
+            createKitFile("Starter", "&aNew", "CHEST", 0, 0, "", false, 0);
+
+            ReloadResult first = service.reloadKitFiles(Collections.singleton("Starter"));
+            ReloadResult second = service.reloadKitFiles(Collections.singleton("starter"));
+
+            assertThat(first.getChanged()).isEqualTo(1);
+            assertThat(first.getRemoved()).isZero();
+            assertThat(second.getRemoved()).isZero();
+            assertThat(service.getKit("starter").getDisplayName()).isEqualTo("&aNew");
+        }
+
+        @Test
+        @DisplayName("reloadKitFiles reloads a kit whose items were replaced by a payload of the same size")
+        void sameSizeItemFile() throws Exception {
+            createKitFileWithItems("swap", "");
+            File itemFile = new File(tempDir, "kits/swap.items");
+            byte[] items = ItemCodec.toBytes(ItemCodec.encode(new ItemStack[2]));
+            Files.write(itemFile.toPath(), items);
+            service = createService();
+            KitDefinition before = service.getKit("swap");
+
+            byte[] replaced = items.clone();
+            replaced[replaced.length - 1] ^= 1;
+            Files.write(itemFile.toPath(), replaced);
+            ReloadResult result = service.reloadKitFiles(Collections.singleton("swap"));
+
+            assertThat(result.getChanged()).isEqualTo(1);
+            assertThat(service.getKit("swap")).isNotSameAs(before);
+        }
+
+        @Test
+        @DisplayName("reloadKitFiles ignores touched files with unchanged content")
+        void ignoresTouchedFiles() throws Exception {
+            createSimpleKitFile("alpha");
+            service = createService();
+            KitDefinition alpha = service.getKit("alpha");
+            new File(tempDir, "kits/alpha.yml").setLastModified(System.currentTimeMillis() + 5000);
+
+            ReloadResult result = service.reloadKitFiles(Collections.singleton("alpha"));
+
+            assertThat(result.getChanged()).isZero();
+            assertThat(service.getKit("alpha")).isSameAs(alpha);
+        }
+
+        @Test
+        @DisplayName("watcher is not started by default")
+        void notStartedByDefault() throws Exception {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+
+            Field watcherField = KitServiceImpl.class.getDeclaredField("folderWatcher");
+            watcherField.setAccessible(true); // NOPMD
+            assertThat(watcherField.get(service)).isNull();
+        }
+
+        @Test
+        @DisplayName("enabled watcher hot reloads edited kit files")
+        void watcherHotReloads() throws Exception {
+            KitsConfig config = new KitsConfig("config/config.yml");
+            config.setWatchKitsFolder(true);
+            config.setWatchDebounceMs(100);
+            when(plugin.getConfig(KitsConfig.class)).thenReturn(config);
+            createKitFile("alpha", "&aOld", "CHEST", 0, 0, "", false, 0);
+            service = createService();
+            try {
+                createKitFile("alpha", "&aNew", "CHEST", 0, 0, "", false, 0);
+
+                long deadline = System.currentTimeMillis() + 30_000;
+                while (!"&aNew".equals(service.getKit("alpha").getDisplayName())
+                        && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(50);
+                }
+
+                assertThat(service.getKit("alpha").getDisplayName()).isEqualTo("&aNew");
+            } finally {
+                service.shutdown();
+            }
+        }
+    }
+
+    // =========================================================================
+    // Registry Snapshot Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Registry Snapshot Tests")
+    class RegistrySnapshotTests {
+
+        @Test
+        @DisplayName("reload leaves previously returned collections untouched")
+        void reloadDoesNotMutateOldSnapshot() throws IOException {
+            createSimpleKitFile("alpha");
+            createSimpleKitFile("beta");
+            service = createService();
+            Collection<KitDefinition> before = service.getAllKits();
+
+            new File(tempDir, "kits/beta.yml").delete();
+            service.reload();
+
+            assertThat(before).hasSize(2);
+            assertThat(service.getAllKits()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("definitions resolved before loadKits stay usable")
+        void resolvedKitSurvivesReload() throws IOException {
+            createSimpleKitFile("alpha");
+            service = createService();
+            KitDefinition resolved = service.getKit("alpha");
+
+            service.loadKits();
+
+            assertThat(resolved).isNotNull();
+            assertThat(resolved.getName()).isEqualTo("alpha");
+            assertThat(service.getKit("alpha")).isNotSameAs(resolved);
+        }
+
+        @Test
+        @DisplayName("deleteKit publishes a new snapshot")
+        void deletePublishesNewSnapshot() throws Exception {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            injectKit(service, createTestKit("gone"));
+            Collection<KitDefinition> before = service.getAllKits();
+
+            service.deleteKit("gone");
+
+            assertThat(before).hasSize(1);
+            assertThat(service.getAllKits()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("concurrent readers never see a partially loaded registry")
+        void readersSeeCompleteRegistry() throws Exception {
+            for (int i = 0; i < 20; i++) {
+                createSimpleKitFile("kit" + i);
+            }
+            service = createService();
+
+            CountDownLatch done = new CountDownLatch(1);
+            CompletableFuture<Set<Integer>> reader = CompletableFuture.supplyAsync(() -> {
+                Set<Integer> sizes = new HashSet<>();
+                while (done.getCount() > 0) {
+                    sizes.add(service.getAllKits().size());
+                    sizes.add(service.getKitNames().size());
+                }
+                return sizes;
+            });
+            for (int i = 0; i < 20; i++) {
+                service.reload();
+            }
+            done.countDown();
+
+            assertThat(reader.get(5, TimeUnit.SECONDS)).containsOnly(20);
+        }
+    }
+
     // =========================================================================
     // Create Tests
     // =========================================================================
@@ -767,6 +1392,7 @@ class KitServiceImplTest {
 
             assertThat(result).isTrue();
             assertThat(service.getKit("todelete")).isNull();
+            service.flushKitFiles();
             assertThat(kitFile).doesNotExist();
         }
 
@@ -862,6 +1488,25 @@ class KitServiceImplTest {
             assertThat(result).isEqualTo(KitService.ClaimResult.NOT_FOUND);
         }
 
+        @Test
+        @DisplayName("claimKit returns ERROR without querying while the claim records are not loaded")
+        void claimBeforeRecordsLoaded() throws Exception {
+            KitDefinition kit = createTestKit("early");
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+            AtomicReference<Thread> queried = new AtomicReference<>();
+            when(mockQuery.list()).thenAnswer(inv -> {
+                queried.set(Thread.currentThread());
+                return Collections.emptyList();
+            });
+
+            assertThat(service.claimKit(player, "early")).isEqualTo(KitService.ClaimResult.ERROR);
+
+            service.flushClaimData();
+            assertThat(queried.get()).isNotNull().isNotSameAs(Thread.currentThread());
+            verify(inventory, never()).addItem(any(ItemStack.class));
+        }
+
         @Test
         @DisplayName("claimKit returns NO_PERMISSION when player lacks permission")
         void claimNoPermission() throws Exception {
@@ -871,6 +1516,7 @@ class KitServiceImplTest {
 
             when(player.hasPermission("kit.vip")).thenReturn(false);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "vip");
             assertThat(result).isEqualTo(KitService.ClaimResult.NO_PERMISSION);
         }
@@ -885,6 +1531,7 @@ class KitServiceImplTest {
 
             when(player.hasPermission("kit.vip")).thenReturn(true);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "vipok");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -898,6 +1545,7 @@ class KitServiceImplTest {
 
             when(player.getLevel()).thenReturn(5);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "highlevel");
             assertThat(result).isEqualTo(KitService.ClaimResult.INSUFFICIENT_LEVEL);
         }
@@ -912,6 +1560,7 @@ class KitServiceImplTest {
 
             when(player.getLevel()).thenReturn(10);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "exactlevel");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -926,6 +1575,7 @@ class KitServiceImplTest {
 
             when(player.getLevel()).thenReturn(0);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "nolevel");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -940,6 +1590,7 @@ class KitServiceImplTest {
             Economy mockEconomy = setupMockEconomy();
             when(mockEconomy.has(eq(player), eq(500.0))).thenReturn(false);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "expensive");
             assertThat(result).isEqualTo(KitService.ClaimResult.INSUFFICIENT_FUNDS);
         }
@@ -952,6 +1603,7 @@ class KitServiceImplTest {
             kit.setItems("");
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "freebie");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -964,6 +1616,7 @@ class KitServiceImplTest {
             kit.setItems("");
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "negprice");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -985,6 +1638,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(existingClaim));
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "onetime");
             assertThat(result).isEqualTo(KitService.ClaimResult.ALREADY_CLAIMED);
         }
@@ -993,7 +1647,6 @@ class KitServiceImplTest {
         @DisplayName("claimKit returns ON_COOLDOWN when cooldown active")
         void claimOnCooldown() throws Exception {
             KitDefinition kit = createTestKit("cooldown");
-            kit.setReBuyable(true);
             kit.setCooldown(3600);
             injectKit(service, kit);
 
@@ -1007,6 +1660,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(existingClaim));
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "cooldown");
             assertThat(result).isEqualTo(KitService.ClaimResult.ON_COOLDOWN);
         }
@@ -1018,6 +1672,7 @@ class KitServiceImplTest {
             kit.setItems("");
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "empty");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -1029,6 +1684,7 @@ class KitServiceImplTest {
             kit.setItems(null);
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.claimKit(player, "nullitems");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -1054,33 +1710,149 @@ class KitServiceImplTest {
             fullInv[0] = null; // only 1 empty slot, need 2
             when(inventory.getStorageContents()).thenReturn(fullInv);
 
+            spyService.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = spyService.claimKit(player, "big");
             assertThat(result).isEqualTo(KitService.ClaimResult.INVENTORY_FULL);
         }
 
         @Test
-        @DisplayName("claimKit succeeds for free kit with no restrictions")
-        void claimFreeKitSuccess() throws Exception {
-            KitDefinition kit = createTestKit("free");
-            kit.setPrice(0);
-            kit.setItems("someBase64Data");
+        @DisplayName("claimKit rejects a full inventory from fit metadata without decoding")
+        void claimInventoryFullFromFit() throws Exception {
+            KitDefinition kit = createTestKit("fitted");
+            kit.setFit(new KitFit(2, Collections.singletonMap("STONE", 2), Collections.singletonMap("STONE", 1)));
             injectKit(service, kit);
 
             KitServiceImpl spyService = spy(service);
             injectKit(spyService, kit);
 
-            ItemStack mockItem = mock(ItemStack.class);
-            when(mockItem.clone()).thenReturn(mockItem);
-            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
-
+            ItemStack occupied = mockItemStack(Material.STONE);
+            when(occupied.getAmount()).thenReturn(64);
+            when(occupied.getMaxStackSize()).thenReturn(64);
+            ItemStack[] fullInv = new ItemStack[36];
+            Arrays.fill(fullInv, occupied);
+            fullInv[0] = null;
+            when(inventory.getStorageContents()).thenReturn(fullInv);
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "fitted")).isEqualTo(KitService.ClaimResult.INVENTORY_FULL);
+            verify(spyService, never()).deserializeItems(anyString());
+        }
+
+        @Test
+        @DisplayName("decoding a kit without fit metadata publishes a copy that records it")
+        void decodeRecordsFit() throws Exception {
+            KitDefinition kit = createTestKit("nofit");
+            injectKit(service, kit);
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+            doReturn(new ItemStack[]{mockItemStack(Material.STONE), mockItemStack(Material.BREAD)})
+                    .when(spyService).deserializeItems("someBase64Data");
+
+            spyService.getKitItems(kit);
+
+            KitDefinition published = spyService.getKit("nofit");
+            assertThat(published).isNotSameAs(kit);
+            assertThat(published.getFit()).isNotNull();
+            assertThat(published.getFit().getItemCount()).isEqualTo(2);
+            assertThat(kit.getFit()).isNull();
+        }
+
+        @Test
+        @DisplayName("fit metadata does not replace a kit that changed while it was decoded")
+        void decodeKeepsNewerKit() throws Exception {
+            KitDefinition kit = createTestKit("nofit");
+            KitDefinition newer = createTestKit("nofit");
+            newer.setDisplayName("&aNewer");
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, newer);
+            doReturn(new ItemStack[]{mockItemStack(Material.STONE)})
+                    .when(spyService).deserializeItems("someBase64Data");
+
+            spyService.getKitItems(kit);
+
+            assertThat(spyService.getKit("nofit")).isSameAs(newer);
+            assertThat(newer.getFit()).isNull();
+        }
+
+        @Test
+        @DisplayName("claimKit succeeds for free kit with no restrictions")
+        void claimFreeKitSuccess() throws Exception {
+            KitDefinition kit = createTestKit("free");
+            kit.setPrice(0);
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = spyService.claimKit(player, "free");
             assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
 
             verify(inventory).addItem(mockItem);
         }
 
+        @Test
+        @DisplayName("claimKit succeeds when items merge into partial stacks of a full inventory")
+        void claimMergesIntoPartialStacks() throws Exception {
+            KitDefinition kit = createTestKit("merge");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack bread = mockItemStack(Material.BREAD);
+            when(bread.getAmount()).thenReturn(16);
+            when(bread.getMaxStackSize()).thenReturn(64);
+            when(bread.clone()).thenReturn(bread);
+            doReturn(new ItemStack[]{bread}).when(spyService).deserializeItems("someBase64Data");
+
+            ItemStack partial = mockItemStack(Material.BREAD);
+            when(partial.getAmount()).thenReturn(10);
+            when(partial.getMaxStackSize()).thenReturn(64);
+            when(partial.isSimilar(bread)).thenReturn(true);
+            ItemStack[] contents = new ItemStack[36];
+            Arrays.fill(contents, partial);
+            when(inventory.getStorageContents()).thenReturn(contents);
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "merge")).isEqualTo(KitService.ClaimResult.SUCCESS);
+            verify(inventory).addItem(bread);
+        }
+
+        @Test
+        @DisplayName("claimKit drops items that addItem could not place")
+        void claimDropsLeftover() throws Exception {
+            KitDefinition kit = createTestKit("leftover");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+            HashMap<Integer, ItemStack> leftover = new HashMap<>();
+            leftover.put(0, mockItem);
+            when(inventory.addItem(mockItem)).thenReturn(leftover);
+            World world = mock(World.class);
+            Location location = mock(Location.class);
+            when(player.getWorld()).thenReturn(world);
+            when(player.getLocation()).thenReturn(location);
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "leftover")).isEqualTo(KitService.ClaimResult.SUCCESS);
+            verify(world).dropItemNaturally(location, mockItem);
+            verify(mockLogger).warn(contains("leftover"));
+        }
+
         @Test
         @DisplayName("claimKit deducts price for paid kit")
         void claimPaidKitDeductsPrice() throws Exception {
@@ -1102,6 +1874,7 @@ class KitServiceImplTest {
             doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = spyService.claimKit(player, "paid");
             assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
 
@@ -1126,6 +1899,7 @@ class KitServiceImplTest {
             doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = spyService.claimKit(player, "freenodeduct");
             assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
 
@@ -1147,7 +1921,9 @@ class KitServiceImplTest {
             doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             spyService.claimKit(player, "tracked");
+            spyService.flushClaimData();
 
             verify(mockClaimOperator).insert(any(KitClaimData.class));
         }
@@ -1156,7 +1932,6 @@ class KitServiceImplTest {
         @DisplayName("claimKit allows re-claim when cooldown expired")
         void claimWhenCooldownExpired() throws Exception {
             KitDefinition kit = createTestKit("reclaim");
-            kit.setReBuyable(true);
             kit.setCooldown(10);
             kit.setItems("someBase64Data");
             injectKit(service, kit);
@@ -1169,124 +1944,1124 @@ class KitServiceImplTest {
                     .claimCount(1)
                     .build();
 
-            when(mockQuery.list()).thenReturn(Collections.singletonList(oldClaim));
+            when(mockQuery.list()).thenReturn(Collections.singletonList(oldClaim));
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+
+            spyService.preloadClaims(player.getUniqueId());
+            KitService.ClaimResult result = spyService.claimKit(player, "reclaim");
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("claimKit skips permission check when kit has no permission")
+        void claimSkipsPermissionCheckWhenEmpty() throws Exception {
+            KitDefinition kit = createTestKit("noperm");
+            kit.setPermission("");
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+
+            spyService.preloadClaims(player.getUniqueId());
+            KitService.ClaimResult result = spyService.claimKit(player, "noperm");
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+
+            verify(player, never()).hasPermission(anyString());
+        }
+
+        @Test
+        @DisplayName("claimKit allows rebuyable kit with zero cooldown to be re-claimed")
+        void claimRebuyableZeroCooldown() throws Exception {
+            KitDefinition kit = createTestKit("rebuyable");
+            kit.setCooldown(0);
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+
+            KitClaimData existingClaim = KitClaimData.builder()
+                    .uuid(UUID.randomUUID().toString())
+                    .playerUuid(player.getUniqueId().toString())
+                    .kitName("rebuyable")
+                    .lastClaim(System.currentTimeMillis())
+                    .claimCount(5)
+                    .build();
+
+            when(mockQuery.list()).thenReturn(Collections.singletonList(existingClaim));
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+
+            spyService.preloadClaims(player.getUniqueId());
+            KitService.ClaimResult result = spyService.claimKit(player, "rebuyable");
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("claimKit gives multiple items to player")
+        void claimMultipleItems() throws Exception {
+            KitDefinition kit = createTestKit("multi");
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack item1 = mock(ItemStack.class);
+            ItemStack item2 = mock(ItemStack.class);
+            ItemStack item3 = mock(ItemStack.class);
+            when(item1.clone()).thenReturn(item1);
+            when(item2.clone()).thenReturn(item2);
+            when(item3.clone()).thenReturn(item3);
+            doReturn(new ItemStack[]{item1, item2, item3}).when(spyService).deserializeItems("someBase64Data");
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+
+            spyService.preloadClaims(player.getUniqueId());
+            KitService.ClaimResult result = spyService.claimKit(player, "multi");
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+
+            verify(inventory).addItem(item1);
+            verify(inventory).addItem(item2);
+            verify(inventory).addItem(item3);
+        }
+
+        @Test
+        @DisplayName("claimKit counts AIR slots as empty for capacity check")
+        void claimCountsAirAsEmpty() throws Exception {
+            KitDefinition kit = createTestKit("aircheck");
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+
+            ItemStack occupied = mock(ItemStack.class);
+            when(occupied.getType()).thenReturn(Material.STONE);
+            ItemStack airItem = mock(ItemStack.class);
+            when(airItem.getType()).thenReturn(Material.AIR);
+
+            ItemStack[] inv = new ItemStack[]{null, airItem, occupied};
+            when(inventory.getStorageContents()).thenReturn(inv);
+
+            spyService.preloadClaims(player.getUniqueId());
+            KitService.ClaimResult result = spyService.claimKit(player, "aircheck");
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("claimKit loads the claim record only once per claim")
+        void claimQueriesClaimDataOnce() throws Exception {
+            KitDefinition kit = createTestKit("single");
+            kit.setCooldown(10);
+            kit.setItems("someBase64Data");
+            injectKit(service, kit);
+
+            KitClaimData oldClaim = KitClaimData.builder()
+                    .uuid(UUID.randomUUID().toString())
+                    .playerUuid(player.getUniqueId().toString())
+                    .kitName("single")
+                    .lastClaim(System.currentTimeMillis() - 20000)
+                    .claimCount(2)
+                    .build();
+            when(mockQuery.list()).thenReturn(Collections.singletonList(oldClaim));
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+
+            spyService.preloadClaims(player.getUniqueId());
+            KitService.ClaimResult result = spyService.claimKit(player, "single");
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+            spyService.flushClaimData();
+
+            verify(mockClaimOperator, times(1)).query();
+            ArgumentCaptor<KitClaimData> captor = ArgumentCaptor.forClass(KitClaimData.class);
+            verify(mockClaimOperator).update(captor.capture());
+            assertThat(captor.getValue().getUuid()).isEqualTo(oldClaim.getUuid());
+            assertThat(captor.getValue().getClaimCount()).isEqualTo(3);
+            assertThat(oldClaim.getClaimCount()).isEqualTo(2);
+            assertThat(spyService.getClaimData(player.getUniqueId(), "single").getClaimCount()).isEqualTo(3);
+        }
+    }
+
+    // =========================================================================
+    // Overflow Mailbox Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Overflow Mailbox Tests")
+    class MailboxTests {
+
+        private DataOperator<KitMailboxData> mailboxOperator;
+        private Query<KitMailboxData> mailboxQuery;
+        private Player player;
+        private PlayerInventory inventory;
+
+        @BeforeEach
+        @SuppressWarnings("unchecked")
+        void setUp() {
+            mailboxOperator = mock(DataOperator.class);
+            mailboxQuery = mock(Query.class);
+            when(plugin.getDataOperator(KitMailboxData.class)).thenReturn(mailboxOperator);
+            when(mailboxOperator.query()).thenReturn(mailboxQuery);
+            when(mailboxQuery.where(anyString())).thenReturn(mailboxQuery);
+            when(mailboxQuery.eq(any())).thenReturn(mailboxQuery);
+            when(mailboxQuery.list()).thenReturn(Collections.emptyList());
+
+            KitsConfig config = new KitsConfig("config/config.yml");
+            config.setOverflowMailbox(true);
+            when(plugin.getConfig(KitsConfig.class)).thenReturn(config);
+
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            service.setMainThreadExecutor(Runnable::run);
+
+            player = createMockPlayer();
+            when(player.isOnline()).thenReturn(true);
+            inventory = player.getInventory();
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        }
+
+        @AfterEach
+        void tearDown() {
+            service.shutdown();
+        }
+
+        private ItemStack stack(Material material, int amount) {
+            ItemStack item = mockItemStack(material);
+            when(item.getAmount()).thenReturn(amount);
+            when(item.clone()).thenReturn(item);
+            return item;
+        }
+
+        private KitMailboxData entry(String items) {
+            return KitMailboxData.builder()
+                    .uuid(UUID.randomUUID().toString())
+                    .playerUuid(player.getUniqueId().toString())
+                    .kitName("full")
+                    .items(items)
+                    .createdAt(1000L)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("nothing is read from the mailbox table on startup")
+        void notLoadedOnStartup() {
+            verifyNoInteractions(mailboxOperator);
+        }
+
+        @Test
+        @DisplayName("claim into a full inventory mails the overflow instead of failing")
+        void claimMailsOverflow() throws Exception {
+            KitDefinition kit = createTestKit("full");
+            Map<String, Integer> amounts = Collections.singletonMap("STONE", 64);
+            kit.setFit(new KitFit(1, amounts, amounts));
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack stone = stack(Material.STONE, 64);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("someBase64Data");
+            doReturn("mailed").when(spyService).serializeItems(any());
+            ItemStack[] contents = new ItemStack[36];
+            Arrays.fill(contents, stack(Material.DIRT, 64));
+            when(inventory.getStorageContents()).thenReturn(contents);
+            HashMap<Integer, ItemStack> leftover = new HashMap<>();
+            leftover.put(0, stone);
+            when(inventory.addItem(stone)).thenReturn(leftover);
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "full")).isEqualTo(KitService.ClaimResult.SUCCESS_MAILBOX);
+
+            verify(mailboxOperator, timeout(5000)).insert(argThat(mailed ->
+                    "mailed".equals(mailed.getItems()) && "full".equals(mailed.getKitName())
+                            && player.getUniqueId().toString().equals(mailed.getPlayerUuid())));
+            verify(player, never()).getWorld();
+            assertThat(spyService.getClaimData(player.getUniqueId(), "full")).isNotNull();
+        }
+
+        @Test
+        @DisplayName("claim that fits completely is a plain success")
+        void claimWithoutOverflow() throws Exception {
+            KitDefinition kit = createTestKit("fits");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack stone = stack(Material.STONE, 1);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("someBase64Data");
+            when(inventory.addItem(stone)).thenReturn(new HashMap<>());
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "fits")).isEqualTo(KitService.ClaimResult.SUCCESS);
+            spyService.flushMailbox();
+            verify(mailboxOperator, never()).insert(any());
+        }
+
+        @Test
+        @DisplayName("getMailboxAsync loads the player's entries")
+        void loadsMailbox() {
+            service.setMainThreadExecutor(Runnable::run);
+            KitMailboxData stored = entry("payload");
+            when(mailboxQuery.list()).thenReturn(Collections.singletonList(stored));
+
+            List<KitMailboxData> entries = service.getMailboxAsync(player).join();
+
+            assertThat(entries).containsExactly(stored);
+            verify(mailboxQuery).eq(player.getUniqueId().toString());
+        }
+
+        @Test
+        @DisplayName("collecting everything removes the entry once")
+        void collectAll() {
+            KitServiceImpl spyService = spy(service);
+            ItemStack stone = stack(Material.STONE, 64);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("payload");
+            when(inventory.addItem(stone)).thenReturn(new HashMap<>());
+            KitMailboxData mailed = entry("payload");
+
+            CompletableFuture<KitService.CollectResult> first = spyService.collectMailbox(player, mailed);
+            CompletableFuture<KitService.CollectResult> second = spyService.collectMailbox(player, mailed);
+
+            assertThat(first.join()).isEqualTo(KitService.CollectResult.COLLECTED);
+            assertThat(second.join()).isEqualTo(KitService.CollectResult.EMPTY);
+            assertThat(mailed.getItems()).isNull();
+            verify(inventory, times(1)).addItem(stone);
+            verify(mailboxOperator).delById(mailed.getUuid());
+        }
+
+        @Test
+        @DisplayName("items are handed out only after the entry was removed")
+        void removesBeforeDelivering() {
+            KitServiceImpl spyService = spy(service);
+            ItemStack stone = stack(Material.STONE, 64);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("payload");
+            when(inventory.addItem(stone)).thenReturn(new HashMap<>());
+            KitMailboxData mailed = entry("payload");
+
+            spyService.collectMailbox(player, mailed).join();
+
+            InOrder order = inOrder(mailboxOperator, inventory);
+            order.verify(mailboxOperator).delById(mailed.getUuid());
+            order.verify(inventory).addItem(stone);
+        }
+
+        @Test
+        @DisplayName("a failed removal hands out nothing and keeps the entry")
+        void failedRemoval() {
+            KitServiceImpl spyService = spy(service);
+            ItemStack stone = stack(Material.STONE, 64);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("payload");
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).delById(anyString());
+            KitMailboxData mailed = entry("payload");
+
+            assertThat(spyService.collectMailbox(player, mailed).join()).isEqualTo(KitService.CollectResult.ERROR);
+
+            assertThat(mailed.getItems()).isEqualTo("payload");
+            verify(inventory, never()).addItem(any(ItemStack.class));
+        }
+
+        @Test
+        @DisplayName("collecting part of an entry stores the rest again")
+        void collectPartial() throws Exception {
+            KitServiceImpl spyService = spy(service);
+            ItemStack stone = stack(Material.STONE, 64);
+            ItemStack dirt = stack(Material.DIRT, 64);
+            doReturn(new ItemStack[]{stone, dirt}).when(spyService).deserializeItems("payload");
+            doReturn("rest").when(spyService).serializeItems(any());
+            when(inventory.addItem(stone)).thenReturn(new HashMap<>());
+            HashMap<Integer, ItemStack> leftover = new HashMap<>();
+            leftover.put(0, dirt);
+            when(inventory.addItem(dirt)).thenReturn(leftover);
+            KitMailboxData mailed = entry("payload");
+
+            assertThat(spyService.collectMailbox(player, mailed).join()).isEqualTo(KitService.CollectResult.PARTIAL);
+
+            assertThat(mailed.getItems()).isEqualTo("rest");
+            spyService.flushMailbox();
+            InOrder order = inOrder(mailboxOperator);
+            order.verify(mailboxOperator).delById(mailed.getUuid());
+            order.verify(mailboxOperator).insert(argThat(stored ->
+                    mailed.getUuid().equals(stored.getUuid()) && "rest".equals(stored.getItems())));
+        }
+
+        @Test
+        @DisplayName("collecting into a full inventory changes nothing")
+        void collectIntoFullInventory() {
+            KitServiceImpl spyService = spy(service);
+            ItemStack stone = stack(Material.STONE, 64);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("payload");
+            ItemStack[] contents = new ItemStack[36];
+            Arrays.fill(contents, stack(Material.DIRT, 64));
+            when(inventory.getStorageContents()).thenReturn(contents);
+            KitMailboxData mailed = entry("payload");
+
+            assertThat(spyService.collectMailbox(player, mailed).join())
+                    .isEqualTo(KitService.CollectResult.INVENTORY_FULL);
+
+            assertThat(mailed.getItems()).isEqualTo("payload");
+            spyService.flushMailbox();
+            verify(mailboxOperator, never()).delById(any());
+            verify(inventory, never()).addItem(any(ItemStack.class));
+        }
+
+        @Test
+        @DisplayName("undecodable entry is kept")
+        void collectUndecodable() throws Exception {
+            KitMailboxData mailed = entry("not a payload");
+
+            assertThat(service.collectMailbox(player, mailed).join()).isEqualTo(KitService.CollectResult.ERROR);
+
+            service.flushMailbox();
+            verify(mailboxOperator, never()).delById(any());
+            verify(mailboxOperator, never()).insert(any());
+        }
+
+        @Test
+        @DisplayName("overflow that is still not stored at shutdown is dropped at the player's feet")
+        void unstoredOverflowDropped() throws Exception {
+            KitDefinition kit = createTestKit("full");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack stone = stack(Material.STONE, 64);
+            doReturn(new ItemStack[]{stone}).when(spyService).deserializeItems("someBase64Data");
+            doReturn("mailed").when(spyService).serializeItems(any());
+            HashMap<Integer, ItemStack> leftover = new HashMap<>();
+            leftover.put(0, stone);
+            when(inventory.addItem(stone)).thenReturn(leftover);
+            doThrow(new IllegalStateException("db")).when(mailboxOperator).insert(any());
+            World world = mock(World.class);
+            when(player.getWorld()).thenReturn(world);
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "full")).isEqualTo(KitService.ClaimResult.SUCCESS_MAILBOX);
+            spyService.flushMailbox();
+            verify(world, never()).dropItemNaturally(any(), any());
+
+            spyService.shutdown();
+            // Shares its parts with the spy, so tearDown gets a fresh one to shut down
+            service = createService();
+
+            verify(world).dropItemNaturally(any(), eq(stone));
+        }
+    }
+
+    // =========================================================================
+    // Kit Status Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Kit Status Tests")
+    class KitStatusTests {
+
+        private Player player;
+
+        @BeforeEach
+        void setUp() {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            player = createMockPlayer();
+        }
+
+        private KitClaimData claimOf(String kitName, long lastClaim) {
+            return KitClaimData.builder()
+                    .uuid(UUID.randomUUID().toString())
+                    .playerUuid(player.getUniqueId().toString())
+                    .kitName(kitName)
+                    .lastClaim(lastClaim)
+                    .claimCount(1)
+                    .build();
+        }
+
+        @Test
+        @DisplayName("computes every status from one claim query")
+        void singleQueryForAllKits() {
+            KitDefinition fresh = createTestKit("fresh");
+            KitDefinition once = createTestKit("once");
+            KitDefinition daily = createTestKit("daily");
+            daily.setReBuyable(true);
+            daily.setCooldown(3600);
+            when(mockQuery.list()).thenReturn(Arrays.asList(
+                    claimOf("once", System.currentTimeMillis()),
+                    claimOf("daily", System.currentTimeMillis())));
+
+            service.preloadClaims(player.getUniqueId());
+            Map<String, KitStatus> statuses = service.getKitStatuses(player, Arrays.asList(fresh, once, daily));
+
+            assertThat(statuses.keySet()).containsExactly("fresh", "once", "daily");
+            assertThat(statuses.get("fresh").getType()).isEqualTo(KitStatus.Type.CLAIMABLE);
+            assertThat(statuses.get("once").getType()).isEqualTo(KitStatus.Type.ALREADY_CLAIMED);
+            assertThat(statuses.get("daily").getType()).isEqualTo(KitStatus.Type.ON_COOLDOWN);
+            assertThat(statuses.get("daily").getRemainingMillis()).isPositive();
+            verify(mockClaimOperator, times(1)).query();
+        }
+
+        @Test
+        @DisplayName("statuses are answered from memory while the claim records are loading")
+        void statusesBeforeRecordsLoaded() {
+            KitDefinition once = createTestKit("once");
+            when(mockQuery.list()).thenReturn(Collections.singletonList(claimOf("once", System.currentTimeMillis())));
+
+            Map<String, KitStatus> statuses = service.getKitStatuses(player, Collections.singletonList(once));
+
+            assertThat(statuses.get("once").getType()).isEqualTo(KitStatus.Type.CLAIMABLE);
+            service.flushClaimData();
+            assertThat(service.getKitStatuses(player, Collections.singletonList(once)).get("once").getType())
+                    .isEqualTo(KitStatus.Type.ALREADY_CLAIMED);
+        }
+
+        @Test
+        @DisplayName("expired cooldown is claimable")
+        void expiredCooldownClaimable() {
+            KitDefinition daily = createTestKit("daily");
+            daily.setReBuyable(true);
+            daily.setCooldown(60);
+            when(mockQuery.list()).thenReturn(Collections.singletonList(
+                    claimOf("daily", System.currentTimeMillis() - 120_000)));
+
+            service.preloadClaims(player.getUniqueId());
+            Map<String, KitStatus> statuses = service.getKitStatuses(player, Collections.singletonList(daily));
+
+            assertThat(statuses.get("daily").isClaimable()).isTrue();
+        }
+
+        @Test
+        @DisplayName("level requirement takes priority over funds and cooldown")
+        void levelPriority() throws Exception {
+            Economy economy = setupMockEconomy();
+            KitDefinition elite = createTestKit("elite");
+            elite.setLevelRequired(20);
+            elite.setPrice(100);
+
+            service.preloadClaims(player.getUniqueId());
+            Map<String, KitStatus> statuses = service.getKitStatuses(player, Collections.singletonList(elite));
+
+            assertThat(statuses.get("elite").getType()).isEqualTo(KitStatus.Type.INSUFFICIENT_LEVEL);
+            verify(economy, never()).getBalance(any(org.bukkit.OfflinePlayer.class));
+        }
+
+        @Test
+        @DisplayName("reads the balance once for several paid kits")
+        void singleBalanceRead() throws Exception {
+            Economy economy = setupMockEconomy();
+            when(economy.getBalance(any(org.bukkit.OfflinePlayer.class))).thenReturn(150.0);
+            KitDefinition cheap = createTestKit("cheap");
+            cheap.setPrice(100);
+            KitDefinition pricey = createTestKit("pricey");
+            pricey.setPrice(200);
+
+            service.preloadClaims(player.getUniqueId());
+            Map<String, KitStatus> statuses = service.getKitStatuses(player, Arrays.asList(cheap, pricey));
+
+            assertThat(statuses.get("cheap").isClaimable()).isTrue();
+            assertThat(statuses.get("pricey").getType()).isEqualTo(KitStatus.Type.INSUFFICIENT_FUNDS);
+            verify(economy, times(1)).getBalance(any(org.bukkit.OfflinePlayer.class));
+            verify(economy, never()).has(any(org.bukkit.OfflinePlayer.class), anyDouble());
+        }
+
+        @Test
+        @DisplayName("paid kit without economy is insufficient funds")
+        void paidWithoutEconomy() {
+            KitDefinition paid = createTestKit("paid");
+            paid.setPrice(10);
+
+            service.preloadClaims(player.getUniqueId());
+            Map<String, KitStatus> statuses = service.getKitStatuses(player, Collections.singletonList(paid));
+
+            assertThat(statuses.get("paid").getType()).isEqualTo(KitStatus.Type.INSUFFICIENT_FUNDS);
+        }
+
+        @Test
+        @DisplayName("empty collection returns empty map")
+        void emptyCollection() {
+            service.preloadClaims(player.getUniqueId());
+            assertThat(service.getKitStatuses(player, Collections.emptyList())).isEmpty();
+        }
+    }
+
+    // =========================================================================
+    // Claim Stats Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Claim Stats Tests")
+    class ClaimStatsTests {
+
+        private Player player;
+
+        @BeforeEach
+        void setUp() {
+            KitsConfig config = new KitsConfig("config/config.yml");
+            config.setClaimMetrics(true);
+            when(plugin.getConfig(KitsConfig.class)).thenReturn(config);
+
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            service.setMainThreadExecutor(Runnable::run);
+
+            player = createMockPlayer();
+            when(player.isOnline()).thenReturn(true);
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
+        }
+
+        private KitServiceImpl spyWithItems(KitDefinition kit) throws Exception {
+            injectKit(service, kit);
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            return spyService;
+        }
+
+        private ClaimStats.PhaseStats phase(ClaimStats stats, String name) {
+            return stats.getPhases().stream()
+                    .filter(phase -> phase.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+        }
+
+        @Test
+        @DisplayName("stats are disabled by default")
+        void disabledByDefault() {
+            when(plugin.getConfig(KitsConfig.class)).thenReturn(null);
+            KitServiceImpl plain = createService();
+
+            plain.claimKit(player, "missing");
+
+            ClaimStats stats = plain.getClaimStats();
+            assertThat(stats.isEnabled()).isFalse();
+            assertThat(stats.getPhases()).isEmpty();
+            assertThat(stats.getOutcomes()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("a successful claim records every phase once")
+        void successfulClaimRecordsPhases() throws Exception {
+            KitServiceImpl spyService = spyWithItems(createTestKit("timed"));
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "timed")).isEqualTo(KitService.ClaimResult.SUCCESS);
+
+            ClaimStats stats = spyService.getClaimStats();
+            assertThat(stats.getPhases()).extracting(ClaimStats.PhaseStats::getName)
+                    .containsExactly("LOAD", "VALIDATE", "ITEMS", "DELIVER", "ECONOMY", "TOTAL");
+            assertThat(stats.getPhases()).filteredOn(phase -> !phase.getName().equals("ECONOMY")).allSatisfy(phase -> {
+                assertThat(phase.getCount()).isEqualTo(1);
+                assertThat(phase.getP50()).isLessThanOrEqualTo(phase.getMax());
+            });
+            assertThat(phase(stats, "ECONOMY").getCount()).isZero();
+            assertThat(stats.getOutcomes()).containsEntry("SUCCESS", 1L);
+            assertThat(stats.getTotalClaims()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("a paid claim records the balance check and the withdraw as economy calls")
+        void paidClaimRecordsEconomy() throws Exception {
+            KitDefinition kit = createTestKit("priced");
+            kit.setPrice(100);
+            KitServiceImpl spyService = spyWithItems(kit);
+            Economy economy = setupMockEconomy();
+            when(economy.has(eq(player), eq(100.0))).thenReturn(true);
+            when(economy.withdrawPlayer(eq(player), eq(100.0)))
+                    .thenReturn(new EconomyResponse(100, 0, EconomyResponse.ResponseType.SUCCESS, ""));
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "priced")).isEqualTo(KitService.ClaimResult.SUCCESS);
+
+            ClaimStats stats = spyService.getClaimStats();
+            assertThat(phase(stats, "ECONOMY").getCount()).isEqualTo(2);
+            assertThat(spyService.scrapeMetrics()).contains("ultikits_claim_phase_seconds_count{phase=\"economy\"} 2\n");
+        }
+
+        @Test
+        @DisplayName("rejected claims count their result and skip later phases")
+        void rejectedClaimCountsOutcome() throws Exception {
+            KitDefinition kit = createTestKit("vip");
+            kit.setPermission("kit.vip");
+            injectKit(service, kit);
+
+            service.preloadClaims(player.getUniqueId());
+            service.claimKit(player, "vip");
+            service.claimKit(player, "missing");
+
+            ClaimStats stats = service.getClaimStats();
+            assertThat(stats.getOutcomes())
+                    .containsEntry("NO_PERMISSION", 1L)
+                    .containsEntry("NOT_FOUND", 1L)
+                    .containsEntry("SUCCESS", 0L);
+            assertThat(phase(stats, "VALIDATE").getCount()).isEqualTo(1);
+            assertThat(phase(stats, "DELIVER").getCount()).isZero();
+            assertThat(phase(stats, "TOTAL").getCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("async claims record the worker load and the result")
+        void asyncClaimRecorded() throws Exception {
+            KitServiceImpl spyService = spyWithItems(createTestKit("asyncstats"));
+
+            KitService.ClaimResult result = spyService.claimKitAsync(player, "asyncstats").get(5, TimeUnit.SECONDS);
+
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+            ClaimStats stats = spyService.getClaimStats();
+            assertThat(phase(stats, "LOAD").getCount()).isEqualTo(1);
+            assertThat(phase(stats, "TOTAL").getCount()).isEqualTo(1);
+            assertThat(stats.getOutcomes()).containsEntry("SUCCESS", 1L);
+        }
+
+        @Test
+        @DisplayName("resetClaimStats clears histograms and counters")
+        void resetClearsStats() throws Exception {
+            KitServiceImpl spyService = spyWithItems(createTestKit("resetme"));
+            spyService.preloadClaims(player.getUniqueId());
+            spyService.claimKit(player, "resetme");
+
+            spyService.resetClaimStats();
+
+            ClaimStats stats = spyService.getClaimStats();
+            assertThat(stats.isEnabled()).isTrue();
+            assertThat(stats.getTotalClaims()).isZero();
+            assertThat(stats.getPhases()).allSatisfy(phase -> {
+                assertThat(phase.getCount()).isZero();
+                assertThat(phase.getMax()).isZero();
+            });
+        }
+    }
+
+    // =========================================================================
+    // Metrics Export Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("scrapeMetrics")
+    class MetricsExportTests {
+
+        private KitsConfig config;
+        private Player player;
+
+        @BeforeEach
+        void setUp() {
+            config = new KitsConfig("config/config.yml");
+            when(plugin.getConfig(KitsConfig.class)).thenReturn(config);
+            new File(tempDir, "kits").mkdirs();
+
+            player = createMockPlayer();
+            when(player.isOnline()).thenReturn(true);
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
+        }
+
+        @Test
+        @DisplayName("claim families are left out while claim metrics are off")
+        void claimsOmittedWhenDisabled() {
+            service = createService();
+
+            String text = service.scrapeMetrics();
+
+            assertThat(text).contains("# TYPE ultikits_kits gauge\nultikits_kits 0\n");
+            assertThat(text).doesNotContain("ultikits_claims_total");
+            assertThat(text).contains("ultikits_cache_hit_ratio{cache=\"items\"} NaN");
+            assertThat(text).contains("ultikits_reloads_total 1");
+        }
+
+        @Test
+        @DisplayName("claims are exported per result, per kit and per phase")
+        void claimsExported() throws Exception {
+            config.setClaimMetrics(true);
+            service = createService();
+            service.setMainThreadExecutor(Runnable::run);
+            KitDefinition kit = createTestKit("starter");
+            injectKit(service, kit);
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+
+            spyService.preloadClaims(player.getUniqueId());
+            spyService.claimKit(player, "starter");
+            spyService.claimKit(player, "missing");
+
+            String text = spyService.scrapeMetrics();
+            assertThat(text)
+                    .contains("ultikits_claims_total{result=\"SUCCESS\"} 1\n")
+                    .contains("ultikits_claims_total{result=\"NOT_FOUND\"} 1\n")
+                    .contains("ultikits_kit_claims_total{kit=\"starter\",result=\"SUCCESS\"} 1\n")
+                    .doesNotContain("kit=\"missing\"")
+                    .contains("# TYPE ultikits_claim_phase_seconds summary\n")
+                    .contains("ultikits_claim_phase_seconds{phase=\"total\",quantile=\"0.99\"} ")
+                    .contains("ultikits_claim_phase_seconds_count{phase=\"total\"} 2\n")
+                    .contains("ultikits_db_operations_total{table=\"kits_claims\",operation=\"query\"} 1\n")
+                    .contains("ultikits_cache_requests_total{cache=\"claims\",result=\"miss\"} 1\n");
+        }
+
+        @Test
+        @DisplayName("a metrics textfile is written below the plugin folder")
+        void textfileWritten() throws Exception {
+            config.setMetricsTextfile("metrics/ultikits.prom");
+            service = createService();
+            File file = new File(tempDir, "metrics/ultikits.prom");
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!file.exists() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            service.shutdown();
+
+            assertThat(service.getClaimStats().isEnabled()).isTrue();
+            assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8))
+                    .contains("ultikits_claims_total{result=\"SUCCESS\"} 0\n");
+        }
+    }
+
+    // =========================================================================
+    // Async Claim Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Async Claim Tests")
+    class AsyncClaimTests {
+
+        private Player player;
+        private PlayerInventory inventory;
+
+        @BeforeEach
+        void setUp() {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+            service.setMainThreadExecutor(Runnable::run);
+
+            player = createMockPlayer();
+            when(player.isOnline()).thenReturn(true);
+            inventory = player.getInventory();
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        }
+
+        @Test
+        @DisplayName("claimKitAsync completes immediately with NOT_FOUND for unknown kits")
+        void asyncNotFound() {
+            CompletableFuture<KitService.ClaimResult> future = service.claimKitAsync(player, "missing");
+            assertThat(future).isCompletedWithValue(KitService.ClaimResult.NOT_FOUND);
+        }
+
+        @Test
+        @DisplayName("claimKitAsync decodes items on a worker thread and delivers them")
+        void asyncDecodesOffThread() throws Exception {
+            KitDefinition kit = createTestKit("async");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            String[] decodeThread = new String[1];
+            doAnswer(inv -> {
+                decodeThread[0] = Thread.currentThread().getName();
+                return new ItemStack[]{mockItem};
+            }).when(spyService).deserializeItems("someBase64Data");
+
+            KitService.ClaimResult result = spyService.claimKitAsync(player, "async").get(5, TimeUnit.SECONDS);
+
+            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+            assertThat(decodeThread[0]).startsWith("UltiKits-Worker");
+            verify(inventory).addItem(mockItem);
+        }
+
+        @Test
+        @DisplayName("claimKitAsync skips decoding when the kit was already claimed")
+        void asyncSkipsDecodeWhenClaimed() throws Exception {
+            KitDefinition kit = createTestKit("onceasync");
+            injectKit(service, kit);
+
+            KitClaimData existingClaim = KitClaimData.builder()
+                    .uuid(UUID.randomUUID().toString())
+                    .playerUuid(player.getUniqueId().toString())
+                    .kitName("onceasync")
+                    .lastClaim(System.currentTimeMillis())
+                    .claimCount(1)
+                    .build();
+            when(mockQuery.list()).thenReturn(Collections.singletonList(existingClaim));
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            KitService.ClaimResult result = spyService.claimKitAsync(player, "onceasync").get(5, TimeUnit.SECONDS);
+
+            assertThat(result).isEqualTo(KitService.ClaimResult.ALREADY_CLAIMED);
+            verify(spyService, never()).deserializeItems(anyString());
+        }
+
+        @Test
+        @DisplayName("claimKitAsync reports ERROR when the player logged out meanwhile")
+        void asyncPlayerOffline() throws Exception {
+            KitDefinition kit = createTestKit("offline");
+            injectKit(service, kit);
+            when(player.isOnline()).thenReturn(false);
+
+            KitService.ClaimResult result = service.claimKitAsync(player, "offline").get(5, TimeUnit.SECONDS);
+
+            assertThat(result).isEqualTo(KitService.ClaimResult.ERROR);
+            verify(inventory, never()).addItem(any(ItemStack.class));
+        }
+
+        @Test
+        @DisplayName("claimKitAsync maps worker failures to ERROR")
+        void asyncWorkerFailure() throws Exception {
+            KitDefinition kit = createTestKit("broken");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+            doThrow(new IllegalStateException("db down")).when(spyService).prepareClaim(any(UUID.class), eq(kit));
+
+            KitService.ClaimResult result = spyService.claimKitAsync(player, "broken").get(5, TimeUnit.SECONDS);
+
+            assertThat(result).isEqualTo(KitService.ClaimResult.ERROR);
+            verify(mockLogger).error(contains("Failed to load kit claim"));
+        }
+    }
+
+    // =========================================================================
+    // Claim Serialization Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Claim Serialization Tests")
+    class ClaimSerializationTests {
+
+        private Player player;
+        private PlayerInventory inventory;
+        private KitServiceImpl spyService;
+
+        @BeforeEach
+        void setUp() throws Exception {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
+
+            player = createMockPlayer();
+            when(player.isOnline()).thenReturn(true);
+            inventory = player.getInventory();
+            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+
+            spyService = spy(service);
+            KitDefinition once = createTestKit("once");
+            KitDefinition other = createTestKit("other");
+            injectKit(spyService, once);
+            injectKit(spyService, other);
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+        }
+
+        @Test
+        @DisplayName("claims of the same kit are rejected while an async claim is pending")
+        void pendingAsyncClaimBlocksSameKit() throws Exception {
+            BlockingQueue<Runnable> mainThread = new LinkedBlockingQueue<>();
+            spyService.setMainThreadExecutor(mainThread::add);
+
+            CompletableFuture<KitService.ClaimResult> first = spyService.claimKitAsync(player, "once");
+            Runnable completion = mainThread.poll(5, TimeUnit.SECONDS);
+            assertThat(completion).isNotNull();
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "once")).isEqualTo(KitService.ClaimResult.IN_PROGRESS);
+            assertThat(spyService.claimKitAsync(player, "once"))
+                    .isCompletedWithValue(KitService.ClaimResult.IN_PROGRESS);
+
+            completion.run();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(KitService.ClaimResult.SUCCESS);
+            assertThat(spyService.isClaimInFlight(player.getUniqueId(), "once")).isFalse();
+            assertThat(spyService.claimKit(player, "once")).isEqualTo(KitService.ClaimResult.ALREADY_CLAIMED);
+            verify(inventory, times(1)).addItem(any(ItemStack.class));
+        }
+
+        @Test
+        @DisplayName("a pending claim does not block other kits")
+        void pendingClaimDoesNotBlockOtherKits() throws Exception {
+            BlockingQueue<Runnable> mainThread = new LinkedBlockingQueue<>();
+            spyService.setMainThreadExecutor(mainThread::add);
+
+            spyService.claimKitAsync(player, "once");
+            assertThat(mainThread.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+            spyService.preloadClaims(player.getUniqueId());
+            assertThat(spyService.claimKit(player, "other")).isEqualTo(KitService.ClaimResult.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("claimKit releases the in-flight key after returning")
+        void syncClaimReleasesKey() {
+            spyService.preloadClaims(player.getUniqueId());
+            spyService.claimKit(player, "once");
+
+            assertThat(spyService.isClaimInFlight(player.getUniqueId(), "once")).isFalse();
+        }
+
+        @Test
+        @DisplayName("claimKit releases the in-flight key when delivery throws")
+        void syncClaimReleasesKeyOnFailure() {
+            when(inventory.getStorageContents()).thenThrow(new IllegalStateException("boom"));
+            spyService.preloadClaims(player.getUniqueId());
+
+            Assertions.assertThrows(IllegalStateException.class, () -> spyService.claimKit(player, "once"));
+
+            assertThat(spyService.isClaimInFlight(player.getUniqueId(), "once")).isFalse();
+        }
+
+        @Test
+        @DisplayName("concurrent callers deliver a one-time kit only once")
+        void concurrentClaimsDeliverOnce() throws Exception {
+            int threads = 8;
+            spyService.preloadClaims(player.getUniqueId());
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<KitService.ClaimResult>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return spyService.claimKit(player, "once");
+                }));
+            }
+            start.countDown();
+
+            long successes = 0;
+            for (CompletableFuture<KitService.ClaimResult> result : results) {
+                KitService.ClaimResult value = result.get(5, TimeUnit.SECONDS);
+                assertThat(value).isIn(KitService.ClaimResult.SUCCESS,
+                        KitService.ClaimResult.IN_PROGRESS, KitService.ClaimResult.ALREADY_CLAIMED);
+                if (value == KitService.ClaimResult.SUCCESS) {
+                    successes++;
+                }
+            }
+            assertThat(successes).isEqualTo(1);
+        }
+    }
+
+    // =========================================================================
+    // Item Template Cache Tests
+    // =========================================================================
+    @Nested
+    @DisplayName("Item Template Cache Tests")
+    class ItemTemplateCacheTests {
 
-            KitServiceImpl spyService = spy(service);
-            injectKit(spyService, kit);
+        private Player player;
+        private KitDefinition kit;
+        private KitServiceImpl spyService;
+        private ItemStack mockItem;
 
-            ItemStack mockItem = mock(ItemStack.class);
-            when(mockItem.clone()).thenReturn(mockItem);
-            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
-            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        @BeforeEach
+        void setUp() throws Exception {
+            new File(tempDir, "kits").mkdirs();
+            service = createService();
 
-            KitService.ClaimResult result = spyService.claimKit(player, "reclaim");
-            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
-        }
+            player = createMockPlayer();
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
 
-        @Test
-        @DisplayName("claimKit skips permission check when kit has no permission")
-        void claimSkipsPermissionCheckWhenEmpty() throws Exception {
-            KitDefinition kit = createTestKit("noperm");
-            kit.setPermission("");
-            kit.setItems("someBase64Data");
+            kit = createTestKit("cached");
             injectKit(service, kit);
-
-            KitServiceImpl spyService = spy(service);
+            spyService = spy(service);
             injectKit(spyService, kit);
 
-            ItemStack mockItem = mock(ItemStack.class);
+            mockItem = mock(ItemStack.class);
             when(mockItem.clone()).thenReturn(mockItem);
             doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
-            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        }
 
-            KitService.ClaimResult result = spyService.claimKit(player, "noperm");
-            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+        @Test
+        @DisplayName("repeated claims decode the kit items only once")
+        void decodesOnce() {
+            spyService.preloadClaims(player.getUniqueId());
+            spyService.claimKit(player, "cached");
+            spyService.claimKit(player, "cached");
 
-            verify(player, never()).hasPermission(anyString());
+            verify(spyService, times(1)).deserializeItems("someBase64Data");
+            verify(player.getInventory(), times(2)).addItem(mockItem);
         }
 
         @Test
-        @DisplayName("claimKit allows rebuyable kit with zero cooldown to be re-claimed")
-        void claimRebuyableZeroCooldown() throws Exception {
-            KitDefinition kit = createTestKit("rebuyable");
-            kit.setReBuyable(true);
-            kit.setCooldown(0);
-            kit.setItems("someBase64Data");
-            injectKit(service, kit);
-
-            KitClaimData existingClaim = KitClaimData.builder()
-                    .uuid(UUID.randomUUID().toString())
-                    .playerUuid(player.getUniqueId().toString())
-                    .kitName("rebuyable")
-                    .lastClaim(System.currentTimeMillis())
-                    .claimCount(5)
-                    .build();
+        @DisplayName("getKitItems returns clones of the cached template")
+        void getKitItemsClones() {
+            ItemStack copy = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(copy);
 
-            when(mockQuery.list()).thenReturn(Collections.singletonList(existingClaim));
+            ItemStack[] first = spyService.getKitItems(kit);
+            ItemStack[] second = spyService.getKitItems(kit);
 
-            KitServiceImpl spyService = spy(service);
-            injectKit(spyService, kit);
+            assertThat(first).containsExactly(copy);
+            assertThat(second).isNotSameAs(first);
+            verify(spyService, times(1)).deserializeItems("someBase64Data");
+        }
 
-            ItemStack mockItem = mock(ItemStack.class);
-            when(mockItem.clone()).thenReturn(mockItem);
-            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
-            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+        @Test
+        @DisplayName("getKitItems returns null for a kit without items")
+        void getKitItemsEmptyKit() {
+            KitDefinition empty = createTestKit("emptycache");
+            empty.setItems("");
 
-            KitService.ClaimResult result = spyService.claimKit(player, "rebuyable");
-            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+            assertThat(spyService.getKitItems(empty)).isNull();
         }
 
         @Test
-        @DisplayName("claimKit gives multiple items to player")
-        void claimMultipleItems() throws Exception {
-            KitDefinition kit = createTestKit("multi");
-            kit.setItems("someBase64Data");
-            injectKit(service, kit);
-
-            KitServiceImpl spyService = spy(service);
-            injectKit(spyService, kit);
+        @DisplayName("saveKitItems invalidates the cached template")
+        void saveInvalidates() {
+            spyService.getKitItems(kit);
 
-            ItemStack item1 = mock(ItemStack.class);
-            ItemStack item2 = mock(ItemStack.class);
-            ItemStack item3 = mock(ItemStack.class);
-            when(item1.clone()).thenReturn(item1);
-            when(item2.clone()).thenReturn(item2);
-            when(item3.clone()).thenReturn(item3);
-            doReturn(new ItemStack[]{item1, item2, item3}).when(spyService).deserializeItems("someBase64Data");
-            when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
+            ItemStack stone = mock(ItemStack.class);
+            when(stone.getType()).thenReturn(Material.STONE);
+            doReturn("someBase64Data").when(spyService).serializeItems(any(ItemStack[].class));
+            doReturn(true).when(spyService).saveKitToFile(anyString(), any(KitDefinition.class));
+            spyService.saveKitItems("cached", new ItemStack[]{stone});
 
-            KitService.ClaimResult result = spyService.claimKit(player, "multi");
-            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+            spyService.getKitItems(spyService.getKit("cached"));
 
-            verify(inventory).addItem(item1);
-            verify(inventory).addItem(item2);
-            verify(inventory).addItem(item3);
+            verify(spyService, times(2)).deserializeItems("someBase64Data");
         }
 
         @Test
-        @DisplayName("claimKit counts AIR slots as empty for capacity check")
-        void claimCountsAirAsEmpty() throws Exception {
-            KitDefinition kit = createTestKit("aircheck");
-            kit.setItems("someBase64Data");
-            injectKit(service, kit);
+        @DisplayName("deleteKit invalidates the cached template")
+        void deleteInvalidates() {
+            spyService.getKitItems(kit);
+            spyService.deleteKit("cached");
 
-            KitServiceImpl spyService = spy(service);
-            injectKit(spyService, kit);
+            spyService.getKitItems(kit);
 
-            ItemStack mockItem = mock(ItemStack.class);
-            when(mockItem.clone()).thenReturn(mockItem);
-            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            verify(spyService, times(2)).deserializeItems("someBase64Data");
+        }
 
-            ItemStack occupied = mock(ItemStack.class);
-            when(occupied.getType()).thenReturn(Material.STONE);
-            ItemStack airItem = mock(ItemStack.class);
-            when(airItem.getType()).thenReturn(Material.AIR);
+        @Test
+        @DisplayName("reload drops all cached templates")
+        void reloadClears() {
+            spyService.getKitItems(kit);
+            spyService.reload();
 
-            ItemStack[] inv = new ItemStack[]{null, airItem, occupied};
-            when(inventory.getStorageContents()).thenReturn(inv);
+            spyService.getKitItems(kit);
 
-            KitService.ClaimResult result = spyService.claimKit(player, "aircheck");
-            assertThat(result).isEqualTo(KitService.ClaimResult.SUCCESS);
+            verify(spyService, times(2)).deserializeItems("someBase64Data");
         }
     }
 
@@ -1310,11 +3085,11 @@ class KitServiceImplTest {
         @DisplayName("getRemainingCooldown returns 0 when never claimed (rebuyable)")
         void neverClaimedRebuyable() {
             KitDefinition kit = createTestKit("fresh");
-            kit.setReBuyable(true);
             kit.setCooldown(3600);
 
             when(mockQuery.list()).thenReturn(Collections.emptyList());
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isEqualTo(0);
         }
@@ -1335,6 +3110,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(claim));
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isEqualTo(-1);
         }
@@ -1347,6 +3123,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.emptyList());
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isEqualTo(0);
         }
@@ -1355,7 +3132,6 @@ class KitServiceImplTest {
         @DisplayName("getRemainingCooldown returns positive value when cooldown active")
         void activeCooldown() {
             KitDefinition kit = createTestKit("cd");
-            kit.setReBuyable(true);
             kit.setCooldown(3600);
 
             KitClaimData claim = KitClaimData.builder()
@@ -1368,6 +3144,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(claim));
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isGreaterThan(0);
             assertThat(remaining).isLessThanOrEqualTo(3600 * 1000L);
@@ -1377,7 +3154,6 @@ class KitServiceImplTest {
         @DisplayName("getRemainingCooldown returns 0 when cooldown expired")
         void expiredCooldown() {
             KitDefinition kit = createTestKit("expired");
-            kit.setReBuyable(true);
             kit.setCooldown(10);
 
             KitClaimData claim = KitClaimData.builder()
@@ -1390,6 +3166,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(claim));
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isEqualTo(0);
         }
@@ -1398,7 +3175,6 @@ class KitServiceImplTest {
         @DisplayName("getRemainingCooldown returns 0 for rebuyable kit with zero cooldown")
         void zeroCooldownRebuyable() {
             KitDefinition kit = createTestKit("zerocool");
-            kit.setReBuyable(true);
             kit.setCooldown(0);
 
             KitClaimData claim = KitClaimData.builder()
@@ -1411,6 +3187,7 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(claim));
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isEqualTo(0);
         }
@@ -1419,7 +3196,6 @@ class KitServiceImplTest {
         @DisplayName("getRemainingCooldown clamps negative remaining to zero")
         void remainingNeverNegative() {
             KitDefinition kit = createTestKit("veryold");
-            kit.setReBuyable(true);
             kit.setCooldown(1);
 
             KitClaimData claim = KitClaimData.builder()
@@ -1432,9 +3208,28 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(claim));
 
+            service.preloadClaims(player.getUniqueId());
             long remaining = service.getRemainingCooldown(player, kit);
             assertThat(remaining).isEqualTo(0);
         }
+        @Test
+        @DisplayName("computeRemainingCooldown uses the supplied clock")
+        void computeUsesSuppliedClock() {
+            KitDefinition kit = createTestKit("clock");
+            kit.setCooldown(60);
+
+            KitClaimData claim = KitClaimData.builder()
+                    .uuid(UUID.randomUUID().toString())
+                    .playerUuid(player.getUniqueId().toString())
+                    .kitName("clock")
+                    .lastClaim(1_000L)
+                    .claimCount(1)
+                    .build();
+
+            assertThat(service.computeRemainingCooldown(kit, claim, 31_000L)).isEqualTo(30_000L);
+            assertThat(service.computeRemainingCooldown(kit, claim, 100_000L)).isEqualTo(0);
+            assertThat(service.computeRemainingCooldown(kit, null, 31_000L)).isEqualTo(0);
+        }
     }
 
     // =========================================================================
@@ -1616,7 +3411,6 @@ class KitServiceImplTest {
             kit.setPrice(50.0);
             kit.setLevelRequired(5);
             kit.setPermission("kit.saved");
-            kit.setReBuyable(true);
             kit.setCooldown(1800);
             kit.setItems("base64data");
             kit.setDescription(Arrays.asList("Line 1", "Line 2"));
@@ -1625,6 +3419,7 @@ class KitServiceImplTest {
 
             boolean result = service.saveKitToFile("saved", kit);
             assertThat(result).isTrue();
+            service.flushKitFiles();
 
             File kitFile = new File(tempDir, "kits/saved.yml");
             assertThat(kitFile).exists();
@@ -1633,8 +3428,10 @@ class KitServiceImplTest {
 
         @Test
         @DisplayName("saveKitToFile handles IO errors gracefully")
-        void saveKitToFileHandlesErrors() {
-            when(plugin.getResourceFolderPath()).thenReturn("/nonexistent/path/that/wont/work");
+        void saveKitToFileHandlesErrors() throws Exception {
+            File blocker = new File(tempDir, "blocker");
+            Files.write(blocker.toPath(), new byte[0]);
+            when(plugin.getResourceFolderPath()).thenReturn(blocker.getPath());
 
             KitDefinition kit = new KitDefinition();
             kit.setName("fail");
@@ -1644,6 +3441,90 @@ class KitServiceImplTest {
             verify(mockLogger).error(contains("Failed to save kit file"));
         }
 
+        @Test
+        @DisplayName("saveKitToFile logs IO errors from the background writer")
+        void saveKitToFileLogsWriterErrors() {
+            // A directory where the temporary file should go makes the write itself fail
+            new File(tempDir, "kits/fail.yml.tmp").mkdirs();
+
+            KitDefinition kit = new KitDefinition();
+            kit.setName("fail");
+
+            boolean result = service.saveKitToFile("fail", kit);
+            assertThat(result).isTrue();
+            service.flushKitFiles();
+            verify(mockLogger).error(contains("Failed to save kit file"));
+        }
+
+        @Test
+        @DisplayName("createKit returns ERROR when the kits folder cannot be created")
+        void createKitReportsSaveFailure() throws Exception {
+            File blocker = new File(tempDir, "blocker");
+            Files.write(blocker.toPath(), new byte[0]);
+            when(plugin.getResourceFolderPath()).thenReturn(blocker.getPath());
+            Player player = createMockPlayer();
+            ItemStack stone = mock(ItemStack.class);
+            when(stone.getType()).thenReturn(Material.STONE);
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[]{stone});
+
+            KitServiceImpl spyService = spy(service);
+            doReturn("data").when(spyService).serializeItems(any(ItemStack[].class));
+
+            assertThat(spyService.createKit(player, "nofolder")).isEqualTo(KitService.CreateResult.ERROR);
+            assertThat(spyService.getKit("nofolder")).isNull();
+        }
+
+        @Test
+        @DisplayName("saveKitToFile does not touch the disk on the calling thread")
+        void saveKitToFileIsAsync() throws Exception {
+            File kitFile = new File(tempDir, "kits/later.yml");
+            Field writerField = KitServiceImpl.class.getDeclaredField("fileWriter");
+            writerField.setAccessible(true); // NOPMD
+            KitFileWriter writer = (KitFileWriter) writerField.get(service);
+            CountDownLatch release = new CountDownLatch(1);
+            blockWriter(writer, release);
+            try {
+                service.saveKitToFile("later", createTestKit("later"));
+
+                assertThat(kitFile).doesNotExist();
+            } finally {
+                release.countDown();
+            }
+            service.flushKitFiles();
+            assertThat(kitFile).exists();
+        }
+
+        /**
+         * Occupies the writer thread until the latch is released.
+         */
+        private void blockWriter(KitFileWriter writer, CountDownLatch release) throws Exception {
+            Field executorField = KitFileWriter.class.getDeclaredField("writer");
+            executorField.setAccessible(true); // NOPMD
+            ExecutorService executor = (ExecutorService) executorField.get(writer);
+            CountDownLatch started = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await(5, TimeUnit.SECONDS);
+        }
+
+        @Test
+        @DisplayName("saved kits survive a reload issued before the write finished")
+        void reloadWaitsForPendingWrites() throws Exception {
+            KitDefinition kit = createTestKit("pending");
+            service.saveKitToFile("pending", kit);
+            injectKit(service, kit);
+
+            service.reload();
+
+            assertThat(service.getKit("pending")).isNotNull();
+        }
+
         @Test
         @DisplayName("saveKitToFile creates file that can be reloaded correctly")
         void saveAndReload() throws Exception {
@@ -1654,7 +3535,6 @@ class KitServiceImplTest {
             kit.setPrice(25.0);
             kit.setLevelRequired(3);
             kit.setPermission("kit.rt");
-            kit.setReBuyable(true);
             kit.setCooldown(600);
             kit.setItems("testdata");
             kit.setDescription(Arrays.asList("Test description"));
@@ -1676,6 +3556,37 @@ class KitServiceImplTest {
             assertThat(loaded.getCooldown()).isEqualTo(600);
             assertThat(loaded.getItems()).isEqualTo("testdata");
         }
+
+        @Test
+        @DisplayName("fit metadata is saved and loaded with the kit")
+        void fitRoundTrip() throws Exception {
+            KitDefinition kit = createTestKit("fitsave");
+            Map<String, Integer> amounts = new LinkedHashMap<>();
+            amounts.put("STONE", 96);
+            amounts.put("DIAMOND_SWORD", 1);
+            Map<String, Integer> maxStacks = new LinkedHashMap<>();
+            maxStacks.put("STONE", 64);
+            maxStacks.put("DIAMOND_SWORD", 1);
+            kit.setFit(new KitFit(3, amounts, maxStacks));
+
+            service.saveKitToFile("fitsave", kit);
+            service.reload();
+
+            KitFit loaded = service.getKit("fitsave").getFit();
+            assertThat(loaded).isNotNull();
+            assertThat(loaded.getItemCount()).isEqualTo(3);
+            assertThat(loaded.getAmounts()).isEqualTo(amounts);
+            assertThat(loaded.getMaxStackSizes()).isEqualTo(maxStacks);
+        }
+
+        @Test
+        @DisplayName("kits without fit metadata load without it")
+        void missingFitIsNull() throws Exception {
+            createSimpleKitFile("plain");
+            service.reload();
+
+            assertThat(service.getKit("plain").getFit()).isNull();
+        }
     }
 
     // =========================================================================
@@ -1712,12 +3623,34 @@ class KitServiceImplTest {
             PlayerInventory inventory = player.getInventory();
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             spyService.claimKit(player, "cmdkit");
 
             verify(player).performCommand("spawn");
             verify(player).performCommand("msg TestPlayer Welcome!");
         }
 
+        @Test
+        @DisplayName("claimKit renders {kit} and {uuid} in commands")
+        void rendersKitAndUuidPlaceholders() throws Exception {
+            KitDefinition kit = createTestKit("tplkit");
+            kit.setPlayerCommands(Arrays.asList("say {kit} for {uuid}"));
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
+
+            spyService.preloadClaims(player.getUniqueId());
+            spyService.claimKit(player, "tplkit");
+
+            verify(player).performCommand("say tplkit for 00000000-0000-0000-0000-000000000001");
+        }
+
         @Test
         @DisplayName("claimKit executes console commands via Bukkit scheduler")
         void executesConsoleCommands() throws Exception {
@@ -1745,12 +3678,44 @@ class KitServiceImplTest {
                 when(pluginManager.getPlugin("UltiTools")).thenReturn(ultiToolsPlugin);
                 mockedBukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
 
+                spyService.preloadClaims(player.getUniqueId());
                 spyService.claimKit(player, "consolekit");
 
                 verify(scheduler).runTask(eq(ultiToolsPlugin), any(Runnable.class));
             }
         }
 
+        @Test
+        @DisplayName("console commands still queued at shutdown are run before the service stops")
+        void shutdownRunsQueuedConsoleCommands() throws Exception {
+            KitDefinition kit = createTestKit("lastcall");
+            kit.setConsoleCommands(Arrays.asList("give {player} diamond 1"));
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
+
+            try (MockedStatic<Bukkit> mockedBukkit = mockStatic(Bukkit.class)) {
+                PluginManager pluginManager = mock(PluginManager.class);
+                mockedBukkit.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+                when(pluginManager.getPlugin("UltiTools")).thenReturn(mock(Plugin.class));
+                mockedBukkit.when(Bukkit::getScheduler).thenReturn(mock(BukkitScheduler.class));
+
+                spyService.preloadClaims(player.getUniqueId());
+                spyService.claimKit(player, "lastcall");
+                mockedBukkit.verify(() -> Bukkit.dispatchCommand(any(), anyString()), never());
+
+                spyService.shutdown();
+
+                mockedBukkit.verify(() -> Bukkit.dispatchCommand(any(), eq("give TestPlayer diamond 1")));
+            }
+        }
+
         @Test
         @DisplayName("claimKit skips player commands when list is empty")
         void skipsEmptyPlayerCommands() throws Exception {
@@ -1769,6 +3734,7 @@ class KitServiceImplTest {
             PlayerInventory inventory = player.getInventory();
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             spyService.claimKit(player, "nocmd");
 
             verify(player, never()).performCommand(anyString());
@@ -1793,6 +3759,7 @@ class KitServiceImplTest {
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
             // No static Bukkit mock needed -- should skip entirely without calling Bukkit
+            spyService.preloadClaims(player.getUniqueId());
             spyService.claimKit(player, "nullcmd");
         }
 
@@ -1815,6 +3782,7 @@ class KitServiceImplTest {
             PlayerInventory inventory = player.getInventory();
             when(inventory.getStorageContents()).thenReturn(new ItemStack[36]);
 
+            spyService.preloadClaims(player.getUniqueId());
             spyService.claimKit(player, "nullplayercmd");
 
             verify(player, never()).performCommand(anyString());
@@ -1843,6 +3811,7 @@ class KitServiceImplTest {
                 mockedBukkit.when(Bukkit::getPluginManager).thenReturn(pluginManager);
                 when(pluginManager.getPlugin("UltiTools")).thenReturn(null);
 
+                spyService.preloadClaims(player.getUniqueId());
                 spyService.claimKit(player, "noplugin");
 
                 mockedBukkit.verify(Bukkit::getScheduler, never());
@@ -1879,9 +3848,55 @@ class KitServiceImplTest {
                 when(pluginManager.getPlugin("UltiTools")).thenReturn(ultiToolsPlugin);
                 mockedBukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
 
+                spyService.preloadClaims(player.getUniqueId());
                 spyService.claimKit(player, "conrep");
 
-                verify(scheduler, times(2)).runTask(eq(ultiToolsPlugin), any(Runnable.class));
+                // One task for the whole claim, running the commands in order
+                ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+                verify(scheduler, times(1)).runTask(eq(ultiToolsPlugin), task.capture());
+                task.getValue().run();
+                InOrder order = inOrder(Bukkit.class);
+                order.verify(mockedBukkit, () -> Bukkit.dispatchCommand(any(), eq("give TestPlayer diamond 1")));
+                order.verify(mockedBukkit, () -> Bukkit.dispatchCommand(any(), eq("broadcast TestPlayer claimed a kit")));
+            }
+        }
+
+        @Test
+        @DisplayName("console commands of claims in the same tick share one task")
+        void consoleCommandsShareTask() throws Exception {
+            KitDefinition kit = createTestKit("shared");
+            kit.setConsoleCommands(Arrays.asList("give {player} diamond 1"));
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack mockItem = mock(ItemStack.class);
+            when(mockItem.clone()).thenReturn(mockItem);
+            doReturn(new ItemStack[]{mockItem}).when(spyService).deserializeItems("someBase64Data");
+            when(player.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
+            Player other = createMockPlayerWithUuid(UUID.randomUUID(), "Other", 10);
+            when(other.getInventory().getStorageContents()).thenReturn(new ItemStack[36]);
+
+            try (MockedStatic<Bukkit> mockedBukkit = mockStatic(Bukkit.class)) {
+                PluginManager pluginManager = mock(PluginManager.class);
+                Plugin ultiToolsPlugin = mock(Plugin.class);
+                BukkitScheduler scheduler = mock(BukkitScheduler.class);
+
+                mockedBukkit.when(Bukkit::getPluginManager).thenReturn(pluginManager);
+                when(pluginManager.getPlugin("UltiTools")).thenReturn(ultiToolsPlugin);
+                mockedBukkit.when(Bukkit::getScheduler).thenReturn(scheduler);
+
+                spyService.preloadClaims(player.getUniqueId());
+                spyService.claimKit(player, "shared");
+                spyService.preloadClaims(other.getUniqueId());
+                spyService.claimKit(other, "shared");
+
+                ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+                verify(scheduler, times(1)).runTask(eq(ultiToolsPlugin), task.capture());
+                task.getValue().run();
+                mockedBukkit.verify(() -> Bukkit.dispatchCommand(any(), eq("give TestPlayer diamond 1")));
+                mockedBukkit.verify(() -> Bukkit.dispatchCommand(any(), eq("give Other diamond 1")));
             }
         }
     }
@@ -1983,12 +3998,40 @@ class KitServiceImplTest {
             verify(mockQuery).eq(playerUuid.toString());
         }
 
+        @Test
+        @DisplayName("getClaimData serves repeated lookups from memory")
+        void getClaimDataCachesPerPlayer() {
+            UUID playerUuid = UUID.fromString("00000000-0000-0000-0000-000000000001");
+            when(mockQuery.list()).thenReturn(Collections.emptyList());
+
+            service.getClaimData(playerUuid, "starter");
+            service.getClaimData(playerUuid, "vip");
+            service.getRemainingCooldown(createMockPlayer(), createTestKit("starter"));
+
+            verify(mockClaimOperator, times(1)).query();
+        }
+
+        @Test
+        @DisplayName("updateClaimData is visible to getClaimData before it is written")
+        void updateClaimDataVisibleBeforeFlush() {
+            UUID playerUuid = UUID.fromString("00000000-0000-0000-0000-000000000001");
+            when(mockQuery.list()).thenReturn(Collections.emptyList());
+
+            service.preloadClaims(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+            service.updateClaimData(service.createContext(createMockPlayer(), createTestKit("starter")));
+
+            assertThat(service.getClaimData(playerUuid, "starter")).isNotNull();
+            verify(mockClaimOperator, never()).insert(any(KitClaimData.class));
+        }
+
         @Test
         @DisplayName("updateClaimData inserts new record when no existing claim")
         void updateClaimDataInserts() {
             when(mockQuery.list()).thenReturn(Collections.emptyList());
 
-            service.updateClaimData(UUID.fromString("00000000-0000-0000-0000-000000000001"), "starter");
+            service.preloadClaims(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+            service.updateClaimData(service.createContext(createMockPlayer(), createTestKit("starter")));
+            service.flushClaimData();
 
             ArgumentCaptor<KitClaimData> captor = ArgumentCaptor.forClass(KitClaimData.class);
             verify(mockClaimOperator).insert(captor.capture());
@@ -2013,11 +4056,21 @@ class KitServiceImplTest {
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(existing));
 
-            service.updateClaimData(UUID.fromString("00000000-0000-0000-0000-000000000001"), "starter");
+            service.preloadClaims(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+            service.updateClaimData(service.createContext(createMockPlayer(), createTestKit("starter")));
+            service.flushClaimData();
 
-            verify(mockClaimOperator).update(existing);
-            assertThat(existing.getClaimCount()).isEqualTo(4);
-            assertThat(existing.getLastClaim()).isGreaterThan(1000L);
+            ArgumentCaptor<KitClaimData> captor = ArgumentCaptor.forClass(KitClaimData.class);
+            verify(mockClaimOperator).update(captor.capture());
+            assertThat(captor.getValue().getUuid()).isEqualTo(existing.getUuid());
+            assertThat(captor.getValue().getClaimCount()).isEqualTo(4);
+            assertThat(existing.getClaimCount()).isEqualTo(3);
+            assertThat(existing.getLastClaim()).isEqualTo(1000L);
+            KitClaimData cached = service.getClaimData(
+                    UUID.fromString("00000000-0000-0000-0000-000000000001"), "starter");
+            assertThat(cached).isNotSameAs(existing);
+            assertThat(cached.getClaimCount()).isEqualTo(4);
+            assertThat(cached.getLastClaim()).isGreaterThan(1000L);
         }
 
         @Test
@@ -2032,9 +4085,11 @@ class KitServiceImplTest {
                     .build();
 
             when(mockQuery.list()).thenReturn(Collections.singletonList(existing));
-            doThrow(new IllegalAccessException("test error")).when(mockClaimOperator).update(existing);
+            doThrow(new IllegalAccessException("test error")).when(mockClaimOperator).update(any(KitClaimData.class));
 
-            service.updateClaimData(UUID.fromString("00000000-0000-0000-0000-000000000001"), "starter");
+            service.preloadClaims(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+            service.updateClaimData(service.createContext(createMockPlayer(), createTestKit("starter")));
+            service.flushClaimData();
 
             verify(mockLogger).error(contains("Failed to update kit claim data"));
         }
@@ -2045,7 +4100,9 @@ class KitServiceImplTest {
             when(mockQuery.list()).thenReturn(Collections.emptyList());
 
             long before = System.currentTimeMillis();
-            service.updateClaimData(UUID.fromString("00000000-0000-0000-0000-000000000001"), "test");
+            service.preloadClaims(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+            service.updateClaimData(service.createContext(createMockPlayer(), createTestKit("test")));
+            service.flushClaimData();
             long after = System.currentTimeMillis();
 
             ArgumentCaptor<KitClaimData> captor = ArgumentCaptor.forClass(KitClaimData.class);
@@ -2225,7 +4282,7 @@ class KitServiceImplTest {
         }
 
         @Test
-        @DisplayName("saveKitItems updates kit items field on success")
+        @DisplayName("saveKitItems publishes a new definition and leaves the old one untouched")
         void updatesKitItemsField() throws Exception {
             KitDefinition kit = createTestKit("updatefield");
             kit.setItems("old");
@@ -2242,7 +4299,32 @@ class KitServiceImplTest {
 
             spyService.saveKitItems("updatefield", new ItemStack[]{stone});
 
-            assertThat(kit.getItems()).isEqualTo("newbase64");
+            assertThat(spyService.getKit("updatefield").getItems()).isEqualTo("newbase64");
+            assertThat(kit.getItems()).isEqualTo("old");
+        }
+
+        @Test
+        @DisplayName("saveKitItems records fit metadata of the saved items")
+        void recordsFit() throws Exception {
+            KitDefinition kit = createTestKit("fitrecord");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack stone = mockItemStack(Material.STONE);
+            when(stone.getAmount()).thenReturn(32);
+            when(stone.getMaxStackSize()).thenReturn(64);
+
+            doReturn("newbase64").when(spyService).serializeItems(any(ItemStack[].class));
+            doReturn(true).when(spyService).saveKitToFile(eq("fitrecord"), any(KitDefinition.class));
+
+            spyService.saveKitItems("fitrecord", new ItemStack[]{stone, null, stone});
+
+            KitFit fit = spyService.getKit("fitrecord").getFit();
+            assertThat(fit.getItemCount()).isEqualTo(2);
+            assertThat(fit.getAmounts()).containsEntry("STONE", 64);
+            assertThat(fit.getMaxStackSize("STONE")).isEqualTo(64);
         }
 
         @Test
@@ -2258,12 +4340,33 @@ class KitServiceImplTest {
             when(stone.getType()).thenReturn(Material.STONE);
 
             doReturn("data").when(spyService).serializeItems(any(ItemStack[].class));
-            doReturn(true).when(spyService).saveKitToFile(eq("delegate"), eq(kit));
+            doReturn(true).when(spyService).saveKitToFile(eq("delegate"), any(KitDefinition.class));
 
             boolean result = spyService.saveKitItems("delegate", new ItemStack[]{stone});
 
             assertThat(result).isTrue();
-            verify(spyService).saveKitToFile("delegate", kit);
+            verify(spyService).saveKitToFile(eq("delegate"), argThat(saved -> "data".equals(saved.getItems())));
+        }
+
+        @Test
+        @DisplayName("saveKitItems keeps the current kit when saveKitToFile fails")
+        void saveFailureKeepsKit() throws Exception {
+            KitDefinition kit = createTestKit("keep");
+            kit.setItems("old");
+            injectKit(service, kit);
+
+            KitServiceImpl spyService = spy(service);
+            injectKit(spyService, kit);
+
+            ItemStack stone = mock(ItemStack.class);
+            when(stone.getType()).thenReturn(Material.STONE);
+
+            doReturn("newbase64").when(spyService).serializeItems(any(ItemStack[].class));
+            doReturn(false).when(spyService).saveKitToFile(eq("keep"), any(KitDefinition.class));
+
+            assertThat(spyService.saveKitItems("keep", new ItemStack[]{stone})).isFalse();
+            assertThat(spyService.getKit("keep")).isSameAs(kit);
+            assertThat(kit.getItems()).isEqualTo("old");
         }
 
         @Test
@@ -2352,6 +4455,7 @@ class KitServiceImplTest {
 
             doReturn(new ItemStack[0]).when(spyService).deserializeItems("someBase64Data");
 
+            spyService.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = spyService.claimKit(player, "emptyresult");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -2368,6 +4472,7 @@ class KitServiceImplTest {
 
             doReturn(null).when(spyService).deserializeItems("someBase64Data");
 
+            spyService.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = spyService.claimKit(player, "nullresult");
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -2523,9 +4628,8 @@ class KitServiceImplTest {
             writer.write("invalid: yaml: [\n  bad: [[\n");
             writer.close();
 
-            KitDefinition result = service.parseKitFile(kitFile);
-            // May return a kit with defaults or null depending on snakeyaml parsing
-            // The key is it should not throw
+            assertThat(service.parseKitFile(kitFile)).isNull();
+            verify(mockLogger).warn(contains("corrupt.yml"));
         }
 
         @Test
@@ -2601,6 +4705,7 @@ class KitServiceImplTest {
             kit.setPrice(0);
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.validateClaim(player, kit);
             assertThat(result).isNull();
         }
@@ -2615,6 +4720,7 @@ class KitServiceImplTest {
             kit.setPrice(0);
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.validateClaim(player, kit);
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -2629,6 +4735,7 @@ class KitServiceImplTest {
             kit.setPrice(0);
             injectKit(service, kit);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.validateClaim(player, kit);
             assertThat(result).isEqualTo(KitService.ClaimResult.EMPTY_KIT);
         }
@@ -2644,6 +4751,7 @@ class KitServiceImplTest {
 
             when(player.hasPermission("kit.special")).thenReturn(false);
 
+            service.preloadClaims(player.getUniqueId());
             KitService.ClaimResult result = service.validateClaim(player, kit);
             assertThat(result).isEqualTo(KitService.ClaimResult.NO_PERMISSION);
         }
@@ -2661,6 +4769,7 @@ class KitServiceImplTest {
         void claimResultValues() {
             assertThat(KitService.ClaimResult.values()).containsExactlyInAnyOrder(
                     KitService.ClaimResult.SUCCESS,
+                    KitService.ClaimResult.SUCCESS_MAILBOX,
                     KitService.ClaimResult.NOT_FOUND,
                     KitService.ClaimResult.NO_PERMISSION,
                     KitService.ClaimResult.INSUFFICIENT_LEVEL,
@@ -2669,6 +4778,7 @@ class KitServiceImplTest {
                     KitService.ClaimResult.ON_COOLDOWN,
                     KitService.ClaimResult.INVENTORY_FULL,
                     KitService.ClaimResult.EMPTY_KIT,
+                    KitService.ClaimResult.IN_PROGRESS,
                     KitService.ClaimResult.ERROR
             );
         }
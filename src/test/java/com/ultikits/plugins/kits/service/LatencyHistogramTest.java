@@ -0,0 +1,144 @@
+package com.ultikits.plugins.kits.service;
+
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LatencyHistogram")
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Nested
+    @DisplayName("Buckets")
+    class Buckets {
+
+        @Test
+        @DisplayName("small values get a bucket each")
+        void smallValuesExact() {
+            for (long value = 0; value < 2 * LatencyHistogram.SUB_BUCKETS; value++) {
+                assertThat(LatencyHistogram.upperBound(LatencyHistogram.bucketOf(value))).isEqualTo(value);
+            }
+        }
+
+        @Test
+        @DisplayName("every value lies within its bucket and the bucket error stays bounded")
+        void valueWithinBucket() {
+            for (long value = 1; value < (1L << 40); value = value * 3 + 1) {
+                int bucket = LatencyHistogram.bucketOf(value);
+                long upper = LatencyHistogram.upperBound(bucket);
+                long lower = bucket == 0 ? 0 : LatencyHistogram.upperBound(bucket - 1) + 1;
+
+                assertThat(value).isBetween(lower, upper);
+                assertThat(upper - value).isLessThanOrEqualTo(value / LatencyHistogram.SUB_BUCKETS);
+            }
+        }
+
+        @Test
+        @DisplayName("huge values go into the last bucket")
+        void hugeValuesClamped() {
+            assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE))
+                    .isEqualTo(LatencyHistogram.bucketOf(1L << 50))
+                    .isGreaterThan(LatencyHistogram.bucketOf(1L << 40));
+        }
+    }
+
+    @Nested
+    @DisplayName("Percentiles")
+    class Percentiles {
+
+        @Test
+        @DisplayName("empty histogram reports zeros")
+        void empty() {
+            assertThat(histogram.getCount()).isZero();
+            assertThat(histogram.getMax()).isZero();
+            assertThat(histogram.percentile(99)).isZero();
+        }
+
+        @Test
+        @DisplayName("percentiles are within one bucket of the exact values")
+        void percentilesApproximate() {
+            for (int i = 1; i <= 1000; i++) {
+                histogram.record(i * 1000L);
+            }
+
+            assertThat(histogram.getCount()).isEqualTo(1000);
+            assertThat(histogram.getMax()).isEqualTo(1_000_000);
+            assertThat(histogram.percentile(50)).isBetween(500_000L, 500_000L + 500_000L / LatencyHistogram.SUB_BUCKETS);
+            assertThat(histogram.percentile(99)).isBetween(990_000L, 1_000_000L);
+        }
+
+        @Test
+        @DisplayName("percentiles never exceed the maximum")
+        void cappedAtMax() {
+            histogram.record(1001);
+
+            assertThat(histogram.percentile(50)).isEqualTo(1001);
+            assertThat(histogram.percentile(100)).isEqualTo(1001);
+        }
+
+        @Test
+        @DisplayName("negative durations count as zero")
+        void negativeClamped() {
+            histogram.record(-5);
+
+            assertThat(histogram.getCount()).isEqualTo(1);
+            assertThat(histogram.percentile(50)).isZero();
+        }
+
+        @Test
+        @DisplayName("sum adds up the exact recorded values")
+        void sumExact() {
+            histogram.record(1000);
+            histogram.record(2345);
+
+            assertThat(histogram.getSum()).isEqualTo(3345);
+        }
+
+        @Test
+        @DisplayName("reset clears counts, sum and maximum")
+        void reset() {
+            histogram.record(42);
+            histogram.reset();
+
+            assertThat(histogram.getCount()).isZero();
+            assertThat(histogram.getSum()).isZero();
+            assertThat(histogram.getMax()).isZero();
+            assertThat(histogram.percentile(50)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("concurrent records are all counted")
+    void concurrentRecords() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        try {
+            for (int t = 0; t < 4; t++) {
+                long base = t * 10_000L;
+                pool.execute(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.record(base + i);
+                    }
+                    done.countDown();
+                });
+            }
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(40_000);
+        assertThat(histogram.getMax()).isEqualTo(39_999);
+    }
+}
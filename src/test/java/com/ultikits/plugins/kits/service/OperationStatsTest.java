@@ -0,0 +1,45 @@
+package com.ultikits.plugins.kits.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OperationStats")
+class OperationStatsTest {
+
+    @Test
+    @DisplayName("starts empty")
+    void empty() {
+        OperationStats stats = new OperationStats();
+
+        assertThat(stats.getCount()).isZero();
+        assertThat(stats.getFailures()).isZero();
+        assertThat(stats.getTotalNanos()).isZero();
+        assertThat(stats.getLastNanos()).isZero();
+    }
+
+    @Test
+    @DisplayName("counts operations, failures and elapsed time")
+    void records() {
+        OperationStats stats = new OperationStats();
+        long start = System.nanoTime() - 1_000_000;
+
+        stats.record(start, true);
+        stats.record(stats.start(), false);
+
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getFailures()).isEqualTo(1);
+        assertThat(stats.getTotalNanos()).isGreaterThanOrEqualTo(1_000_000);
+        assertThat(stats.getLastNanos()).isLessThanOrEqualTo(stats.getTotalNanos() - 1_000_000);
+    }
+
+    @Test
+    @DisplayName("a start in the future counts as zero time")
+    void negativeClamped() {
+        OperationStats stats = new OperationStats();
+
+        stats.record(System.nanoTime() + 1_000_000_000L, true);
+
+        assertThat(stats.getTotalNanos()).isZero();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ultikits.plugins.kits.service;
+
+import org.junit.jupiter.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PrometheusText")
+class PrometheusTextTest {
+
+    @Test
+    @DisplayName("a family starts with its help and type lines")
+    void familyHeader() {
+        String text = new PrometheusText()
+                .family("ultikits_kits", "gauge", "Loaded kits")
+                .sample("ultikits_kits", 3)
+                .toString();
+
+        assertThat(text).isEqualTo("# HELP ultikits_kits Loaded kits\n"
+                + "# TYPE ultikits_kits gauge\n"
+                + "ultikits_kits 3\n");
+    }
+
+    @Test
+    @DisplayName("labels are written in the given order")
+    void labels() {
+        String text = new PrometheusText()
+                .sample("ultikits_cache_requests_total", 7, "cache", "items", "result", "hit")
+                .toString();
+
+        assertThat(text).isEqualTo("ultikits_cache_requests_total{cache=\"items\",result=\"hit\"} 7\n");
+    }
+
+    @Test
+    @DisplayName("label values escape backslashes, quotes and newlines")
+    void escapesLabelValues() {
+        String text = new PrometheusText()
+                .sample("m", 1, "kit", "a\\b\"c\nd")
+                .toString();
+
+        assertThat(text).isEqualTo("m{kit=\"a\\\\b\\\"c\\nd\"} 1\n");
+    }
+
+    @Test
+    @DisplayName("help text escapes backslashes and newlines but keeps quotes")
+    void escapesHelp() {
+        String text = new PrometheusText().family("m", "counter", "say \"hi\"\\\n").toString();
+
+        assertThat(text).startsWith("# HELP m say \"hi\"\\\\\\n\n");
+    }
+
+    @Test
+    @DisplayName("doubles write NaN and infinities the way Prometheus expects")
+    void specialDoubles() {
+        String text = new PrometheusText()
+                .sample("a", Double.NaN)
+                .sample("b", Double.POSITIVE_INFINITY)
+                .sample("c", Double.NEGATIVE_INFINITY)
+                .sample("d", 0.25)
+                .toString();
+
+        assertThat(text).isEqualTo("a NaN\nb +Inf\nc -Inf\nd 0.25\n");
+    }
+
+    @Test
+    @DisplayName("labels without a value are rejected")
+    void oddLabels() {
+        assertThatThrownBy(() -> new PrometheusText().sample("m", 1, "kit"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("ratio is NaN before the first lookup")
+    void ratio() {
+        assertThat(PrometheusText.ratio(0, 0)).isNaN();
+        assertThat(PrometheusText.ratio(3, 1)).isEqualTo(0.75);
+        assertThat(PrometheusText.seconds(1_500_000_000L)).isEqualTo(1.5);
+    }
+}